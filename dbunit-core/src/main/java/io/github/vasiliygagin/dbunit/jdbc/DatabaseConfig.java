@@ -3,6 +3,7 @@
  */
 package io.github.vasiliygagin.dbunit.jdbc;
 
+import org.dbunit.assertion.IChecksumStrategy;
 import org.dbunit.database.DefaultMetadataHandler;
 import org.dbunit.database.ForwardOnlyResultSetTableFactory;
 import org.dbunit.database.IMetadataHandler;
@@ -13,6 +14,8 @@ import org.dbunit.database.statement.PreparedStatementFactory;
 import org.dbunit.dataset.datatype.DefaultDataTypeFactory;
 import org.dbunit.dataset.datatype.IDataTypeFactory;
 import org.dbunit.dataset.filter.IColumnFilter;
+import org.dbunit.operation.ISnapshotStrategy;
+import org.dbunit.operation.IUpsertStatementBuilder;
 
 /**
  *
@@ -42,6 +45,16 @@ public class DatabaseConfig {
     private boolean skipOracleRecycleBinTables = false;
     private boolean allowEmptyFields = false;
     private IgnoredTablePredicate ignoredTablePredicate = IgnoredTablePredicate.ALLOW_ALL;
+    private IUpsertStatementBuilder upsertStatementBuilder = null;
+    private boolean prefetchRefreshKeys = false;
+    private boolean groupRowsByIgnoreMapping = false;
+    private int preparedStatementCacheSize = 0;
+    private int insertRowsPerStatement = 1;
+    private int maxBindParameters = 0;
+    private int primaryKeyFilterBatchSize = 100;
+    private long cachedTableMemoryBudget = 0;
+    private ISnapshotStrategy snapshotStrategy = null;
+    private IChecksumStrategy checksumStrategy = null;
 
     /**
      * Poor man's final
@@ -227,6 +240,146 @@ public class DatabaseConfig {
         this.allowEmptyFields = allowEmptyFields;
     }
 
+    public IUpsertStatementBuilder getUpsertStatementBuilder() {
+        return upsertStatementBuilder;
+    }
+
+    /**
+     * Database specific upsert statement used by REFRESH operation. When
+     * <code>null</code> REFRESH falls back to UPDATE and INSERT per row.
+     */
+    public void setUpsertStatementBuilder(IUpsertStatementBuilder upsertStatementBuilder) {
+        checkFrozen();
+        this.upsertStatementBuilder = upsertStatementBuilder;
+    }
+
+    public boolean isPrefetchRefreshKeys() {
+        return prefetchRefreshKeys;
+    }
+
+    /**
+     * When no upsert statement is configured, REFRESH fetches existing primary
+     * keys in chunks of {@link #getBatchSize()} and splits rows into batched
+     * INSERT and UPDATE statements.
+     */
+    public void setPrefetchRefreshKeys(boolean prefetchRefreshKeys) {
+        checkFrozen();
+        this.prefetchRefreshKeys = prefetchRefreshKeys;
+    }
+
+    public boolean isGroupRowsByIgnoreMapping() {
+        return groupRowsByIgnoreMapping;
+    }
+
+    /**
+     * Batch operations keep one prepared statement per distinct ignore mapping
+     * of a table, instead of re-preparing the statement whenever consecutive rows
+     * have different missing columns. Rows are no longer executed in dataset
+     * order, so rows of tables with a foreign key referencing the same table are
+     * never grouped.
+     */
+    public void setGroupRowsByIgnoreMapping(boolean groupRowsByIgnoreMapping) {
+        checkFrozen();
+        this.groupRowsByIgnoreMapping = groupRowsByIgnoreMapping;
+    }
+
+    public int getPreparedStatementCacheSize() {
+        return preparedStatementCacheSize;
+    }
+
+    /**
+     * Number of prepared statements kept open per connection for reuse by
+     * batch operations. Statements are keyed by SQL and evicted least recently
+     * used first. <code>0</code> disables the cache.
+     */
+    public void setPreparedStatementCacheSize(int preparedStatementCacheSize) {
+        checkFrozen();
+        this.preparedStatementCacheSize = preparedStatementCacheSize;
+    }
+
+    public int getInsertRowsPerStatement() {
+        return insertRowsPerStatement;
+    }
+
+    /**
+     * Number of rows INSERT binds into one multi-row
+     * <code>insert into t (...) values (...), (...)</code> statement. Values greater
+     * than <code>1</code> help drivers that execute every batched row in a round
+     * trip of its own. Limited by {@link #getMaxBindParameters()}.
+     */
+    public void setInsertRowsPerStatement(int insertRowsPerStatement) {
+        checkFrozen();
+        this.insertRowsPerStatement = insertRowsPerStatement;
+    }
+
+    public int getMaxBindParameters() {
+        return maxBindParameters;
+    }
+
+    /**
+     * Maximum number of bind parameters the driver accepts in one statement,
+     * <code>0</code> for no limit. For example 32767 for PostgreSQL, 65535 for
+     * MySQL or 2100 for SQL Server.
+     */
+    public void setMaxBindParameters(int maxBindParameters) {
+        checkFrozen();
+        this.maxBindParameters = maxBindParameters;
+    }
+
+    public int getPrimaryKeyFilterBatchSize() {
+        return primaryKeyFilterBatchSize;
+    }
+
+    /**
+     * Maximum number of keys looked up by one query of {@link org.dbunit.database.PrimaryKeyFilter},
+     * also limited by {@link #getMaxBindParameters()}. <code>1</code> queries keys one by one.
+     */
+    public void setPrimaryKeyFilterBatchSize(int primaryKeyFilterBatchSize) {
+        checkFrozen();
+        this.primaryKeyFilterBatchSize = primaryKeyFilterBatchSize;
+    }
+
+    public long getCachedTableMemoryBudget() {
+        return cachedTableMemoryBudget;
+    }
+
+    /**
+     * Approximate number of bytes a table read from the database may take in memory,
+     * rows beyond are spilled to a memory-mapped temporary file. <code>0</code> keeps
+     * whole tables in memory.
+     */
+    public void setCachedTableMemoryBudget(long cachedTableMemoryBudget) {
+        checkFrozen();
+        this.cachedTableMemoryBudget = cachedTableMemoryBudget;
+    }
+
+    public ISnapshotStrategy getSnapshotStrategy() {
+        return snapshotStrategy;
+    }
+
+    /**
+     * Database specific way to snapshot class level fixtures and restore them between
+     * tests. When <code>null</code> class level fixtures are set up again for every test.
+     */
+    public void setSnapshotStrategy(ISnapshotStrategy snapshotStrategy) {
+        checkFrozen();
+        this.snapshotStrategy = snapshotStrategy;
+    }
+
+    public IChecksumStrategy getChecksumStrategy() {
+        return checksumStrategy;
+    }
+
+    /**
+     * Database specific way to checksum tables, letting assertions on database
+     * tables pass without fetching rows. When <code>null</code> rows are always
+     * fetched.
+     */
+    public void setChecksumStrategy(IChecksumStrategy checksumStrategy) {
+        checkFrozen();
+        this.checksumStrategy = checksumStrategy;
+    }
+
     private static void notNull(Object object, String message) {
         if (object == null) {
             throw new IllegalArgumentException(message);
@@ -252,5 +405,15 @@ public class DatabaseConfig {
         this.setIgnoredTablePredicate(source.getIgnoredTablePredicate());
         this.setAllowEmptyFields(source.isAllowEmptyFields());
         this.setAllowCountMismatch(source.isAllowCountMismatch());
+        this.setUpsertStatementBuilder(source.getUpsertStatementBuilder());
+        this.setPrefetchRefreshKeys(source.isPrefetchRefreshKeys());
+        this.setGroupRowsByIgnoreMapping(source.isGroupRowsByIgnoreMapping());
+        this.setPreparedStatementCacheSize(source.getPreparedStatementCacheSize());
+        this.setInsertRowsPerStatement(source.getInsertRowsPerStatement());
+        this.setMaxBindParameters(source.getMaxBindParameters());
+        this.setPrimaryKeyFilterBatchSize(source.getPrimaryKeyFilterBatchSize());
+        this.setCachedTableMemoryBudget(source.getCachedTableMemoryBudget());
+        this.setSnapshotStrategy(source.getSnapshotStrategy());
+        this.setChecksumStrategy(source.getChecksumStrategy());
     }
 }
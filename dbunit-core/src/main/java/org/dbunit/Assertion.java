@@ -21,6 +21,7 @@
 
 package org.dbunit;
 
+import java.sql.SQLException;
 import java.util.Map;
 import java.util.function.Predicate;
 
@@ -32,6 +33,7 @@ import org.dbunit.assertion.FailureHandler;
 import org.dbunit.assertion.MessageBuilder;
 import org.dbunit.assertion.TableColumnValueComparerSource;
 import org.dbunit.assertion.comparer.value.ValueComparer;
+import org.dbunit.database.AbstractDatabaseConnection;
 import org.dbunit.dataset.Column;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
@@ -70,6 +72,25 @@ public class Assertion {
         EQUALS_INSTANCE.assertEqualsIgnoreCols(expectedTable, actualTable, ignoreCols);
     }
 
+    /**
+     * @see DbUnitAssert#assertEqualsIgnoreColsAndRowOrder(ITable, ITable,
+     *      String[])
+     */
+    public static void assertEqualsIgnoreColsAndRowOrder(final ITable expectedTable, final ITable actualTable,
+            final String[] ignoreCols) throws DatabaseUnitException {
+        EQUALS_INSTANCE.assertEqualsIgnoreColsAndRowOrder(expectedTable, actualTable, ignoreCols);
+    }
+
+    /**
+     * @see DbUnitAssert#assertEqualsOrderedByPrimaryKey(ITable,
+     *      AbstractDatabaseConnection, String, String[])
+     */
+    public static void assertEqualsOrderedByPrimaryKey(final ITable expectedTable,
+            final AbstractDatabaseConnection connection, final String tableName, final String[] ignoreCols)
+            throws DatabaseUnitException, SQLException {
+        EQUALS_INSTANCE.assertEqualsOrderedByPrimaryKey(expectedTable, connection, tableName, ignoreCols);
+    }
+
     /**
      * @see DbUnitAssert#assertEquals(IDataSet, IDataSet)
      */
@@ -21,16 +21,22 @@
 package org.dbunit.assertion;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Predicate;
 
 import org.dbunit.DatabaseUnitException;
 import org.dbunit.assertion.comparer.value.ValueComparers;
 import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.database.ForwardOnlyResultSetTable;
 import org.dbunit.database.FullyLoadedTable;
 import org.dbunit.database.ResultSetTable;
 import org.dbunit.dataset.Column;
+import org.dbunit.dataset.Columns;
+import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableMetaData;
 import org.dbunit.dataset.datatype.DataType;
 import org.dbunit.dataset.datatype.UnknownDataType;
 import org.dbunit.dataset.filter.PatternMatcher;
@@ -75,6 +81,30 @@ public class DbUnitAssert extends DbUnitAssertBase {
         assertEquals(expectedTable, actualTable, excludedColumn);
     }
 
+    /**
+     * Compare the given tables ignoring specified columns and the order of rows.
+     *
+     * @param expectedTable First table.
+     * @param actualTable   Second table.
+     * @param ignoreCols    Columns to be ignored in comparison.
+     * @throws org.dbunit.DatabaseUnitException If an error occurs.
+     * @see DbUnitAssertBase#assertUnorderedWithValueComparer(ITable, ITable,
+     *      FailureHandler, Predicate, MessageBuilder, ColumnValueComparerSource)
+     */
+    public void assertEqualsIgnoreColsAndRowOrder(final ITable expectedTable, final ITable actualTable,
+            final String[] ignoreCols) throws DatabaseUnitException {
+        logger.debug("assertEqualsIgnoreColsAndRowOrder(expectedTable={}, actualTable={}, ignoreCols={}) - start",
+                expectedTable, actualTable, ignoreCols);
+
+        Predicate<Column> excludedColumn;
+        if (ignoreCols != null) {
+            excludedColumn = buildColumnMatcher(ignoreCols);
+        } else {
+            excludedColumn = (Predicate<Column>) c -> false;
+        }
+        assertEquals(expectedTable, actualTable, null, excludedColumn, true);
+    }
+
     public static Predicate<Column> buildColumnMatcher(final String[] ignoreCols) {
         final PatternMatcher _excludeMatcher = new PatternMatcher();
         for (String columnName : ignoreCols) {
@@ -104,6 +134,111 @@ public class DbUnitAssert extends DbUnitAssertBase {
         assertEquals(expectedTable, fullyLoadedTable, new ExcludedColumnPredicate(ignoreCols));
     }
 
+    /**
+     * Compare a table with a database table read in the order of its primary key,
+     * without loading the database table. Only the current row of the result set
+     * is held in memory, so the database table may be larger than the heap.
+     * <p>
+     * With an {@link IChecksumStrategy} registered in the configuration of the
+     * connection, checksums of both tables are compared first and rows are not
+     * fetched when they are equal.
+     *
+     * @param expectedTable Table containing all expected results.
+     * @param connection    Connection to read the database table with.
+     * @param tableName     The name of the database table, which must have a
+     *                      primary key.
+     * @param ignoreCols    Columns to be ignored in comparison. Can be
+     *                      <code>null</code>.
+     * @throws DatabaseUnitException If an error occurs while performing the
+     *                               comparison.
+     * @throws java.sql.SQLException If an SQL error occurs.
+     * @see DbUnitAssertBase#assertOrderedByPrimaryKeyWithValueComparer(ITable,
+     *      ITable, FailureHandler, Predicate, MessageBuilder,
+     *      ColumnValueComparerSource)
+     */
+    public void assertEqualsOrderedByPrimaryKey(final ITable expectedTable,
+            final AbstractDatabaseConnection connection, final String tableName, final String[] ignoreCols)
+            throws DatabaseUnitException, SQLException {
+        logger.debug("assertEqualsOrderedByPrimaryKey(expectedTable={}, tableName={}, ignoreCols={}) - start",
+                expectedTable, tableName, ignoreCols);
+
+        Predicate<Column> excludedColumn;
+        if (ignoreCols != null) {
+            excludedColumn = buildColumnMatcher(ignoreCols);
+        } else {
+            excludedColumn = (Predicate<Column>) c -> false;
+        }
+        final ITableMetaData metaData = connection.createDataSet().getTableMetaData(tableName);
+        if (isChecksumEqual(expectedTable, connection, metaData, excludedColumn)) {
+            logger.debug("Checksums of {} are equal, rows are not fetched", tableName);
+            return;
+        }
+        final ForwardOnlyResultSetTable actualTable = new ForwardOnlyResultSetTable(metaData, connection);
+        try {
+            assertOrderedByPrimaryKeyWithValueComparer(expectedTable, actualTable, null, excludedColumn,
+                    getMessageBuilder(null), getColumnValueComparerSource(expectedTable));
+        } finally {
+            actualTable.close();
+        }
+    }
+
+    /**
+     * Tells whether both tables have the same checksum. Tables are not
+     * checksummed when their columns differ, when some column is not supported
+     * by the checksum strategy, or when specific value comparers are set for
+     * the table, which may not accept equal values. A failing checksum query
+     * leaves the comparison to rows.
+     */
+    private boolean isChecksumEqual(final ITable expectedTable, final AbstractDatabaseConnection connection,
+            final ITableMetaData metaData, Predicate<Column> excludedColumn)
+            throws DataSetException, SQLException {
+        final IChecksumStrategy checksumStrategy = connection.getDatabaseConfig().getChecksumStrategy();
+        final String expectedTableName = expectedTable.getTableMetaData().getTableName();
+        if (checksumStrategy == null
+                || !valueComparerDefaults.getDefaultColumnValueComparerMapForTable(expectedTableName).isEmpty()) {
+            return false;
+        }
+
+        final List<Column> columns = new ArrayList<>();
+        for (Column column : metaData.getColumns()) {
+            if (!excludedColumn.test(column)) {
+                if (!checksumStrategy.isSupported(column)) {
+                    logger.debug("Column {} of {} is not supported by {}", column.getColumnName(),
+                            metaData.getTableName(), checksumStrategy);
+                    return false;
+                }
+                columns.add(column);
+            }
+        }
+        int expectedColumnCount = 0;
+        for (Column column : expectedTable.getTableMetaData().getColumns()) {
+            if (!excludedColumn.test(column)) {
+                if (Columns.getColumn(column.getColumnName(), metaData.getColumns()) == null) {
+                    return false;
+                }
+                expectedColumnCount++;
+            }
+        }
+        if (columns.isEmpty() || expectedColumnCount != columns.size()) {
+            return false;
+        }
+
+        final Column[] checksumColumns = columns.toArray(new Column[columns.size()]);
+        final TableChecksum expectedChecksum = checksumStrategy.checksum(expectedTable, checksumColumns);
+        if (expectedChecksum == null) {
+            return false;
+        }
+        final TableChecksum actualChecksum;
+        try {
+            actualChecksum = checksumStrategy.checksum(connection, metaData.getTableName(), checksumColumns);
+        } catch (SQLException e) {
+            logger.warn("Cannot checksum {}, rows are compared: {}", metaData.getTableName(), e.getMessage());
+            return false;
+        }
+        logger.debug("Expected {}, actual {}", expectedChecksum, actualChecksum);
+        return expectedChecksum.equals(actualChecksum);
+    }
+
     /**
      * Asserts that the two specified dataset are equals. This method ignore the
      * tables order.
@@ -205,21 +340,35 @@ public class DbUnitAssert extends DbUnitAssertBase {
      */
     public void assertEquals(final ITable expectedTable, final ITable actualTable, final FailureHandler failureHandler,
             Predicate<Column> excludedColumn) throws DatabaseUnitException {
-        MessageBuilder messageBuilder;
-        if (failureHandler instanceof DefaultFailureHandler) {
-            messageBuilder = ((DefaultFailureHandler) failureHandler).getMessageBuilder();
+        assertEquals(expectedTable, actualTable, failureHandler, excludedColumn, false);
+    }
+
+    private void assertEquals(final ITable expectedTable, final ITable actualTable,
+            final FailureHandler failureHandler, Predicate<Column> excludedColumn, boolean ignoreRowOrder)
+            throws DatabaseUnitException {
+        MessageBuilder messageBuilder = getMessageBuilder(failureHandler);
+        ColumnValueComparerSource columnValueComparerSource = getColumnValueComparerSource(expectedTable);
+
+        if (ignoreRowOrder) {
+            assertUnorderedWithValueComparer(expectedTable, actualTable, failureHandler, excludedColumn,
+                    messageBuilder, columnValueComparerSource);
         } else {
-            messageBuilder = new MessageBuilder(null);
+            assertWithValueComparer(expectedTable, actualTable, failureHandler, excludedColumn, messageBuilder,
+                    columnValueComparerSource);
         }
+    }
 
-        final String expectedTableName = expectedTable.getTableMetaData().getTableName();
+    private MessageBuilder getMessageBuilder(final FailureHandler failureHandler) {
+        if (failureHandler instanceof DefaultFailureHandler) {
+            return ((DefaultFailureHandler) failureHandler).getMessageBuilder();
+        }
+        return new MessageBuilder(null);
+    }
 
-        ColumnValueComparerSource columnValueComparerSource = new ColumnValueComparerSource(
-                ValueComparers.isActualEqualToExpectedWithEmptyFailMessage,
+    private ColumnValueComparerSource getColumnValueComparerSource(final ITable expectedTable) {
+        final String expectedTableName = expectedTable.getTableMetaData().getTableName();
+        return new ColumnValueComparerSource(ValueComparers.isActualEqualToExpectedWithEmptyFailMessage,
                 valueComparerDefaults.getDefaultColumnValueComparerMapForTable(expectedTableName));
-
-        assertWithValueComparer(expectedTable, actualTable, failureHandler, excludedColumn, messageBuilder,
-                columnValueComparerSource);
     }
 
     /**
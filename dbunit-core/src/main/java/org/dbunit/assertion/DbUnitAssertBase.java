@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 
 import org.dbunit.DatabaseUnitException;
@@ -20,6 +21,8 @@ import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITable;
 import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.NoPrimaryKeyException;
+import org.dbunit.dataset.SortedTable;
 import org.dbunit.dataset.datatype.DataType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +42,32 @@ public class DbUnitAssertBase {
     public final DefaultValueComparerDefaults valueComparerDefaults = new DefaultValueComparerDefaults();
     protected final ColumnsComparer columnComparer = new ColumnsComparer();
 
+    private Executor executor;
+
+    /**
+     * @return The executor comparing tables concurrently, <code>null</code> when
+     *         they are compared on the calling thread
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Compares tables of datasets, and row ranges of large tables, concurrently
+     * on the given executor, like a {@link java.util.concurrent.ForkJoinPool} or
+     * a virtual thread per task executor. Tables are copied in memory first
+     * unless they already are. Failures reach the failure handler in the same
+     * order as without executor. A {@link DefaultFailureHandler} which throws on
+     * the first failure cancels comparisons of the rows following it, while a
+     * {@link DiffCollectingFailureHandler} gets all failures.
+     *
+     * @param executor The executor, <code>null</code> to compare tables on the
+     *                 calling thread
+     */
+    public void setExecutor(final Executor executor) {
+        this.executor = executor;
+    }
+
     /**
      * @return The default failure handler
      * @since 2.4
@@ -201,6 +230,8 @@ public class DbUnitAssertBase {
             TableColumnValueComparerSource tableColumnValueComparerSource)
             throws DataSetException, Error, DatabaseUnitException {
 
+        final ParallelTableComparison parallelComparison = executor == null ? null
+                : new ParallelTableComparison(this, executor, failureHandler);
         for (final String tableName : expectedNames) {
             final ITable expectedTable = expectedDataSet.getTable(tableName);
             final ITable actualTable = actualDataSet.getTable(tableName);
@@ -218,8 +249,16 @@ public class DbUnitAssertBase {
             ColumnValueComparerSource columnValueComparerSource = tableColumnValueComparerSource
                     .getColumnValueComparerSource(tableName);
 
-            assertWithValueComparer2(expectedTable, actualTable, failureHandler, messageBuilder,
-                    columnValueComparerSource);
+            if (parallelComparison == null) {
+                assertWithValueComparer2(expectedTable, actualTable, failureHandler, messageBuilder,
+                        columnValueComparerSource);
+            } else if (expectedTable != actualTable) {
+                parallelComparison.addTable(expectedTable, actualTable, c -> false, messageBuilder,
+                        columnValueComparerSource);
+            }
+        }
+        if (parallelComparison != null) {
+            parallelComparison.finish();
         }
     }
 
@@ -258,6 +297,67 @@ public class DbUnitAssertBase {
     public void assertWithValueComparer(final ITable expectedTable, final ITable actualTable,
             final FailureHandler failureHandler, Predicate<Column> excludedColumn, MessageBuilder messageBuilder,
             ColumnValueComparerSource columnValueComparerSource) throws Error, DataSetException, DatabaseUnitException {
+        assertWithValueComparer(expectedTable, actualTable, failureHandler, excludedColumn, messageBuilder,
+                columnValueComparerSource, false);
+    }
+
+    /**
+     * Same as
+     * {@link #assertWithValueComparer(ITable, ITable, FailureHandler, Predicate, MessageBuilder, ColumnValueComparerSource)}
+     * but ignores the rows order. Rows are paired by the values of columns
+     * compared for equality, see {@link UnorderedRowMatcher}. Only rows left
+     * without a pair are sorted and compared row by row, so failures are
+     * reported for them alone.
+     */
+    public void assertUnorderedWithValueComparer(final ITable expectedTable, final ITable actualTable,
+            final FailureHandler failureHandler, Predicate<Column> excludedColumn, MessageBuilder messageBuilder,
+            ColumnValueComparerSource columnValueComparerSource) throws Error, DataSetException, DatabaseUnitException {
+        assertWithValueComparer(expectedTable, actualTable, failureHandler, excludedColumn, messageBuilder,
+                columnValueComparerSource, true);
+    }
+
+    /**
+     * Same as
+     * {@link #assertWithValueComparer(ITable, ITable, FailureHandler, Predicate, MessageBuilder, ColumnValueComparerSource)}
+     * for an actual table read forward only in the order of its primary key,
+     * like a {@link org.dbunit.database.ForwardOnlyResultSetTable}. The expected
+     * table is sorted by the primary key and both are compared in a single pass,
+     * see {@link MergeJoinTableComparison}, so the actual table is never loaded.
+     * Rows with keys on one side only are reported missing or unexpected.
+     *
+     * @throws NoPrimaryKeyException if the actual table has no primary key
+     */
+    public void assertOrderedByPrimaryKeyWithValueComparer(final ITable expectedTable, final ITable actualTable,
+            final FailureHandler failureHandler, Predicate<Column> excludedColumn, MessageBuilder messageBuilder,
+            ColumnValueComparerSource columnValueComparerSource) throws Error, DataSetException, DatabaseUnitException {
+        FailureHandler validFailureHandler;
+        if (failureHandler == null) {
+            log.debug("FailureHandler is null. Using default implementation");
+            validFailureHandler = getDefaultFailureHandler();
+        } else {
+            validFailureHandler = failureHandler;
+        }
+
+        final ITableMetaData actualMetaData = actualTable.getTableMetaData();
+        final Column[] primaryKeys = actualMetaData.getPrimaryKeys();
+        if (primaryKeys.length == 0) {
+            throw new NoPrimaryKeyException(actualMetaData.getTableName());
+        }
+
+        final ComparisonColumn[] comparisonCols = prepareComparison(expectedTable, actualTable,
+                validFailureHandler, excludedColumn);
+        if (comparisonCols == null) {
+            return;
+        }
+        final ValueComparer[] valueComparers = selectValueComparers(columnValueComparerSource, comparisonCols);
+        new MergeJoinTableComparison(comparisonCols, valueComparers, primaryKeys, validFailureHandler,
+                messageBuilder).compare(expectedTable, actualTable);
+    }
+
+    private void assertWithValueComparer(final ITable expectedTable, final ITable actualTable,
+            final FailureHandler failureHandler, Predicate<Column> excludedColumn, MessageBuilder messageBuilder,
+            ColumnValueComparerSource columnValueComparerSource, boolean ignoreRowOrder)
+            throws Error, DataSetException, DatabaseUnitException {
         // Do not continue if same instance
         if (expectedTable == actualTable) {
             log.debug("The given tables reference the same object." + " Skipping comparisons.");
@@ -272,6 +372,39 @@ public class DbUnitAssertBase {
             validFailureHandler = failureHandler;
         }
 
+        if (executor != null && !ignoreRowOrder
+                && expectedTable.getRowCount() > ParallelTableComparison.ROW_RANGE_SIZE) {
+            final ParallelTableComparison parallelComparison = new ParallelTableComparison(this, executor,
+                    validFailureHandler);
+            parallelComparison.addTable(expectedTable, actualTable, excludedColumn, messageBuilder,
+                    columnValueComparerSource);
+            parallelComparison.finish();
+            return;
+        }
+
+        final ComparisonColumn[] comparisonCols = prepareComparison(expectedTable, actualTable,
+                validFailureHandler, excludedColumn);
+        if (comparisonCols == null) {
+            return;
+        }
+
+        if (ignoreRowOrder) {
+            compareUnorderedRows(expectedTable, actualTable, columnValueComparerSource, comparisonCols,
+                    validFailureHandler, messageBuilder);
+        } else {
+            compareRows(expectedTable, actualTable, columnValueComparerSource, comparisonCols, validFailureHandler,
+                    messageBuilder);
+        }
+    }
+
+    /**
+     * Compares row counts and columns of the tables.
+     *
+     * @return The columns to compare, <code>null</code> when the tables are empty
+     */
+    ComparisonColumn[] prepareComparison(final ITable expectedTable, final ITable actualTable,
+            final FailureHandler validFailureHandler, Predicate<Column> excludedColumn)
+            throws DataSetException, DatabaseUnitException {
         final ITableMetaData expectedMetaData = expectedTable.getTableMetaData();
         final ITableMetaData actualMetaData = actualTable.getTableMetaData();
         final String expectedTableName = expectedMetaData.getTableName();
@@ -279,7 +412,7 @@ public class DbUnitAssertBase {
         final boolean isTablesEmpty = compareRowCounts(expectedTable, actualTable, validFailureHandler,
                 expectedTableName);
         if (isTablesEmpty) {
-            return;
+            return null;
         }
 
         // Verify columns
@@ -297,12 +430,7 @@ public class DbUnitAssertBase {
                     validFailureHandler);
         }
 
-        // Get the datatypes to be used for comparing the sorted columns
-
-        // Finally compare the data
-
-        compareRows(expectedTable, actualTable, columnValueComparerSource, comparisonCols, validFailureHandler,
-                messageBuilder);
+        return comparisonCols;
     }
 
     /**
@@ -320,29 +448,94 @@ public class DbUnitAssertBase {
             ColumnValueComparerSource columnValueComparerSource, final ComparisonColumn[] comparisonCols,
             final FailureHandler failureHandler, MessageBuilder messageBuilder)
             throws DataSetException, DatabaseUnitException {
+        // resolve column positions and comparers once, not per cell
+        final int[] expectedIndexes = getColumnIndexes(expectedTable.getTableMetaData(), comparisonCols);
+        final int[] actualIndexes = getColumnIndexes(actualTable.getTableMetaData(), comparisonCols);
+        final ValueComparer[] valueComparers = selectValueComparers(columnValueComparerSource, comparisonCols);
+
+        compareRows(expectedTable, actualTable, 0, expectedTable.getRowCount(), comparisonCols, expectedIndexes,
+                actualIndexes, valueComparers, failureHandler, messageBuilder);
+    }
+
+    /**
+     * Compares rows from <code>fromRow</code>, inclusive, to <code>toRow</code>,
+     * exclusive, with column positions and comparers already resolved.
+     */
+    void compareRows(final ITable expectedTable, final ITable actualTable, final int fromRow, final int toRow,
+            final ComparisonColumn[] comparisonCols, final int[] expectedIndexes, final int[] actualIndexes,
+            final ValueComparer[] valueComparers, final FailureHandler failureHandler, MessageBuilder messageBuilder)
+            throws DataSetException, DatabaseUnitException {
+        final int columnCount = comparisonCols.length;
+
         // iterate over all rows
-        for (int rowNum = 0; rowNum < expectedTable.getRowCount(); rowNum++) {
+        for (int rowNum = fromRow; rowNum < toRow; rowNum++) {
             // iterate over all columns of the current row
-            final int columnCount = comparisonCols.length;
             for (int columnNum = 0; columnNum < columnCount; columnNum++) {
                 final ComparisonColumn compareColumn = comparisonCols[columnNum];
                 final String columnName = compareColumn.getColumnName();
                 final DataType dataType = compareColumn.getDataType();
 
-                compireColumnValue(expectedTable, actualTable, rowNum, columnName, columnValueComparerSource,
-                        failureHandler, messageBuilder, dataType);
+                final Object expectedValue = getValue(expectedTable, rowNum, expectedIndexes[columnNum], columnName);
+                final Object actualValue = getValue(actualTable, rowNum, actualIndexes[columnNum], columnName);
+                compireColumnValue(expectedTable, actualTable, rowNum, columnName, expectedValue, actualValue,
+                        valueComparers[columnNum], failureHandler, messageBuilder, dataType);
             }
         }
     }
 
-    void compireColumnValue(final ITable expectedTable, final ITable actualTable, final int rowNum,
-            final String columnName, ColumnValueComparerSource columnValueComparerSource,
-            final FailureHandler failureHandler, MessageBuilder messageBuilder, final DataType dataType)
+    void compareUnorderedRows(final ITable expectedTable, final ITable actualTable,
+            ColumnValueComparerSource columnValueComparerSource, final ComparisonColumn[] comparisonCols,
+            final FailureHandler failureHandler, MessageBuilder messageBuilder)
             throws DataSetException, DatabaseUnitException {
-        final Object expectedValue = expectedTable.getValue(rowNum, columnName);
-        final Object actualValue = actualTable.getValue(rowNum, columnName);
-        final ValueComparer valueComparer = columnValueComparerSource.selectValueComparer(columnName);
+        final UnorderedRowMatcher matcher = new UnorderedRowMatcher(comparisonCols,
+                selectValueComparers(columnValueComparerSource, comparisonCols));
+        matcher.match(expectedTable, actualTable);
+        if (matcher.isMatched()) {
+            return;
+        }
+
+        // fall back to ordered comparison of the rows left without a pair
+        final String[] columnNames = new String[comparisonCols.length];
+        for (int i = 0; i < comparisonCols.length; i++) {
+            columnNames[i] = comparisonCols[i].getColumnName();
+        }
+        compareRows(new SortedTable(matcher.getMissingRows(), columnNames),
+                new SortedTable(matcher.getUnexpectedRows(), columnNames), columnValueComparerSource, comparisonCols,
+                failureHandler, messageBuilder);
+    }
 
+    ValueComparer[] selectValueComparers(ColumnValueComparerSource columnValueComparerSource,
+            final ComparisonColumn[] comparisonCols) {
+        final ValueComparer[] valueComparers = new ValueComparer[comparisonCols.length];
+        for (int columnNum = 0; columnNum < comparisonCols.length; columnNum++) {
+            valueComparers[columnNum] = columnValueComparerSource
+                    .selectValueComparer(comparisonCols[columnNum].getColumnName());
+        }
+        return valueComparers;
+    }
+
+    /**
+     * Resolves the position of every compared column in the given table. Columns
+     * the metadata does not know are marked with <code>-1</code> and read by name.
+     */
+    static int[] getColumnIndexes(final ITableMetaData metaData, final ComparisonColumn[] comparisonCols)
+            throws DataSetException {
+        final String[] columnNames = new String[comparisonCols.length];
+        for (int i = 0; i < comparisonCols.length; i++) {
+            columnNames[i] = comparisonCols[i].getColumnName();
+        }
+        return Columns.getColumnIndexes(metaData, columnNames);
+    }
+
+    static Object getValue(final ITable table, final int rowNum, final int columnIndex, final String columnName)
+            throws DataSetException {
+        return columnIndex < 0 ? table.getValue(rowNum, columnName) : table.getValue(rowNum, columnIndex);
+    }
+
+    void compireColumnValue(final ITable expectedTable, final ITable actualTable, final int rowNum,
+            final String columnName, final Object expectedValue, final Object actualValue,
+            final ValueComparer valueComparer, final FailureHandler failureHandler, MessageBuilder messageBuilder,
+            final DataType dataType) throws DatabaseUnitException {
         final String failMessage = valueComparer.compare(dataType, expectedValue, actualValue);
         if (failMessage != null) {
             final String msg = messageBuilder.buildMessage(expectedTable, actualTable, rowNum, columnName, failMessage);
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.assertion;
+
+import java.sql.SQLException;
+
+import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+
+/**
+ * Computes checksums of tables both in memory and inside the database, so an
+ * assertion on a database table can pass without fetching its rows when both
+ * checksums are equal. Different checksums only mean rows have to be fetched
+ * and compared.
+ * <p>
+ * Checksums must not depend on the order of rows, and must be equal only for
+ * tables with the same rows, values compared after casting them to the data
+ * types of the columns. {@link Md5ChecksumStrategy} has database specific
+ * variants in the <code>ext</code> packages. Register one with
+ * {@link io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig#setChecksumStrategy(IChecksumStrategy)}.
+ */
+public interface IChecksumStrategy {
+
+    /**
+     * Tells whether values of the database column can be part of a checksum.
+     */
+    boolean isSupported(Column column);
+
+    /**
+     * Computes the checksum of given columns of a table in memory.
+     *
+     * @param columns columns of the database table, their data types are used to
+     *                cast values of the table
+     * @return the checksum, <code>null</code> when a value cannot be cast
+     */
+    TableChecksum checksum(ITable table, Column[] columns) throws DataSetException;
+
+    /**
+     * Computes the checksum of given columns of a database table with a single
+     * query.
+     *
+     * @return the checksum, <code>null</code> when the database cannot compute
+     *         it
+     */
+    TableChecksum checksum(AbstractDatabaseConnection connection, String tableName, Column[] columns)
+            throws DataSetException, SQLException;
+}
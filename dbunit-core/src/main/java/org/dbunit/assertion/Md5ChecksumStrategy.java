@@ -0,0 +1,196 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.assertion;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+
+import org.dbunit.DatabaseUnitRuntimeException;
+import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.datatype.TypeCastException;
+import org.dbunit.util.QualifiedTableName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checksum made of the row count and the sum of row hashes. A row is written as
+ * a string, every value tagged and prefixed with its length so that different
+ * rows never give the same string: <code>N</code> for <code>null</code>,
+ * <code>V3:abc</code> for a value. Lengths count Unicode code points, like
+ * <code>char_length</code> of most databases. Its hash is the first 60 bits of
+ * the MD5 digest of the UTF-8 bytes of that string.
+ * <p>
+ * Only integer and character columns are supported, as their values are
+ * written the same way by Java and databases. Values written differently, like
+ * padded strings, only make checksums differ. Subclasses in the
+ * <code>ext</code> packages provide the hash function of a database, and may
+ * support more types.
+ */
+public abstract class Md5ChecksumStrategy implements IChecksumStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(Md5ChecksumStrategy.class);
+
+    @Override
+    public boolean isSupported(Column column) {
+        switch (column.getDataType().getSqlType()) {
+        case Types.TINYINT:
+        case Types.SMALLINT:
+        case Types.INTEGER:
+        case Types.BIGINT:
+        case Types.VARCHAR:
+        case Types.LONGVARCHAR:
+        case Types.NVARCHAR:
+        case Types.LONGNVARCHAR:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    @Override
+    public TableChecksum checksum(ITable table, Column[] columns) throws DataSetException {
+        final ITableMetaData metaData = table.getTableMetaData();
+        final int[] indexes = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            indexes[i] = metaData.getColumnIndex(columns[i].getColumnName());
+        }
+
+        final MessageDigest digest = createDigest();
+        final StringBuilder row = new StringBuilder();
+        final int rowCount = table.getRowCount();
+        BigInteger hash = BigInteger.ZERO;
+        long partialHash = 0;
+        for (int i = 0; i < rowCount; i++) {
+            row.setLength(0);
+            for (int j = 0; j < columns.length; j++) {
+                final Object value;
+                try {
+                    value = columns[j].getDataType().typeCast(table.getValue(i, indexes[j]));
+                } catch (TypeCastException e) {
+                    logger.debug("Cannot cast value of {}, no checksum for {}: {}", columns[j].getColumnName(),
+                            metaData.getTableName(), e.getMessage());
+                    return null;
+                }
+                if (value == null) {
+                    row.append('N');
+                } else {
+                    final String string = formatValue(value);
+                    row.append('V').append(length(string)).append(':').append(string);
+                }
+            }
+            final long rowHash = hashRow(digest, row);
+            // row hashes have 60 bits, carry before the sum overflows
+            if (partialHash > Long.MAX_VALUE - rowHash) {
+                hash = hash.add(BigInteger.valueOf(partialHash));
+                partialHash = 0;
+            }
+            partialHash += rowHash;
+        }
+        return new TableChecksum(rowCount, hash.add(BigInteger.valueOf(partialHash)));
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new DatabaseUnitRuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns the hash of a row written as a string, for databases computing it
+     * with a Java function.
+     */
+    protected static long hashRow(String row) {
+        return hashRow(createDigest(), row);
+    }
+
+    private static long hashRow(MessageDigest digest, CharSequence row) {
+        final byte[] bytes = digest.digest(row.toString().getBytes(StandardCharsets.UTF_8));
+        long hash = 0;
+        for (int i = 0; i < 8; i++) {
+            hash = hash << 8 | bytes[i] & 0xFF;
+        }
+        return hash >>> 4;
+    }
+
+    /**
+     * Writes a value cast to the data type of its column the way the database
+     * casts it to a character string.
+     */
+    protected String formatValue(Object value) {
+        return value.toString();
+    }
+
+    /**
+     * Returns the length of a value written as a string, counted the way
+     * {@link #buildLengthSql(String)} counts it: in code points.
+     */
+    protected int length(String value) {
+        return value.codePointCount(0, value.length());
+    }
+
+    @Override
+    public TableChecksum checksum(AbstractDatabaseConnection connection, String tableName, Column[] columns)
+            throws DataSetException, SQLException {
+        final String escapePattern = connection.getDatabaseConfig().getEscapePattern();
+        final String[] values = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            final String columnName = new QualifiedTableName(columns[i].getColumnName(), null, escapePattern)
+                    .getQualifiedName();
+            final String string = buildCastToStringSql(columnName);
+            values[i] = "case when " + columnName + " is null then 'N' else "
+                    + buildConcatSql("'V'", buildCastToStringSql(buildLengthSql(string)), "':'", string) + " end";
+        }
+        final String sql = "select count(*), sum(" + buildRowHashSql(buildConcatSql(values)) + ") from "
+                + new QualifiedTableName(tableName, connection.getSchema(), escapePattern).getQualifiedName();
+        logger.debug("Query: {}", sql);
+
+        try (Statement statement = connection.getConnection().createStatement();
+                ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            final long rowCount = resultSet.getLong(1);
+            final BigDecimal hash = resultSet.getBigDecimal(2);
+            return new TableChecksum(rowCount, hash == null ? BigInteger.ZERO : hash.toBigIntegerExact());
+        }
+    }
+
+    /**
+     * Returns expression casting a value to a character string.
+     */
+    protected String buildCastToStringSql(String expression) {
+        return "cast(" + expression + " as varchar)";
+    }
+
+    /**
+     * Returns expression giving the number of characters of a string.
+     */
+    protected String buildLengthSql(String expression) {
+        return "char_length(" + expression + ")";
+    }
+
+    /**
+     * Returns expression concatenating strings, none of them <code>null</code>.
+     */
+    protected String buildConcatSql(String... expressions) {
+        return String.join(" || ", expressions);
+    }
+
+    /**
+     * Returns expression giving the first 60 bits of the MD5 digest of the UTF-8
+     * bytes of a string, as a non negative integer whose sum does not overflow.
+     */
+    protected abstract String buildRowHashSql(String expression);
+}
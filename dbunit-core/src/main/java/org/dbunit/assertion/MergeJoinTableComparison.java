@@ -0,0 +1,182 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.assertion;
+
+import java.util.Arrays;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.assertion.DbUnitAssert.ComparisonColumn;
+import org.dbunit.assertion.comparer.value.ValueComparer;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableCursor;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.SortedTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares a table with a table read forward only and ordered by primary key,
+ * like a {@link org.dbunit.database.ForwardOnlyResultSetTable} of a database
+ * table, without loading the latter.
+ * <p>
+ * The expected table is sorted by the primary key, comparing values with the
+ * data types of the actual primary key columns. Both tables are then read
+ * together: rows with the same key are compared column by column, other rows
+ * are reported missing or unexpected. Only the current actual row is held in
+ * memory, differing values are reported with the row number of the actual
+ * table.
+ * <p>
+ * The database must order keys the way their data types compare them, which
+ * may not hold for character keys and some collations. Actual rows found out
+ * of that order make the comparison throw.
+ */
+class MergeJoinTableComparison {
+
+    private static final Logger logger = LoggerFactory.getLogger(MergeJoinTableComparison.class);
+
+    private final ComparisonColumn[] comparisonCols;
+    private final ValueComparer[] valueComparers;
+    private final Column[] primaryKeys;
+    private final FailureHandler failureHandler;
+    private final MessageBuilder messageBuilder;
+
+    MergeJoinTableComparison(ComparisonColumn[] comparisonCols, ValueComparer[] valueComparers,
+            Column[] primaryKeys, FailureHandler failureHandler, MessageBuilder messageBuilder) {
+        this.comparisonCols = comparisonCols;
+        this.valueComparers = valueComparers;
+        this.primaryKeys = primaryKeys;
+        this.failureHandler = failureHandler;
+        this.messageBuilder = messageBuilder;
+    }
+
+    void compare(ITable expectedTable, ITable actualTable) throws DataSetException, DatabaseUnitException {
+        final String tableName = expectedTable.getTableMetaData().getTableName();
+        final SortedTable sortedTable = new SortedTable(expectedTable, primaryKeys, true);
+        sortedTable.setUseComparable(true);
+        final ITableCursor cursor = actualTable.cursor();
+
+        final int[] expectedKeyIndexes = getColumnIndexes(sortedTable.getTableMetaData(), primaryKeys);
+        final int[] actualKeyIndexes = getColumnIndexes(cursor.getTableMetaData(), primaryKeys);
+        final int[] expectedIndexes = DbUnitAssertBase.getColumnIndexes(sortedTable.getTableMetaData(),
+                comparisonCols);
+        final int[] actualIndexes = DbUnitAssertBase.getColumnIndexes(cursor.getTableMetaData(), comparisonCols);
+
+        final int expectedCount = sortedTable.getRowCount();
+        int expectedRow = 0;
+        int actualCount = 0;
+        Object[] actualKey = cursor.next() ? getKey(cursor, actualKeyIndexes) : null;
+        while (expectedRow < expectedCount || actualKey != null) {
+            final Object[] expectedKey = expectedRow < expectedCount
+                    ? getKey(sortedTable, expectedRow, expectedKeyIndexes)
+                    : null;
+            final int result = expectedKey == null ? 1 : actualKey == null ? -1 : compareKeys(expectedKey, actualKey);
+            if (result == 0) {
+                compareRow(sortedTable, expectedRow, expectedIndexes, cursor, actualIndexes);
+            } else if (result < 0) {
+                failureHandler.handleFailure("missing row (table=" + tableName + ", key=" + Arrays.toString(expectedKey)
+                        + ")", getRowString(sortedTable, expectedRow, expectedIndexes), "");
+            } else {
+                failureHandler.handleFailure("unexpected row (table=" + tableName + ", key="
+                        + Arrays.toString(actualKey) + ")", "", getRowString(cursor, actualIndexes));
+            }
+
+            if (result <= 0) {
+                expectedRow++;
+            }
+            if (result >= 0) {
+                actualCount++;
+                actualKey = next(cursor, actualKeyIndexes, actualKey, tableName);
+            }
+        }
+        logger.debug("Compared {} expected and {} actual rows of {}", expectedCount, actualCount, tableName);
+    }
+
+    private Object[] next(ITableCursor cursor, int[] keyIndexes, Object[] previousKey, String tableName)
+            throws DataSetException, DatabaseUnitException {
+        if (!cursor.next()) {
+            return null;
+        }
+        final Object[] key = getKey(cursor, keyIndexes);
+        if (compareKeys(previousKey, key) >= 0) {
+            throw new DatabaseUnitException("Rows of " + tableName + " are not ordered by primary key the way its"
+                    + " data types compare, " + Arrays.toString(key) + " follows " + Arrays.toString(previousKey)
+                    + ". Load the table to compare it.");
+        }
+        return key;
+    }
+
+    private void compareRow(ITable expectedTable, int expectedRow, int[] expectedIndexes, ITableCursor cursor,
+            int[] actualIndexes) throws DataSetException, DatabaseUnitException {
+        for (int i = 0; i < comparisonCols.length; i++) {
+            final ComparisonColumn column = comparisonCols[i];
+            final Object expectedValue = DbUnitAssertBase.getValue(expectedTable, expectedRow, expectedIndexes[i],
+                    column.getColumnName());
+            final Object actualValue = getValue(cursor, actualIndexes[i], column.getColumnName());
+            final String failMessage = valueComparers[i].compare(column.getDataType(), expectedValue, actualValue);
+            if (failMessage != null) {
+                // the actual table cannot be read by row index, only the cursor holds the row
+                final String message = messageBuilder.buildMessage(expectedTable, expectedRow, cursor,
+                        column.getColumnName(), failMessage);
+                failureHandler.handleFailure(message, String.valueOf(expectedValue), String.valueOf(actualValue));
+            }
+        }
+    }
+
+    private int compareKeys(Object[] key1, Object[] key2) throws DatabaseUnitException {
+        for (int i = 0; i < primaryKeys.length; i++) {
+            final int result = primaryKeys[i].getDataType().compare(key1[i], key2[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private static int[] getColumnIndexes(ITableMetaData metaData, Column[] columns) throws DataSetException {
+        final int[] indexes = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            indexes[i] = metaData.getColumnIndex(columns[i].getColumnName());
+        }
+        return indexes;
+    }
+
+    private static Object[] getKey(ITable table, int row, int[] keyIndexes) throws DataSetException {
+        final Object[] key = new Object[keyIndexes.length];
+        for (int i = 0; i < keyIndexes.length; i++) {
+            key[i] = table.getValue(row, keyIndexes[i]);
+        }
+        return key;
+    }
+
+    private static Object[] getKey(ITableCursor cursor, int[] keyIndexes) throws DataSetException {
+        final Object[] key = new Object[keyIndexes.length];
+        for (int i = 0; i < keyIndexes.length; i++) {
+            key[i] = cursor.getValue(keyIndexes[i]);
+        }
+        return key;
+    }
+
+    private static Object getValue(ITableCursor cursor, int columnIndex, String columnName)
+            throws DataSetException {
+        return columnIndex < 0 ? cursor.getValue(columnName) : cursor.getValue(columnIndex);
+    }
+
+    private String getRowString(ITable table, int row, int[] indexes) throws DataSetException {
+        final Object[] values = new Object[comparisonCols.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = DbUnitAssertBase.getValue(table, row, indexes[i], comparisonCols[i].getColumnName());
+        }
+        return Arrays.toString(values);
+    }
+
+    private String getRowString(ITableCursor cursor, int[] indexes) throws DataSetException {
+        final Object[] values = new Object[comparisonCols.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getValue(cursor, indexes[i], comparisonCols[i].getColumnName());
+        }
+        return Arrays.toString(values);
+    }
+}
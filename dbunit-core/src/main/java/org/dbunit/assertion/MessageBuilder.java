@@ -6,6 +6,7 @@ package org.dbunit.assertion;
 import org.dbunit.dataset.ColumnFilterTable;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableCursor;
 import org.dbunit.dataset.ITableMetaData;
 import org.dbunit.dataset.NoSuchColumnException;
 
@@ -54,6 +55,36 @@ public class MessageBuilder {
         return builder.toString();
     }
 
+    /**
+     * Builds the message for a row of the expected table and the current row of a
+     * cursor on the actual table, which is never read by row index. The row number
+     * is the one of the actual row.
+     */
+    public String buildMessage(final ITable expectedTable, final int expectedRow, final ITableCursor actualCursor,
+            final String columnName, final String failMessage) {
+
+        final StringBuilder builder = new StringBuilder(200);
+
+        addFailMessage(builder, failMessage);
+
+        builder.append("value (table=").append(expectedTable.getTableMetaData().getTableName());
+        builder.append(", row=").append(actualCursor.getRow());
+        builder.append(", col=").append(columnName);
+
+        if (_additionalColumnInfo != null && _additionalColumnInfo.length > 0) {
+            builder.append(", Additional row info:");
+            for (final String columnName1 : _additionalColumnInfo) {
+                appendAdditionalColumnInfo(builder, columnName1,
+                        getColumnValue(expectedTable, expectedRow, columnName1),
+                        getColumnValue(actualCursor, columnName1));
+            }
+        }
+
+        builder.append(")");
+
+        return builder.toString();
+    }
+
     public String getAdditionalInfo(final int rowNum, final ITable expectedTable, final ITable actualTable) {
         // add custom column values information for better identification of
         // mismatching rows
@@ -68,18 +99,23 @@ public class MessageBuilder {
             final Object expectedKeyValue = getColumnValue(expectedTable, rowNum, columnName1);
             final Object actualKeyValue = getColumnValue(actualTable, rowNum, columnName1);
 
-            sb.append(" ('");
-            sb.append(columnName1);
-            sb.append("': expected=<");
-            sb.append(expectedKeyValue);
-            sb.append(">, actual=<");
-            sb.append(actualKeyValue);
-            sb.append(">)");
+            appendAdditionalColumnInfo(sb, columnName1, expectedKeyValue, actualKeyValue);
         }
 
         return sb.toString();
     }
 
+    private void appendAdditionalColumnInfo(final StringBuilder sb, final String columnName,
+            final Object expectedValue, final Object actualValue) {
+        sb.append(" ('");
+        sb.append(columnName);
+        sb.append("': expected=<");
+        sb.append(expectedValue);
+        sb.append(">, actual=<");
+        sb.append(actualValue);
+        sb.append(">)");
+    }
+
     private void addFailMessage(final StringBuilder builder, final String failMessage) {
         final boolean isFailMessage = isFailMessage(failMessage);
         if (isFailMessage) {
@@ -104,6 +140,14 @@ public class MessageBuilder {
         return value;
     }
 
+    Object getColumnValue(final ITableCursor cursor, final String columnName) {
+        try {
+            return cursor.getValue(columnName);
+        } catch (final DataSetException e) {
+            return makeAdditionalColumnInfoErrorMessage(columnName, e);
+        }
+    }
+
     String makeAdditionalColumnInfoErrorMessage(final String columnName, final DataSetException e) {
         final StringBuilder sb = new StringBuilder();
         sb.append("Exception creating more info for column '");
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.assertion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.assertion.DbUnitAssert.ComparisonColumn;
+import org.dbunit.assertion.comparer.value.ValueComparer;
+import org.dbunit.database.SpillingResultSetTable;
+import org.dbunit.dataset.CachedTable;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.ColumnarTable;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.ITable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares tables concurrently on an {@link Executor}.
+ * <p>
+ * Tables are split into parts: row counts and columns are compared on the
+ * calling thread, rows are compared by ranges of {@link #ROW_RANGE_SIZE} on
+ * the executor. Every part records its failures, {@link #finish()} passes
+ * them to the failure handler part by part in order, so the handler sees the
+ * same failures in the same order as with a sequential comparison.
+ * <p>
+ * With a {@link DefaultFailureHandler} throwing on the first failure, a part
+ * stops at its first failure and parts following it are skipped, as their
+ * failures would never be reported.
+ */
+class ParallelTableComparison {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelTableComparison.class);
+
+    /**
+     * Number of rows compared by a single task.
+     */
+    static final int ROW_RANGE_SIZE = 1 << 13;
+
+    private final DbUnitAssertBase assertBase;
+    private final Executor executor;
+    private final FailureHandler failureHandler;
+    private final boolean failFast;
+    private final List<Part> parts = new ArrayList<>();
+
+    /**
+     * Position of the first part which threw, or failed when failing fast. Parts
+     * after it are skipped.
+     */
+    private final AtomicInteger firstFailedPart = new AtomicInteger(Integer.MAX_VALUE);
+
+    ParallelTableComparison(DbUnitAssertBase assertBase, Executor executor, FailureHandler failureHandler) {
+        this.assertBase = assertBase;
+        this.executor = executor;
+        this.failureHandler = failureHandler;
+        this.failFast = failureHandler instanceof DefaultFailureHandler
+                && !(failureHandler instanceof DiffCollectingFailureHandler);
+    }
+
+    /**
+     * Compares row counts and columns of the tables and starts comparing their
+     * rows.
+     */
+    void addTable(ITable expectedTable, ITable actualTable, Predicate<Column> excludedColumn,
+            MessageBuilder messageBuilder, ColumnValueComparerSource columnValueComparerSource)
+            throws DataSetException, DatabaseUnitException {
+        if (isSkipped(parts.size())) {
+            return;
+        }
+
+        final Part prelude = new Part(parts.size());
+        parts.add(prelude);
+        final ITable expected;
+        final ITable actual;
+        final ComparisonColumn[] comparisonCols;
+        try {
+            expected = materialize(expectedTable);
+            actual = materialize(actualTable);
+            comparisonCols = assertBase.prepareComparison(expected, actual, prelude, excludedColumn);
+        } catch (StopPart e) {
+            return;
+        } catch (DatabaseUnitException | RuntimeException | Error e) {
+            // thrown by finish(), after failures of previous tables
+            prelude.exception = e;
+            fail(prelude.position);
+            return;
+        }
+        if (comparisonCols == null) {
+            return;
+        }
+
+        final int[] expectedIndexes = DbUnitAssertBase.getColumnIndexes(expected.getTableMetaData(),
+                comparisonCols);
+        final int[] actualIndexes = DbUnitAssertBase.getColumnIndexes(actual.getTableMetaData(), comparisonCols);
+        final ValueComparer[] valueComparers = assertBase.selectValueComparers(columnValueComparerSource,
+                comparisonCols);
+        final int rowCount = expected.getRowCount();
+        for (int from = 0; from < rowCount; from += ROW_RANGE_SIZE) {
+            final int fromRow = from;
+            final int toRow = Math.min(rowCount, from + ROW_RANGE_SIZE);
+            final Part part = new Part(parts.size());
+            parts.add(part);
+            part.future = CompletableFuture.runAsync(() -> {
+                if (isSkipped(part.position)) {
+                    return;
+                }
+                try {
+                    assertBase.compareRows(expected, actual, fromRow, toRow, comparisonCols, expectedIndexes,
+                            actualIndexes, valueComparers, part, messageBuilder);
+                } catch (StopPart e) {
+                    // failure recorded already
+                } catch (Exception | Error e) {
+                    part.exception = e;
+                    fail(part.position);
+                }
+            }, executor);
+        }
+    }
+
+    private static ITable materialize(ITable table) throws DataSetException {
+        // spilling tables are read concurrently as they are, copying them would
+        // load spilled rows in memory
+        if (table instanceof DefaultTable || table instanceof ColumnarTable
+                || table instanceof SpillingResultSetTable) {
+            return table;
+        }
+        logger.debug("Copying table {} in memory", table.getTableMetaData().getTableName());
+        return new CachedTable(table);
+    }
+
+    private boolean isSkipped(int position) {
+        return position > firstFailedPart.get();
+    }
+
+    private void fail(int position) {
+        firstFailedPart.accumulateAndGet(position, Math::min);
+    }
+
+    /**
+     * Waits for all parts and passes their failures to the failure handler.
+     */
+    void finish() throws DatabaseUnitException {
+        try {
+            for (Part part : parts) {
+                if (part.future != null) {
+                    part.future.join();
+                }
+                part.replay();
+            }
+        } finally {
+            // stop parts still running after a failure was thrown
+            firstFailedPart.set(-1);
+        }
+    }
+
+    /**
+     * Thrown to stop the comparison of a part at its first failure.
+     */
+    private static class StopPart extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        StopPart() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Part of the comparison, recording its failures.
+     */
+    private class Part implements FailureHandler {
+
+        private final int position;
+        private final List<String[]> failures = new ArrayList<>();
+        private CompletableFuture<Void> future;
+        private Throwable exception;
+
+        Part(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public void handleFailure(String message, String expected, String actual) {
+            record(new String[] { message, expected, actual });
+        }
+
+        @Override
+        public void handleFailure(String message) {
+            record(new String[] { message });
+        }
+
+        private void record(String[] failure) {
+            failures.add(failure);
+            if (failFast) {
+                fail(position);
+                throw new StopPart();
+            }
+        }
+
+        void replay() throws DatabaseUnitException {
+            for (String[] failure : failures) {
+                if (failure.length == 1) {
+                    failureHandler.handleFailure(failure[0]);
+                } else {
+                    failureHandler.handleFailure(failure[0], failure[1], failure[2]);
+                }
+            }
+            if (exception instanceof DatabaseUnitException) {
+                throw (DatabaseUnitException) exception;
+            }
+            if (exception instanceof RuntimeException) {
+                throw (RuntimeException) exception;
+            }
+            if (exception instanceof Error) {
+                throw (Error) exception;
+            }
+        }
+    }
+}
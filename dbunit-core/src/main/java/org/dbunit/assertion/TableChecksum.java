@@ -0,0 +1,52 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.assertion;
+
+import java.math.BigInteger;
+
+/**
+ * Row count and order independent hash of the rows of a table.
+ *
+ * @see IChecksumStrategy
+ */
+public final class TableChecksum {
+
+    private final long rowCount;
+    private final BigInteger hash;
+
+    public TableChecksum(long rowCount, BigInteger hash) {
+        this.rowCount = rowCount;
+        this.hash = hash;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public BigInteger getHash() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TableChecksum)) {
+            return false;
+        }
+        TableChecksum other = (TableChecksum) obj;
+        return rowCount == other.rowCount && hash.equals(other.hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(rowCount) + hash.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "TableChecksum[rowCount=" + rowCount + ", hash=" + hash + "]";
+    }
+}
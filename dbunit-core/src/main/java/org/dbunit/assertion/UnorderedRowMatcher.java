@@ -0,0 +1,367 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.assertion;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.assertion.DbUnitAssert.ComparisonColumn;
+import org.dbunit.assertion.comparer.value.IsActualEqualToExpectedValueComparer;
+import org.dbunit.assertion.comparer.value.IsActualEqualToExpectedWithEmptyFailMessageValueComparer;
+import org.dbunit.assertion.comparer.value.ValueComparer;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.RowOutOfBoundsException;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.datatype.NumberTolerantDataType;
+import org.dbunit.dataset.datatype.StringIgnoreCaseDataType;
+import org.dbunit.dataset.datatype.TypeCastException;
+import org.dbunit.dataset.datatype.UnknownDataType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pairs rows of two tables regardless of their order.
+ * <p>
+ * Columns compared for equality by a type whose comparison agrees with
+ * {@link Object#equals(Object)} make the key of a row. Rows are grouped by key
+ * in a hash map. Inside a group, rows are paired when the
+ * {@link ValueComparer}s of the other columns, like tolerances, succeed. As
+ * such comparisons are not transitive, a maximum pairing is searched: every
+ * actual row takes the first free expected row it is equal to, then rows left
+ * without a pair look for augmenting paths, moving paired rows to other
+ * expected rows. Rows left without a pair, including rows whose values cannot
+ * be cast, are available as missing and unexpected rows.
+ * <p>
+ * When no column makes the key, no row is paired.
+ */
+class UnorderedRowMatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnorderedRowMatcher.class);
+
+    private final ComparisonColumn[] comparisonCols;
+    private final ValueComparer[] valueComparers;
+    private final int[] keyColumns;
+    private final int[] otherColumns;
+
+    private ITable missingRows;
+    private ITable unexpectedRows;
+
+    UnorderedRowMatcher(ComparisonColumn[] comparisonCols, ValueComparer[] valueComparers) {
+        this.comparisonCols = comparisonCols;
+        this.valueComparers = valueComparers;
+        List<Integer> keys = new ArrayList<>();
+        List<Integer> others = new ArrayList<>();
+        for (int i = 0; i < comparisonCols.length; i++) {
+            (isKeyColumn(comparisonCols[i].getDataType(), valueComparers[i]) ? keys : others).add(i);
+        }
+        this.keyColumns = keys.stream().mapToInt(Integer::intValue).toArray();
+        this.otherColumns = others.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    static boolean isKeyColumn(DataType dataType, ValueComparer valueComparer) {
+        boolean equalityComparer = valueComparer instanceof IsActualEqualToExpectedValueComparer
+                || valueComparer instanceof IsActualEqualToExpectedWithEmptyFailMessageValueComparer;
+        return equalityComparer && !(dataType instanceof NumberTolerantDataType)
+                && !(dataType instanceof StringIgnoreCaseDataType) && !(dataType instanceof UnknownDataType);
+    }
+
+    /**
+     * Pairs rows of given tables.
+     */
+    void match(ITable expectedTable, ITable actualTable) throws DataSetException, DatabaseUnitException {
+        final int[] expectedIndexes = DbUnitAssertBase.getColumnIndexes(expectedTable.getTableMetaData(),
+                comparisonCols);
+        final int[] actualIndexes = DbUnitAssertBase.getColumnIndexes(actualTable.getTableMetaData(),
+                comparisonCols);
+        final int expectedCount = expectedTable.getRowCount();
+        final int actualCount = actualTable.getRowCount();
+        final List<Integer> missing = new ArrayList<>();
+        final List<Integer> unexpected = new ArrayList<>();
+
+        if (keyColumns.length == 0) {
+            logger.debug("No column compared for equality, rows of {} are not paired", getTableName(expectedTable));
+            for (int row = 0; row < expectedCount; row++) {
+                missing.add(row);
+            }
+            for (int row = 0; row < actualCount; row++) {
+                unexpected.add(row);
+            }
+        } else {
+            final Map<List<Object>, Group> groups = new HashMap<>(expectedCount * 4 / 3 + 1);
+            for (int row = 0; row < expectedCount; row++) {
+                final List<Object> key = buildKey(expectedTable, row, expectedIndexes);
+                if (key == null) {
+                    missing.add(row);
+                } else {
+                    groups.computeIfAbsent(key, k -> new Group()).expectedRows.add(row);
+                }
+            }
+            for (int row = 0; row < actualCount; row++) {
+                final List<Object> key = buildKey(actualTable, row, actualIndexes);
+                final Group group = key == null ? null : groups.get(key);
+                if (group == null) {
+                    unexpected.add(row);
+                } else {
+                    group.actualRows.add(row);
+                }
+            }
+            for (Group group : groups.values()) {
+                pair(group, expectedTable, expectedIndexes, actualTable, actualIndexes, missing, unexpected);
+            }
+            Collections.sort(missing);
+            Collections.sort(unexpected);
+        }
+
+        if (!missing.isEmpty() || !unexpected.isEmpty()) {
+            logger.debug("{} expected rows of {} are missing, {} actual rows are unexpected", missing.size(),
+                    getTableName(expectedTable), unexpected.size());
+        }
+        missingRows = new RowSubsetTable(expectedTable, missing);
+        unexpectedRows = new RowSubsetTable(actualTable, unexpected);
+    }
+
+    private String getTableName(ITable table) {
+        return table.getTableMetaData().getTableName();
+    }
+
+    /**
+     * @return values of key columns in the row, <code>null</code> when one of
+     *         them cannot be cast
+     */
+    private List<Object> buildKey(ITable table, int row, int[] indexes) throws DataSetException {
+        final Object[] key = new Object[keyColumns.length];
+        for (int k = 0; k < keyColumns.length; k++) {
+            final ComparisonColumn column = comparisonCols[keyColumns[k]];
+            final Object value = DbUnitAssertBase.getValue(table, row, indexes[keyColumns[k]],
+                    column.getColumnName());
+            try {
+                key[k] = column.getDataType().typeCastKey(value);
+            } catch (TypeCastException e) {
+                logger.debug("Cannot cast value of {}, row {} is not paired: {}", column.getColumnName(), row,
+                        e.getMessage());
+                return null;
+            }
+        }
+        return Arrays.asList(key);
+    }
+
+    /**
+     * Pairs as many rows of the group as possible, adding the others to missing
+     * and unexpected rows.
+     */
+    private void pair(Group group, ITable expectedTable, int[] expectedIndexes, ITable actualTable,
+            int[] actualIndexes, List<Integer> missing, List<Integer> unexpected)
+            throws DataSetException, DatabaseUnitException {
+        final List<Integer> expectedRows = group.expectedRows;
+        final List<Integer> actualRows = group.actualRows;
+        if (otherColumns.length == 0) {
+            final int pairCount = Math.min(expectedRows.size(), actualRows.size());
+            missing.addAll(expectedRows.subList(pairCount, expectedRows.size()));
+            unexpected.addAll(actualRows.subList(pairCount, actualRows.size()));
+            return;
+        }
+
+        final GroupPairing pairing = new GroupPairing(group, expectedTable, expectedIndexes, actualTable,
+                actualIndexes);
+        final List<Integer> unpaired = new ArrayList<>();
+        for (int a = 0; a < actualRows.size(); a++) {
+            if (!pairing.pairFirstFree(a)) {
+                unpaired.add(a);
+            }
+        }
+        for (int a : unpaired) {
+            if (!pairing.augment(a)) {
+                unexpected.add(actualRows.get(a));
+            }
+        }
+        for (int e = 0; e < expectedRows.size(); e++) {
+            if (pairing.actualOf[e] < 0) {
+                missing.add(expectedRows.get(e));
+            }
+        }
+    }
+
+    private boolean isEqual(ITable expectedTable, int expectedRow, int[] expectedIndexes, ITable actualTable,
+            int actualRow, int[] actualIndexes) throws DataSetException, DatabaseUnitException {
+        for (int i : otherColumns) {
+            final ComparisonColumn column = comparisonCols[i];
+            final Object expectedValue = DbUnitAssertBase.getValue(expectedTable, expectedRow, expectedIndexes[i],
+                    column.getColumnName());
+            final Object actualValue = DbUnitAssertBase.getValue(actualTable, actualRow, actualIndexes[i],
+                    column.getColumnName());
+            if (valueComparers[i].compare(column.getDataType(), expectedValue, actualValue) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isMatched() {
+        return missingRows.getRowCount() == 0 && unexpectedRows.getRowCount() == 0;
+    }
+
+    /**
+     * @return expected rows no actual row is paired with, in their order
+     */
+    ITable getMissingRows() {
+        return missingRows;
+    }
+
+    /**
+     * @return actual rows not paired with an expected row, in their order
+     */
+    ITable getUnexpectedRows() {
+        return unexpectedRows;
+    }
+
+    /**
+     * Rows of both tables having the same key.
+     */
+    private static class Group {
+
+        private final List<Integer> expectedRows = new ArrayList<>(1);
+        private final List<Integer> actualRows = new ArrayList<>(1);
+    }
+
+    /**
+     * Pairing of rows inside a group, rows being identified by their position in
+     * the group.
+     */
+    private class GroupPairing {
+
+        private final Group group;
+        private final ITable expectedTable;
+        private final int[] expectedIndexes;
+        private final ITable actualTable;
+        private final int[] actualIndexes;
+        /**
+         * For every expected row, the actual row paired with it or -1.
+         */
+        private final int[] actualOf;
+        /**
+         * For every actual row, the expected row paired with it or -1.
+         */
+        private final int[] expectedOf;
+
+        GroupPairing(Group group, ITable expectedTable, int[] expectedIndexes, ITable actualTable,
+                int[] actualIndexes) {
+            this.group = group;
+            this.expectedTable = expectedTable;
+            this.expectedIndexes = expectedIndexes;
+            this.actualTable = actualTable;
+            this.actualIndexes = actualIndexes;
+            actualOf = new int[group.expectedRows.size()];
+            expectedOf = new int[group.actualRows.size()];
+            Arrays.fill(actualOf, -1);
+            Arrays.fill(expectedOf, -1);
+        }
+
+        private boolean isEqual(int e, int a) throws DataSetException, DatabaseUnitException {
+            return UnorderedRowMatcher.this.isEqual(expectedTable, group.expectedRows.get(e), expectedIndexes,
+                    actualTable, group.actualRows.get(a), actualIndexes);
+        }
+
+        private void setPair(int e, int a) {
+            actualOf[e] = a;
+            expectedOf[a] = e;
+        }
+
+        /**
+         * Pairs the actual row with the first free expected row it is equal to.
+         */
+        boolean pairFirstFree(int a) throws DataSetException, DatabaseUnitException {
+            for (int e = 0; e < actualOf.length; e++) {
+                if (actualOf[e] < 0 && isEqual(e, a)) {
+                    setPair(e, a);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Searches breadth first for a path from the unpaired actual row to a free
+         * expected row, alternating unpaired and paired rows, and flips it.
+         */
+        boolean augment(int root) throws DataSetException, DatabaseUnitException {
+            final int[] reachedFrom = new int[actualOf.length];
+            Arrays.fill(reachedFrom, -1);
+            final ArrayDeque<Integer> queue = new ArrayDeque<>();
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                final int a = queue.poll();
+                for (int e = 0; e < actualOf.length; e++) {
+                    if (reachedFrom[e] >= 0 || !isEqual(e, a)) {
+                        continue;
+                    }
+                    reachedFrom[e] = a;
+                    if (actualOf[e] < 0) {
+                        flip(e, reachedFrom);
+                        return true;
+                    }
+                    queue.add(actualOf[e]);
+                }
+            }
+            return false;
+        }
+
+        private void flip(int e, int[] reachedFrom) {
+            while (e >= 0) {
+                final int a = reachedFrom[e];
+                final int previous = expectedOf[a];
+                setPair(e, a);
+                e = previous;
+            }
+        }
+    }
+
+    /**
+     * Some rows of a table, in their order.
+     */
+    private static class RowSubsetTable implements ITable {
+
+        private final ITable table;
+        private final int[] rows;
+
+        RowSubsetTable(ITable table, List<Integer> rows) {
+            this.table = table;
+            this.rows = rows.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        @Override
+        public ITableMetaData getTableMetaData() {
+            return table.getTableMetaData();
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.length;
+        }
+
+        @Override
+        public Object getValue(int row, String column) throws DataSetException {
+            return table.getValue(getRow(row), column);
+        }
+
+        @Override
+        public Object getValue(int row, int column) throws DataSetException {
+            return table.getValue(getRow(row), column);
+        }
+
+        private int getRow(int row) throws RowOutOfBoundsException {
+            if (row < 0 || row >= rows.length) {
+                throw new RowOutOfBoundsException("tried to access row " + row + " but rowCount is " + rows.length);
+            }
+            return rows[row];
+        }
+    }
+}
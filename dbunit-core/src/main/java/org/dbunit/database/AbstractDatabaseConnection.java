@@ -34,6 +34,7 @@ import org.dbunit.database.metadata.MetadataManager;
 import org.dbunit.database.metadata.TableFinder;
 import org.dbunit.database.metadata.TableMetadata;
 import org.dbunit.database.statement.IStatementFactory;
+import org.dbunit.database.statement.PreparedStatementCache;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.NoSuchTableException;
 import org.dbunit.util.QualifiedTableName;
@@ -62,6 +63,7 @@ public abstract class AbstractDatabaseConnection implements IDatabaseConnection
 
     private DatabaseDataSet _dataSet = null;
     final DatabaseConfig _databaseConfig;
+    private PreparedStatementCache preparedStatementCache;
 
     public AbstractDatabaseConnection(Connection jdbcConnection, DatabaseConfig config,
             MetadataManager metadataManager) {
@@ -159,6 +161,31 @@ public abstract class AbstractDatabaseConnection implements IDatabaseConnection
         return _databaseConfig;
     }
 
+    /**
+     * Returns cache of prepared statements of this connection, or
+     * <code>null</code> when {@link DatabaseConfig#getPreparedStatementCacheSize()}
+     * is not positive.
+     */
+    public synchronized PreparedStatementCache getPreparedStatementCache() {
+        if (preparedStatementCache == null) {
+            int cacheSize = _databaseConfig.getPreparedStatementCacheSize();
+            if (cacheSize > 0) {
+                preparedStatementCache = new PreparedStatementCache(jdbcConnection, cacheSize);
+            }
+        }
+        return preparedStatementCache;
+    }
+
+    /**
+     * Closes statements kept by the prepared statement cache.
+     */
+    protected synchronized void closePreparedStatementCache() throws SQLException {
+        if (preparedStatementCache != null) {
+            logger.debug("closePreparedStatementCache() - {}", preparedStatementCache);
+            preparedStatementCache.clear();
+        }
+    }
+
     /**
      * @deprecated Use {@link #getConfig}
      */
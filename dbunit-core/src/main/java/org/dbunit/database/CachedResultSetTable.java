@@ -28,6 +28,8 @@ import org.dbunit.dataset.ITableMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
+import io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig;
+
 /**
  * @author Manuel Laflamme
  * @version $Revision$
@@ -72,6 +74,24 @@ public class CachedResultSetTable extends CachedTable implements IResultSetTable
         }
     }
 
+    /**
+     * Loads the table in memory, or up to the configured
+     * {@link DatabaseConfig#getCachedTableMemoryBudget() memory budget} with the
+     * remaining rows spilled to disk.
+     *
+     * @param table  table to be loaded, closed once loaded
+     * @param config configuration providing the budget
+     * @return the loaded table
+     */
+    public static IResultSetTable load(IResultSetTable table, DatabaseConfig config)
+            throws DataSetException, SQLException {
+        long memoryBudget = config.getCachedTableMemoryBudget();
+        if (memoryBudget > 0) {
+            return new SpillingResultSetTable(table, memoryBudget);
+        }
+        return new CachedResultSetTable(table);
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // IResultSetTable interface
 
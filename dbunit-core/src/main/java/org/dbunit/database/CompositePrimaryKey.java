@@ -0,0 +1,77 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.database;
+
+import java.util.Arrays;
+
+/**
+ * Value of a multi-column primary key, as used by {@link PrimaryKeyFilter} and
+ * {@link PrimaryKeyFilteredTableWrapper}. Values are in the order of primary key
+ * columns of the table metadata.
+ */
+public final class CompositePrimaryKey implements Comparable<CompositePrimaryKey> {
+
+    private final Object[] values;
+
+    public CompositePrimaryKey(Object... values) {
+        this.values = values.clone();
+    }
+
+    public Object[] getValues() {
+        return values.clone();
+    }
+
+    Object getValue(int index) {
+        return values[index];
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public int compareTo(CompositePrimaryKey other) {
+        int length = Math.min(values.length, other.values.length);
+        for (int i = 0; i < length; i++) {
+            Object value = values[i];
+            Object otherValue = other.values[i];
+            if (value == otherValue) {
+                continue;
+            }
+            if (value == null) {
+                return -1;
+            }
+            if (otherValue == null) {
+                return 1;
+            }
+            int result = ((Comparable) value).compareTo(otherValue);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return values.length - other.values.length;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CompositePrimaryKey)) {
+            return false;
+        }
+        return Arrays.equals(values, ((CompositePrimaryKey) obj).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values);
+    }
+}
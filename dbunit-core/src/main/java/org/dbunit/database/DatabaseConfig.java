@@ -27,9 +27,12 @@ import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import org.dbunit.DatabaseUnitException;
+import org.dbunit.assertion.IChecksumStrategy;
 import org.dbunit.database.statement.IStatementFactory;
 import org.dbunit.dataset.datatype.IDataTypeFactory;
 import org.dbunit.dataset.filter.IColumnFilter;
+import org.dbunit.operation.ISnapshotStrategy;
+import org.dbunit.operation.IUpsertStatementBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,6 +67,7 @@ public class DatabaseConfig extends io.github.vasiliygagin.dbunit.jdbc.DatabaseC
     public static final String PROPERTY_METADATA_HANDLER = PREFIX +"properties/metadataHandler";
     public static final String PROPERTY_ALLOW_VERIFYTABLEDEFINITION_EXPECTEDTABLE_COUNT_MISMATCH = PREFIX +"properties/allowVerifytabledefinitionExpectedtableCountMismatch";
     public static final String PROPERTY_IDENTITY_COLUMN_FILTER = PREFIX +"properties/mssql/identityColumnFilter";
+    public static final String PROPERTY_UPSERT_STATEMENT_BUILDER = PREFIX +"properties/upsertStatementBuilder";
 
     public static final String FEATURE_CASE_SENSITIVE_TABLE_NAMES = PREFIX +"features/caseSensitiveTableNames";
     public static final String FEATURE_QUALIFIED_TABLE_NAMES = PREFIX +"features/qualifiedTableNames";
@@ -71,6 +75,15 @@ public class DatabaseConfig extends io.github.vasiliygagin.dbunit.jdbc.DatabaseC
     public static final String FEATURE_DATATYPE_WARNING = PREFIX +"features/datatypeWarning";
     public static final String FEATURE_SKIP_ORACLE_RECYCLEBIN_TABLES = PREFIX +"features/skipOracleRecycleBinTables";
     public static final String FEATURE_ALLOW_EMPTY_FIELDS = PREFIX +"features/allowEmptyFields";
+    public static final String FEATURE_PREFETCH_REFRESH_KEYS = PREFIX +"features/prefetchRefreshKeys";
+    public static final String FEATURE_GROUP_ROWS_BY_IGNORE_MAPPING = PREFIX +"features/groupRowsByIgnoreMapping";
+    public static final String PROPERTY_PREPARED_STATEMENT_CACHE_SIZE = PREFIX +"properties/preparedStatementCacheSize";
+    public static final String PROPERTY_INSERT_ROWS_PER_STATEMENT = PREFIX +"properties/insertRowsPerStatement";
+    public static final String PROPERTY_MAX_BIND_PARAMETERS = PREFIX +"properties/maxBindParameters";
+    public static final String PROPERTY_PRIMARY_KEY_FILTER_BATCH_SIZE = PREFIX +"properties/primaryKeyFilterBatchSize";
+    public static final String PROPERTY_CACHED_TABLE_MEMORY_BUDGET = PREFIX +"properties/cachedTableMemoryBudget";
+    public static final String PROPERTY_SNAPSHOT_STRATEGY = PREFIX +"properties/snapshotStrategy";
+    public static final String PROPERTY_CHECKSUM_STRATEGY = PREFIX +"properties/checksumStrategy";
 
     /**
      * A list of all properties as {@link ConfigProperty} objects. The objects
@@ -110,7 +123,27 @@ public class DatabaseConfig extends io.github.vasiliygagin.dbunit.jdbc.DatabaseC
             new ConfigProperty<>(FEATURE_ALLOW_EMPTY_FIELDS, Boolean.class, false, DatabaseConfig::isAllowEmptyFields,
                     DatabaseConfig::setAllowEmptyFields),
             new ConfigProperty<>(PROPERTY_ALLOW_VERIFYTABLEDEFINITION_EXPECTEDTABLE_COUNT_MISMATCH, Boolean.class,
-                    false, DatabaseConfig::isAllowCountMismatch, DatabaseConfig::setAllowCountMismatch), //
+                    false, DatabaseConfig::isAllowCountMismatch, DatabaseConfig::setAllowCountMismatch),
+            new ConfigProperty<>(PROPERTY_UPSERT_STATEMENT_BUILDER, IUpsertStatementBuilder.class, true,
+                    DatabaseConfig::getUpsertStatementBuilder, DatabaseConfig::setUpsertStatementBuilder),
+            new ConfigProperty<>(FEATURE_PREFETCH_REFRESH_KEYS, Boolean.class, false,
+                    DatabaseConfig::isPrefetchRefreshKeys, DatabaseConfig::setPrefetchRefreshKeys),
+            new ConfigProperty<>(FEATURE_GROUP_ROWS_BY_IGNORE_MAPPING, Boolean.class, false,
+                    DatabaseConfig::isGroupRowsByIgnoreMapping, DatabaseConfig::setGroupRowsByIgnoreMapping),
+            new ConfigProperty<>(PROPERTY_PREPARED_STATEMENT_CACHE_SIZE, Integer.class, false,
+                    DatabaseConfig::getPreparedStatementCacheSize, DatabaseConfig::setPreparedStatementCacheSize),
+            new ConfigProperty<>(PROPERTY_INSERT_ROWS_PER_STATEMENT, Integer.class, false,
+                    DatabaseConfig::getInsertRowsPerStatement, DatabaseConfig::setInsertRowsPerStatement),
+            new ConfigProperty<>(PROPERTY_MAX_BIND_PARAMETERS, Integer.class, false,
+                    DatabaseConfig::getMaxBindParameters, DatabaseConfig::setMaxBindParameters),
+            new ConfigProperty<>(PROPERTY_PRIMARY_KEY_FILTER_BATCH_SIZE, Integer.class, false,
+                    DatabaseConfig::getPrimaryKeyFilterBatchSize, DatabaseConfig::setPrimaryKeyFilterBatchSize),
+            new ConfigProperty<>(PROPERTY_CACHED_TABLE_MEMORY_BUDGET, Long.class, false,
+                    DatabaseConfig::getCachedTableMemoryBudget, DatabaseConfig::setCachedTableMemoryBudget),
+            new ConfigProperty<>(PROPERTY_SNAPSHOT_STRATEGY, ISnapshotStrategy.class, true,
+                    DatabaseConfig::getSnapshotStrategy, DatabaseConfig::setSnapshotStrategy),
+            new ConfigProperty<>(PROPERTY_CHECKSUM_STRATEGY, IChecksumStrategy.class, true,
+                    DatabaseConfig::getChecksumStrategy, DatabaseConfig::setChecksumStrategy), //
     };
 
     /**
@@ -316,6 +349,8 @@ public class DatabaseConfig extends io.github.vasiliygagin.dbunit.jdbc.DatabaseC
             return (T) result;
         } else if (targetClass == Integer.class) {
             return (T) new Integer(propValue);
+        } else if (targetClass == Long.class) {
+            return (T) Long.valueOf(propValue);
         } else {
             // Try via reflection
             return (T) createInstance(propValue);
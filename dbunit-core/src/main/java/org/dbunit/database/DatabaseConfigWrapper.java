@@ -3,9 +3,12 @@
  */
 package org.dbunit.database;
 
+import org.dbunit.assertion.IChecksumStrategy;
 import org.dbunit.database.statement.IStatementFactory;
 import org.dbunit.dataset.datatype.IDataTypeFactory;
 import org.dbunit.dataset.filter.IColumnFilter;
+import org.dbunit.operation.ISnapshotStrategy;
+import org.dbunit.operation.IUpsertStatementBuilder;
 
 import io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig;
 
@@ -190,4 +193,104 @@ class DatabaseConfigWrapper extends org.dbunit.database.DatabaseConfig {
     public void setAllowEmptyFields(boolean allowEmptyFields) {
         delegate.setAllowEmptyFields(allowEmptyFields);
     }
+
+    @Override
+    public IUpsertStatementBuilder getUpsertStatementBuilder() {
+        return delegate.getUpsertStatementBuilder();
+    }
+
+    @Override
+    public void setUpsertStatementBuilder(IUpsertStatementBuilder upsertStatementBuilder) {
+        delegate.setUpsertStatementBuilder(upsertStatementBuilder);
+    }
+
+    @Override
+    public boolean isPrefetchRefreshKeys() {
+        return delegate.isPrefetchRefreshKeys();
+    }
+
+    @Override
+    public void setPrefetchRefreshKeys(boolean prefetchRefreshKeys) {
+        delegate.setPrefetchRefreshKeys(prefetchRefreshKeys);
+    }
+
+    @Override
+    public boolean isGroupRowsByIgnoreMapping() {
+        return delegate.isGroupRowsByIgnoreMapping();
+    }
+
+    @Override
+    public void setGroupRowsByIgnoreMapping(boolean groupRowsByIgnoreMapping) {
+        delegate.setGroupRowsByIgnoreMapping(groupRowsByIgnoreMapping);
+    }
+
+    @Override
+    public int getPreparedStatementCacheSize() {
+        return delegate.getPreparedStatementCacheSize();
+    }
+
+    @Override
+    public void setPreparedStatementCacheSize(int preparedStatementCacheSize) {
+        delegate.setPreparedStatementCacheSize(preparedStatementCacheSize);
+    }
+
+    @Override
+    public int getInsertRowsPerStatement() {
+        return delegate.getInsertRowsPerStatement();
+    }
+
+    @Override
+    public void setInsertRowsPerStatement(int insertRowsPerStatement) {
+        delegate.setInsertRowsPerStatement(insertRowsPerStatement);
+    }
+
+    @Override
+    public int getMaxBindParameters() {
+        return delegate.getMaxBindParameters();
+    }
+
+    @Override
+    public void setMaxBindParameters(int maxBindParameters) {
+        delegate.setMaxBindParameters(maxBindParameters);
+    }
+
+    @Override
+    public int getPrimaryKeyFilterBatchSize() {
+        return delegate.getPrimaryKeyFilterBatchSize();
+    }
+
+    @Override
+    public void setPrimaryKeyFilterBatchSize(int primaryKeyFilterBatchSize) {
+        delegate.setPrimaryKeyFilterBatchSize(primaryKeyFilterBatchSize);
+    }
+
+    @Override
+    public long getCachedTableMemoryBudget() {
+        return delegate.getCachedTableMemoryBudget();
+    }
+
+    @Override
+    public void setCachedTableMemoryBudget(long cachedTableMemoryBudget) {
+        delegate.setCachedTableMemoryBudget(cachedTableMemoryBudget);
+    }
+
+    @Override
+    public ISnapshotStrategy getSnapshotStrategy() {
+        return delegate.getSnapshotStrategy();
+    }
+
+    @Override
+    public void setSnapshotStrategy(ISnapshotStrategy snapshotStrategy) {
+        delegate.setSnapshotStrategy(snapshotStrategy);
+    }
+
+    @Override
+    public IChecksumStrategy getChecksumStrategy() {
+        return delegate.getChecksumStrategy();
+    }
+
+    @Override
+    public void setChecksumStrategy(IChecksumStrategy checksumStrategy) {
+        delegate.setChecksumStrategy(checksumStrategy);
+    }
 }
@@ -135,13 +135,13 @@ public class DatabaseDataSet implements IDataSet {
 
     @Override
     public ITable getTable(String tableName) throws DataSetException {
-        CachedResultSetTable cachedResultSetTable;
+        IResultSetTable cachedResultSetTable;
         try {
             ITableMetaData metaData = getTableMetaData(tableName);
 
             IResultSetTableFactory resultSetTableFactory = config.getResultSetTableFactory();
             IResultSetTable resultSetTable = resultSetTableFactory.createTable(metaData, _connection);
-            cachedResultSetTable = new CachedResultSetTable(resultSetTable);
+            cachedResultSetTable = CachedResultSetTable.load(resultSetTable, config);
         } catch (SQLException e) {
             throw new DataSetException(e);
         }
@@ -164,10 +164,10 @@ public class DatabaseDataSet implements IDataSet {
         for (Entry<TableMetadata, DatabaseTableMetaData> entry : tableMetaDatas.entrySet()) {
             DatabaseTableMetaData metaData = entry.getValue();
             _connection.loadTableResultSet(entry.getKey().tableName);
-            CachedResultSetTable cachedResultSetTable;
+            IResultSetTable cachedResultSetTable;
             try {
                 ForwardOnlyResultSetTable resultSetTable = new ForwardOnlyResultSetTable(metaData, _connection);
-                cachedResultSetTable = new CachedResultSetTable(resultSetTable);
+                cachedResultSetTable = CachedResultSetTable.load(resultSetTable, config);
             } catch (SQLException e) {
                 throw new DataSetException(e);
             }
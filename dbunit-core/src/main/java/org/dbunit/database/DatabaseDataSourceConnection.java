@@ -102,5 +102,6 @@ public class DatabaseDataSourceConnection extends AbstractDatabaseConnection {
 
     @Override
     public void close() throws SQLException {
+        closePreparedStatementCache();
     }
 }
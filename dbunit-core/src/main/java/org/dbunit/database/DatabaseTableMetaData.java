@@ -66,6 +66,7 @@ public class DatabaseTableMetaData extends AbstractTableMetaData {
 
     private Column[] _columns;
     private Column[] _primaryKeys;
+    private Boolean _selfReferencing;
     // added by hzhan032
     private IColumnFilter lastKeyFilter;
 
@@ -233,6 +234,31 @@ public class DatabaseTableMetaData extends AbstractTableMetaData {
         return _columns;
     }
 
+    /**
+     * @return <code>true</code> if the table has a foreign key referencing the
+     *         table itself. Read once and kept with the metadata.
+     */
+    public boolean isSelfReferencing() throws DataSetException {
+        if (_selfReferencing == null) {
+            String schema = tableMetadata.schemaMetadata.schema;
+            IMetadataHandler metadataHandler = _connection.getDatabaseConfig().getMetadataHandler();
+            try (ResultSet resultSet = _connection.getConnection().getMetaData().getImportedKeys(
+                    metadataHandler.toCatalog(schema), metadataHandler.toSchema(schema), tableMetadata.tableName)) {
+                boolean selfReferencing = false;
+                while (resultSet.next() && !selfReferencing) {
+                    selfReferencing = SQLHelper.areEqualIgnoreNull(schema, resultSet.getString(2),
+                            _caseSensitiveMetaData)
+                            && SQLHelper.areEqualIgnoreNull(tableMetadata.tableName, resultSet.getString(3),
+                                    _caseSensitiveMetaData);
+                }
+                _selfReferencing = selfReferencing;
+            } catch (SQLException e) {
+                throw new DataSetException(e);
+            }
+        }
+        return _selfReferencing;
+    }
+
     private boolean primaryKeyFilterChanged(IColumnFilter keyFilter) {
         return (keyFilter != lastKeyFilter);
     }
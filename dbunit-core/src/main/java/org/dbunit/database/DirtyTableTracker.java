@@ -0,0 +1,413 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.dbunit.util.QualifiedTableName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Remembers which tables are known to be empty, so that operations emptying
+ * tables can skip them.
+ * <p>
+ * A table becomes clean when an operation empties it, and dirty again when any
+ * statement executed through a tracking connection writes to it. Tables never
+ * emptied are dirty. Tracking is conservative: statements not exactly matching
+ * one of the simple forms of <code>INSERT INTO</code>, <code>UPDATE</code>,
+ * <code>DELETE</code>, <code>MERGE INTO</code> and <code>TRUNCATE</code>,
+ * stored procedure calls, rollbacks and closing connections with uncommitted
+ * writes make all tables dirty. Writes done through connections which are not
+ * tracked are not seen, neither are writes done by triggers unless declared
+ * with {@link #addTriggeredTables(String, String...)}.
+ * <p>
+ * Table names are compared case insensitively, and are qualified by their
+ * schema. A write to a table without schema makes that table dirty in all
+ * schemas, a table without schema is clean only when emptied without schema.
+ * <p>
+ * The tracker also remembers the last dataset applied by a setup operation, as
+ * long as nothing is written after it, so that applying it again can be
+ * skipped.
+ *
+ * @see org.dbunit.junit.internal.connections.TrackingDataSource
+ */
+public class DirtyTableTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(DirtyTableTracker.class);
+
+    /**
+     * Tokens which may follow the target of statements, the empty string stands
+     * for the end of the statement.
+     */
+    private static final List<String> INSERT_FOLLOWERS = Arrays.asList("(", "VALUES", "SELECT");
+    private static final List<String> MERGE_FOLLOWERS = Arrays.asList("USING");
+    private static final List<String> UPDATE_FOLLOWERS = Arrays.asList("SET");
+    private static final List<String> DELETE_FOLLOWERS = Arrays.asList("WHERE", "");
+    private static final List<String> TRUNCATE_FOLLOWERS = Arrays.asList("");
+
+    /**
+     * Guarded by <code>this</code>.
+     */
+    private final Set<String> cleanTables = new HashSet<>();
+
+    /**
+     * Tables written by triggers of a table. Guarded by <code>this</code>.
+     */
+    private final Map<String, Set<String>> triggeredTables = new HashMap<>();
+
+    /**
+     * Operation and fingerprint of the dataset it applied, <code>null</code> when
+     * anything was written since. Guarded by <code>this</code>.
+     */
+    private Object appliedOperation;
+    private String appliedFingerprint;
+
+    /**
+     * Returns tracker of the given connection.
+     *
+     * @return tracker, or <code>null</code> when connection is not tracked
+     */
+    public static DirtyTableTracker find(IDatabaseConnection connection) {
+        try {
+            Connection jdbcConnection = connection.getConnection();
+            if (jdbcConnection != null && jdbcConnection.isWrapperFor(DirtyTableTracker.class)) {
+                return jdbcConnection.unwrap(DirtyTableTracker.class);
+            }
+        } catch (SQLException e) {
+            logger.debug("Cannot find dirty table tracker of " + connection, e);
+        }
+        return null;
+    }
+
+    /**
+     * @param tableName table name, qualified by its schema when known
+     */
+    public synchronized boolean isDirty(String tableName) {
+        return !cleanTables.contains(normalize(tableName));
+    }
+
+    /**
+     * Records that given table was emptied.
+     *
+     * @param tableName table name, qualified by its schema when known
+     */
+    public synchronized void tableCleaned(String tableName) {
+        cleanTables.add(normalize(tableName));
+        forgetApplied();
+    }
+
+    /**
+     * Records that given table, and the tables written by its triggers, were
+     * written.
+     *
+     * @param tableName table name, qualified by its schema when known
+     */
+    public synchronized void tableWritten(String tableName) {
+        Set<String> written = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(normalize(tableName));
+        while (!pending.isEmpty()) {
+            String name = pending.remove();
+            if (!written.add(name)) {
+                continue;
+            }
+            cleanTables.removeIf(clean -> isSameTable(clean, name));
+            for (Map.Entry<String, Set<String>> entry : triggeredTables.entrySet()) {
+                if (isSameTable(entry.getKey(), name)) {
+                    pending.addAll(entry.getValue());
+                }
+            }
+        }
+        forgetApplied();
+    }
+
+    /**
+     * Declares tables written by triggers of a table, so that writes to that
+     * table make them dirty too.
+     */
+    public synchronized void addTriggeredTables(String tableName, String... triggeredTableNames) {
+        Set<String> tables = triggeredTables.computeIfAbsent(normalize(tableName), k -> new HashSet<>());
+        for (String triggeredTableName : triggeredTableNames) {
+            tables.add(normalize(triggeredTableName));
+        }
+    }
+
+    public synchronized void allTablesWritten() {
+        cleanTables.clear();
+        forgetApplied();
+    }
+
+    /**
+     * Records that given operation applied the dataset with given fingerprint,
+     * and is the last write.
+     */
+    public synchronized void dataSetApplied(Object operation, String fingerprint) {
+        appliedOperation = operation;
+        appliedFingerprint = fingerprint;
+    }
+
+    /**
+     * @return <code>true</code> when given operation applied the dataset with
+     *         given fingerprint last, and nothing was written since
+     */
+    public synchronized boolean isApplied(Object operation, String fingerprint) {
+        return appliedOperation != null && appliedOperation.equals(operation)
+                && appliedFingerprint.equals(fingerprint);
+    }
+
+    private void forgetApplied() {
+        appliedOperation = null;
+        appliedFingerprint = null;
+    }
+
+    /**
+     * Records tables written by given SQL statement.
+     */
+    public void statementExecuted(String sql) {
+        String target = parseTarget(sql);
+        if (target == null) {
+            logger.debug("Cannot determine tables written by '{}', assuming all", sql);
+            allTablesWritten();
+        } else if (!target.isEmpty()) {
+            tableWritten(target);
+        }
+    }
+
+    /**
+     * @return upper case table name, prefixed by its schema and a dot when it
+     *         has one
+     */
+    private static String normalize(String tableName) {
+        QualifiedTableName qualifiedTableName = new QualifiedTableName(tableName, null);
+        return qualifiedTableName.getQualifiedName().toUpperCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Tells whether normalized names may be the same table: same table name, and
+     * same schema or no schema for one of them.
+     */
+    private static boolean isSameTable(String name, String otherName) {
+        if (name.equals(otherName)) {
+            return true;
+        }
+        int dot = name.lastIndexOf('.');
+        int otherDot = otherName.lastIndexOf('.');
+        if (dot >= 0 && otherDot >= 0) {
+            return false;
+        }
+        return name.substring(dot + 1).equals(otherName.substring(otherDot + 1));
+    }
+
+    /**
+     * Finds table written by given SQL statement. Only statements exactly
+     * matching a known form have a target, so that forms like
+     * <code>INSERT IGNORE</code>, <code>INSERT ALL</code>, <code>UPDATE</code>
+     * of joined tables or <code>DELETE</code> with options are never mistaken
+     * for writes to a single table.
+     *
+     * @return table name, qualified when the statement qualifies it, empty string
+     *         when the statement writes nothing, or <code>null</code> when it is
+     *         not known
+     */
+    static String parseTarget(String sql) {
+        String statement = sql.trim();
+        if (statement.endsWith(";")) {
+            statement = statement.substring(0, statement.length() - 1);
+        }
+        if (statement.indexOf(';') >= 0) {
+            // possibly several statements
+            return null;
+        }
+        SqlTokenizer tokenizer = new SqlTokenizer(statement);
+        // statements like "(select ...)"
+        while (tokenizer.skip('(')) {
+            // nested
+        }
+        String keyword = tokenizer.nextWord();
+        if (keyword == null) {
+            // empty, or escapes like "{call ...}"
+            return tokenizer.atEnd() ? "" : null;
+        }
+        switch (keyword) {
+        case "SELECT":
+        case "VALUES":
+        case "SHOW":
+        case "COMMIT":
+        case "ROLLBACK":
+        case "SAVEPOINT":
+        case "RELEASE":
+        case "SET":
+            return "";
+        case "INSERT":
+        case "REPLACE":
+        case "UPSERT":
+            if (!tokenizer.skipWord("INTO")) {
+                return null;
+            }
+            return tokenizer.nextTarget(INSERT_FOLLOWERS);
+        case "MERGE":
+            if (!tokenizer.skipWord("INTO")) {
+                return null;
+            }
+            return tokenizer.nextTarget(MERGE_FOLLOWERS);
+        case "UPDATE":
+            tokenizer.skipWord("ONLY");
+            return tokenizer.nextTarget(UPDATE_FOLLOWERS);
+        case "DELETE":
+            tokenizer.skipWord("FROM");
+            tokenizer.skipWord("ONLY");
+            return tokenizer.nextTarget(DELETE_FOLLOWERS);
+        case "TRUNCATE":
+            tokenizer.skipWord("TABLE");
+            tokenizer.skipWord("ONLY");
+            return tokenizer.nextTarget(TRUNCATE_FOLLOWERS);
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Reads words and names from the beginning of an SQL statement, skipping
+     * comments.
+     */
+    private static class SqlTokenizer {
+
+        private final String sql;
+        private int position;
+
+        SqlTokenizer(String sql) {
+            this.sql = sql;
+        }
+
+        /**
+         * @return next unquoted word in upper case, or <code>null</code>
+         */
+        String nextWord() {
+            skipSpace();
+            int start = position;
+            while (position < sql.length() && isWordPart(sql.charAt(position))) {
+                position++;
+            }
+            return start == position ? null : sql.substring(start, position).toUpperCase(Locale.ENGLISH);
+        }
+
+        /**
+         * Skips next word if it is the expected one.
+         */
+        boolean skipWord(String expected) {
+            int start = position;
+            if (expected.equals(nextWord())) {
+                return true;
+            }
+            position = start;
+            return false;
+        }
+
+        /**
+         * Reads name of the target table, which must be followed by one of the
+         * given tokens.
+         *
+         * @return schema and table parts of the name, or <code>null</code>
+         */
+        String nextTarget(List<String> followers) {
+            String name = nextName();
+            if (name == null) {
+                return null;
+            }
+            String follower;
+            if (atEnd()) {
+                follower = "";
+            } else if (skip('(')) {
+                follower = "(";
+            } else {
+                follower = nextWord();
+            }
+            return followers.contains(follower) ? name : null;
+        }
+
+        /**
+         * @return schema and table parts of next possibly qualified and quoted
+         *         name, or <code>null</code>
+         */
+        String nextName() {
+            String schema = null;
+            String part = null;
+            do {
+                schema = part;
+                skipSpace();
+                part = nextNamePart();
+                if (part == null) {
+                    return null;
+                }
+            } while (skip('.'));
+            return schema == null ? part : schema + "." + part;
+        }
+
+        boolean atEnd() {
+            skipSpace();
+            return position >= sql.length();
+        }
+
+        /**
+         * Skips next character if it is the expected one.
+         */
+        boolean skip(char expected) {
+            skipSpace();
+            if (position < sql.length() && sql.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private String nextNamePart() {
+            if (position >= sql.length()) {
+                return null;
+            }
+            char c = sql.charAt(position);
+            char closing = c == '"' ? '"' : c == '`' ? '`' : c == '[' ? ']' : 0;
+            if (closing == 0) {
+                return nextWord();
+            }
+            int end = sql.indexOf(closing, position + 1);
+            if (end < 0) {
+                return null;
+            }
+            String part = sql.substring(position + 1, end);
+            position = end + 1;
+            return part;
+        }
+
+        private void skipSpace() {
+            while (position < sql.length()) {
+                if (Character.isWhitespace(sql.charAt(position))) {
+                    position++;
+                } else if (sql.startsWith("--", position)) {
+                    int end = sql.indexOf('\n', position);
+                    position = end < 0 ? sql.length() : end + 1;
+                } else if (sql.startsWith("/*", position)) {
+                    int end = sql.indexOf("*/", position + 2);
+                    position = end < 0 ? sql.length() : end + 2;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private static boolean isWordPart(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 
 import org.dbunit.dataset.Column;
 import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITableCursor;
 import org.dbunit.dataset.ITableMetaData;
 import org.dbunit.dataset.RowOutOfBoundsException;
 
@@ -73,21 +74,7 @@ public class ForwardOnlyResultSetTable extends AbstractResultSetTable {
             logger.debug("getValue(row={}, columnName={}) - start", Integer.toString(row), columnName);
 
         try {
-            // Move cursor forward up to specified row
-            while (!_eot && row > _lastRow) {
-                _eot = !_resultSet.next();
-                _lastRow++;
-            }
-
-            if (row < _lastRow) {
-                throw new UnsupportedOperationException("Cannot go backward!");
-            }
-
-            if (_eot || row > _lastRow) {
-                // Proactively close the resultset
-                close();
-                throw new RowOutOfBoundsException(row + " > " + _lastRow);
-            }
+            moveTo(row);
 
             int columnIndex = getColumnIndex(columnName);
             Column column = _metaData.getColumns()[columnIndex];
@@ -97,6 +84,52 @@ public class ForwardOnlyResultSetTable extends AbstractResultSetTable {
         }
     }
 
+    @Override
+    public Object getValue(int row, int column) throws DataSetException {
+        try {
+            moveTo(row);
+
+            return _metaData.getColumns()[column].getDataType().getSqlValue(column + 1, _resultSet);
+        } catch (SQLException e) {
+            throw new DataSetException(e);
+        }
+    }
+
+    @Override
+    public ITableCursor cursor() throws DataSetException {
+        return new ResultSetTableCursor();
+    }
+
+    private void moveTo(int row) throws SQLException, DataSetException {
+        if (!tryMoveTo(row)) {
+            throw new RowOutOfBoundsException(row + " > " + _lastRow);
+        }
+    }
+
+    /**
+     * Moves the result set forward up to specified row.
+     *
+     * @return <code>false</code> if the table has less rows
+     */
+    private boolean tryMoveTo(int row) throws SQLException, DataSetException {
+        // Move cursor forward up to specified row
+        while (!_eot && row > _lastRow) {
+            _eot = !_resultSet.next();
+            _lastRow++;
+        }
+
+        if (row < _lastRow) {
+            throw new UnsupportedOperationException("Cannot go backward!");
+        }
+
+        if (_eot || row > _lastRow) {
+            // Proactively close the resultset
+            close();
+            return false;
+        }
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -112,4 +145,45 @@ public class ForwardOnlyResultSetTable extends AbstractResultSetTable {
 
         return sb.toString();
     }
+
+    /**
+     * Reads values straight from the result set. Shares the result set position
+     * with indexed access, a cursor starts at the first row not passed yet.
+     */
+    private class ResultSetTableCursor implements ITableCursor {
+
+        private int row = -1;
+
+        @Override
+        public ITableMetaData getTableMetaData() {
+            return _metaData;
+        }
+
+        @Override
+        public boolean next() throws DataSetException {
+            try {
+                if (tryMoveTo(row + 1)) {
+                    row++;
+                    return true;
+                }
+                return false;
+            } catch (SQLException e) {
+                throw new DataSetException(e);
+            }
+        }
+
+        @Override
+        public int getRow() {
+            return row;
+        }
+
+        @Override
+        public Object getValue(int column) throws DataSetException {
+            try {
+                return _metaData.getColumns()[column].getDataType().getSqlValue(column + 1, _resultSet);
+            } catch (SQLException e) {
+                throw new DataSetException(e);
+            }
+        }
+    }
 }
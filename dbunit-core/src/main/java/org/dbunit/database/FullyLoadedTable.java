@@ -49,6 +49,13 @@ public class FullyLoadedTable implements IResultSetTable {
         return rowValues[getColumnIndex(column)];
     }
 
+    @Override
+    public Object getValue(int row, int column) throws DataSetException {
+        assertValidRowIndex(row);
+
+        return rowsData.get(row).getRowValues()[column];
+    }
+
     private void assertValidRowIndex(int row) throws DataSetException {
         assertValidRowIndex(row, getRowCount());
     }
@@ -35,6 +35,19 @@ import java.sql.SQLException;
  */
 public interface IMetadataHandler {
 
+    /**
+     * Query for {@link #getForeignKeysSql()} reading standard
+     * <code>INFORMATION_SCHEMA</code> views, for databases where constraint
+     * names are unique within a schema.
+     */
+    String INFORMATION_SCHEMA_FOREIGN_KEYS_SQL = "SELECT fk.TABLE_SCHEMA, fk.TABLE_NAME, pk.TABLE_SCHEMA, pk.TABLE_NAME"
+            + " FROM INFORMATION_SCHEMA.REFERENTIAL_CONSTRAINTS rc"
+            + " JOIN INFORMATION_SCHEMA.TABLE_CONSTRAINTS fk"
+            + " ON fk.CONSTRAINT_SCHEMA = rc.CONSTRAINT_SCHEMA AND fk.CONSTRAINT_NAME = rc.CONSTRAINT_NAME"
+            + " JOIN INFORMATION_SCHEMA.TABLE_CONSTRAINTS pk"
+            + " ON pk.CONSTRAINT_SCHEMA = rc.UNIQUE_CONSTRAINT_SCHEMA"
+            + " AND pk.CONSTRAINT_NAME = rc.UNIQUE_CONSTRAINT_NAME";
+
     /**
      * Checks if the given <code>resultSet</code> matches the given schema and table
      * name. The comparison is <b>case sensitive</b>.
@@ -115,6 +128,26 @@ public interface IMetadataHandler {
     public ResultSet getPrimaryKeys(DatabaseMetaData databaseMetaData, String schemaName, String tableName)
             throws SQLException;
 
+    /**
+     * Returns a query listing all foreign keys visible to the connection, used to
+     * load table dependencies in one round trip. Every row of the result
+     * describes one reference, columns being the schema and name of the
+     * referencing table followed by the schema and name of the referenced table.
+     * Multi-column keys may produce several identical rows.
+     * <p>
+     * Only handlers of a database known to support the query return one. A
+     * failing query is not recovered from, as it may abort the current
+     * transaction.
+     *
+     * @return the query, or <code>null</code> if there is none for the database,
+     *         in which case dependencies are read from {@link DatabaseMetaData}
+     *         table by table
+     * @see #INFORMATION_SCHEMA_FOREIGN_KEYS_SQL
+     */
+    default String getForeignKeysSql() {
+        return null;
+    }
+
     public abstract String toCatalog(String schemaCatalog);
 
     public abstract String toSchema(String schemaCatalog);
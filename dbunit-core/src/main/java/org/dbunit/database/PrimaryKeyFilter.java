@@ -24,6 +24,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -36,16 +37,20 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 
 import org.dbunit.database.search.ForeignKeyRelationshipEdge;
+import org.dbunit.dataset.Columns;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITable;
 import org.dbunit.dataset.ITableIterator;
 import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.NoSuchTableException;
 import org.dbunit.dataset.filter.AbstractTableFilter;
 import org.dbunit.util.SQLHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig;
+
 /**
  * Filter a table given a map of the allowed rows based on primary key
  * values.<br>
@@ -53,8 +58,10 @@ import org.slf4j.LoggerFactory;
  * refactored in the future) to define which rows are allowed, as well which
  * rows are necessary (and hence allowed) because of dependencies with the
  * allowed rows.<br>
- * <strong>NOTE:</strong> multi-column primary keys are not supported at the
- * moment. TODO: test cases
+ * The search runs in rounds, each round looking up keys found by the previous
+ * one with <code>IN</code> lists of
+ * {@link DatabaseConfig#getPrimaryKeyFilterBatchSize()} keys. Keys of
+ * multi-column primary keys are {@link CompositePrimaryKey}s.
  *
  * @author Felipe Leme (dbunit@felipeal.net)
  * @author Last changed by: $Author$
@@ -73,12 +80,24 @@ public class PrimaryKeyFilter extends AbstractTableFilter {
 
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
-    // cache the primary keys
-    private final Map pkColumnPerTable = new HashMap();
+    // cache the primary keys, columns in the order of table metadata
+    private final Map<String, String[]> pkColumnsPerTable = new HashMap<>();
 
     private final Map fkEdgesPerTable = new HashMap();
     private final Map fkReverseEdgesPerTable = new HashMap();
 
+    // edges grouped into foreign keys, built once all edges are added
+    private final Map<String, List<Relationship>> fkRelationshipsPerTable = new HashMap<>();
+    private final Map<String, List<Relationship>> fkReverseRelationshipsPerTable = new HashMap<>();
+
+    // keys already scanned, so that cycles do not scan them again
+    private final PkTableMap scannedPKsPerTable = new PkTableMap();
+
+    // progress of the search
+    private int roundCount;
+    private long queryCount;
+    private long scannedPKCount;
+
     // name of the tables, in reverse order of dependency
     private final List tableNames = new ArrayList();
 
@@ -136,10 +155,6 @@ public class PrimaryKeyFilter extends AbstractTableFilter {
         if (!edges.contains(edge)) {
             edges.add(edge);
         }
-
-        // finally, update the PKs cache
-        updatePkCache(to, edge);
-
     }
 
     /**
@@ -168,36 +183,70 @@ public class PrimaryKeyFilter extends AbstractTableFilter {
     private void searchPKs(IDataSet dataSet) throws DataSetException, SQLException {
         logger.debug("searchPKs(dataSet={}) - start", dataSet);
 
-        int counter = 0;
         while (!this.pksToScanPerTable.isEmpty()) {
-            counter++;
+            this.roundCount++;
             if (this.logger.isDebugEnabled()) {
-                this.logger.debug("RUN # " + counter);
+                this.logger.debug("RUN # " + this.roundCount);
             }
 
+            // the frontier is made of keys pending at the start of the round, keys
+            // found while scanning it are scanned in the next round
+            Map<String, SortedSet<Object>> frontier = new LinkedHashMap<>();
             for (int i = this.tableNames.size() - 1; i >= 0; i--) {
                 String tableName = (String) this.tableNames.get(i);
-                // TODO: support multi-column PKs
-                String pkColumn = dataSet.getTable(tableName).getTableMetaData().getPrimaryKeys()[0].getColumnName();
-                Set tmpSet = this.pksToScanPerTable.get(tableName);
+                SortedSet<Object> tmpSet = this.pksToScanPerTable.get(tableName);
                 if (tmpSet != null && !tmpSet.isEmpty()) {
-                    Set pksToScan = new HashSet(tmpSet);
-                    if (this.logger.isDebugEnabled()) {
-                        this.logger.debug("before search: " + tableName + "=>" + pksToScan);
-                    }
-                    scanPKs(tableName, pkColumn, pksToScan);
-                    scanReversePKs(tableName, pksToScan);
-                    allowPKs(tableName, pksToScan);
-                    removePKsToScan(tableName, pksToScan);
-                } // if
-            } // for
+                    frontier.put(tableName, new TreeSet<>(tmpSet));
+                    tmpSet.clear();
+                }
+            }
+
+            for (Entry<String, SortedSet<Object>> entry : frontier.entrySet()) {
+                String tableName = entry.getKey();
+                Set<Object> pksToScan = entry.getValue();
+                if (this.logger.isDebugEnabled()) {
+                    this.logger.debug("before search: " + tableName + "=>" + pksToScan);
+                }
+                this.scannedPKsPerTable.addAll(tableName, pksToScan);
+                this.scannedPKCount += pksToScan.size();
+                scanPKs(dataSet, tableName, pksToScan);
+                scanReversePKs(dataSet, tableName, pksToScan);
+                allowPKs(tableName, pksToScan);
+            }
             removeScannedTables();
-        } // while
+
+            if (this.logger.isDebugEnabled()) {
+                this.logger.debug("Finished run # " + this.roundCount + ": " + frontier.size() + " tables scanned, "
+                        + this.scannedPKCount + " keys scanned by " + this.queryCount + " queries so far");
+            }
+        }
         if (this.logger.isDebugEnabled()) {
             this.logger.debug("Finished searchIds()");
         }
     }
 
+    /**
+     * @return number of rounds the search took, each round scanning keys found by
+     *         the previous one
+     */
+    public int getRoundCount() {
+        return this.roundCount;
+    }
+
+    /**
+     * @return number of queries issued by the search
+     */
+    public long getQueryCount() {
+        return this.queryCount;
+    }
+
+    /**
+     * @return number of primary keys scanned by the search, over all tables
+     */
+    public long getScannedPKCount() {
+        return this.scannedPKCount;
+    }
+
     private void removeScannedTables() {
         logger.debug("removeScannedTables() - start");
         this.pksToScanPerTable.retainOnly(this.tableNames);
@@ -224,161 +273,274 @@ public class PrimaryKeyFilter extends AbstractTableFilter {
         }
     }
 
-    private void scanPKs(String table, String pkColumn, Set allowedIds) throws SQLException {
+    private void scanPKs(IDataSet dataSet, String table, Set<Object> allowedIds)
+            throws DataSetException, SQLException {
         if (logger.isDebugEnabled()) {
-            logger.debug("scanPKs(table={}, pkColumn={}, allowedIds={}) - start", table, pkColumn, allowedIds);
+            logger.debug("scanPKs(table={}, allowedIds={}) - start", table, allowedIds);
         }
 
-        Set fkEdges = (Set) this.fkEdgesPerTable.get(table);
-        if (fkEdges == null || fkEdges.isEmpty()) {
+        List<Relationship> relationships = getRelationships(dataSet, table, this.fkEdgesPerTable,
+                this.fkRelationshipsPerTable);
+        if (relationships.isEmpty()) {
             return;
         }
-        // we need a temporary list as there is no warranty about the set order...
-        List fkTables = new ArrayList(fkEdges.size());
-        StringBuffer colsBuffer = new StringBuffer();
-        for (Iterator iterator = fkEdges.iterator(); iterator.hasNext();) {
-            ForeignKeyRelationshipEdge edge = (ForeignKeyRelationshipEdge) iterator.next();
-            fkTables.add(edge.getTo());
-            colsBuffer.append(edge.getFKColumn());
-            if (iterator.hasNext()) {
-                colsBuffer.append(", ");
+        StringBuilder colsBuffer = new StringBuilder();
+        for (Relationship relationship : relationships) {
+            for (String fkColumn : relationship.fkColumns) {
+                if (colsBuffer.length() > 0) {
+                    colsBuffer.append(", ");
+                }
+                colsBuffer.append(fkColumn);
             }
         }
         // NOTE: make sure the query below is compatible standard SQL
-        String sql = "SELECT " + colsBuffer + " FROM " + table + " WHERE " + pkColumn + " = ? ";
-        if (this.logger.isDebugEnabled()) {
-            this.logger.debug("SQL: " + sql);
-        }
-
-        scanPKs(table, sql, allowedIds, fkTables);
-    }
+        String select = "SELECT " + colsBuffer + " FROM " + table;
 
-    private void scanPKs(String table, String sql, Set allowedIds, List fkTables) throws SQLException {
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
         try {
-            pstmt = this.connection.getConnection().prepareStatement(sql);
-            for (Object pk : allowedIds) {
-                if (this.logger.isDebugEnabled()) {
-                    this.logger.debug("Executing sql for ? = " + pk);
-                }
-                pstmt.setObject(1, pk);
-                rs = pstmt.executeQuery();
-                while (rs.next()) {
-                    for (int i = 0; i < fkTables.size(); i++) {
-                        String newTable = (String) fkTables.get(i);
-                        Object fk = rs.getObject(i + 1);
-                        if (fk != null) {
-                            if (this.logger.isDebugEnabled()) {
-                                this.logger.debug("New ID: " + newTable + "->" + fk);
-                            }
-                            addPKToScan(newTable, fk);
-                        } else {
-                            this.logger.warn("Found null FK for relationship  " + table + "=>" + newTable);
+            query(select, getPKColumns(dataSet, table), allowedIds, rs -> {
+                int column = 1;
+                for (Relationship relationship : relationships) {
+                    Object fk = getKey(rs, column, relationship.fkColumns.length);
+                    column += relationship.fkColumns.length;
+                    if (fk != null) {
+                        if (this.logger.isDebugEnabled()) {
+                            this.logger.debug("New ID: " + relationship.parent + "->" + fk);
                         }
+                        addPKToScan(relationship.parent, fk);
+                    } else {
+                        this.logger.warn("Found null FK for relationship  " + table + "=>" + relationship.parent);
                     }
                 }
-            }
+            });
         } catch (SQLException e) {
             logger.error("scanPKs()", e);
-        } finally {
-            // new in the finally block. has been in the catch only before
-            SQLHelper.close(rs, pstmt);
         }
     }
 
-    private void scanReversePKs(String table, Set pksToScan) throws SQLException {
+    private void scanReversePKs(IDataSet dataSet, String table, Set<Object> pksToScan)
+            throws DataSetException, SQLException {
         logger.debug("scanReversePKs(table={}, pksToScan={}) - start", table, pksToScan);
 
         if (!this.reverseScan) {
             return;
         }
-        Set fkReverseEdges = (Set) this.fkReverseEdgesPerTable.get(table);
-        if (fkReverseEdges == null || fkReverseEdges.isEmpty()) {
-            return;
-        }
-        Iterator iterator = fkReverseEdges.iterator();
-        while (iterator.hasNext()) {
-            ForeignKeyRelationshipEdge edge = (ForeignKeyRelationshipEdge) iterator.next();
-            addReverseEdge(edge, pksToScan);
+        for (Relationship relationship : getRelationships(dataSet, table, this.fkReverseEdgesPerTable,
+                this.fkReverseRelationshipsPerTable)) {
+            addReverseEdge(dataSet, relationship, pksToScan);
         }
     }
 
-    private void addReverseEdge(ForeignKeyRelationshipEdge edge, Set idsToScan) throws SQLException {
-        logger.debug("addReverseEdge(edge={}, idsToScan=) - start", edge, idsToScan);
+    private void addReverseEdge(IDataSet dataSet, Relationship relationship, Set<Object> idsToScan)
+            throws DataSetException, SQLException {
+        logger.debug("addReverseEdge(relationship={}, idsToScan={}) - start", relationship, idsToScan);
 
-        String fkTable = (String) edge.getFrom();
-        String fkColumn = edge.getFKColumn();
-        String pkColumn = getPKColumn(fkTable);
+        String fkTable = relationship.child;
+        String[] pkColumns = getPKColumns(dataSet, fkTable);
         // NOTE: make sure the query below is compatible standard SQL
-        String sql = "SELECT " + pkColumn + " FROM " + fkTable + " WHERE " + fkColumn + " = ? ";
+        String select = "SELECT " + String.join(", ", pkColumns) + " FROM " + fkTable;
+        query(select, relationship.fkColumns, idsToScan,
+                rs -> addPKToScan(fkTable, getKey(rs, 1, pkColumns.length)));
+    }
 
+    /**
+     * Runs the select for the given keys, looking up as many keys per query as
+     * configured by {@link io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig#getPrimaryKeyFilterBatchSize()}.
+     */
+    private void query(String select, String[] keyColumns, Set<Object> keys, RowHandler handler)
+            throws SQLException {
+        int batchSize = getBatchSize(keyColumns.length);
+        List<Object> batch = new ArrayList<>(Math.min(batchSize, keys.size()));
         PreparedStatement pstmt = null;
-        ResultSet rs = null;
+        int pstmtSize = 0;
         try {
-            if (this.logger.isDebugEnabled()) {
-                this.logger.debug("Preparing SQL query '" + sql + "'");
-            }
-            pstmt = this.connection.getConnection().prepareStatement(sql);
-            for (Object pk : idsToScan) {
-                if (this.logger.isDebugEnabled()) {
-                    this.logger.debug("executing query '" + sql + "' for ? = " + pk);
+            for (Iterator<Object> iterator = keys.iterator(); iterator.hasNext();) {
+                batch.add(iterator.next());
+                if (batch.size() < batchSize && iterator.hasNext()) {
+                    continue;
+                }
+                if (pstmt == null || pstmtSize != batch.size()) {
+                    SQLHelper.close(pstmt);
+                    pstmt = null;
+                    String sql = select + " WHERE " + buildKeyCondition(keyColumns, batch.size());
+                    if (this.logger.isDebugEnabled()) {
+                        this.logger.debug("Preparing SQL query '" + sql + "'");
+                    }
+                    pstmt = this.connection.getConnection().prepareStatement(sql);
+                    pstmtSize = batch.size();
                 }
-                pstmt.setObject(1, pk);
-                rs = pstmt.executeQuery();
-                while (rs.next()) {
-                    Object fk = rs.getObject(1);
-                    addPKToScan(fkTable, fk);
+                int parameterIndex = 1;
+                for (Object key : batch) {
+                    if (keyColumns.length == 1) {
+                        pstmt.setObject(parameterIndex++, key);
+                    } else {
+                        CompositePrimaryKey compositeKey = toCompositeKey(key, keyColumns.length);
+                        for (int i = 0; i < keyColumns.length; i++) {
+                            pstmt.setObject(parameterIndex++, compositeKey.getValue(i));
+                        }
+                    }
                 }
+                ResultSet rs = pstmt.executeQuery();
+                try {
+                    while (rs.next()) {
+                        handler.handle(rs);
+                    }
+                } finally {
+                    SQLHelper.close(rs);
+                }
+                this.queryCount++;
+                batch.clear();
             }
         } finally {
-            SQLHelper.close(rs, pstmt);
+            SQLHelper.close(pstmt);
         }
     }
 
-    private void updatePkCache(String table, ForeignKeyRelationshipEdge edge) {
-        logger.debug("updatePkCache(to={}, edge={}) - start", table, edge);
+    private int getBatchSize(int keyColumnCount) {
+        DatabaseConfig config = this.connection.getDatabaseConfig();
+        int batchSize = Math.max(1, config.getPrimaryKeyFilterBatchSize());
+        int maxBindParameters = config.getMaxBindParameters();
+        if (maxBindParameters > 0) {
+            batchSize = Math.min(batchSize, Math.max(1, maxBindParameters / keyColumnCount));
+        }
+        return batchSize;
+    }
 
-        Object pkTo = this.pkColumnPerTable.get(table);
-        if (pkTo == null) {
-            String pkColumn = edge.getPKColumn();
-            this.pkColumnPerTable.put(table, pkColumn);
+    /**
+     * <code>col IN (?, ?)</code> for single-column keys,
+     * <code>(col1 = ? AND col2 = ?) OR (col1 = ? AND col2 = ?)</code> otherwise.
+     */
+    static String buildKeyCondition(String[] keyColumns, int keyCount) {
+        StringBuilder sql = new StringBuilder();
+        if (keyColumns.length == 1) {
+            sql.append(keyColumns[0]).append(" IN (");
+            for (int i = 0; i < keyCount; i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            return sql.append(")").toString();
         }
+        for (int i = 0; i < keyCount; i++) {
+            if (i > 0) {
+                sql.append(" OR ");
+            }
+            sql.append("(");
+            for (int j = 0; j < keyColumns.length; j++) {
+                if (j > 0) {
+                    sql.append(" AND ");
+                }
+                sql.append(keyColumns[j]).append(" = ?");
+            }
+            sql.append(")");
+        }
+        return sql.toString();
     }
 
-    // TODO: support PKs with multiple values
-    private String getPKColumn(String table) throws SQLException {
-        logger.debug("getPKColumn(table={}) - start", table);
+    private static CompositePrimaryKey toCompositeKey(Object key, int size) {
+        if (!(key instanceof CompositePrimaryKey) || ((CompositePrimaryKey) key).size() != size) {
+            throw new IllegalArgumentException(
+                    "Key " + key + " should be a " + CompositePrimaryKey.class.getName() + " of " + size + " values");
+        }
+        return (CompositePrimaryKey) key;
+    }
 
-        // Try to get the cached column
-        String pkColumn = (String) this.pkColumnPerTable.get(table);
-        if (pkColumn == null) {
-            // If the column has not been cached until now retrieve it from the database
-            // connection
-            pkColumn = SQLHelper.getPrimaryKeyColumn(this.connection.getConnection(), table);
-            this.pkColumnPerTable.put(table, pkColumn);
+    /**
+     * @return the key read from given columns, <code>null</code> if any of them is
+     *         null
+     */
+    private static Object getKey(ResultSet rs, int column, int columnCount) throws SQLException {
+        if (columnCount == 1) {
+            return rs.getObject(column);
+        }
+        Object[] values = new Object[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            values[i] = rs.getObject(column + i);
+            if (values[i] == null) {
+                return null;
+            }
         }
-        return pkColumn;
+        return new CompositePrimaryKey(values);
     }
 
-    private void removePKsToScan(String table, Set ids) {
-        logger.debug("removePKsToScan(table={}, ids={}) - start", table, ids);
+    private String[] getPKColumns(IDataSet dataSet, String table) throws DataSetException, SQLException {
+        logger.debug("getPKColumns(table={}) - start", table);
+
+        String[] pkColumns = this.pkColumnsPerTable.get(table);
+        if (pkColumns == null) {
+            try {
+                pkColumns = Columns.getColumnNames(dataSet.getTableMetaData(table).getPrimaryKeys());
+            } catch (NoSuchTableException e) {
+                // If the table is not part of the data set retrieve it from the database
+                // connection
+                pkColumns = new String[] { SQLHelper.getPrimaryKeyColumn(this.connection.getConnection(), table) };
+            }
+            if (pkColumns.length == 0) {
+                throw new DataSetException("Table " + table + " has no primary key");
+            }
+            this.pkColumnsPerTable.put(table, pkColumns);
+        }
+        return pkColumns;
+    }
 
-        Set pksToScan = this.pksToScanPerTable.get(table);
-        if (pksToScan != null) {
-            if (pksToScan == ids) {
-                throw new RuntimeException("INTERNAL ERROR on removeIdsToScan() for table " + table);
-            } else {
-                pksToScan.removeAll(ids);
+    /**
+     * Groups edges of a table into foreign keys. Edges of a multi-column foreign
+     * key are matched by primary key columns of the referenced table.
+     */
+    private List<Relationship> getRelationships(IDataSet dataSet, String table, Map edgesPerTable,
+            Map<String, List<Relationship>> cache) throws DataSetException, SQLException {
+        List<Relationship> relationships = cache.get(table);
+        if (relationships != null) {
+            return relationships;
+        }
+        relationships = new ArrayList<>();
+        Set edges = (Set) edgesPerTable.get(table);
+        if (edges != null) {
+            // fk columns by child and parent table, then by pk column
+            Map<List<String>, Map<String, List<String>>> fkColumnsPerTables = new LinkedHashMap<>();
+            for (Object element : new TreeSet(edges)) {
+                ForeignKeyRelationshipEdge edge = (ForeignKeyRelationshipEdge) element;
+                List<String> tables = Arrays.asList((String) edge.getFrom(), (String) edge.getTo());
+                fkColumnsPerTables.computeIfAbsent(tables, key -> new LinkedHashMap<>())
+                        .computeIfAbsent(edge.getPKColumn(), key -> new ArrayList<>()).add(edge.getFKColumn());
+            }
+            for (Entry<List<String>, Map<String, List<String>>> entry : fkColumnsPerTables.entrySet()) {
+                String child = entry.getKey().get(0);
+                String parent = entry.getKey().get(1);
+                Map<String, List<String>> fkColumnsPerPkColumn = entry.getValue();
+                String[] pkColumns = getPKColumns(dataSet, parent);
+                if (pkColumns.length == 1) {
+                    for (List<String> fkColumns : fkColumnsPerPkColumn.values()) {
+                        for (String fkColumn : fkColumns) {
+                            relationships.add(new Relationship(child, parent, new String[] { fkColumn }));
+                        }
+                    }
+                    continue;
+                }
+                int count = Integer.MAX_VALUE;
+                for (String pkColumn : pkColumns) {
+                    List<String> fkColumns = fkColumnsPerPkColumn.get(pkColumn);
+                    count = Math.min(count, fkColumns == null ? 0 : fkColumns.size());
+                }
+                if (count == 0) {
+                    this.logger.warn("Ignoring foreign key " + child + "=>" + parent
+                            + " as it does not reference the whole primary key");
+                }
+                for (int i = 0; i < count; i++) {
+                    String[] fkColumns = new String[pkColumns.length];
+                    for (int j = 0; j < pkColumns.length; j++) {
+                        fkColumns[j] = fkColumnsPerPkColumn.get(pkColumns[j]).get(i);
+                    }
+                    relationships.add(new Relationship(child, parent, fkColumns));
+                }
             }
         }
+        cache.put(table, relationships);
+        return relationships;
     }
 
     private void addPKToScan(String table, Object pk) {
         logger.debug("addPKToScan(table={}, pk={}) - start", table, pk);
 
         // first, check if it wasn't added yet
-        if (this.allowedPKsPerTable.contains(table, pk)) {
+        if (this.allowedPKsPerTable.contains(table, pk) || this.scannedPKsPerTable.contains(table, pk)) {
             if (this.logger.isDebugEnabled()) {
                 this.logger.debug("Discarding already scanned id=" + pk + " for table " + table);
             }
@@ -396,13 +558,42 @@ public class PrimaryKeyFilter extends AbstractTableFilter {
         sb.append(", allowedPKsPerTable=").append(allowedPKsPerTable);
         sb.append(", fkEdgesPerTable=").append(fkEdgesPerTable);
         sb.append(", fkReverseEdgesPerTable=").append(fkReverseEdgesPerTable);
-        sb.append(", pkColumnPerTable=").append(pkColumnPerTable);
+        sb.append(", pkColumnsPerTable=").append(pkColumnsPerTable.keySet());
         sb.append(", pksToScanPerTable=").append(pksToScanPerTable);
         sb.append(", reverseScan=").append(reverseScan);
         sb.append(", connection=").append(connection);
         return sb.toString();
     }
 
+    /**
+     * Handles a row of a traversal query.
+     */
+    private interface RowHandler {
+        void handle(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Foreign key from the child table to the parent one, columns of the child
+     * table are in the order of the primary key columns of the parent.
+     */
+    private static class Relationship {
+
+        private final String child;
+        private final String parent;
+        private final String[] fkColumns;
+
+        Relationship(String child, String parent, String[] fkColumns) {
+            this.child = child;
+            this.parent = parent;
+            this.fkColumns = fkColumns;
+        }
+
+        @Override
+        public String toString() {
+            return child + Arrays.toString(fkColumns) + "->" + parent;
+        }
+    }
+
     private class FilterIterator implements ITableIterator {
 
         private final ITableIterator _iterator;
@@ -27,6 +27,7 @@ import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.dbunit.dataset.Column;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.ITable;
 import org.dbunit.dataset.ITableMetaData;
@@ -95,10 +96,13 @@ public class PrimaryKeyFilteredTableWrapper implements ITable {
         int allowedSize = allowedPKs.size();
         int fullSize = this.originalTable.getRowCount();
         List mapping = new ArrayList(allowedSize);
-        // TODO: support multi-columns PKs
-        String pkColumn = this.originalTable.getTableMetaData().getPrimaryKeys()[0].getColumnName();
+        Column[] pkColumns = this.originalTable.getTableMetaData().getPrimaryKeys();
+        int[] pkIndexes = new int[pkColumns.length];
+        for (int i = 0; i < pkColumns.length; i++) {
+            pkIndexes[i] = this.originalTable.getTableMetaData().getColumnIndex(pkColumns[i].getColumnName());
+        }
         for (int row = 0; row < fullSize; row++) {
-            Object pk = this.originalTable.getValue(row, pkColumn);
+            Object pk = getPrimaryKey(row, pkIndexes);
             if (allowedPKs.contains(pk)) {
                 if (this.logger.isDebugEnabled()) {
                     this.logger.debug("Adding row " + row + " (pk=" + pk + ")");
@@ -113,6 +117,17 @@ public class PrimaryKeyFilteredTableWrapper implements ITable {
         return mapping;
     }
 
+    private Object getPrimaryKey(int row, int[] pkIndexes) throws DataSetException {
+        if (pkIndexes.length == 1) {
+            return this.originalTable.getValue(row, pkIndexes[0]);
+        }
+        Object[] values = new Object[pkIndexes.length];
+        for (int i = 0; i < pkIndexes.length; i++) {
+            values[i] = this.originalTable.getValue(row, pkIndexes[i]);
+        }
+        return new CompositePrimaryKey(values);
+    }
+
     // ITable methods
 
     public ITableMetaData getTableMetaData() {
@@ -137,4 +152,14 @@ public class PrimaryKeyFilteredTableWrapper implements ITable {
         }
     }
 
+    public Object getValue(int row, int column) throws DataSetException {
+        int max = this.filteredRowsMapping.size();
+        if (row < max) {
+            int realRow = ((Integer) this.filteredRowsMapping.get(row)).intValue();
+            return this.originalTable.getValue(realRow, column);
+        } else {
+            throw new RowOutOfBoundsException("tried to access row " + row + " but rowCount is " + max);
+        }
+    }
+
 }
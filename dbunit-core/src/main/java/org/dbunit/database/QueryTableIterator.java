@@ -135,7 +135,7 @@ public class QueryTableIterator implements ITableIterator {
                     IResultSetTable table = resultSetTableFactory.createTable(entry.getTableName(), entry.getQuery(),
                             _connection);
 
-                    _currentTable = new CachedResultSetTable(table);
+                    _currentTable = CachedResultSetTable.load(table, _connection.getDatabaseConfig());
                 }
             } catch (SQLException e) {
                 throw new DataSetException(e);
@@ -120,6 +120,19 @@ public class ScrollableResultSetTable extends AbstractResultSetTable {
         }
     }
 
+    @Override
+    public Object getValue(int row, int column) throws DataSetException {
+        assertValidRowIndex(row);
+
+        try {
+            _resultSet.absolute(row + 1);
+
+            return _metaData.getColumns()[column].getDataType().getSqlValue(column + 1, _resultSet);
+        } catch (SQLException e) {
+            throw new DataSetException(e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,320 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.database;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dbunit.dataset.AbstractTable;
+import org.dbunit.dataset.ColumnarTable;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableCursor;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.binary.BinaryValues;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fully loaded result set table which keeps rows in memory up to a budget of
+ * bytes, and spills the remaining rows to a temporary file. The file is mapped
+ * in memory once loaded, so that rows are still accessed randomly; the operating
+ * system pages them in and out as needed.
+ * <p>
+ * Spilled rows are stored in a compact binary format, a type tag followed by
+ * the value for every column, see {@link BinaryValues}. The most recently read
+ * spilled row is decoded once and kept, so reading a row column by column is
+ * cheap. The table can be read by several threads at once.
+ *
+ * @see io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig#getCachedTableMemoryBudget()
+ */
+public class SpillingResultSetTable extends AbstractTable implements IResultSetTable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpillingResultSetTable.class);
+
+    /**
+     * Spilled rows are mapped in segments of at most this size.
+     */
+    private static final long MAX_SEGMENT_SIZE = 1L << 30;
+
+    private final ITableMetaData metaData;
+    private final int columnCount;
+
+    private final ColumnarTable memoryRows;
+
+    private int spilledRowCount;
+    /**
+     * File offsets of spilled rows, with the end of the last row appended.
+     */
+    private long[] rowOffsets = new long[0];
+
+    private final List<Segment> segments = new ArrayList<>();
+
+    private volatile DecodedRow decodedRow;
+
+    /**
+     * Loads all rows of the table, and closes it.
+     *
+     * @param table        table to be loaded
+     * @param memoryBudget approximate number of bytes rows may take in memory
+     */
+    public SpillingResultSetTable(IResultSetTable table, long memoryBudget) throws DataSetException {
+        this.metaData = table.getTableMetaData();
+        this.columnCount = metaData.getColumns().length;
+        this.memoryRows = new ColumnarTable(metaData);
+        try {
+            load(table, memoryBudget);
+        } finally {
+            table.close();
+        }
+    }
+
+    private void load(ITable table, long memoryBudget) throws DataSetException {
+        ITableCursor cursor = table.cursor();
+        long usedMemory = 0;
+        while (cursor.next()) {
+            Object[] values = readRow(cursor);
+            usedMemory += estimateSize(values);
+            if (usedMemory > memoryBudget) {
+                spill(cursor, values);
+                return;
+            }
+            memoryRows.addRow(values);
+        }
+    }
+
+    private Object[] readRow(ITableCursor cursor) throws DataSetException {
+        Object[] values = new Object[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            values[i] = cursor.getValue(i);
+        }
+        return values;
+    }
+
+    /**
+     * Writes the given row and all remaining ones to a temporary file, then maps
+     * it.
+     */
+    private void spill(ITableCursor cursor, Object[] firstValues) throws DataSetException {
+        logger.debug("Spilling table {} to disk after {} rows", metaData.getTableName(),
+                memoryRows.getRowCount());
+
+        File file;
+        try {
+            file = File.createTempFile("dbunit", ".rows");
+        } catch (IOException e) {
+            throw new DataSetException("Cannot create file to spill table " + metaData.getTableName(), e);
+        }
+        try {
+            writeRows(file, cursor, firstValues);
+            mapSegments(file);
+        } catch (IOException e) {
+            throw new DataSetException("Cannot spill table " + metaData.getTableName() + " to " + file, e);
+        } finally {
+            // mapped segments stay valid, file may not be deleted while mapped on
+            // some systems though
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    private void writeRows(File file, ITableCursor cursor, Object[] firstValues)
+            throws IOException, DataSetException {
+        ByteArrayOutputStream rowBytes = new ByteArrayOutputStream();
+        DataOutputStream rowOut = new DataOutputStream(rowBytes);
+        long offset = 0;
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 64 * 1024)) {
+            Object[] values = firstValues;
+            while (values != null) {
+                rowBytes.reset();
+                for (Object value : values) {
+                    BinaryValues.writeValue(rowOut, value);
+                }
+                rowOut.flush();
+                if (rowBytes.size() > MAX_SEGMENT_SIZE) {
+                    throw new DataSetException("Row " + (memoryRows.getRowCount() + spilledRowCount) + " of table "
+                            + metaData.getTableName() + " is too large to be spilled");
+                }
+                rowBytes.writeTo(out);
+                addRowOffset(offset);
+                offset += rowBytes.size();
+                spilledRowCount++;
+                values = cursor.next() ? readRow(cursor) : null;
+            }
+        }
+        addRowOffset(offset);
+    }
+
+    private void addRowOffset(long offset) {
+        int index = spilledRowCount;
+        if (index == rowOffsets.length) {
+            rowOffsets = Arrays.copyOf(rowOffsets, Math.max(16, index + (index >> 1)));
+        }
+        rowOffsets[index] = offset;
+    }
+
+    private void mapSegments(File file) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+                FileChannel channel = randomAccessFile.getChannel()) {
+            int firstRow = 0;
+            while (firstRow < spilledRowCount) {
+                long start = rowOffsets[firstRow];
+                int endRow = firstRow + 1;
+                while (endRow < spilledRowCount && rowOffsets[endRow + 1] - start <= MAX_SEGMENT_SIZE) {
+                    endRow++;
+                }
+                long size = rowOffsets[endRow] - start;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+                segments.add(new Segment(firstRow, start, buffer));
+                firstRow = endRow;
+            }
+        }
+    }
+
+    /**
+     * Rough heap size of a row, used against the memory budget.
+     */
+    static long estimateSize(Object[] values) {
+        long size = 16 + 8L * values.length;
+        for (Object value : values) {
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof String) {
+                size += 40 + 2L * ((String) value).length();
+            } else if (value instanceof byte[]) {
+                size += 16 + ((byte[]) value).length;
+            } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+                size += 40;
+            } else {
+                size += 24;
+            }
+        }
+        return size;
+    }
+
+    private Object[] decodeRow(int spilledRow) throws DataSetException {
+        DecodedRow decoded = decodedRow;
+        if (decoded != null && decoded.row == spilledRow) {
+            return decoded.values;
+        }
+        Segment segment = findSegment(spilledRow);
+        ByteBuffer in = segment.buffer.duplicate();
+        in.position((int) (rowOffsets[spilledRow] - segment.offset));
+        Object[] values = new Object[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            values[i] = BinaryValues.readValue(in);
+        }
+        decodedRow = new DecodedRow(spilledRow, values);
+        return values;
+    }
+
+    private Segment findSegment(int spilledRow) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (segments.get(middle).firstRow <= spilledRow) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return segments.get(low);
+    }
+
+    /**
+     * @return number of rows kept in memory
+     */
+    public int getMemoryRowCount() {
+        return memoryRows.getRowCount();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // ITable interface
+
+    @Override
+    public ITableMetaData getTableMetaData() {
+        return metaData;
+    }
+
+    @Override
+    public int getRowCount() {
+        return memoryRows.getRowCount() + spilledRowCount;
+    }
+
+    @Override
+    public Object getValue(int row, String column) throws DataSetException {
+        return getValue(row, getColumnIndex(column));
+    }
+
+    @Override
+    public Object getValue(int row, int column) throws DataSetException {
+        assertValidRowIndex(row);
+
+        int memoryRowCount = memoryRows.getRowCount();
+        if (row < memoryRowCount) {
+            return memoryRows.getValue(row, column);
+        }
+        return decodeRow(row - memoryRowCount)[column];
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // IResultSetTable interface
+
+    @Override
+    public void close() throws DataSetException {
+        // nothing to do, result set is already closed and mapped segments are
+        // released with this table
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + "[metaData=" + metaData + ", memoryRows=" + memoryRows.getRowCount()
+                + ", spilledRows=" + spilledRowCount + "]";
+    }
+
+    /**
+     * Row and values replaced together, so that concurrent readers never see the
+     * values of another row.
+     */
+    private static class DecodedRow {
+
+        private final int row;
+        private final Object[] values;
+
+        DecodedRow(int row, Object[] values) {
+            this.row = row;
+            this.values = values;
+        }
+    }
+
+    private static class Segment {
+
+        private final int firstRow;
+        private final long offset;
+        private final MappedByteBuffer buffer;
+
+        Segment(int firstRow, long offset, MappedByteBuffer buffer) {
+            this.firstRow = firstRow;
+            this.offset = offset;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.database;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.dbunit.util.QualifiedTableName;
+import org.dbunit.util.SQLHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Foreign key dependencies between a fixed set of tables. The graph is loaded
+ * with a single query returned by {@link IMetadataHandler#getForeignKeysSql()}.
+ * When the handler has no such query, imported keys of every table are read
+ * from {@link DatabaseMetaData}, one call per table.
+ * <p>
+ * Self references are ignored, as well as references to tables outside of the
+ * set.
+ */
+public class TablesDependencyGraph {
+
+    private static final Logger logger = LoggerFactory.getLogger(TablesDependencyGraph.class);
+
+    private final String[] tableNames;
+
+    /**
+     * For every table, indexes of tables it references.
+     */
+    private final List<Set<Integer>> parents;
+
+    TablesDependencyGraph(String[] tableNames) {
+        this.tableNames = tableNames.clone();
+        this.parents = new ArrayList<>(tableNames.length);
+        for (int i = 0; i < tableNames.length; i++) {
+            parents.add(new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Loads foreign keys between given tables.
+     *
+     * @param connection connection to read foreign keys from
+     * @param tableNames tables of the graph, qualified or not
+     * @return the graph
+     * @throws SQLException if foreign keys cannot be read
+     */
+    public static TablesDependencyGraph load(IDatabaseConnection connection, String[] tableNames)
+            throws SQLException {
+        logger.debug("load(connection={}, tableNames={}) - start", connection, tableNames);
+
+        TablesDependencyGraph graph = new TablesDependencyGraph(tableNames);
+        NameIndex index = new NameIndex(tableNames, connection.getSchema(),
+                connection.getDatabaseConfig().isCaseSensitiveTableNames());
+
+        IMetadataHandler metadataHandler = connection.getDatabaseConfig().getMetadataHandler();
+        String sql = metadataHandler.getForeignKeysSql();
+        if (sql != null) {
+            graph.loadAll(connection.getConnection(), sql, index);
+        } else {
+            graph.loadImportedKeys(connection.getConnection().getMetaData(), metadataHandler, index);
+        }
+        return graph;
+    }
+
+    private void loadAll(Connection connection, String sql, NameIndex index) throws SQLException {
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = null;
+        try {
+            resultSet = statement.executeQuery(sql);
+            while (resultSet.next()) {
+                int child = index.find(resultSet.getString(1), resultSet.getString(2));
+                int parent = index.find(resultSet.getString(3), resultSet.getString(4));
+                addDependency(child, parent);
+            }
+        } finally {
+            SQLHelper.close(resultSet, statement);
+        }
+    }
+
+    private void loadImportedKeys(DatabaseMetaData metaData, IMetadataHandler metadataHandler, NameIndex index)
+            throws SQLException {
+        for (int child = 0; child < tableNames.length; child++) {
+            String schema = index.schemas[child];
+            ResultSet resultSet = metaData.getImportedKeys(metadataHandler.toCatalog(schema),
+                    metadataHandler.toSchema(schema), index.tables[child]);
+            try {
+                while (resultSet.next()) {
+                    int parent = index.find(resultSet.getString(2), resultSet.getString(3));
+                    addDependency(child, parent);
+                }
+            } finally {
+                SQLHelper.close(resultSet);
+            }
+        }
+    }
+
+    void addDependency(int child, int parent) {
+        if (child >= 0 && parent >= 0 && child != parent) {
+            parents.get(child).add(parent);
+        }
+    }
+
+    /**
+     * @return table names of the graph
+     */
+    public String[] getTableNames() {
+        return tableNames.clone();
+    }
+
+    /**
+     * @param tableName table of the graph
+     * @return tables referenced by the given one
+     */
+    public Set<String> getParents(String tableName) {
+        int table = Arrays.asList(tableNames).indexOf(tableName);
+        if (table < 0) {
+            throw new IllegalArgumentException("Unknown table " + tableName);
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (int parent : parents.get(table)) {
+            result.add(tableNames[parent]);
+        }
+        return result;
+    }
+
+    /**
+     * Sorts tables so that every table follows tables it references. Tables keep
+     * their original order unless a dependency requires otherwise.
+     *
+     * @return table names in insert order
+     * @throws CyclicTablesDependencyException if tables reference each other in a
+     *                                         cycle
+     */
+    public String[] sort() throws CyclicTablesDependencyException {
+        int[] parentCounts = getParentCounts();
+        List<List<Integer>> children = getChildren();
+
+        // Kahn's algorithm, picking the earliest available table first
+        PriorityQueue<Integer> available = new PriorityQueue<>();
+        for (int table = 0; table < tableNames.length; table++) {
+            if (parentCounts[table] == 0) {
+                available.add(table);
+            }
+        }
+        List<String> sorted = new ArrayList<>(tableNames.length);
+        while (!available.isEmpty()) {
+            int table = available.poll();
+            sorted.add(tableNames[table]);
+            for (int child : children.get(table)) {
+                if (--parentCounts[child] == 0) {
+                    available.add(child);
+                }
+            }
+        }
+        if (sorted.size() < tableNames.length) {
+            throw cycleException(parentCounts);
+        }
+        return sorted.toArray(new String[sorted.size()]);
+    }
+
+    /**
+     * Partitions tables into dependency levels. Tables of the first level do not
+     * reference any table, tables of every next level reference only tables of
+     * the previous levels.
+     *
+     * @return levels in insert order, table names keep their order inside a level
+     * @throws CyclicTablesDependencyException if tables reference each other in a
+     *                                         cycle
+     */
+    public List<String[]> getLevels() throws CyclicTablesDependencyException {
+        int[] parentCounts = getParentCounts();
+        List<List<Integer>> children = getChildren();
+
+        List<String[]> levels = new ArrayList<>();
+        List<Integer> level = new ArrayList<>();
+        for (int table = 0; table < tableNames.length; table++) {
+            if (parentCounts[table] == 0) {
+                level.add(table);
+            }
+        }
+        int count = 0;
+        while (!level.isEmpty()) {
+            List<Integer> next = new ArrayList<>();
+            String[] names = new String[level.size()];
+            for (int i = 0; i < names.length; i++) {
+                int table = level.get(i);
+                names[i] = tableNames[table];
+                for (int child : children.get(table)) {
+                    if (--parentCounts[child] == 0) {
+                        next.add(child);
+                    }
+                }
+            }
+            next.sort(null);
+            levels.add(names);
+            count += names.length;
+            level = next;
+        }
+        if (count < tableNames.length) {
+            throw cycleException(parentCounts);
+        }
+        return levels;
+    }
+
+    private int[] getParentCounts() {
+        int[] parentCounts = new int[tableNames.length];
+        for (int table = 0; table < tableNames.length; table++) {
+            parentCounts[table] = parents.get(table).size();
+        }
+        return parentCounts;
+    }
+
+    private List<List<Integer>> getChildren() {
+        List<List<Integer>> children = new ArrayList<>(tableNames.length);
+        for (int table = 0; table < tableNames.length; table++) {
+            children.add(new ArrayList<>());
+        }
+        for (int table = 0; table < tableNames.length; table++) {
+            for (int parent : parents.get(table)) {
+                children.get(parent).add(table);
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Tables left unsorted are on a cycle or depend on one. The latter are
+     * stripped, leaving only tables which reference each other.
+     */
+    private CyclicTablesDependencyException cycleException(int[] parentCounts) {
+        boolean[] cyclic = new boolean[tableNames.length];
+        for (int table = 0; table < tableNames.length; table++) {
+            cyclic[table] = parentCounts[table] > 0;
+        }
+        // strip tables not referenced by any remaining table, until none is left
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[] childCounts = new int[tableNames.length];
+            for (int table = 0; table < tableNames.length; table++) {
+                if (cyclic[table]) {
+                    for (int parent : parents.get(table)) {
+                        childCounts[parent]++;
+                    }
+                }
+            }
+            for (int table = 0; table < tableNames.length; table++) {
+                if (cyclic[table] && childCounts[table] == 0) {
+                    cyclic[table] = false;
+                    changed = true;
+                }
+            }
+        }
+        Set<String> cyclicTableNames = new LinkedHashSet<>();
+        for (int table = 0; table < tableNames.length; table++) {
+            if (cyclic[table]) {
+                cyclicTableNames.add(tableNames[table]);
+            }
+        }
+        return new CyclicTablesDependencyException(cyclicTableNames.iterator().next(), cyclicTableNames);
+    }
+
+    /**
+     * Finds graph tables by schema and name as reported by the database.
+     */
+    private static class NameIndex {
+
+        private final String[] schemas;
+        private final String[] tables;
+        private final boolean caseSensitive;
+        private final Map<String, List<Integer>> indexesByTable = new HashMap<>();
+
+        NameIndex(String[] tableNames, String defaultSchema, boolean caseSensitive) {
+            this.caseSensitive = caseSensitive;
+            schemas = new String[tableNames.length];
+            tables = new String[tableNames.length];
+            for (int i = 0; i < tableNames.length; i++) {
+                QualifiedTableName qualifiedTableName = new QualifiedTableName(tableNames[i], defaultSchema);
+                schemas[i] = qualifiedTableName.getSchema();
+                tables[i] = qualifiedTableName.getTable();
+                indexesByTable.computeIfAbsent(toKey(tables[i]), key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        /**
+         * @return index of the table, or -1 if it is not in the graph
+         */
+        int find(String schema, String table) {
+            List<Integer> candidates = indexesByTable.get(toKey(table));
+            if (candidates != null) {
+                for (int candidate : candidates) {
+                    if (SQLHelper.areEqualIgnoreNull(schemas[candidate], schema, caseSensitive)) {
+                        return candidate;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        private String toKey(String name) {
+            if (name == null) {
+                return null;
+            }
+            return caseSensitive ? name : name.toUpperCase();
+        }
+    }
+}
@@ -3,6 +3,8 @@
  */
 package org.dbunit.database.metadata;
 
+import org.dbunit.operation.CopyTableSnapshotStrategy;
+
 /**
  * Predicate used by {@link MetadataManager} to see if table needs to be ignored
  */
@@ -11,5 +13,12 @@ public interface IgnoredTablePredicate {
 
     public static final IgnoredTablePredicate ALLOW_ALL = T -> false;
 
+    /**
+     * Matches copies made by {@link CopyTableSnapshotStrategy}, which
+     * {@link MetadataManager} always ignores.
+     */
+    public static final IgnoredTablePredicate SNAPSHOT_COPIES = T -> T.tableName.regionMatches(true, 0,
+            CopyTableSnapshotStrategy.COPY_PREFIX, 0, CopyTableSnapshotStrategy.COPY_PREFIX.length());
+
     boolean shouldIgnore(TableMetadata tableMetadata);
 }
@@ -155,7 +155,8 @@ public class MetadataManager {
         try {
             while (resultSet.next()) {
                 TableMetadata tableMetadata = toTableMetadata(resultSet);
-                if (ignoredTablePredicate.shouldIgnore(tableMetadata)) {
+                if (IgnoredTablePredicate.SNAPSHOT_COPIES.shouldIgnore(tableMetadata)
+                        || ignoredTablePredicate.shouldIgnore(tableMetadata)) {
                     continue;
                 }
                 tableMetadatas.add(tableMetadata);
@@ -50,6 +50,17 @@ public class PreparedBatchStatement extends AbstractPreparedBatchStatement {
         _index = 0;
     }
 
+    PreparedBatchStatement(String sql, PreparedStatementCache cache) throws SQLException {
+        super(sql, cache);
+        _index = 0;
+    }
+
+    @Override
+    protected void reset() throws SQLException {
+        _statement.clearBatch();
+        super.reset();
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // IPreparedBatchStatement interface
 
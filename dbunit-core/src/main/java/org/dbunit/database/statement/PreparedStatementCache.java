@@ -0,0 +1,140 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.database.statement;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Least recently used cache of {@link PreparedStatement}s of a single JDBC
+ * connection, keyed by SQL and bounded by count. Statements are borrowed for
+ * exclusive use and returned once done; a statement that does not fit into the
+ * cache is closed.
+ */
+public class PreparedStatementCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreparedStatementCache.class);
+
+    private final Connection connection;
+    private final int maxSize;
+
+    /**
+     * Idle statements in access order, the eldest is evicted first
+     */
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public PreparedStatementCache(Connection connection, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive, but was " + maxSize);
+        }
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns idle statement prepared for the given SQL, or prepares a new one.
+     */
+    public synchronized PreparedStatement borrow(String sql) throws SQLException {
+        PreparedStatement statement = statements.remove(sql);
+        if (statement != null && !statement.isClosed()) {
+            hitCount++;
+            return statement;
+        }
+        missCount++;
+        return connection.prepareStatement(sql);
+    }
+
+    /**
+     * Gives the statement back for reuse. Caller is responsible for clearing its
+     * parameters and batch.
+     */
+    public synchronized void release(String sql, PreparedStatement statement) throws SQLException {
+        if (statement.isClosed()) {
+            return;
+        }
+        PreparedStatement idle = statements.get(sql);
+        if (idle != null) {
+            // same SQL was borrowed twice, keep one of them only
+            statement.close();
+            return;
+        }
+        statements.put(sql, statement);
+        if (statements.size() > maxSize) {
+            Iterator<Map.Entry<String, PreparedStatement>> eldest = statements.entrySet().iterator();
+            PreparedStatement evicted = eldest.next().getValue();
+            eldest.remove();
+            evictionCount++;
+            evicted.close();
+        }
+    }
+
+    /**
+     * Closes all idle statements.
+     */
+    public synchronized void clear() throws SQLException {
+        List<PreparedStatement> idle = new ArrayList<>(statements.values());
+        statements.clear();
+        SQLException failure = null;
+        for (PreparedStatement statement : idle) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                logger.warn("Failed to close cached statement", e);
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized int size() {
+        return statements.size();
+    }
+
+    /**
+     * Number of borrowed statements that were found in the cache.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Number of borrowed statements that had to be prepared.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Number of idle statements closed to respect the size limit.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return getClass().getName() + "[size=" + statements.size() + ", maxSize=" + maxSize + ", hitCount="
+                + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount + "]";
+    }
+}
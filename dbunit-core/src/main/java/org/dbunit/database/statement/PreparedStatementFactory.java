@@ -23,6 +23,7 @@ package org.dbunit.database.statement;
 
 import java.sql.SQLException;
 
+import org.dbunit.database.AbstractDatabaseConnection;
 import org.dbunit.database.IDatabaseConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,11 +61,18 @@ public class PreparedStatementFactory extends AbstractStatementFactory {
 
         int batchSize = connection.getDatabaseConfig().getBatchSize();
 
+        PreparedStatementCache cache = null;
+        if (connection instanceof AbstractDatabaseConnection) {
+            cache = ((AbstractDatabaseConnection) connection).getPreparedStatementCache();
+        }
+
         IPreparedBatchStatement statement = null;
         if (supportBatchStatement(connection)) {
-            statement = new PreparedBatchStatement(sql, connection.getConnection());
+            statement = cache == null ? new PreparedBatchStatement(sql, connection.getConnection())
+                    : new PreparedBatchStatement(sql, cache);
         } else {
-            statement = new SimplePreparedStatement(sql, connection.getConnection());
+            statement = cache == null ? new SimplePreparedStatement(sql, connection.getConnection())
+                    : new SimplePreparedStatement(sql, cache);
         }
         return new AutomaticPreparedBatchStatement(statement, batchSize);
     }
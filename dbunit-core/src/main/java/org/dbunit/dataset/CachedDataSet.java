@@ -37,7 +37,7 @@ import org.slf4j.LoggerFactory;
 public class CachedDataSet extends AbstractDataSet implements IDataSetConsumer {
     private static final Logger logger = LoggerFactory.getLogger(CachedDataSet.class);
 
-    private DefaultTable _activeTable;
+    private CachedTable _activeTable;
 
     /**
      * Default constructor.
@@ -112,7 +112,7 @@ public class CachedDataSet extends AbstractDataSet implements IDataSetConsumer {
     @Override
     public void startTable(ITableMetaData metaData) throws DataSetException {
         logger.debug("startTable(metaData={}) - start", metaData);
-        _activeTable = new DefaultTable(metaData);
+        _activeTable = new CachedTable(metaData);
     }
 
     @Override
@@ -121,7 +121,7 @@ public class CachedDataSet extends AbstractDataSet implements IDataSetConsumer {
         String tableName = _activeTable.getTableMetaData().getTableName();
         // Check whether the table appeared once before
         if (_orderedTableNameMap.containsTable(tableName)) {
-            DefaultTable existingTable = (DefaultTable) _orderedTableNameMap.get(tableName);
+            CachedTable existingTable = (CachedTable) _orderedTableNameMap.get(tableName);
             // Add all newly collected rows to the existing table
             existingTable.addTableRows(_activeTable);
         } else {
@@ -22,17 +22,21 @@
 package org.dbunit.dataset;
 
 /**
+ * Table fully loaded in memory, stored column by column, see
+ * {@link ColumnarTable}. It no longer extends {@link DefaultTable}, its public
+ * methods are the same.
+ *
  * @author Manuel Laflamme
  * @since Apr 10, 2003
  * @version $Revision$
  */
-public class CachedTable extends DefaultTable {
+public class CachedTable extends ColumnarTable {
     public CachedTable(ITable table) throws DataSetException {
         super(table.getTableMetaData());
         addTableRows(table);
     }
 
-    protected CachedTable(ITableMetaData metaData) {
+    protected CachedTable(ITableMetaData metaData) throws DataSetException {
         super(metaData);
     }
 }
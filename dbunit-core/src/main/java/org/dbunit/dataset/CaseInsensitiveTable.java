@@ -76,4 +76,39 @@ public class CaseInsensitiveTable implements ITable {
 
         return _table.getValue(row, getInternalColumnName(column));
     }
+
+    public Object getValue(int row, int column) throws DataSetException {
+        return _table.getValue(row, column);
+    }
+
+    @Override
+    public ITableCursor cursor() throws DataSetException {
+        final ITableCursor cursor = _table.cursor();
+        return new ITableCursor() {
+            @Override
+            public ITableMetaData getTableMetaData() {
+                return cursor.getTableMetaData();
+            }
+
+            @Override
+            public boolean next() throws DataSetException {
+                return cursor.next();
+            }
+
+            @Override
+            public int getRow() {
+                return cursor.getRow();
+            }
+
+            @Override
+            public Object getValue(int column) throws DataSetException {
+                return cursor.getValue(column);
+            }
+
+            @Override
+            public Object getValue(String column) throws DataSetException {
+                return cursor.getValue(getInternalColumnName(column));
+            }
+        };
+    }
 }
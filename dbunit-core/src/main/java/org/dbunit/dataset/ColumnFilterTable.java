@@ -49,6 +49,11 @@ public class ColumnFilterTable implements ITable {
      */
     private final ITableMetaData tableMetaData;
 
+    /**
+     * Indexes of filtered columns in the original table
+     */
+    private int[] originalColumnIndexes;
+
     /**
      * @param table        The table from which some columns should be filtered
      * @param columnFilter The filter defining which columns to be filtered
@@ -86,6 +91,60 @@ public class ColumnFilterTable implements ITable {
         return this.originalTable.getValue(row, column);
     }
 
+    @Override
+    public Object getValue(int row, int column) throws DataSetException {
+        return this.originalTable.getValue(row, getOriginalColumnIndexes()[column]);
+    }
+
+    @Override
+    public ITableCursor cursor() throws DataSetException {
+        final ITableCursor cursor = this.originalTable.cursor();
+        final int[] originalIndexes = getOriginalColumnIndexes();
+        return new ITableCursor() {
+            @Override
+            public ITableMetaData getTableMetaData() {
+                return tableMetaData;
+            }
+
+            @Override
+            public boolean next() throws DataSetException {
+                return cursor.next();
+            }
+
+            @Override
+            public int getRow() {
+                return cursor.getRow();
+            }
+
+            @Override
+            public Object getValue(int column) throws DataSetException {
+                return cursor.getValue(originalIndexes[column]);
+            }
+
+            @Override
+            public Object getValue(String column) throws DataSetException {
+                return cursor.getValue(column);
+            }
+        };
+    }
+
+    /**
+     * Maps columns of the filtered metadata to columns of the original table.
+     * Resolved lazily, once per table.
+     */
+    private int[] getOriginalColumnIndexes() throws DataSetException {
+        if (this.originalColumnIndexes == null) {
+            Column[] columns = this.tableMetaData.getColumns();
+            ITableMetaData originalMetaData = this.originalTable.getTableMetaData();
+            int[] indexes = new int[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                indexes[i] = originalMetaData.getColumnIndex(columns[i].getColumnName());
+            }
+            this.originalColumnIndexes = indexes;
+        }
+        return this.originalColumnIndexes;
+    }
+
     public ITableMetaData getOriginalMetaData() {
         logger.debug("getOriginalMetaData() - start");
         return this.originalTable.getTableMetaData();
@@ -0,0 +1,560 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.dataset;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dbunit.dataset.datatype.DataType;
+
+/**
+ * Values of one column of a {@link ColumnarTable}. Typed vectors keep values in
+ * primitive arrays and rebuild an equal object on read. A typed vector accepts
+ * only values of its exact class, others make the table switch the column to
+ * an {@link ObjectVector}, so that values are always read back unchanged.
+ */
+abstract class ColumnVector {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    protected int size;
+
+    /**
+     * Creates a vector suited to values of the given data type.
+     */
+    static ColumnVector create(DataType dataType) {
+        Class typeClass = dataType == null ? Object.class : dataType.getTypeClass();
+        if (typeClass == Integer.class) {
+            return new IntVector();
+        }
+        if (typeClass == Long.class) {
+            return new LongVector();
+        }
+        if (typeClass == BigInteger.class) {
+            return new BigIntegerVector();
+        }
+        if (typeClass == BigDecimal.class) {
+            return new DecimalVector();
+        }
+        if (typeClass == Double.class) {
+            return new DoubleVector();
+        }
+        if (typeClass == Float.class) {
+            return new FloatVector();
+        }
+        if (typeClass == Boolean.class) {
+            return new BooleanVector();
+        }
+        if (typeClass == Timestamp.class) {
+            return new TimestampVector();
+        }
+        if (typeClass == java.sql.Date.class) {
+            return new DateVector();
+        }
+        if (typeClass == Time.class) {
+            return new TimeVector();
+        }
+        if (typeClass == byte[].class) {
+            return new BytesVector();
+        }
+        // unknown types mostly hold strings, see flat XML
+        return new StringVector();
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return <code>true</code> if the vector can store the non-null value
+     */
+    abstract boolean accepts(Object value);
+
+    /**
+     * Appends a value, either <code>null</code> or accepted by the vector.
+     */
+    abstract void add(Object value);
+
+    abstract Object get(int row);
+
+    /**
+     * Replaces a value, either <code>null</code> or accepted by the vector.
+     */
+    abstract void set(int row, Object value);
+
+    /**
+     * @return generic vector holding the same values
+     */
+    ObjectVector toObjectVector() {
+        ObjectVector vector = new ObjectVector();
+        for (int row = 0; row < size; row++) {
+            vector.add(get(row));
+        }
+        return vector;
+    }
+
+    static int grow(int capacity, int required) {
+        return Math.max(required, Math.max(INITIAL_CAPACITY, capacity + (capacity >> 1)));
+    }
+
+    /**
+     * Values of any class.
+     */
+    static class ObjectVector extends ColumnVector {
+
+        private Object[] values = new Object[0];
+
+        @Override
+        boolean accepts(Object value) {
+            return true;
+        }
+
+        @Override
+        void add(Object value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length, size + 1));
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = value;
+        }
+
+        @Override
+        ObjectVector toObjectVector() {
+            return this;
+        }
+    }
+
+    /**
+     * Base of vectors keeping values in primitive arrays, with a bitmap of nulls.
+     */
+    abstract static class PrimitiveVector extends ColumnVector {
+
+        private final BitSet nulls = new BitSet();
+
+        @Override
+        final void add(Object value) {
+            ensureCapacity(size + 1);
+            set(size++, value);
+        }
+
+        @Override
+        final Object get(int row) {
+            return nulls.get(row) ? null : getValue(row);
+        }
+
+        @Override
+        final void set(int row, Object value) {
+            if (value == null) {
+                nulls.set(row);
+            } else {
+                nulls.clear(row);
+                setValue(row, value);
+            }
+        }
+
+        abstract void ensureCapacity(int capacity);
+
+        abstract Object getValue(int row);
+
+        abstract void setValue(int row, Object value);
+    }
+
+    static class IntVector extends PrimitiveVector {
+
+        private int[] values = new int[0];
+
+        @Override
+        boolean accepts(Object value) {
+            return value.getClass() == Integer.class;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, grow(values.length, capacity));
+            }
+        }
+
+        @Override
+        Object getValue(int row) {
+            return values[row];
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            values[row] = (Integer) value;
+        }
+    }
+
+    static class LongVector extends PrimitiveVector {
+
+        private long[] values = new long[0];
+
+        @Override
+        boolean accepts(Object value) {
+            return value.getClass() == Long.class;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, grow(values.length, capacity));
+            }
+        }
+
+        @Override
+        Object getValue(int row) {
+            return values[row];
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            values[row] = (Long) value;
+        }
+    }
+
+    /**
+     * {@link BigInteger}s fitting into a long.
+     */
+    static class BigIntegerVector extends PrimitiveVector {
+
+        private long[] values = new long[0];
+
+        @Override
+        boolean accepts(Object value) {
+            return value.getClass() == BigInteger.class && ((BigInteger) value).bitLength() < 64;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, grow(values.length, capacity));
+            }
+        }
+
+        @Override
+        Object getValue(int row) {
+            return BigInteger.valueOf(values[row]);
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            values[row] = ((BigInteger) value).longValue();
+        }
+    }
+
+    /**
+     * {@link BigDecimal}s with an unscaled value fitting into a long, scale is
+     * kept so that values stay equal.
+     */
+    static class DecimalVector extends PrimitiveVector {
+
+        private long[] unscaledValues = new long[0];
+        private int[] scales = new int[0];
+
+        @Override
+        boolean accepts(Object value) {
+            return value.getClass() == BigDecimal.class && ((BigDecimal) value).unscaledValue().bitLength() < 64;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > unscaledValues.length) {
+                int newCapacity = grow(unscaledValues.length, capacity);
+                unscaledValues = Arrays.copyOf(unscaledValues, newCapacity);
+                scales = Arrays.copyOf(scales, newCapacity);
+            }
+        }
+
+        @Override
+        Object getValue(int row) {
+            return BigDecimal.valueOf(unscaledValues[row], scales[row]);
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            BigDecimal decimal = (BigDecimal) value;
+            unscaledValues[row] = decimal.unscaledValue().longValue();
+            scales[row] = decimal.scale();
+        }
+    }
+
+    static class DoubleVector extends PrimitiveVector {
+
+        private double[] values = new double[0];
+
+        @Override
+        boolean accepts(Object value) {
+            return value.getClass() == Double.class;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, grow(values.length, capacity));
+            }
+        }
+
+        @Override
+        Object getValue(int row) {
+            return values[row];
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            values[row] = (Double) value;
+        }
+    }
+
+    static class FloatVector extends PrimitiveVector {
+
+        private float[] values = new float[0];
+
+        @Override
+        boolean accepts(Object value) {
+            return value.getClass() == Float.class;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, grow(values.length, capacity));
+            }
+        }
+
+        @Override
+        Object getValue(int row) {
+            return values[row];
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            values[row] = (Float) value;
+        }
+    }
+
+    static class BooleanVector extends PrimitiveVector {
+
+        private final BitSet values = new BitSet();
+
+        @Override
+        boolean accepts(Object value) {
+            return value.getClass() == Boolean.class;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            // BitSet grows on its own
+        }
+
+        @Override
+        Object getValue(int row) {
+            return values.get(row);
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            values.set(row, (Boolean) value);
+        }
+    }
+
+    /**
+     * {@link Timestamp}s as milliseconds and nanoseconds.
+     */
+    static class TimestampVector extends PrimitiveVector {
+
+        private long[] millis = new long[0];
+        private int[] nanos = new int[0];
+
+        @Override
+        boolean accepts(Object value) {
+            return value.getClass() == Timestamp.class;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > millis.length) {
+                int newCapacity = grow(millis.length, capacity);
+                millis = Arrays.copyOf(millis, newCapacity);
+                nanos = Arrays.copyOf(nanos, newCapacity);
+            }
+        }
+
+        @Override
+        Object getValue(int row) {
+            Timestamp timestamp = new Timestamp(millis[row]);
+            timestamp.setNanos(nanos[row]);
+            return timestamp;
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            Timestamp timestamp = (Timestamp) value;
+            millis[row] = timestamp.getTime();
+            nanos[row] = timestamp.getNanos();
+        }
+    }
+
+    static class DateVector extends PrimitiveVector {
+
+        private long[] millis = new long[0];
+
+        @Override
+        boolean accepts(Object value) {
+            return value.getClass() == java.sql.Date.class;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > millis.length) {
+                millis = Arrays.copyOf(millis, grow(millis.length, capacity));
+            }
+        }
+
+        @Override
+        Object getValue(int row) {
+            return new java.sql.Date(millis[row]);
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            millis[row] = ((java.sql.Date) value).getTime();
+        }
+    }
+
+    static class TimeVector extends PrimitiveVector {
+
+        private long[] millis = new long[0];
+
+        @Override
+        boolean accepts(Object value) {
+            return value.getClass() == Time.class;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > millis.length) {
+                millis = Arrays.copyOf(millis, grow(millis.length, capacity));
+            }
+        }
+
+        @Override
+        Object getValue(int row) {
+            return new Time(millis[row]);
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            millis[row] = ((Time) value).getTime();
+        }
+    }
+
+    /**
+     * Byte arrays appended to a single slab. Replaced values are appended as
+     * well, the slab is not compacted. Reads return copies.
+     */
+    static class BytesVector extends PrimitiveVector {
+
+        private byte[] slab = new byte[0];
+        private int slabSize;
+        private int[] offsets = new int[0];
+        private int[] lengths = new int[0];
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof byte[];
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > offsets.length) {
+                int newCapacity = grow(offsets.length, capacity);
+                offsets = Arrays.copyOf(offsets, newCapacity);
+                lengths = Arrays.copyOf(lengths, newCapacity);
+            }
+        }
+
+        @Override
+        Object getValue(int row) {
+            return Arrays.copyOfRange(slab, offsets[row], offsets[row] + lengths[row]);
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            byte[] bytes = (byte[]) value;
+            if (slabSize + bytes.length > slab.length) {
+                slab = Arrays.copyOf(slab, grow(slab.length, slabSize + bytes.length));
+            }
+            System.arraycopy(bytes, 0, slab, slabSize, bytes.length);
+            offsets[row] = slabSize;
+            lengths[row] = bytes.length;
+            slabSize += bytes.length;
+        }
+    }
+
+    /**
+     * Strings encoded as indexes into a dictionary of distinct values. Columns
+     * with mostly distinct values are switched to an {@link ObjectVector} by the
+     * table, as the dictionary would only add overhead.
+     */
+    static class StringVector extends PrimitiveVector {
+
+        private static final int MIN_DICTIONARY_SIZE = 1024;
+
+        private final List<String> dictionary = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+        private int[] values = new int[0];
+
+        @Override
+        boolean accepts(Object value) {
+            if (value.getClass() != String.class) {
+                return false;
+            }
+            int dictionarySize = dictionary.size();
+            return dictionarySize < MIN_DICTIONARY_SIZE || dictionarySize * 2 < size
+                    || codes.containsKey(value);
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, grow(values.length, capacity));
+            }
+        }
+
+        @Override
+        Object getValue(int row) {
+            return dictionary.get(values[row]);
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            String string = (String) value;
+            Integer code = codes.get(string);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(string);
+                codes.put(string, code);
+            }
+            values[row] = code;
+        }
+    }
+}
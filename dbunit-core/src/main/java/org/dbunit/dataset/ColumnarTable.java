@@ -0,0 +1,208 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.dataset;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory table storing values column by column. Every column gets a vector
+ * chosen from its {@link org.dbunit.dataset.datatype.DataType}: primitive arrays
+ * for numbers, dates and booleans, dictionary of distinct values for strings
+ * and a single byte slab for binaries. Compared to {@link DefaultTable}, which
+ * keeps a boxed <code>Object[]</code> per row, large tables take a fraction of
+ * the memory.
+ * <p>
+ * Values are read back equal to the stored ones, but not the same instances. A
+ * column receiving a value its vector cannot store falls back to keeping plain
+ * objects.
+ */
+public class ColumnarTable extends AbstractTable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarTable.class);
+
+    private final ITableMetaData _metaData;
+    private final ColumnVector[] _columns;
+    private int _rowCount;
+
+    public ColumnarTable(ITableMetaData metaData) throws DataSetException {
+        _metaData = metaData;
+        Column[] columns = metaData.getColumns();
+        _columns = new ColumnVector[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            _columns[i] = ColumnVector.create(columns[i].getDataType());
+        }
+    }
+
+    /**
+     * Inserts a new empty row. You can add values with {@link #setValue}.
+     */
+    public void addRow() throws DataSetException {
+        logger.debug("addRow() - start");
+
+        for (ColumnVector column : _columns) {
+            column.add(null);
+        }
+        _rowCount++;
+    }
+
+    /**
+     * Inserts a new row initialized with specified array of values. Values are
+     * copied, the array is not retained.
+     *
+     * @param values The array of values. Each value correspond to the column at the
+     *               same index from {@link ITableMetaData#getColumns}.
+     */
+    public void addRow(Object[] values) throws DataSetException {
+        logger.debug("addRow(values={}) - start", values);
+
+        for (int i = 0; i < _columns.length; i++) {
+            add(i, i < values.length ? values[i] : null);
+        }
+        _rowCount++;
+    }
+
+    /**
+     * Inserts all rows from the specified table.
+     *
+     * @param table The source table.
+     */
+    public void addTableRows(ITable table) throws DataSetException {
+        logger.debug("addTableRows(table={}) - start", table);
+
+        Column[] columns = _metaData.getColumns();
+        if (columns.length <= 0) {
+            logger.warn("The table '" + table
+                    + "' does not have any columns. Cannot add table rows. This should never happen...");
+            return;
+        }
+
+        ITableCursor cursor = table.cursor();
+        int[] columnIndexes = null;
+        while (cursor.next()) {
+            if (columnIndexes == null) {
+                columnIndexes = Columns.getColumnIndexes(cursor.getTableMetaData(), columns);
+            }
+            for (int i = 0; i < columns.length; i++) {
+                int columnIndex = columnIndexes[i];
+                add(i, columnIndex < 0 ? cursor.getValue(columns[i].getColumnName()) : cursor.getValue(columnIndex));
+            }
+            _rowCount++;
+        }
+    }
+
+    private void add(int column, Object value) {
+        ColumnVector vector = _columns[column];
+        if (value != null && !vector.accepts(value)) {
+            vector = vector.toObjectVector();
+            _columns[column] = vector;
+        }
+        vector.add(value);
+    }
+
+    /**
+     * Replaces the value at the specified position in this table with the specified
+     * value.
+     *
+     * @param row    The row index
+     * @param column The column name
+     * @param value  The value to store at the specified location
+     * @return the value previously at the specified location
+     * @throws RowOutOfBoundsException if the row index is out of range
+     * @throws NoSuchColumnException   if the column does not exist
+     * @throws DataSetException        if an unexpected error occurs
+     */
+    public Object setValue(int row, String column, Object value)
+            throws RowOutOfBoundsException, NoSuchColumnException, DataSetException {
+        assertValidRowIndex(row);
+
+        int columnIndex = getColumnIndex(column);
+        ColumnVector vector = _columns[columnIndex];
+        Object oldValue = vector.get(row);
+        if (value != null && !vector.accepts(value)) {
+            vector = vector.toObjectVector();
+            _columns[columnIndex] = vector;
+        }
+        vector.set(row, value);
+        return oldValue;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // ITable interface
+
+    @Override
+    public ITableMetaData getTableMetaData() {
+        return _metaData;
+    }
+
+    @Override
+    public int getRowCount() {
+        return _rowCount;
+    }
+
+    @Override
+    public Object getValue(int row, String column) throws DataSetException {
+        if (logger.isDebugEnabled())
+            logger.debug("getValue(row={}, column={}) - start", Integer.toString(row), column);
+
+        assertValidRowIndex(row);
+
+        return _columns[getColumnIndex(column)].get(row);
+    }
+
+    @Override
+    public Object getValue(int row, int column) throws DataSetException {
+        assertValidRowIndex(row);
+
+        return _columns[column].get(row);
+    }
+
+    @Override
+    public ITableCursor cursor() throws DataSetException {
+        return new ColumnarTableCursor();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getName()).append("[");
+        sb.append("_metaData=").append(_metaData);
+        sb.append(", _rowCount=").append(_rowCount);
+        sb.append("]");
+        return sb.toString();
+    }
+
+    private class ColumnarTableCursor implements ITableCursor {
+
+        private int row = -1;
+
+        @Override
+        public ITableMetaData getTableMetaData() {
+            return _metaData;
+        }
+
+        @Override
+        public boolean next() {
+            if (row + 1 >= _rowCount) {
+                row = _rowCount;
+                return false;
+            }
+            row++;
+            return true;
+        }
+
+        @Override
+        public int getRow() {
+            return row;
+        }
+
+        @Override
+        public Object getValue(int column) throws DataSetException {
+            if (row < 0 || row >= _rowCount) {
+                throw new RowOutOfBoundsException(row + " is not a current row");
+            }
+            return _columns[column].get(row);
+        }
+    }
+}
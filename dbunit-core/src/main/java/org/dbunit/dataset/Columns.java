@@ -245,6 +245,42 @@ public class Columns {
         return result;
     }
 
+    /**
+     * Returns the positions of the given columns in the table metadata, so that
+     * row values can be accessed by index.
+     * 
+     * @param metaData The metadata of the table
+     * @param columns  The columns to look up
+     * @return The column indexes, <code>-1</code> for columns unknown to the
+     *         metadata, to be accessed by name
+     * @throws DataSetException
+     */
+    public static int[] getColumnIndexes(ITableMetaData metaData, Column[] columns) throws DataSetException {
+        return getColumnIndexes(metaData, getColumnNames(columns));
+    }
+
+    /**
+     * Returns the positions of the given column names in the table metadata, so
+     * that row values can be accessed by index.
+     * 
+     * @param metaData    The metadata of the table
+     * @param columnNames The names of the columns to look up
+     * @return The column indexes, <code>-1</code> for columns unknown to the
+     *         metadata, to be accessed by name
+     * @throws DataSetException
+     */
+    public static int[] getColumnIndexes(ITableMetaData metaData, String[] columnNames) throws DataSetException {
+        int[] columnIndexes = new int[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            try {
+                columnIndexes[i] = metaData.getColumnIndex(columnNames[i]);
+            } catch (NoSuchColumnException e) {
+                columnIndexes[i] = -1;
+            }
+        }
+        return columnIndexes;
+    }
+
     /**
      * Creates a pretty string representation of the given column names
      * 
@@ -0,0 +1,364 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.dataset;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded cache of parsed datasets shared by all tests of a JVM, so that a
+ * resource named by many tests is parsed once.
+ * <p>
+ * Datasets are keyed by the kind of loader, the resource URL and its last
+ * modification time, so that an edited resource is parsed again. The cache is
+ * bounded by the total weight of its datasets, the number of values they hold;
+ * least recently used datasets are evicted first. Datasets are loaded outside
+ * of any lock: different resources load concurrently, while concurrent
+ * requests for the same resource wait for a single load.
+ * <p>
+ * Returned datasets are read only views, safe to share between threads. Tables
+ * cannot be cast back to modifiable ones; decorators like
+ * {@link ReplacementDataSet} are cheap overlays on top of them.
+ */
+public class DataSetCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSetCache.class);
+
+    /**
+     * Default maximum weight, in values.
+     */
+    public static final long DEFAULT_MAX_WEIGHT = 10_000_000L;
+
+    private static final DataSetCache SHARED_INSTANCE = new DataSetCache(DEFAULT_MAX_WEIGHT);
+
+    private final long maxWeight;
+
+    /**
+     * Guarded by <code>this</code>, iterates from least to most recently used.
+     */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    private final ConcurrentHashMap<Key, FutureTask<IDataSet>> loading = new ConcurrentHashMap<>();
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * @param maxWeight maximum total number of values of cached datasets
+     */
+    public DataSetCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * @return cache shared by all integrations using the default one
+     */
+    public static DataSetCache getSharedInstance() {
+        return SHARED_INSTANCE;
+    }
+
+    /**
+     * Loads a dataset when it is not cached.
+     */
+    public interface Loader {
+
+        IDataSet load() throws Exception;
+    }
+
+    /**
+     * Returns the cached dataset, loading it if needed.
+     *
+     * @param kind         distinguishes loaders which would parse the same
+     *                     resource differently
+     * @param url          resource the dataset is loaded from
+     * @param lastModified modification time of the resource, 0 when unknown
+     * @param loader       loads the dataset when it is not cached
+     */
+    public IDataSet get(String kind, URL url, long lastModified, Loader loader) throws DataSetException {
+        Key key = new Key(kind, url.toExternalForm(), lastModified);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hitCount++;
+                return entry.dataSet;
+            }
+        }
+
+        FutureTask<IDataSet> task = new FutureTask<>(() -> load(key, loader));
+        FutureTask<IDataSet> running = loading.putIfAbsent(key, task);
+        if (running == null) {
+            running = task;
+            try {
+                task.run();
+            } finally {
+                loading.remove(key, task);
+            }
+        } else {
+            synchronized (this) {
+                hitCount++;
+            }
+        }
+
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataSetException("Interrupted while loading " + url, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DataSetException) {
+                throw (DataSetException) cause;
+            }
+            throw new DataSetException("Cannot load " + url, cause);
+        }
+    }
+
+    /**
+     * @return last modification time of the resource, 0 when it is unknown
+     */
+    public static long getLastModified(URL url) {
+        try {
+            if ("file".equals(url.getProtocol())) {
+                return new File(url.toURI()).lastModified();
+            }
+            URLConnection connection = url.openConnection();
+            long lastModified = connection.getLastModified();
+            // some connections open the resource to read its headers
+            connection.getInputStream().close();
+            return lastModified;
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            logger.debug("Cannot get last modification time of " + url, e);
+            return 0;
+        }
+    }
+
+    private IDataSet load(Key key, Loader loader) throws Exception {
+        synchronized (this) {
+            missCount++;
+        }
+        IDataSet dataSet = loader.load();
+        if (dataSet == null) {
+            return null;
+        }
+        ReadOnlyDataSet shared = new ReadOnlyDataSet(dataSet);
+        long dataSetWeight = shared.weight;
+        if (dataSetWeight > maxWeight) {
+            logger.debug("Not caching {}, its weight {} exceeds maximum {}", key.url, dataSetWeight, maxWeight);
+            return shared;
+        }
+        synchronized (this) {
+            Entry previous = entries.put(key, new Entry(shared, dataSetWeight));
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+            weight += dataSetWeight;
+            evict();
+        }
+        return shared;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (weight > maxWeight && iterator.hasNext()) {
+            Map.Entry<Key, Entry> eldest = iterator.next();
+            logger.debug("Evicting {}", eldest.getKey().url);
+            weight -= eldest.getValue().weight;
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Removes all cached datasets. Statistics are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized Statistics getStatistics() {
+        return new Statistics(hitCount, missCount, evictionCount, entries.size(), weight);
+    }
+
+    /**
+     * Snapshot of cache counters.
+     */
+    public static class Statistics {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int size;
+        private final long weight;
+
+        Statistics(long hitCount, long missCount, long evictionCount, int size, long weight) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+            this.weight = weight;
+        }
+
+        /**
+         * @return number of requests served without loading
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return number of loaded datasets
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return number of cached datasets
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * @return total number of values of cached datasets
+         */
+        public long getWeight() {
+            return weight;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics[hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount
+                    + ", size=" + size + ", weight=" + weight + "]";
+        }
+    }
+
+    private static class Key {
+
+        private final String kind;
+        private final String url;
+        private final long lastModified;
+
+        Key(String kind, String url, long lastModified) {
+            this.kind = kind;
+            this.url = url;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return lastModified == other.lastModified && kind.equals(other.kind) && url.equals(other.url);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, url, lastModified);
+        }
+    }
+
+    private static class Entry {
+
+        private final IDataSet dataSet;
+        private final long weight;
+
+        Entry(IDataSet dataSet, long weight) {
+            this.dataSet = dataSet;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Dataset whose tables are read only views. Tables are gathered up front, so
+     * that no lazy initialization happens once it is shared.
+     */
+    private static class ReadOnlyDataSet extends AbstractDataSet {
+
+        private final ITable[] tables;
+        private final long weight;
+
+        ReadOnlyDataSet(IDataSet dataSet) throws DataSetException {
+            super(dataSet.isCaseSensitiveTableNames());
+            ITable[] sourceTables = dataSet.getTables();
+            tables = new ITable[sourceTables.length];
+            long weight = 0;
+            for (int i = 0; i < sourceTables.length; i++) {
+                tables[i] = new ReadOnlyTable(sourceTables[i]);
+                weight += 1 + (long) tables[i].getRowCount() * tables[i].getTableMetaData().getColumns().length;
+            }
+            this.weight = weight;
+            initialize();
+        }
+
+        @Override
+        protected ITableIterator createIterator(boolean reversed) throws DataSetException {
+            return new DefaultTableIterator(tables, reversed);
+        }
+    }
+
+    private static class ReadOnlyTable extends AbstractTable {
+
+        private final ITable table;
+
+        ReadOnlyTable(ITable table) {
+            this.table = table;
+        }
+
+        @Override
+        public ITableMetaData getTableMetaData() {
+            return table.getTableMetaData();
+        }
+
+        @Override
+        public int getRowCount() {
+            return table.getRowCount();
+        }
+
+        @Override
+        public Object getValue(int row, String column) throws DataSetException {
+            return table.getValue(row, column);
+        }
+
+        @Override
+        public Object getValue(int row, int column) throws DataSetException {
+            return table.getValue(row, column);
+        }
+
+        @Override
+        public ITableCursor cursor() throws DataSetException {
+            return table.cursor();
+        }
+
+        @Override
+        public String toString() {
+            return table.toString();
+        }
+    }
+}
@@ -116,25 +116,21 @@ public class DefaultTable extends AbstractTable {
     public void addTableRows(ITable table) throws DataSetException {
         logger.debug("addTableRows(table={}) - start", table);
 
-        try {
-            Column[] columns = _metaData.getColumns();
-            if (columns.length <= 0) {
-                logger.warn("The table '" + table
-                        + "' does not have any columns. Cannot add table rows. This should never happen...");
-                return;
-            }
+        Column[] columns = _metaData.getColumns();
+        if (columns.length <= 0) {
+            logger.warn("The table '" + table
+                    + "' does not have any columns. Cannot add table rows. This should never happen...");
+            return;
+        }
 
-            for (int i = 0;; i++) {
-                Object[] rowValues = new Object[columns.length];
-                for (int j = 0; j < columns.length; j++) {
-                    Column column = columns[j];
-                    rowValues[j] = table.getValue(i, column.getColumnName());
-                }
-                _rowList.add(rowValues);
+        ITableCursor cursor = table.cursor();
+        while (cursor.next()) {
+            Object[] rowValues = new Object[columns.length];
+            for (int j = 0; j < columns.length; j++) {
+                Column column = columns[j];
+                rowValues[j] = cursor.getValue(column.getColumnName());
             }
-        } catch (RowOutOfBoundsException e) {
-            // end of table
-            // ignore error.
+            _rowList.add(rowValues);
         }
     }
 
@@ -186,6 +182,19 @@ public class DefaultTable extends AbstractTable {
         return rowValues[getColumnIndex(column)];
     }
 
+    @Override
+    public Object getValue(int row, int column) throws DataSetException {
+        assertValidRowIndex(row);
+
+        Object[] rowValues = (Object[]) _rowList.get(row);
+        return rowValues[column];
+    }
+
+    @Override
+    public ITableCursor cursor() throws DataSetException {
+        return new DefaultTableCursor();
+    }
+
     public String toString() {
         StringBuffer sb = new StringBuffer();
         sb.append(getClass().getName()).append("[");
@@ -194,4 +203,43 @@ public class DefaultTable extends AbstractTable {
         sb.append("]");
         return sb.toString();
     }
+
+    /**
+     * Walks the row list directly, current row values are kept at hand.
+     */
+    private class DefaultTableCursor implements ITableCursor {
+
+        private int row = -1;
+
+        private Object[] rowValues;
+
+        @Override
+        public ITableMetaData getTableMetaData() {
+            return _metaData;
+        }
+
+        @Override
+        public boolean next() {
+            if (row + 1 >= _rowList.size()) {
+                rowValues = null;
+                return false;
+            }
+            row++;
+            rowValues = (Object[]) _rowList.get(row);
+            return true;
+        }
+
+        @Override
+        public int getRow() {
+            return row;
+        }
+
+        @Override
+        public Object getValue(int column) throws DataSetException {
+            if (rowValues == null) {
+                throw new RowOutOfBoundsException(row + " is not a current row");
+            }
+            return rowValues[column];
+        }
+    }
 }
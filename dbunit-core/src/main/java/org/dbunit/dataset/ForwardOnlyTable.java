@@ -64,4 +64,18 @@ public class ForwardOnlyTable implements ITable {
         _lastRow = row;
         return _table.getValue(row, column);
     }
+
+    public Object getValue(int row, int column) throws DataSetException {
+        if (row < _lastRow) {
+            throw new UnsupportedOperationException("Cannot go backward!");
+        }
+
+        _lastRow = row;
+        return _table.getValue(row, column);
+    }
+
+    @Override
+    public ITableCursor cursor() throws DataSetException {
+        return _table.cursor();
+    }
 }
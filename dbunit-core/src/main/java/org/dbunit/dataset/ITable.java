@@ -54,4 +54,30 @@ public interface ITable {
      *                                 or greater than <code>getRowCount</code>
      */
     public Object getValue(int row, String column) throws DataSetException;
+
+    /**
+     * Returns this table value for the specified row and column index. Column index
+     * refers to the columns of {@link #getTableMetaData()}. Allows hot loops to
+     * resolve column names once instead of on every cell access.
+     *
+     * @param row    The row index, starting with 0
+     * @param column The column index, starting with 0
+     * @return The value
+     *
+     * @throws RowOutOfBoundsException if specified row is less than zero or equals
+     *                                 or greater than <code>getRowCount</code>
+     */
+    default Object getValue(int row, int column) throws DataSetException {
+        return getValue(row, getTableMetaData().getColumns()[column].getColumnName());
+    }
+
+    /**
+     * Returns a cursor positioned before the first row of this table. Consumers
+     * that read the table sequentially should prefer it to indexed access, it
+     * reports the end of the table without throwing
+     * {@link RowOutOfBoundsException}.
+     */
+    default ITableCursor cursor() throws DataSetException {
+        return new TableCursor(this);
+    }
 }
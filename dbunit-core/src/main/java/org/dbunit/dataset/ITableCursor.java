@@ -0,0 +1,56 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.dataset;
+
+/**
+ * Forward-only iteration over the rows of an {@link ITable}. Unlike indexed
+ * access through {@link ITable#getValue(int, String)}, reaching the end of the
+ * table is reported by {@link #next()} instead of a
+ * {@link RowOutOfBoundsException}, which lets streamed tables be consumed
+ * without exceptions used for control flow.
+ *
+ * @see ITable#cursor()
+ */
+public interface ITableCursor {
+
+    /**
+     * Returns the metadata of the table this cursor iterates. Column indexes used
+     * by {@link #getValue(int)} refer to its columns.
+     */
+    ITableMetaData getTableMetaData();
+
+    /**
+     * Position this cursor to the next row. The cursor is initially positioned
+     * before the first row; the first call to the method next makes the first row
+     * the current row; the second call makes the second row the current row, and
+     * so on.
+     *
+     * @return <code>true</code> if the new current row is valid;
+     *         <code>false</code> if there are no more rows
+     */
+    boolean next() throws DataSetException;
+
+    /**
+     * Returns the index of the current row, starting with 0.
+     */
+    int getRow();
+
+    /**
+     * Returns the value of the current row for the specified column index.
+     *
+     * @param column The column index, starting with 0
+     */
+    Object getValue(int column) throws DataSetException;
+
+    /**
+     * Returns the value of the current row for the specified column.
+     *
+     * @param column The name of the column
+     * @throws NoSuchColumnException if specified column name do not exist in the
+     *                               table
+     */
+    default Object getValue(String column) throws DataSetException {
+        return getValue(getTableMetaData().getColumnIndex(column));
+    }
+}
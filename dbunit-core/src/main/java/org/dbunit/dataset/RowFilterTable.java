@@ -136,6 +136,16 @@ public class RowFilterTable implements ITable, IRowValueProvider {
         }
     }
 
+    public Object getValue(int row, int column) throws DataSetException {
+        int max = this.filteredRowIndexes.size();
+        if (row < max) {
+            int realRow = ((Integer) this.filteredRowIndexes.get(row)).intValue();
+            return this.originalTable.getValue(realRow, column);
+        } else {
+            throw new RowOutOfBoundsException("tried to access row " + row + " but rowCount is " + max);
+        }
+    }
+
     /**
      * Returns the column value for the column with the given name of the currently
      * processed row
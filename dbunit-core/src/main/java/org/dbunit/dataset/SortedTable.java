@@ -23,6 +23,8 @@ package org.dbunit.dataset;
 
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.dbunit.DatabaseUnitRuntimeException;
 import org.dbunit.dataset.datatype.DataType;
@@ -45,7 +47,7 @@ public class SortedTable extends AbstractTable {
 
     private final ITable _table;
     private final Column[] _columns;
-    private Integer[] _indexes;
+    private int[] _indexes;
 
     /**
      * The row comparator which is used for sorting
@@ -178,21 +180,30 @@ public class SortedTable extends AbstractTable {
         }
 
         if (_indexes == null) {
-            final Integer[] indexes = new Integer[getRowCount()];
-            for (int i = 0; i < indexes.length; i++) {
-                indexes[i] = new Integer(i);
-            }
-
             try {
-                Arrays.sort(indexes, rowComparator);
+                // subclasses may override any comparison, only built-in ones sort by keys
+                if (rowComparator.getClass() == RowComparator.class
+                        || rowComparator.getClass() == RowComparatorByString.class) {
+                    _indexes = ((AbstractRowComparator) rowComparator).sortRows();
+                } else {
+                    final Integer[] indexes = new Integer[getRowCount()];
+                    for (int i = 0; i < indexes.length; i++) {
+                        indexes[i] = Integer.valueOf(i);
+                    }
+                    Arrays.sort(indexes, rowComparator);
+                    _indexes = Arrays.stream(indexes).mapToInt(Integer::intValue).toArray();
+                }
             } catch (final DatabaseUnitRuntimeException e) {
-                throw (DataSetException) e.getCause();
+                // the fork join pool may wrap the exception thrown by a worker
+                Throwable cause = e.getCause();
+                while (cause instanceof DatabaseUnitRuntimeException) {
+                    cause = cause.getCause();
+                }
+                throw (DataSetException) cause;
             }
-
-            _indexes = indexes;
         }
 
-        return _indexes[row].intValue();
+        return _indexes[row];
     }
 
     /**
@@ -269,6 +280,13 @@ public class SortedTable extends AbstractTable {
         return _table.getValue(getOriginalRowIndex(row), columnName);
     }
 
+    @Override
+    public Object getValue(final int row, final int column) throws DataSetException {
+        assertValidRowIndex(row);
+
+        return _table.getValue(getOriginalRowIndex(row), column);
+    }
+
     // //////////////////////////////////////////////////////////////////////////
     // Comparator interface
 
@@ -283,6 +301,11 @@ public class SortedTable extends AbstractTable {
         private final Logger logger = LoggerFactory.getLogger(AbstractRowComparator.class);
         private final ITable _table;
         private final Column[] _sortColumns;
+        /**
+         * Positions of the sort columns in the wrapped table, resolved on first
+         * comparison. <code>-1</code> means the column is accessed by name.
+         */
+        private int[] _columnIndexes;
 
         /**
          * @param table       The wrapped table to be sorted
@@ -301,11 +324,10 @@ public class SortedTable extends AbstractTable {
             final Integer i2 = (Integer) o2;
 
             try {
+                final int[] columnIndexes = getColumnIndexes();
                 for (int i = 0; i < _sortColumns.length; i++) {
-                    final String columnName = _sortColumns[i].getColumnName();
-
-                    final Object value1 = _table.getValue(i1.intValue(), columnName);
-                    final Object value2 = _table.getValue(i2.intValue(), columnName);
+                    final Object value1 = getValue(i1.intValue(), i, columnIndexes[i]);
+                    final Object value2 = getValue(i2.intValue(), i, columnIndexes[i]);
 
                     if (value1 == null && value2 == null) {
                         continue;
@@ -333,6 +355,20 @@ public class SortedTable extends AbstractTable {
             return 0;
         }
 
+        private int[] getColumnIndexes() throws DataSetException {
+            if (_columnIndexes == null) {
+                _columnIndexes = Columns.getColumnIndexes(_table.getTableMetaData(), _sortColumns);
+            }
+            return _columnIndexes;
+        }
+
+        private Object getValue(final int row, final int sortColumn, final int columnIndex) throws DataSetException {
+            if (columnIndex < 0) {
+                return _table.getValue(row, _sortColumns[sortColumn].getColumnName());
+            }
+            return _table.getValue(row, columnIndex);
+        }
+
         /**
          * @param column The column to be compared
          * @param value1 The first value of the given column
@@ -342,6 +378,89 @@ public class SortedTable extends AbstractTable {
          */
         protected abstract int compare(Column column, Object value1, Object value2) throws TypeCastException;
 
+        /**
+         * Converts a non null value into the key rows are sorted by. Called once
+         * per value before sorting, so expensive conversions belong here rather
+         * than in {@link #compareSortKeys(Column, Object, Object)}. Key sorting
+         * is used for the built-in comparators only.
+         */
+        Object toSortKey(final Column column, final Object value) throws TypeCastException {
+            return value;
+        }
+
+        /**
+         * Compares non null keys returned by {@link #toSortKey(Column, Object)}.
+         */
+        int compareSortKeys(final Column column, final Object key1, final Object key2)
+                throws TypeCastException {
+            return compare(column, key1, key2);
+        }
+
+        /**
+         * @return <code>true</code> when
+         *         {@link #compareSortKeys(Column, Object, Object)} may be called
+         *         from several threads at once
+         */
+        boolean isThreadSafe() {
+            return false;
+        }
+
+        /**
+         * Sorts rows of the table. Sort keys are extracted once per row, then the
+         * primitive row indexes are sorted, in parallel for large tables. Rows
+         * with equal keys keep their order.
+         *
+         * @return original indexes of the rows, in sorted order
+         */
+        int[] sortRows() throws DataSetException {
+            final int rowCount = _table.getRowCount();
+            final int columnCount = _sortColumns.length;
+            final int[] columnIndexes = getColumnIndexes();
+            final Object[] keys = new Object[rowCount * columnCount];
+            final int[] indexes = new int[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                indexes[row] = row;
+                for (int i = 0; i < columnCount; i++) {
+                    final Object value = getValue(row, i, columnIndexes[i]);
+                    keys[row * columnCount + i] = value == null ? null : toSortKey(_sortColumns[i], value);
+                }
+            }
+
+            final RowIndexSort sort = new RowIndexSort(indexes, new int[rowCount], 0, rowCount,
+                    (row1, row2) -> compareKeys(keys, row1, row2));
+            if (rowCount > RowIndexSort.PARALLEL_THRESHOLD && isThreadSafe()
+                    && ForkJoinPool.getCommonPoolParallelism() > 1) {
+                ForkJoinPool.commonPool().invoke(sort);
+            } else {
+                sort.sortSequentially(0, rowCount);
+            }
+            return indexes;
+        }
+
+        private int compareKeys(final Object[] keys, final int row1, final int row2) {
+            final int columnCount = _sortColumns.length;
+            try {
+                for (int i = 0; i < columnCount; i++) {
+                    final Object key1 = keys[row1 * columnCount + i];
+                    final Object key2 = keys[row2 * columnCount + i];
+                    if (key1 == null || key2 == null) {
+                        if (key1 != key2) {
+                            return key1 == null ? -1 : 1;
+                        }
+                        continue;
+                    }
+
+                    final int result = compareSortKeys(_sortColumns[i], key1, key2);
+                    if (result != 0) {
+                        return result;
+                    }
+                }
+            } catch (final TypeCastException e) {
+                throw new DatabaseUnitRuntimeException(e);
+            }
+            return 0;
+        }
+
     }
 
     /**
@@ -370,6 +489,22 @@ public class SortedTable extends AbstractTable {
             return result;
         }
 
+        @Override
+        Object toSortKey(final Column column, final Object value) throws TypeCastException {
+            return column.getDataType().typeCast(value);
+        }
+
+        @Override
+        int compareSortKeys(final Column column, final Object key1, final Object key2)
+                throws TypeCastException {
+            return column.getDataType().compare(key1, key2);
+        }
+
+        @Override
+        boolean isThreadSafe() {
+            return true;
+        }
+
     }
 
     /**
@@ -399,6 +534,107 @@ public class SortedTable extends AbstractTable {
             final int result = stringValue1.compareTo(stringValue2);
             return result;
         }
+
+        @Override
+        Object toSortKey(final Column column, final Object value) throws TypeCastException {
+            return DataType.asString(value);
+        }
+
+        @Override
+        int compareSortKeys(final Column column, final Object key1, final Object key2) {
+            return ((String) key1).compareTo((String) key2);
+        }
+
+        @Override
+        boolean isThreadSafe() {
+            return true;
+        }
+    }
+
+    /**
+     * Compares rows by their indexes.
+     */
+    @FunctionalInterface
+    private interface RowIndexComparator {
+
+        int compare(int row1, int row2);
+    }
+
+    /**
+     * Stable merge sort of row indexes, forking halves of large ranges.
+     */
+    private static class RowIndexSort extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Ranges up to this size are sorted by the current thread.
+         */
+        static final int PARALLEL_THRESHOLD = 1 << 13;
+
+        private static final int INSERTION_SORT_THRESHOLD = 16;
+
+        private final int[] indexes;
+        private final int[] buffer;
+        private final int from;
+        private final int to;
+        private final transient RowIndexComparator comparator;
+
+        RowIndexSort(final int[] indexes, final int[] buffer, final int from, final int to,
+                final RowIndexComparator comparator) {
+            this.indexes = indexes;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                sortSequentially(from, to);
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(new RowIndexSort(indexes, buffer, from, middle, comparator),
+                    new RowIndexSort(indexes, buffer, middle, to, comparator));
+            merge(from, middle, to);
+        }
+
+        void sortSequentially(final int low, final int high) {
+            if (high - low <= INSERTION_SORT_THRESHOLD) {
+                for (int i = low + 1; i < high; i++) {
+                    final int row = indexes[i];
+                    int j = i - 1;
+                    while (j >= low && comparator.compare(indexes[j], row) > 0) {
+                        indexes[j + 1] = indexes[j];
+                        j--;
+                    }
+                    indexes[j + 1] = row;
+                }
+                return;
+            }
+            final int middle = (low + high) >>> 1;
+            sortSequentially(low, middle);
+            sortSequentially(middle, high);
+            merge(low, middle, high);
+        }
+
+        private void merge(final int low, final int middle, final int high) {
+            if (comparator.compare(indexes[middle - 1], indexes[middle]) <= 0) {
+                return;
+            }
+            System.arraycopy(indexes, low, buffer, low, high - low);
+            int left = low;
+            int right = middle;
+            for (int i = low; i < high; i++) {
+                if (right >= high || left < middle && comparator.compare(buffer[left], buffer[right]) <= 0) {
+                    indexes[i] = buffer[left++];
+                } else {
+                    indexes[i] = buffer[right++];
+                }
+            }
+        }
     }
 
     /**
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.dataset;
+
+/**
+ * {@link ITableCursor} over any random access {@link ITable}. End of table is
+ * detected using {@link ITable#getRowCount()}, read once when the cursor is
+ * created. Tables that do not know their row count are probed, the
+ * {@link RowOutOfBoundsException} then marks the end of the table; such tables
+ * should provide their own cursor.
+ */
+public class TableCursor implements ITableCursor {
+
+    private final ITable table;
+
+    /**
+     * Row count of the table, <code>-1</code> when the table must be probed.
+     */
+    private final int rowCount;
+
+    private int row = -1;
+
+    private boolean eot;
+
+    public TableCursor(ITable table) {
+        this.table = table;
+        this.rowCount = getRowCount(table);
+    }
+
+    private static int getRowCount(ITable table) {
+        try {
+            return table.getRowCount();
+        } catch (UnsupportedOperationException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public ITableMetaData getTableMetaData() {
+        return table.getTableMetaData();
+    }
+
+    @Override
+    public boolean next() throws DataSetException {
+        if (eot) {
+            return false;
+        }
+        int nextRow = row + 1;
+        if (hasRow(nextRow)) {
+            row = nextRow;
+            return true;
+        }
+        eot = true;
+        return false;
+    }
+
+    private boolean hasRow(int nextRow) throws DataSetException {
+        return rowCount < 0 ? probeRow(nextRow) : nextRow < rowCount;
+    }
+
+    private boolean probeRow(int nextRow) throws DataSetException {
+        if (table.getTableMetaData().getColumns().length == 0) {
+            return false;
+        }
+        try {
+            table.getValue(nextRow, 0);
+            return true;
+        } catch (RowOutOfBoundsException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public int getRow() {
+        return row;
+    }
+
+    @Override
+    public Object getValue(int column) throws DataSetException {
+        return table.getValue(row, column);
+    }
+
+    @Override
+    public Object getValue(String column) throws DataSetException {
+        return table.getValue(row, column);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.dataset.binary;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.dbunit.dataset.CachedDataSet;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+
+/**
+ * Dataset loaded from a file in the compact binary format, see
+ * {@link BinaryDataSetWriter}. Unlike flat XML, values keep their Java type and
+ * no text parsing is involved, which makes large fixtures and exports quick to
+ * load.
+ * <p>
+ * Any dataset, a {@link org.dbunit.dataset.xml.FlatXmlDataSet} for instance,
+ * is converted with {@link #write(IDataSet, File, boolean)}. A binary dataset
+ * is converted back by handing it to any dataset writer.
+ */
+public class BinaryDataSet extends CachedDataSet {
+
+    public BinaryDataSet(File file) throws DataSetException {
+        super(new BinaryDataSetProducer(file));
+    }
+
+    public BinaryDataSet(File file, boolean caseSensitiveTableNames) throws DataSetException {
+        super(new BinaryDataSetProducer(file), caseSensitiveTableNames);
+    }
+
+    /**
+     * Writes the specified dataset to a file in binary format.
+     *
+     * @param compress whether row blocks of the tables should be deflated
+     */
+    public static void write(IDataSet dataSet, File file, boolean compress) throws DataSetException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            new BinaryDataSetWriter(out, compress).write(dataSet);
+        } catch (IOException e) {
+            throw new DataSetException("Cannot write binary dataset " + file, e);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.dataset.binary;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.stream.DefaultConsumer;
+import org.dbunit.dataset.stream.IDataSetConsumer;
+import org.dbunit.dataset.stream.IDataSetProducer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Produces a dataset from a file written by {@link BinaryDataSetWriter}.
+ * <p>
+ * The file is not read through a stream: headers and row blocks of tables are
+ * memory mapped one at a time and rows are decoded straight from the mapping,
+ * so the operating system loads pages as they are needed. Deflated row blocks
+ * are inflated in memory first. As blocks are bounded in size, tables are
+ * not.
+ * <p>
+ * Column data types are restored from their SQL type code, see
+ * {@link DataType#forSqlType(int)}.
+ */
+public class BinaryDataSetProducer implements IDataSetProducer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinaryDataSetProducer.class);
+
+    private static final IDataSetConsumer EMPTY_CONSUMER = new DefaultConsumer();
+
+    /**
+     * Record type and header length.
+     */
+    private static final int RECORD_PREFIX_SIZE = 1 + 4;
+    /**
+     * Compression, row count, raw and stored lengths of a row block.
+     */
+    private static final int BLOCK_PREFIX_SIZE = 1 + 4 + 4 + 4;
+
+    private final File file;
+    private IDataSetConsumer consumer = EMPTY_CONSUMER;
+
+    public BinaryDataSetProducer(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public void setConsumer(IDataSetConsumer consumer) throws DataSetException {
+        logger.debug("setConsumer(consumer) - start");
+
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void produce() throws DataSetException {
+        logger.debug("produce() - start");
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+                FileChannel channel = randomAccessFile.getChannel()) {
+            long size = channel.size();
+            ByteBuffer header = map(channel, 0, 5, size);
+            if (header.getInt() != BinaryDataSetWriter.MAGIC) {
+                throw new DataSetException(file + " is not a binary dataset");
+            }
+            byte version = header.get();
+            if (version != BinaryDataSetWriter.VERSION) {
+                throw new DataSetException("Unsupported version " + version + " of binary dataset " + file);
+            }
+
+            consumer.startDataSet();
+            long position = header.capacity();
+            while (true) {
+                ByteBuffer prefix = map(channel, position, 1, size);
+                if (prefix.get() == BinaryDataSetWriter.END_RECORD) {
+                    break;
+                }
+                position = produceTable(channel, position, size);
+            }
+            consumer.endDataSet();
+        } catch (IOException e) {
+            throw new DataSetException("Cannot read binary dataset " + file, e);
+        } catch (BufferUnderflowException e) {
+            throw new DataSetException("Binary dataset " + file + " is truncated or corrupted", e);
+        }
+    }
+
+    /**
+     * @return position of the next record
+     */
+    private long produceTable(FileChannel channel, long position, long size) throws IOException, DataSetException {
+        ByteBuffer prefix = map(channel, position, RECORD_PREFIX_SIZE, size);
+        prefix.get();
+        int headerLength = prefix.getInt();
+        position += RECORD_PREFIX_SIZE;
+
+        ByteBuffer header = map(channel, position, headerLength, size);
+        ITableMetaData metaData = decodeMetaData(header);
+        position += headerLength;
+
+        consumer.startTable(metaData);
+        int columnCount = metaData.getColumns().length;
+        while (true) {
+            ByteBuffer blockPrefix = map(channel, position, BLOCK_PREFIX_SIZE, size);
+            byte compression = blockPrefix.get();
+            int rowCount = blockPrefix.getInt();
+            int rawLength = blockPrefix.getInt();
+            int storedLength = blockPrefix.getInt();
+            position += BLOCK_PREFIX_SIZE;
+            if (rowCount == 0) {
+                break;
+            }
+
+            ByteBuffer rows = map(channel, position, storedLength, size);
+            if (compression == BinaryDataSetWriter.DEFLATED) {
+                rows = inflate(rows, rawLength, metaData.getTableName());
+            } else if (compression != BinaryDataSetWriter.NOT_COMPRESSED) {
+                throw new DataSetException("Unknown compression " + compression + " of table " + metaData.getTableName());
+            }
+            position += storedLength;
+
+            for (int row = 0; row < rowCount; row++) {
+                Object[] values = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    values[i] = BinaryValues.readValue(rows);
+                }
+                consumer.row(values);
+            }
+        }
+        consumer.endTable();
+        return position;
+    }
+
+    private ByteBuffer map(FileChannel channel, long position, int length, long size) throws IOException, DataSetException {
+        if (length < 0 || position + length > size) {
+            throw new DataSetException("Binary dataset " + file + " is truncated at position " + position);
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+    }
+
+    private static ITableMetaData decodeMetaData(ByteBuffer header) throws DataSetException {
+        String tableName = BinaryValues.readString(header);
+        Column[] columns = new Column[header.getInt()];
+        for (int i = 0; i < columns.length; i++) {
+            String columnName = BinaryValues.readString(header);
+            DataType dataType = DataType.forSqlType(header.getInt());
+            String sqlTypeName = BinaryValues.readString(header);
+            Column.Nullable nullable = decodeNullable(header.get());
+            columns[i] = new Column(columnName, dataType, sqlTypeName, nullable);
+        }
+
+        Column[] primaryKeys = new Column[header.getInt()];
+        for (int i = 0; i < primaryKeys.length; i++) {
+            primaryKeys[i] = columns[header.getInt()];
+        }
+        return new DefaultTableMetaData(tableName, columns, primaryKeys);
+    }
+
+    private static Column.Nullable decodeNullable(byte nullable) {
+        switch (nullable) {
+        case BinaryDataSetWriter.NO_NULLS:
+            return Column.NO_NULLS;
+        case BinaryDataSetWriter.NULLABLE:
+            return Column.NULLABLE;
+        default:
+            return Column.NULLABLE_UNKNOWN;
+        }
+    }
+
+    private ByteBuffer inflate(ByteBuffer deflated, int rawLength, String tableName) throws DataSetException {
+        byte[] input = new byte[deflated.remaining()];
+        deflated.get(input);
+        byte[] output = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(output, length, rawLength - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != rawLength) {
+                throw new DataSetException("Rows of table " + tableName + " in " + file + " are truncated");
+            }
+        } catch (DataFormatException e) {
+            throw new DataSetException("Cannot inflate rows of table " + tableName + " in " + file, e);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(output);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.dataset.binary;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.stream.DataSetProducerAdapter;
+import org.dbunit.dataset.stream.IDataSetConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes a dataset in the binary format read by {@link BinaryDataSetProducer}.
+ * <p>
+ * The file starts with {@link #MAGIC} and a format version. Every table is
+ * written as a record: a length prefixed header with the table name, the name,
+ * SQL type code, SQL type name and nullability of every column and the primary
+ * key column indexes, then length prefixed blocks of rows ended by a block
+ * without rows. A row is the sequence of its values, each encoded by
+ * {@link BinaryValues}. When compression is enabled, a row block is deflated if
+ * that makes it smaller.
+ * <p>
+ * Rows are buffered until they fill a block of about {@link #BLOCK_SIZE}
+ * bytes, so that the block can be prefixed by its length and optionally
+ * compressed. Tables of any size are written without holding more than a block
+ * in memory.
+ */
+public class BinaryDataSetWriter implements IDataSetConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinaryDataSetWriter.class);
+
+    static final int MAGIC = 0x44425542; // "DBUB"
+    static final byte VERSION = 2;
+
+    static final byte TABLE_RECORD = 1;
+    static final byte END_RECORD = 0;
+
+    static final byte NOT_COMPRESSED = 0;
+    static final byte DEFLATED = 1;
+
+    static final byte NO_NULLS = 0;
+    static final byte NULLABLE = 1;
+    static final byte NULLABLE_UNKNOWN = 2;
+
+    /**
+     * Size of the rows from which a block is written, a single larger row makes
+     * a larger block.
+     */
+    static final int BLOCK_SIZE = 1024 * 1024;
+
+    private final DataOutputStream out;
+    private final boolean compress;
+
+    private ITableMetaData activeMetaData;
+    private final ByteArrayOutputStream rowBytes = new ByteArrayOutputStream();
+    private final DataOutputStream rowOut = new DataOutputStream(rowBytes);
+    private int columnCount;
+    private int rowCount;
+    private int blockRowCount;
+
+    public BinaryDataSetWriter(OutputStream out) {
+        this(out, false);
+    }
+
+    /**
+     * @param out      stream to write to, it is flushed but not closed once the
+     *                 dataset is written
+     * @param compress whether row blocks of the tables should be deflated
+     */
+    public BinaryDataSetWriter(OutputStream out, boolean compress) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+        this.compress = compress;
+    }
+
+    /**
+     * Writes all tables of the dataset.
+     */
+    public void write(IDataSet dataSet) throws DataSetException {
+        logger.debug("write(dataSet={}) - start", dataSet);
+
+        DataSetProducerAdapter provider = new DataSetProducerAdapter(dataSet);
+        provider.setConsumer(this);
+        provider.produce();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // IDataSetConsumer interface
+
+    @Override
+    public void startDataSet() throws DataSetException {
+        try {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+        } catch (IOException e) {
+            throw new DataSetException("Cannot write dataset header", e);
+        }
+    }
+
+    @Override
+    public void endDataSet() throws DataSetException {
+        try {
+            out.writeByte(END_RECORD);
+            out.flush();
+        } catch (IOException e) {
+            throw new DataSetException("Cannot write end of dataset", e);
+        }
+    }
+
+    @Override
+    public void startTable(ITableMetaData metaData) throws DataSetException {
+        logger.debug("startTable(metaData={}) - start", metaData);
+
+        activeMetaData = metaData;
+        columnCount = metaData.getColumns().length;
+        rowBytes.reset();
+        rowCount = 0;
+        blockRowCount = 0;
+        try {
+            byte[] header = encodeHeader(metaData);
+            out.writeByte(TABLE_RECORD);
+            out.writeInt(header.length);
+            out.write(header);
+        } catch (IOException e) {
+            throw new DataSetException("Cannot write table " + metaData.getTableName(), e);
+        }
+    }
+
+    @Override
+    public void endTable() throws DataSetException {
+        String tableName = activeMetaData.getTableName();
+        try {
+            if (blockRowCount > 0) {
+                writeBlock();
+            }
+            // block without rows ends the table
+            out.writeByte(NOT_COMPRESSED);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeInt(0);
+        } catch (IOException e) {
+            throw new DataSetException("Cannot write table " + tableName, e);
+        } finally {
+            activeMetaData = null;
+            rowBytes.reset();
+        }
+    }
+
+    @Override
+    public void row(Object[] values) throws DataSetException {
+        try {
+            rowOut.flush();
+            if (rowBytes.size() >= BLOCK_SIZE) {
+                writeBlock();
+            }
+            for (int i = 0; i < columnCount; i++) {
+                BinaryValues.writeValue(rowOut, i < values.length ? values[i] : null);
+            }
+        } catch (IOException | DataSetException e) {
+            throw new DataSetException("Cannot write row " + rowCount + " of table " + activeMetaData.getTableName(), e);
+        }
+        rowCount++;
+        blockRowCount++;
+    }
+
+    private void writeBlock() throws IOException {
+        rowOut.flush();
+        byte[] rows = rowBytes.toByteArray();
+        byte[] deflated = compress ? deflate(rows) : null;
+
+        if (deflated != null && deflated.length < rows.length) {
+            out.writeByte(DEFLATED);
+            out.writeInt(blockRowCount);
+            out.writeInt(rows.length);
+            out.writeInt(deflated.length);
+            out.write(deflated);
+        } else {
+            out.writeByte(NOT_COMPRESSED);
+            out.writeInt(blockRowCount);
+            out.writeInt(rows.length);
+            out.writeInt(rows.length);
+            out.write(rows);
+        }
+        rowBytes.reset();
+        blockRowCount = 0;
+    }
+
+    private static byte[] encodeHeader(ITableMetaData metaData) throws IOException, DataSetException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(bytes);
+
+        BinaryValues.writeString(header, metaData.getTableName());
+        Column[] columns = metaData.getColumns();
+        header.writeInt(columns.length);
+        for (Column column : columns) {
+            BinaryValues.writeString(header, column.getColumnName());
+            header.writeInt(column.getDataType().getSqlType());
+            String sqlTypeName = column.getSqlTypeName();
+            BinaryValues.writeString(header, sqlTypeName != null ? sqlTypeName : column.getDataType().toString());
+            header.writeByte(encodeNullable(column.getNullable()));
+        }
+
+        Column[] primaryKeys = metaData.getPrimaryKeys();
+        header.writeInt(primaryKeys.length);
+        for (Column primaryKey : primaryKeys) {
+            header.writeInt(metaData.getColumnIndex(primaryKey.getColumnName()));
+        }
+        header.flush();
+        return bytes.toByteArray();
+    }
+
+    private static byte encodeNullable(Column.Nullable nullable) {
+        if (nullable == Column.NO_NULLS) {
+            return NO_NULLS;
+        }
+        if (nullable == Column.NULLABLE) {
+            return NULLABLE;
+        }
+        return NULLABLE_UNKNOWN;
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream deflated = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+            byte[] buffer = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                deflated.write(buffer, 0, length);
+            }
+            return deflated.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.dataset.binary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+
+/**
+ * Compact binary encoding of table values: a type tag followed by the value.
+ * Decoded values are equal to the encoded ones and keep their class.
+ * <p>
+ * Values of classes without a dedicated tag are written with Java
+ * serialization. As files may come from elsewhere, serialized values may only
+ * be made of the {@link #SERIALIZABLE_CLASSES} and of classes of the
+ * <code>java.time</code> package, like {@link java.time.LocalDate}. Other
+ * classes, collections and arrays included, are rejected both when writing and
+ * reading, so that reading a file never instantiates arbitrary classes nor
+ * builds large object graphs. Serialized values are limited to
+ * {@link #MAX_SERIALIZED_LENGTH} bytes.
+ */
+public final class BinaryValues {
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte BIG_DECIMAL = 4;
+    private static final byte BIG_INTEGER = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte FLOAT = 7;
+    private static final byte TRUE = 8;
+    private static final byte FALSE = 9;
+    private static final byte TIMESTAMP = 10;
+    private static final byte DATE = 11;
+    private static final byte TIME = 12;
+    private static final byte BYTES = 13;
+    private static final byte SHORT = 14;
+    private static final byte SERIALIZED = 15;
+    private static final byte NO_VALUE = 16;
+
+    /**
+     * Value classes, and their superclasses, values may be serialized with.
+     */
+    public static final Set<String> SERIALIZABLE_CLASSES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("java.lang.Number", "java.lang.Byte", "java.lang.Character", "java.lang.Enum",
+                    "java.util.Date", "java.util.UUID")));
+
+    /**
+     * Maximum length of a serialized value.
+     */
+    public static final int MAX_SERIALIZED_LENGTH = 64 * 1024;
+
+    private BinaryValues() {
+    }
+
+    public static void writeValue(DataOutput out, Object value) throws IOException, DataSetException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value == ITable.NO_VALUE) {
+            out.writeByte(NO_VALUE);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Short) {
+            out.writeByte(SHORT);
+            out.writeShort((Short) value);
+        } else if (value.getClass() == BigDecimal.class) {
+            BigDecimal decimal = (BigDecimal) value;
+            out.writeByte(BIG_DECIMAL);
+            out.writeInt(decimal.scale());
+            writeBytes(out, decimal.unscaledValue().toByteArray());
+        } else if (value.getClass() == BigInteger.class) {
+            out.writeByte(BIG_INTEGER);
+            writeBytes(out, ((BigInteger) value).toByteArray());
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value.getClass() == Timestamp.class) {
+            Timestamp timestamp = (Timestamp) value;
+            out.writeByte(TIMESTAMP);
+            out.writeLong(timestamp.getTime());
+            out.writeInt(timestamp.getNanos());
+        } else if (value.getClass() == java.sql.Date.class) {
+            out.writeByte(DATE);
+            out.writeLong(((java.sql.Date) value).getTime());
+        } else if (value.getClass() == Time.class) {
+            out.writeByte(TIME);
+            out.writeLong(((Time) value).getTime());
+        } else if (value instanceof byte[]) {
+            out.writeByte(BYTES);
+            writeBytes(out, (byte[]) value);
+        } else if (value instanceof Serializable) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new RestrictedObjectOutputStream(bytes)) {
+                objectOut.writeObject(value);
+            } catch (NotSerializableException e) {
+                throw new DataSetException("Cannot write value of " + value.getClass().getName()
+                        + ", only " + SERIALIZABLE_CLASSES + " and java.time classes can be serialized", e);
+            }
+            if (bytes.size() > MAX_SERIALIZED_LENGTH) {
+                throw new DataSetException("Cannot write value of " + value.getClass().getName() + ", "
+                        + bytes.size() + " bytes serialized exceed " + MAX_SERIALIZED_LENGTH);
+            }
+            out.writeByte(SERIALIZED);
+            writeBytes(out, bytes.toByteArray());
+        } else {
+            throw new DataSetException("Cannot write value of " + value.getClass().getName()
+                    + ", it is not serializable");
+        }
+    }
+
+    /**
+     * Reads a value at the current position of the buffer, and moves past it.
+     */
+    public static Object readValue(ByteBuffer in) throws DataSetException {
+        byte tag = in.get();
+        switch (tag) {
+        case NULL:
+            return null;
+        case NO_VALUE:
+            return ITable.NO_VALUE;
+        case STRING:
+            return readString(in);
+        case INTEGER:
+            return in.getInt();
+        case LONG:
+            return in.getLong();
+        case SHORT:
+            return in.getShort();
+        case BIG_DECIMAL:
+            int scale = in.getInt();
+            return new BigDecimal(new BigInteger(readBytes(in)), scale);
+        case BIG_INTEGER:
+            return new BigInteger(readBytes(in));
+        case DOUBLE:
+            return in.getDouble();
+        case FLOAT:
+            return in.getFloat();
+        case TRUE:
+            return Boolean.TRUE;
+        case FALSE:
+            return Boolean.FALSE;
+        case TIMESTAMP:
+            Timestamp timestamp = new Timestamp(in.getLong());
+            timestamp.setNanos(in.getInt());
+            return timestamp;
+        case DATE:
+            return new java.sql.Date(in.getLong());
+        case TIME:
+            return new Time(in.getLong());
+        case BYTES:
+            return readBytes(in);
+        case SERIALIZED:
+            int position = in.position();
+            byte[] serialized = readBytes(in);
+            if (serialized.length > MAX_SERIALIZED_LENGTH) {
+                throw new DataSetException("Serialized value of " + serialized.length + " bytes at position "
+                        + position + " exceeds " + MAX_SERIALIZED_LENGTH);
+            }
+            try (ObjectInputStream objectIn = new RestrictedObjectInputStream(
+                    new ByteArrayInputStream(serialized))) {
+                return objectIn.readObject();
+            } catch (IOException | ClassNotFoundException e) {
+                throw new DataSetException("Cannot read serialized value", e);
+            }
+        default:
+            throw new DataSetException("Unknown value tag " + tag + " at position " + (in.position() - 1));
+        }
+    }
+
+    /**
+     * Writes length prefixed UTF-8 bytes of the string.
+     */
+    public static void writeString(DataOutput out, String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String readString(ByteBuffer in) throws DataSetException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(ByteBuffer in) throws DataSetException {
+        int position = in.position();
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new DataSetException("Invalid length " + length + " at position " + position + ", "
+                    + in.remaining() + " bytes remaining");
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Classes of the <code>java.time</code> package are serialized through
+     * <code>java.time.Ser</code>, subpackages are not allowed as their
+     * serialized form holds arrays.
+     *
+     * @param className name of a class as returned by {@link Class#getName()}
+     */
+    static boolean isSerializable(String className) {
+        if (SERIALIZABLE_CLASSES.contains(className)) {
+            return true;
+        }
+        return className.startsWith("java.time.") && className.indexOf('.', "java.time.".length()) < 0;
+    }
+
+    /**
+     * Refuses to write classes that would be refused when read.
+     */
+    private static class RestrictedObjectOutputStream extends ObjectOutputStream {
+
+        RestrictedObjectOutputStream(OutputStream out) throws IOException {
+            super(out);
+        }
+
+        @Override
+        protected void annotateClass(Class<?> cl) throws IOException {
+            if (!isSerializable(cl.getName())) {
+                throw new NotSerializableException(cl.getName());
+            }
+        }
+
+        @Override
+        protected void annotateProxyClass(Class<?> cl) throws IOException {
+            throw new NotSerializableException(cl.getName());
+        }
+    }
+
+    /**
+     * Resolves only classes allowed in serialized values, before any instance is
+     * created.
+     */
+    private static class RestrictedObjectInputStream extends ObjectInputStream {
+
+        RestrictedObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (!isSerializable(desc.getName())) {
+                throw new InvalidClassException(desc.getName(), "class is not allowed in serialized values");
+            }
+            return super.resolveClass(desc);
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+            throw new InvalidClassException("proxy classes are not allowed in serialized values");
+        }
+    }
+}
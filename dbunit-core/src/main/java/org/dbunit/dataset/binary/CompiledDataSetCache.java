@@ -0,0 +1,268 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.dataset.binary;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.csv.CsvProducer;
+import org.dbunit.dataset.stream.DefaultConsumer;
+import org.dbunit.dataset.stream.IDataSetConsumer;
+import org.dbunit.dataset.stream.IDataSetProducer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Directory of fixtures compiled to the binary dataset format, so that text
+ * fixtures are parsed once and later loaded without parsing, also by other
+ * JVMs.
+ * <p>
+ * Compiled files are named after a SHA-256 hash of the source contents and the
+ * parser options, so a changed fixture or different options simply miss the
+ * cache. Only the listed sources are hashed: files they refer to, like a DTD
+ * from a flat XML DOCTYPE, are not. Stale files are never removed, the
+ * directory may be cleaned at any time.
+ * <p>
+ * Compiled files are read like any binary dataset, so values serialized in
+ * them are restricted to the classes allowed by {@link BinaryValues}: a file
+ * planted in a shared directory cannot make readers instantiate other classes.
+ *
+ * @see org.dbunit.dataset.xml.FlatXmlDataSetBuilder#setCompiledDataSetCache(CompiledDataSetCache)
+ * @see org.dbunit.util.fileloader.CsvDataFileLoader#setCompiledDataSetCache(CompiledDataSetCache)
+ */
+public class CompiledDataSetCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompiledDataSetCache.class);
+
+    private static final String SUFFIX = ".dbub";
+
+    private final File directory;
+
+    public CompiledDataSetCache(File directory) {
+        this.directory = directory;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns a producer of the compiled dataset when one is cached. Otherwise
+     * returns a producer which runs the parser, and compiles its output on the
+     * way.
+     *
+     * @param sources contents the dataset is parsed from
+     * @param options description of parser options which change the parsed
+     *                dataset
+     * @param parser  producer parsing the sources
+     */
+    public IDataSetProducer getProducer(List<URL> sources, String options, IDataSetProducer parser)
+            throws DataSetException {
+        String key = computeKey(sources, options);
+        File compiled = new File(directory, key + SUFFIX);
+        if (compiled.isFile()) {
+            logger.debug("Loading compiled dataset {} for {}", compiled, sources);
+            return new BinaryDataSetProducer(compiled);
+        }
+        logger.debug("Compiling dataset {} to {}", sources, compiled);
+        return new CompilingProducer(parser, compiled);
+    }
+
+    /**
+     * Lists the table ordering file and the table files of a CSV dataset, see
+     * {@link org.dbunit.dataset.csv.CsvURLProducer}.
+     */
+    public static List<URL> getCsvSources(URL base, String tableList) throws DataSetException {
+        try {
+            List<URL> sources = new ArrayList<>();
+            sources.add(new URL(base, tableList));
+            for (Object table : CsvProducer.getTables(base, tableList)) {
+                sources.add(new URL(base, table + ".csv"));
+            }
+            return sources;
+        } catch (IOException e) {
+            throw new DataSetException("Cannot list CSV files of " + base, e);
+        }
+    }
+
+    static String computeKey(List<URL> sources, String options) throws DataSetException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new DataSetException("SHA-256 is not available", e);
+        }
+        digest.update(BinaryDataSetWriter.VERSION);
+        digest.update(options.getBytes(StandardCharsets.UTF_8));
+        byte[] buffer = new byte[64 * 1024];
+        for (URL source : sources) {
+            // separates sources, so that moving bytes from one to another
+            // changes the key
+            digest.update((byte) 0);
+            try (InputStream in = source.openStream()) {
+                int length;
+                while ((length = in.read(buffer)) >= 0) {
+                    digest.update(buffer, 0, length);
+                }
+            } catch (IOException e) {
+                throw new DataSetException("Cannot read " + source, e);
+            }
+        }
+
+        StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Passes everything the parser produces to the consumer, and writes it to a
+     * temporary file at the same time. The file is renamed to the compiled one
+     * once the dataset is complete, so that concurrent JVMs never see a partial
+     * file. Failing to write the file does not fail loading.
+     */
+    private static class CompilingProducer implements IDataSetProducer, IDataSetConsumer {
+
+        private final IDataSetProducer parser;
+        private final File compiled;
+
+        private IDataSetConsumer consumer = new DefaultConsumer();
+        private File temporary;
+        private OutputStream out;
+        private BinaryDataSetWriter writer;
+
+        CompilingProducer(IDataSetProducer parser, File compiled) {
+            this.parser = parser;
+            this.compiled = compiled;
+        }
+
+        @Override
+        public void setConsumer(IDataSetConsumer consumer) throws DataSetException {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void produce() throws DataSetException {
+            parser.setConsumer(this);
+            try {
+                parser.produce();
+            } finally {
+                discard();
+            }
+        }
+
+        @Override
+        public void startDataSet() throws DataSetException {
+            try {
+                File directory = compiled.getParentFile();
+                directory.mkdirs();
+                temporary = File.createTempFile("compiling", ".tmp", directory);
+                out = new FileOutputStream(temporary);
+                writer = new BinaryDataSetWriter(out);
+                writer.startDataSet();
+            } catch (IOException | DataSetException e) {
+                failed(e);
+            }
+            consumer.startDataSet();
+        }
+
+        @Override
+        public void endDataSet() throws DataSetException {
+            consumer.endDataSet();
+            if (writer != null) {
+                try {
+                    writer.endDataSet();
+                    out.close();
+                    out = null;
+                    move(temporary, compiled);
+                    temporary = null;
+                } catch (IOException | DataSetException e) {
+                    failed(e);
+                }
+            }
+        }
+
+        @Override
+        public void startTable(ITableMetaData metaData) throws DataSetException {
+            consumer.startTable(metaData);
+            if (writer != null) {
+                try {
+                    writer.startTable(metaData);
+                } catch (DataSetException e) {
+                    failed(e);
+                }
+            }
+        }
+
+        @Override
+        public void endTable() throws DataSetException {
+            consumer.endTable();
+            if (writer != null) {
+                try {
+                    writer.endTable();
+                } catch (DataSetException e) {
+                    failed(e);
+                }
+            }
+        }
+
+        @Override
+        public void row(Object[] values) throws DataSetException {
+            consumer.row(values);
+            if (writer != null) {
+                try {
+                    writer.row(values);
+                } catch (DataSetException e) {
+                    failed(e);
+                }
+            }
+        }
+
+        private void failed(Exception e) {
+            logger.warn("Cannot compile dataset to " + compiled + ", it will be parsed again next time", e);
+            writer = null;
+            discard();
+        }
+
+        private void discard() {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    logger.debug("Cannot close " + temporary, e);
+                }
+                out = null;
+            }
+            if (temporary != null) {
+                if (!temporary.delete()) {
+                    temporary.deleteOnExit();
+                }
+                temporary = null;
+            }
+        }
+
+        private static void move(File source, File target) throws IOException {
+            try {
+                Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+}
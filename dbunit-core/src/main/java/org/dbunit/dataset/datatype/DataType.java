@@ -21,10 +21,13 @@
 
 package org.dbunit.dataset.datatype;
 
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Arrays;
 
 import org.dbunit.util.RelativeDateTimeParser;
 import org.slf4j.Logger;
@@ -110,6 +113,27 @@ public abstract class DataType {
      */
     public abstract Object typeCast(Object value) throws TypeCastException;
 
+    /**
+     * Returns the specified value typecasted to this <code>DataType</code>, in the
+     * form with consistent {@link Object#equals(Object)} and
+     * {@link Object#hashCode()}, so it can be part of a map key regardless if it
+     * came from dataset or from database.
+     */
+    public Object typeCastKey(Object value) throws TypeCastException {
+        Object castValue = typeCast(value);
+        if (castValue instanceof BigDecimal) {
+            BigDecimal decimal = ((BigDecimal) castValue).stripTrailingZeros();
+            return decimal.signum() == 0 ? BigDecimal.ZERO : decimal;
+        }
+        if (castValue instanceof byte[]) {
+            return ByteBuffer.wrap((byte[]) castValue);
+        }
+        if (castValue instanceof Object[]) {
+            return Arrays.asList((Object[]) castValue);
+        }
+        return castValue;
+    }
+
     /**
      * Returns a negative integer, zero, or a positive integer as the first argument
      * is less than, equal to, or greater than the second.
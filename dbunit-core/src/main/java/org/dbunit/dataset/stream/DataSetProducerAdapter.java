@@ -24,9 +24,9 @@ import org.dbunit.dataset.Column;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableCursor;
 import org.dbunit.dataset.ITableIterator;
 import org.dbunit.dataset.ITableMetaData;
-import org.dbunit.dataset.RowOutOfBoundsException;
 
 /**
  * Implementation of {@link IDataSetProducer} based on a given {@link IDataSet}
@@ -68,31 +68,20 @@ public class DataSetProducerAdapter implements IDataSetProducer {
         ITableMetaData metaData = table.getTableMetaData();
 
         _consumer.startTable(metaData);
-        try {
-            Column[] columns = metaData.getColumns();
-            if (columns.length == 0) {
-                _consumer.endTable();
-                return;
+        Column[] columns = metaData.getColumns();
+        if (columns.length > 0) {
+            ITableCursor cursor = table.cursor();
+            while (cursor.next()) {
+                produceRow(cursor, columns);
             }
-
-            for (int i = 0;; i++) {
-                produceRow(table, columns, i);
-            }
-        } catch (RowOutOfBoundsException e) {
-            // This exception occurs when records are exhausted
-            // and we reach the end of the table. Ignore this error
-            // and close table.
-
-            // end of table
-            _consumer.endTable();
         }
+        _consumer.endTable();
     }
 
-    private void produceRow(ITable table, Column[] columns, int i) throws DataSetException {
+    private void produceRow(ITableCursor cursor, Column[] columns) throws DataSetException {
         Object[] values = new Object[columns.length];
         for (int j = 0; j < columns.length; j++) {
-            Column column = columns[j];
-            values[j] = table.getValue(i, column.getColumnName());
+            values[j] = cursor.getValue(j);
         }
         _consumer.row(values);
     }
@@ -23,6 +23,7 @@ package org.dbunit.dataset.stream;
 import org.dbunit.dataset.AbstractTable;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableCursor;
 import org.dbunit.dataset.ITableIterator;
 import org.dbunit.dataset.ITableMetaData;
 import org.dbunit.dataset.RowOutOfBoundsException;
@@ -211,6 +212,28 @@ public class StreamingIterator implements ITableIterator {
             if (logger.isDebugEnabled())
                 logger.debug("getValue(row={}, columnName={}) - start", Integer.toString(row), columnName);
 
+            moveTo(row);
+            return _rowValues[getColumnIndex(columnName)];
+        }
+
+        @Override
+        public Object getValue(int row, int column) throws DataSetException {
+            moveTo(row);
+            return _rowValues[column];
+        }
+
+        @Override
+        public ITableCursor cursor() throws DataSetException {
+            return new StreamingTableCursor();
+        }
+
+        private void moveTo(int row) throws DataSetException {
+            if (!tryMoveTo(row)) {
+                throw new RowOutOfBoundsException(row + " > " + _lastRow);
+            }
+        }
+
+        private boolean tryMoveTo(int row) throws DataSetException {
             // Iterate up to specified row
             while (!_eot && row > _lastRow) {
                 next();
@@ -220,11 +243,7 @@ public class StreamingIterator implements ITableIterator {
                 throw new UnsupportedOperationException("Cannot go backward!");
             }
 
-            if (_eot || row > _lastRow) {
-                throw new RowOutOfBoundsException(row + " > " + _lastRow);
-            }
-
-            return _rowValues[getColumnIndex(columnName)];
+            return !_eot && row <= _lastRow;
         }
 
         @Override
@@ -238,6 +257,39 @@ public class StreamingIterator implements ITableIterator {
             sb.append("]");
             return sb.toString();
         }
+
+        /**
+         * Takes rows from the channel as it goes, sharing the stream position with
+         * indexed access.
+         */
+        private class StreamingTableCursor implements ITableCursor {
+
+            private int row = -1;
+
+            @Override
+            public ITableMetaData getTableMetaData() {
+                return _metaData;
+            }
+
+            @Override
+            public boolean next() throws DataSetException {
+                if (tryMoveTo(row + 1)) {
+                    row++;
+                    return true;
+                }
+                return false;
+            }
+
+            @Override
+            public int getRow() {
+                return row;
+            }
+
+            @Override
+            public Object getValue(int column) throws DataSetException {
+                return _rowValues[column];
+            }
+        }
     }
 
     ////////////////////////////////////////////////////////////////////////////
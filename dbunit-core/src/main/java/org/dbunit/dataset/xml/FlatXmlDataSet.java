@@ -30,6 +30,7 @@ import java.net.URL;
 import org.dbunit.dataset.CachedDataSet;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.stream.IDataSetProducer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.InputSource;
@@ -112,6 +113,14 @@ public class FlatXmlDataSet extends CachedDataSet {
         super(flatXmlProducer, flatXmlProducer.isCaseSensitiveTableNames());
     }
 
+    /**
+     * Creates a new {@link FlatXmlDataSet} with the data of a flat XML document
+     * compiled by a {@link org.dbunit.dataset.binary.CompiledDataSetCache}.
+     */
+    FlatXmlDataSet(IDataSetProducer producer, boolean caseSensitiveTableNames) throws DataSetException {
+        super(producer, caseSensitiveTableNames);
+    }
+
     /**
      * Creates an FlatXmlDataSet object with the specified InputSource.
      *
@@ -26,9 +26,12 @@ import java.io.InputStream;
 import java.io.Reader;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Collections;
 
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.binary.CompiledDataSetCache;
+import org.dbunit.dataset.stream.IDataSetProducer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.InputSource;
@@ -78,6 +81,11 @@ public final class FlatXmlDataSetBuilder {
      * Defaults to {@value}
      */
     private boolean caseSensitiveTableNames = false;
+    /**
+     * Where datasets built from files and URLs are compiled to, or
+     * <code>null</code> to always parse them.
+     */
+    private CompiledDataSetCache compiledDataSetCache = null;
 
     /**
      * Default constructor
@@ -107,8 +115,7 @@ public final class FlatXmlDataSetBuilder {
      */
     public FlatXmlDataSet build(File xmlInputFile) throws MalformedURLException, DataSetException {
         URL xmlInputUrl = xmlInputFile.toURL();
-        InputSource inputSource = createInputSourceFromUrl(xmlInputUrl);
-        return buildInternal(inputSource);
+        return build(xmlInputUrl);
     }
 
     /**
@@ -121,6 +128,9 @@ public final class FlatXmlDataSetBuilder {
      */
     public FlatXmlDataSet build(URL xmlInputUrl) throws DataSetException {
         InputSource inputSource = createInputSourceFromUrl(xmlInputUrl);
+        if (compiledDataSetCache != null && metaDataSet == null) {
+            return buildCompiled(xmlInputUrl, inputSource);
+        }
         return buildInternal(inputSource);
     }
 
@@ -248,6 +258,31 @@ public final class FlatXmlDataSetBuilder {
         return this;
     }
 
+    public CompiledDataSetCache getCompiledDataSetCache() {
+        return compiledDataSetCache;
+    }
+
+    /**
+     * Cache where datasets built from a {@link File} or an {@link URL} are
+     * compiled to, so that they are parsed once. Not used when a metadata
+     * dataset is set.
+     *
+     * @param compiledDataSetCache
+     * @return this
+     */
+    public FlatXmlDataSetBuilder setCompiledDataSetCache(CompiledDataSetCache compiledDataSetCache) {
+        this.compiledDataSetCache = compiledDataSetCache;
+        return this;
+    }
+
+    private FlatXmlDataSet buildCompiled(URL xmlInputUrl, InputSource inputSource) throws DataSetException {
+        String options = "FlatXml[dtdMetadata=" + dtdMetadata + ", columnSensing=" + columnSensing
+                + ", caseSensitiveTableNames=" + caseSensitiveTableNames + "]";
+        IDataSetProducer producer = compiledDataSetCache.getProducer(Collections.singletonList(xmlInputUrl), options,
+                createProducer(inputSource));
+        return new FlatXmlDataSet(producer, caseSensitiveTableNames);
+    }
+
     /**
      * Builds the {@link FlatXmlDataSet} from the parameters that are currently set
      * on this builder
@@ -297,6 +332,7 @@ public final class FlatXmlDataSetBuilder {
         sb.append(", columnSensing=").append(columnSensing);
         sb.append(", caseSensitiveTableNames=").append(caseSensitiveTableNames);
         sb.append(", metaDataSet=").append(metaDataSet);
+        sb.append(", compiledDataSetCache=").append(compiledDataSetCache);
         sb.append("]");
         return sb.toString();
     }
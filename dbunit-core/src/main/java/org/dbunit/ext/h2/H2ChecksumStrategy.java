@@ -0,0 +1,26 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.h2;
+
+import org.dbunit.assertion.Md5ChecksumStrategy;
+
+/**
+ * Checksum using H2 2.x <code>HASH('MD5', ...)</code>, its first 8 bytes cast
+ * to a <code>BIGINT</code>. Row hashes are summed as decimals, H2 may sum
+ * <code>BIGINT</code> values as a <code>BIGINT</code>. <code>CHAR_LENGTH</code>
+ * counts UTF-16 code units.
+ */
+public class H2ChecksumStrategy extends Md5ChecksumStrategy {
+
+    @Override
+    protected String buildRowHashSql(String expression) {
+        return "cast(bitand(rshift(cast(substring(hash('MD5', " + expression
+                + "), 1, 8) as bigint), 4), 1152921504606846975) as numeric(19))";
+    }
+
+    @Override
+    protected int length(String value) {
+        return value.length();
+    }
+}
@@ -0,0 +1,18 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.h2;
+
+import org.dbunit.operation.CopyTableSnapshotStrategy;
+
+/**
+ * Snapshot in H2 memory table copies, kept in memory even for databases stored
+ * on disk.
+ */
+public class H2SnapshotStrategy extends CopyTableSnapshotStrategy {
+
+    @Override
+    protected String buildCreateCopySql(String copyName, String tableName) {
+        return "create memory table " + copyName + " as select * from " + tableName + " with no data";
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.h2;
+
+import java.util.List;
+
+import org.dbunit.operation.AbstractUpsertStatementBuilder;
+
+/**
+ * Upsert using H2 <code>MERGE INTO ... KEY (...) VALUES (...)</code>.
+ */
+public class H2UpsertStatementBuilder extends AbstractUpsertStatementBuilder {
+
+    @Override
+    protected String buildSql(String tableName, List<String> columnNames, List<String> keyNames,
+            List<String> updateNames) {
+        StringBuilder sql = new StringBuilder(128);
+        sql.append("merge into ").append(tableName).append(" (");
+        appendList(sql, columnNames, "");
+        sql.append(") key (");
+        appendList(sql, keyNames, "");
+        sql.append(") values (");
+        appendParameters(sql, columnNames.size());
+        sql.append(")");
+        return sql.toString();
+    }
+}
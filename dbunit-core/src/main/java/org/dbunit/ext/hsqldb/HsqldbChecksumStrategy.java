@@ -0,0 +1,125 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.hsqldb;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.dbunit.assertion.Md5ChecksumStrategy;
+import org.dbunit.assertion.TableChecksum;
+import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checksum for HSQLDB, which has no MD5 function. Rows are hashed by
+ * {@link #hashRow(String)}, called through the Java function
+ * {@value #FUNCTION_NAME}. <code>CHAR_LENGTH</code> counts UTF-16 code units.
+ * <p>
+ * The function is a persistent object of the schema, and is not created by
+ * default: create it with {@link #createFunction(Connection)}, for instance
+ * in the schema script, or let the strategy create it by the first checksum
+ * outside of a transaction, as creating it commits. Without the function, or
+ * when it cannot be created, for instance by a read-only user, there is no
+ * database checksum and rows are compared.
+ */
+public class HsqldbChecksumStrategy extends Md5ChecksumStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(HsqldbChecksumStrategy.class);
+
+    public static final String FUNCTION_NAME = "DBUNIT_MD5_HASH";
+
+    private final boolean createFunction;
+
+    /**
+     * Uses the function when it exists, never creates it.
+     */
+    public HsqldbChecksumStrategy() {
+        this(false);
+    }
+
+    /**
+     * @param createFunction whether the function is created in the current
+     *                       schema when missing, it is left there
+     */
+    public HsqldbChecksumStrategy(boolean createFunction) {
+        this.createFunction = createFunction;
+    }
+
+    /**
+     * Creates the function hashing rows in the current schema.
+     */
+    public static void createFunction(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create function " + FUNCTION_NAME + "(string longvarchar) returns bigint"
+                    + " language java deterministic no sql external name 'CLASSPATH:"
+                    + HsqldbChecksumStrategy.class.getName() + ".hashRow'");
+        }
+    }
+
+    private static boolean hasFunction(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select count(*) from information_schema.routines where routine_name = ?")) {
+            statement.setString(1, FUNCTION_NAME);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1) > 0;
+            }
+        }
+    }
+
+    /**
+     * Function called by the database.
+     */
+    public static long hashRow(String row) {
+        return Md5ChecksumStrategy.hashRow(row);
+    }
+
+    /**
+     * @return the checksum, <code>null</code> when the function is missing and
+     *         is not created
+     */
+    @Override
+    public TableChecksum checksum(AbstractDatabaseConnection connection, String tableName, Column[] columns)
+            throws DataSetException, SQLException {
+        Connection jdbcConnection = connection.getConnection();
+        if (!hasFunction(jdbcConnection)) {
+            if (!createFunction) {
+                logger.debug("Function {} is missing, rows are compared", FUNCTION_NAME);
+                return null;
+            }
+            if (!jdbcConnection.getAutoCommit()) {
+                logger.info("Function {} is missing, creating it would commit the transaction", FUNCTION_NAME);
+                return null;
+            }
+            try {
+                createFunction(jdbcConnection);
+            } catch (SQLException e) {
+                logger.warn("Cannot create function {}, rows are compared: {}", FUNCTION_NAME, e.getMessage());
+                return null;
+            }
+        }
+        return super.checksum(connection, tableName, columns);
+    }
+
+    @Override
+    protected int length(String value) {
+        return value.length();
+    }
+
+    @Override
+    protected String buildCastToStringSql(String expression) {
+        return "cast(" + expression + " as longvarchar)";
+    }
+
+    @Override
+    protected String buildRowHashSql(String expression) {
+        return "cast(" + FUNCTION_NAME + "(" + expression + ") as numeric(19))";
+    }
+}
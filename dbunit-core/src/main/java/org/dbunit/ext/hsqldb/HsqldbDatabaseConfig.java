@@ -10,5 +10,6 @@ public class HsqldbDatabaseConfig extends io.github.vasiliygagin.dbunit.jdbc.Dat
 
     public HsqldbDatabaseConfig() {
         setDataTypeFactory(new HsqldbDataTypeFactory());
+        setMetadataHandler(new HsqldbMetadataHandler());
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.hsqldb;
+
+import org.dbunit.database.DefaultMetadataHandler;
+
+/**
+ * Metadata handler for HSQLDB, reading foreign keys from standard
+ * <code>INFORMATION_SCHEMA</code> views.
+ */
+public class HsqldbMetadataHandler extends DefaultMetadataHandler {
+
+    @Override
+    public String getForeignKeysSql() {
+        return INFORMATION_SCHEMA_FOREIGN_KEYS_SQL;
+    }
+}
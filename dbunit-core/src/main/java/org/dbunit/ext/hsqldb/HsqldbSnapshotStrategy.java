@@ -0,0 +1,18 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.hsqldb;
+
+import org.dbunit.operation.CopyTableSnapshotStrategy;
+
+/**
+ * Snapshot in table copies, created with HSQLDB
+ * <code>CREATE TABLE ... AS (...) WITH NO DATA</code>.
+ */
+public class HsqldbSnapshotStrategy extends CopyTableSnapshotStrategy {
+
+    @Override
+    protected String buildCreateCopySql(String copyName, String tableName) {
+        return "create table " + copyName + " as (select * from " + tableName + ") with no data";
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.hsqldb;
+
+import java.util.List;
+
+import org.dbunit.operation.AbstractUpsertStatementBuilder;
+
+/**
+ * Upsert using HSQLDB <code>MERGE INTO ... USING (VALUES (...))</code>.
+ */
+public class HsqldbUpsertStatementBuilder extends AbstractUpsertStatementBuilder {
+
+    @Override
+    protected String buildSql(String tableName, List<String> columnNames, List<String> keyNames,
+            List<String> updateNames) {
+        StringBuilder source = new StringBuilder(64);
+        source.append("(values (");
+        appendParameters(source, columnNames.size());
+        source.append(")) as source (");
+        appendList(source, columnNames, "");
+        source.append(")");
+        return buildMergeSql(tableName, source.toString(), columnNames, keyNames, updateNames);
+    }
+}
@@ -54,6 +54,8 @@ public class MsSqlConnection extends DatabaseConnection {
     static DatabaseConfig buildConfig() {
         DatabaseConfig config = new DatabaseConfig();
         config.setDataTypeFactory(new MsSqlDataTypeFactory());
+        // SQL Server rejects requests with more than 2100 parameters
+        config.setMaxBindParameters(2100);
         return config;
     }
 
@@ -0,0 +1,27 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.mssql;
+
+import java.util.List;
+
+import org.dbunit.operation.AbstractUpsertStatementBuilder;
+
+/**
+ * Upsert using SQL Server <code>MERGE INTO ... USING (VALUES (...))</code>.
+ */
+public class MsSqlUpsertStatementBuilder extends AbstractUpsertStatementBuilder {
+
+    @Override
+    protected String buildSql(String tableName, List<String> columnNames, List<String> keyNames,
+            List<String> updateNames) {
+        StringBuilder source = new StringBuilder(64);
+        source.append("(values (");
+        appendParameters(source, columnNames.size());
+        source.append(")) as source (");
+        appendList(source, columnNames, "");
+        source.append(")");
+        // SQL Server requires MERGE to be terminated by a semicolon
+        return buildMergeSql(tableName, source.toString(), columnNames, keyNames, updateNames) + ";";
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.mysql;
+
+import org.dbunit.assertion.Md5ChecksumStrategy;
+
+/**
+ * Checksum using MySQL <code>MD5</code>, the hexadecimal digest converted with
+ * <code>CONV</code>. Assumes a <code>utf8mb4</code> connection character set.
+ */
+public class MySqlChecksumStrategy extends Md5ChecksumStrategy {
+
+    @Override
+    protected String buildCastToStringSql(String expression) {
+        return "cast(" + expression + " as char)";
+    }
+
+    @Override
+    protected String buildConcatSql(String... expressions) {
+        return "concat(" + String.join(", ", expressions) + ")";
+    }
+
+    @Override
+    protected String buildRowHashSql(String expression) {
+        return "cast(conv(substring(md5(" + expression + "), 1, 15), 16, 10) as unsigned)";
+    }
+}
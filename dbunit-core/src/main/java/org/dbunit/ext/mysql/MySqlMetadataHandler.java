@@ -110,6 +110,16 @@ public class MySqlMetadataHandler implements IMetadataHandler {
         return resultSet;
     }
 
+    /**
+     * MySQL names every primary key <code>PRIMARY</code>, referenced tables are
+     * taken from its own columns instead.
+     */
+    @Override
+    public String getForeignKeysSql() {
+        return "SELECT CONSTRAINT_SCHEMA, TABLE_NAME, UNIQUE_CONSTRAINT_SCHEMA, REFERENCED_TABLE_NAME"
+                + " FROM INFORMATION_SCHEMA.REFERENTIAL_CONSTRAINTS";
+    }
+
     @Override
     public String toCatalog(String schemaCatalog) {
         return schemaCatalog;
@@ -0,0 +1,37 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.mysql;
+
+import java.util.List;
+
+import org.dbunit.operation.AbstractUpsertStatementBuilder;
+
+/**
+ * Upsert using MySQL <code>INSERT ... ON DUPLICATE KEY UPDATE</code>.
+ */
+public class MySqlUpsertStatementBuilder extends AbstractUpsertStatementBuilder {
+
+    @Override
+    protected String buildSql(String tableName, List<String> columnNames, List<String> keyNames,
+            List<String> updateNames) {
+        StringBuilder sql = new StringBuilder(128);
+        sql.append("insert into ").append(tableName).append(" (");
+        appendList(sql, columnNames, "");
+        sql.append(") values (");
+        appendParameters(sql, columnNames.size());
+        sql.append(") on duplicate key update ");
+        if (updateNames.isEmpty()) {
+            // nothing to update, assign key to itself to make duplicate a no-op
+            String keyName = keyNames.get(0);
+            sql.append(keyName).append(" = ").append(keyName);
+        } else {
+            String separator = "";
+            for (String updateName : updateNames) {
+                sql.append(separator).append(updateName).append(" = values(").append(updateName).append(")");
+                separator = ", ";
+            }
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.oracle;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+
+import org.dbunit.assertion.Md5ChecksumStrategy;
+import org.dbunit.dataset.Column;
+
+/**
+ * Checksum using Oracle 12c <code>STANDARD_HASH(..., 'MD5')</code>. Assumes
+ * the <code>AL32UTF8</code> database character set.
+ * <p>
+ * <code>NUMBER</code> columns are supported too, written like
+ * <code>TO_CHAR</code> does with a period as decimal separator. Empty strings,
+ * which Oracle stores as <code>null</code>, only make checksums differ.
+ */
+public class OracleChecksumStrategy extends Md5ChecksumStrategy {
+
+    @Override
+    public boolean isSupported(Column column) {
+        switch (column.getDataType().getSqlType()) {
+        case Types.NUMERIC:
+        case Types.DECIMAL:
+            return true;
+        default:
+            return super.isSupported(column);
+        }
+    }
+
+    @Override
+    protected String formatValue(Object value) {
+        if (!(value instanceof BigDecimal)) {
+            return super.formatValue(value);
+        }
+        BigDecimal number = (BigDecimal) value;
+        if (number.signum() == 0) {
+            return "0";
+        }
+        String string = number.stripTrailingZeros().toPlainString();
+        // TO_CHAR(0.5) is .5
+        if (string.startsWith("0.")) {
+            return string.substring(1);
+        }
+        if (string.startsWith("-0.")) {
+            return "-" + string.substring(2);
+        }
+        return string;
+    }
+
+    @Override
+    protected String buildCastToStringSql(String expression) {
+        return "to_char(" + expression + ")";
+    }
+
+    @Override
+    protected String buildLengthSql(String expression) {
+        return "length(" + expression + ")";
+    }
+
+    @Override
+    protected String buildRowHashSql(String expression) {
+        return "to_number(substr(rawtohex(standard_hash(" + expression
+                + ", 'MD5')), 1, 15), 'XXXXXXXXXXXXXXX')";
+    }
+}
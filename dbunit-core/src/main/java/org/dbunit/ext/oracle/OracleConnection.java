@@ -54,6 +54,8 @@ public class OracleConnection extends DatabaseConnection {
     static DatabaseConfig buildConfig() {
         DatabaseConfig config = new DatabaseConfig();
         config.setDataTypeFactory(new OracleDataTypeFactory());
+        // Oracle rejects statements with more than 65535 bind variables
+        config.setMaxBindParameters(65535);
         return config;
     }
 }
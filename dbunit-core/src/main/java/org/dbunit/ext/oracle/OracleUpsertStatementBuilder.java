@@ -0,0 +1,28 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.oracle;
+
+import java.util.List;
+
+import org.dbunit.operation.AbstractUpsertStatementBuilder;
+
+/**
+ * Upsert using Oracle <code>MERGE INTO ... USING (SELECT ... FROM DUAL)</code>.
+ */
+public class OracleUpsertStatementBuilder extends AbstractUpsertStatementBuilder {
+
+    @Override
+    protected String buildSql(String tableName, List<String> columnNames, List<String> keyNames,
+            List<String> updateNames) {
+        StringBuilder source = new StringBuilder(64);
+        source.append("(select ");
+        String separator = "";
+        for (String columnName : columnNames) {
+            source.append(separator).append("? ").append(columnName);
+            separator = ", ";
+        }
+        source.append(" from dual) source");
+        return buildMergeSql(tableName, source.toString(), columnNames, keyNames, updateNames);
+    }
+}
@@ -0,0 +1,18 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.postgresql;
+
+import org.dbunit.assertion.Md5ChecksumStrategy;
+
+/**
+ * Checksum using PostgreSQL <code>md5</code>, the hexadecimal digest read as a
+ * bit string. Assumes the <code>UTF8</code> server encoding.
+ */
+public class PostgresqlChecksumStrategy extends Md5ChecksumStrategy {
+
+    @Override
+    protected String buildRowHashSql(String expression) {
+        return "('x' || substr(md5(" + expression + "), 1, 15))::bit(60)::bigint";
+    }
+}
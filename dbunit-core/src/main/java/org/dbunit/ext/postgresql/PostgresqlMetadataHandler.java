@@ -0,0 +1,24 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.postgresql;
+
+import org.dbunit.database.DefaultMetadataHandler;
+
+/**
+ * Metadata handler for PostgreSQL. Foreign key constraint names are unique only
+ * per table in PostgreSQL, so dependencies are read from the system catalog
+ * rather than from <code>INFORMATION_SCHEMA</code> views.
+ */
+public class PostgresqlMetadataHandler extends DefaultMetadataHandler {
+
+    @Override
+    public String getForeignKeysSql() {
+        return "SELECT fn.nspname, fc.relname, pn.nspname, pc.relname FROM pg_catalog.pg_constraint c"
+                + " JOIN pg_catalog.pg_class fc ON fc.oid = c.conrelid"
+                + " JOIN pg_catalog.pg_namespace fn ON fn.oid = fc.relnamespace"
+                + " JOIN pg_catalog.pg_class pc ON pc.oid = c.confrelid"
+                + " JOIN pg_catalog.pg_namespace pn ON pn.oid = pc.relnamespace"
+                + " WHERE c.contype = 'f'";
+    }
+}
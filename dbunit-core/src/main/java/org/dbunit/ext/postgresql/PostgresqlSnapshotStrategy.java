@@ -0,0 +1,17 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.postgresql;
+
+import org.dbunit.operation.CopyTableSnapshotStrategy;
+
+/**
+ * Snapshot in unlogged table copies, which skip the write ahead log.
+ */
+public class PostgresqlSnapshotStrategy extends CopyTableSnapshotStrategy {
+
+    @Override
+    protected String buildCreateCopySql(String copyName, String tableName) {
+        return "create unlogged table " + copyName + " as select * from " + tableName + " with no data";
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.postgresql;
+
+import java.util.List;
+
+import org.dbunit.operation.AbstractUpsertStatementBuilder;
+
+/**
+ * Upsert using PostgreSQL <code>INSERT ... ON CONFLICT (...) DO UPDATE</code>.
+ */
+public class PostgresqlUpsertStatementBuilder extends AbstractUpsertStatementBuilder {
+
+    @Override
+    protected String buildSql(String tableName, List<String> columnNames, List<String> keyNames,
+            List<String> updateNames) {
+        StringBuilder sql = new StringBuilder(128);
+        sql.append("insert into ").append(tableName).append(" (");
+        appendList(sql, columnNames, "");
+        sql.append(") values (");
+        appendParameters(sql, columnNames.size());
+        sql.append(") on conflict (");
+        appendList(sql, keyNames, "");
+        if (updateNames.isEmpty()) {
+            sql.append(") do nothing");
+        } else {
+            sql.append(") do update set ");
+            String separator = "";
+            for (String updateName : updateNames) {
+                sql.append(separator).append(updateName).append(" = excluded.").append(updateName);
+                separator = ", ";
+            }
+        }
+        return sql.toString();
+    }
+}
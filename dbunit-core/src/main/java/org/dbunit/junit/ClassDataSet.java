@@ -0,0 +1,45 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.junit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Flat XML dataset loaded with CLEAN_INSERT once for all tests of the class,
+ * inside a transaction which is rolled back once the class is done. Every test
+ * runs inside a savepoint, rolled back after the test, so tests see the
+ * dataset without loading it again.
+ * <p>
+ * The dataset is loaded again for the next test when a test commits, directly
+ * or by running DDL which commits, and when the connection is not the same
+ * physical connection as for the previous test. The commit also commits the
+ * dataset, which is then not rolled back with the class.
+ * <p>
+ * Declare {@link ClassDataSetRule} as a class rule to roll the dataset back
+ * right after the last test of the class. Otherwise it is rolled back when a
+ * test of another class starts, or when the JVM shuts down.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Repeatable(ClassDataSets.class)
+public @interface ClassDataSet {
+
+    /**
+     * @return Class path resource of the flat XML dataset.
+     */
+    String value();
+
+    /**
+     * @return Name of the registered dataSource. Not required if there is only one dataSource configured for test.
+     */
+    String dataSourceName() default "";
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.junit;
+
+import org.dbunit.junit.internal.GlobalContext;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+/**
+ * Class rule rolling back {@link ClassDataSet class datasets} once all tests
+ * of the class ran.
+ *
+ * <pre>
+ * &#064;ClassRule
+ * public static final ClassDataSetRule classDataSets = new ClassDataSetRule();
+ * </pre>
+ */
+public class ClassDataSetRule implements TestRule {
+
+    @Override
+    public Statement apply(Statement base, Description description) {
+        return new Statement() {
+
+            @Override
+            public void evaluate() throws Throwable {
+                try {
+                    base.evaluate();
+                } finally {
+                    GlobalContext.getIt().getClassFixtureLifecycle().finishClass();
+                }
+            }
+        };
+    }
+}
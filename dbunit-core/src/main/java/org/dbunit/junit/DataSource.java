@@ -31,4 +31,12 @@ public @interface DataSource {
      * @return implementation class for dataSource
      */
     Class<? extends javax.sql.DataSource> dataSource();
+
+    /**
+     * @return whether to record tables written through this connection, so that
+     *         operations emptying tables skip the ones known to be empty. Only
+     *         writes done through dbUnit connections are seen.
+     * @see org.dbunit.database.DirtyTableTracker
+     */
+    boolean trackDirtyTables() default false;
 }
@@ -45,4 +45,12 @@ public @interface DriverManagerConnection {
      * @return user password for database connection
      */
     String password() default "";
+
+    /**
+     * @return whether to record tables written through this connection, so that
+     *         operations emptying tables skip the ones known to be empty. Only
+     *         writes done through dbUnit connections are seen.
+     * @see org.dbunit.database.DirtyTableTracker
+     */
+    boolean trackDirtyTables() default false;
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.junit.internal;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.dataset.CompositeDataSet;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.operation.DatabaseOperation;
+import org.dbunit.util.fileloader.FlatXmlDataFileLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps class level datasets of the test class running on current thread.
+ * <p>
+ * Datasets of a connection are loaded by the first test of the class, in a
+ * transaction left open until a test of another class starts. Every test runs
+ * inside a savepoint and is rolled back to it, so following tests find the
+ * datasets without loading them again.
+ * <p>
+ * A test which commits, directly or by running DDL, releases the savepoint:
+ * rolling back to it fails, and datasets are loaded again for the next test.
+ * So are they when the test gets another physical connection, as with pools.
+ * The commit also commits the datasets, which stay in the database.
+ * <p>
+ * Datasets of the last class are rolled back by
+ * {@link org.dbunit.junit.ClassDataSetRule}, or when the JVM shuts down.
+ *
+ * @see org.dbunit.junit.ClassDataSet
+ */
+public class ClassFixtureLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassFixtureLifecycle.class);
+
+    private Class<?> testClass;
+    private final Map<String, Fixture> fixtures = new HashMap<>();
+
+    /**
+     * Starts a test of given class, discarding datasets of the previous class.
+     */
+    void startTest(Class<?> klass) {
+        if (klass != testClass) {
+            finishClass();
+            testClass = klass;
+        }
+    }
+
+    /**
+     * Loads datasets of the connection unless they are still loaded, and sets a
+     * savepoint for the test.
+     *
+     * @param resources class path resources of flat XML datasets
+     */
+    void beginTest(String connectionName, AbstractDatabaseConnection connection, List<String> resources)
+            throws DatabaseUnitException, SQLException {
+        Connection jdbcConnection = connection.getConnection();
+        Connection physicalConnection = jdbcConnection.getMetaData().getConnection();
+        Fixture fixture = fixtures.get(connectionName);
+        if (fixture != null && fixture.physicalConnection != physicalConnection) {
+            logger.debug("Connection '{}' changed, loading class datasets again", connectionName);
+            fixtures.remove(connectionName);
+            fixture.discard();
+            fixture = null;
+        }
+        if (fixture == null) {
+            fixture = new Fixture(jdbcConnection, physicalConnection);
+            jdbcConnection.setAutoCommit(false);
+            fixtures.put(connectionName, fixture);
+            DatabaseOperation.CLEAN_INSERT.execute(connection, loadDataSet(resources));
+        }
+        fixture.savepoint = jdbcConnection.setSavepoint();
+    }
+
+    private IDataSet loadDataSet(List<String> resources) throws DatabaseUnitException {
+        FlatXmlDataFileLoader loader = new FlatXmlDataFileLoader();
+        IDataSet[] dataSets = new IDataSet[resources.size()];
+        for (int i = 0; i < dataSets.length; i++) {
+            dataSets[i] = loader.load(resources.get(i));
+        }
+        return dataSets.length == 1 ? dataSets[0] : new CompositeDataSet(dataSets);
+    }
+
+    /**
+     * Rolls the test back to its savepoint.
+     *
+     * @return <code>false</code> when the connection has no class datasets
+     */
+    boolean endTest(String connectionName, AbstractDatabaseConnection connection) {
+        Fixture fixture = fixtures.get(connectionName);
+        if (fixture == null || fixture.savepoint == null) {
+            return false;
+        }
+        Savepoint savepoint = fixture.savepoint;
+        fixture.savepoint = null;
+        try {
+            Connection jdbcConnection = connection.getConnection();
+            if (jdbcConnection.getAutoCommit()) {
+                throw new SQLException("Auto commit was turned on");
+            }
+            jdbcConnection.rollback(savepoint);
+            try {
+                jdbcConnection.releaseSavepoint(savepoint);
+            } catch (SQLException e) {
+                logger.trace("Cannot release savepoint", e);
+            }
+        } catch (SQLException e) {
+            logger.warn("Test of {} committed, class datasets of '{}' stay in the database"
+                    + " and are loaded again: {}", testClass, connectionName, e.getMessage());
+            fixtures.remove(connectionName);
+            fixture.discard();
+        }
+        return true;
+    }
+
+    /**
+     * Rolls back transactions holding datasets of the current class.
+     */
+    public void finishClass() {
+        for (Fixture fixture : fixtures.values()) {
+            fixture.discard();
+        }
+        fixtures.clear();
+        testClass = null;
+    }
+
+    /**
+     * Transaction holding class datasets of a connection.
+     */
+    private static class Fixture {
+
+        private final Connection jdbcConnection;
+        private final Connection physicalConnection;
+        private final boolean autoCommit;
+        private Savepoint savepoint;
+
+        Fixture(Connection jdbcConnection, Connection physicalConnection) throws SQLException {
+            this.jdbcConnection = jdbcConnection;
+            this.physicalConnection = physicalConnection;
+            this.autoCommit = jdbcConnection.getAutoCommit();
+        }
+
+        void discard() {
+            try {
+                jdbcConnection.rollback();
+                jdbcConnection.setAutoCommit(autoCommit);
+            } catch (SQLException e) {
+                logger.debug("Cannot roll class datasets back", e);
+            }
+        }
+    }
+}
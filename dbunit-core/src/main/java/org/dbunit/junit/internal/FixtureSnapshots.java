@@ -0,0 +1,105 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.junit.internal;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.operation.ISnapshotStrategy;
+import org.dbunit.operation.ISnapshotStrategy.Snapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Snapshots of class level fixtures, one per connection name. The fixture is
+ * set up for the first test of the class and snapshot with the
+ * {@link ISnapshotStrategy} of the connection, later tests restore the
+ * snapshot instead of setting the fixture up again.
+ * <p>
+ * Connections without snapshot strategy set the fixture up for every test.
+ * Snapshots are meant for tests which commit; tests rolled back after each
+ * test get their fixture back from the rollback already. No snapshot is taken
+ * while the connection is in a transaction, as the rollback would also undo
+ * the fixture the snapshot was taken of.
+ */
+public class FixtureSnapshots {
+
+    private static final Logger logger = LoggerFactory.getLogger(FixtureSnapshots.class);
+
+    private final Map<String, Snapshot> snapshots = new HashMap<>();
+
+    /**
+     * Sets class level fixture up.
+     */
+    @FunctionalInterface
+    public interface Setup {
+
+        /**
+         * @return names of tables the fixture is made of, in dependency order
+         */
+        String[] setUp() throws Exception;
+    }
+
+    /**
+     * Restores the fixture of given connection, or sets it up and snapshots it
+     * when there is no snapshot yet.
+     *
+     * @return <code>true</code> when the snapshot was restored
+     */
+    public boolean restoreOrSetUp(String connectionName, AbstractDatabaseConnection connection, Setup setup)
+            throws Exception {
+        Snapshot snapshot = snapshots.get(connectionName);
+        if (snapshot != null) {
+            try {
+                snapshot.restore(connection);
+                return true;
+            } catch (Exception e) {
+                logger.warn("Cannot restore snapshot of " + connectionName + ", setting fixture up again", e);
+                snapshots.remove(connectionName);
+                release(snapshot, connection);
+            }
+        }
+
+        String[] tableNames = setup.setUp();
+        ISnapshotStrategy strategy = connection.getDatabaseConfig().getSnapshotStrategy();
+        if (strategy != null && tableNames.length > 0) {
+            if (!connection.getConnection().getAutoCommit()) {
+                logger.debug("Connection {} is in a transaction, fixture not snapshot", connectionName);
+                return false;
+            }
+            snapshots.put(connectionName, strategy.takeSnapshot(connection, tableNames));
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return snapshots.isEmpty();
+    }
+
+    /**
+     * Releases all snapshots.
+     */
+    public void release(TestContext testContext) {
+        for (Iterator<Entry<String, Snapshot>> iterator = snapshots.entrySet().iterator(); iterator.hasNext();) {
+            Entry<String, Snapshot> entry = iterator.next();
+            iterator.remove();
+            try {
+                release(entry.getValue(), testContext.getConnection(entry.getKey()));
+            } catch (Exception e) {
+                logger.warn("Cannot release snapshot of " + entry.getKey(), e);
+            }
+        }
+    }
+
+    private void release(Snapshot snapshot, AbstractDatabaseConnection connection) {
+        try {
+            snapshot.release(connection);
+        } catch (Exception e) {
+            logger.warn("Cannot release snapshot", e);
+        }
+    }
+}
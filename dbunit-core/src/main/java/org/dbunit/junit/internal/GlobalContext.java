@@ -3,6 +3,11 @@
  */
 package org.dbunit.junit.internal;
 
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dbunit.database.DirtyTableTracker;
 import org.dbunit.internal.connections.DriverManagerConnectionSource;
 import org.dbunit.internal.connections.DriverManagerConnectionsCache;
 import org.dbunit.internal.connections.DriverManagerConnectionsFactory;
@@ -22,12 +27,20 @@ public class GlobalContext {
     private final DriverManagerConnectionsFactory driverManagerConnectionsFactory;
     private final DriverManagerConnectionsCache driverManagerConnectionsCache;
     private final AnnotationProcessor annotationProcessor = new AnnotationProcessor();
+    private final Map<Object, DirtyTableTracker> dirtyTableTrackers = new ConcurrentHashMap<>();
+    private final Set<ClassFixtureLifecycle> allClassFixtureLifecycles = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<ClassFixtureLifecycle> classFixtureLifecycles = ThreadLocal.withInitial(() -> {
+        ClassFixtureLifecycle classFixtureLifecycle = new ClassFixtureLifecycle();
+        allClassFixtureLifecycles.add(classFixtureLifecycle);
+        return classFixtureLifecycle;
+    });
 
     private boolean reuseDB = true;
 
     private GlobalContext() {
         driverManagerConnectionsFactory = new DriverManagerConnectionsFactory();
         driverManagerConnectionsCache = new DriverManagerConnectionsCache(driverManagerConnectionsFactory);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::finishClasses, "dbunit-class-datasets"));
     }
 
     public static GlobalContext getIt() {
@@ -45,4 +58,31 @@ public class GlobalContext {
     public AnnotationProcessor getAnnotationProcessor() {
         return annotationProcessor;
     }
+
+    /**
+     * Returns tracker shared by all tests using the same database, so that tables
+     * emptied by one test are known to be empty by the next one.
+     *
+     * @param key identifies the database
+     */
+    public DirtyTableTracker getDirtyTableTracker(Object key) {
+        return dirtyTableTrackers.computeIfAbsent(key, k -> new DirtyTableTracker());
+    }
+
+    /**
+     * @return class level datasets of tests running on current thread
+     */
+    public ClassFixtureLifecycle getClassFixtureLifecycle() {
+        return classFixtureLifecycles.get();
+    }
+
+    /**
+     * Rolls back class level datasets of all threads, those of the last class of
+     * each thread being still loaded.
+     */
+    private void finishClasses() {
+        for (ClassFixtureLifecycle classFixtureLifecycle : allClassFixtureLifecycles) {
+            classFixtureLifecycle.finishClass();
+        }
+    }
 }
@@ -6,6 +6,7 @@ package org.dbunit.junit.internal;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -28,6 +29,7 @@ public class TestContext {
     private Map<String, ConnectionSource> connectionSources = new HashMap<>();
     private Map<String, AbstractDatabaseConnection> connections = new HashMap<>();
     private String schema;
+    private Map<String, List<String>> classDataSets = new LinkedHashMap<>();
 
     public void setDefaultConnectionName(String defaultConnectionName) {
         this.defaultConnectionName = defaultConnectionName;
@@ -114,6 +116,15 @@ public class TestContext {
         this.schema = schema;
     }
 
+    /**
+     * Registers class level dataset, loaded once for all tests of the class.
+     *
+     * @see ClassFixtureLifecycle
+     */
+    public void addClassDataSet(String dataSourceName, String resource) {
+        classDataSets.computeIfAbsent(dataSourceName, k -> new ArrayList<>()).add(resource);
+    }
+
     public void addTaskBefore(DbunitTask task) {
         tasksBefore.add(task);
     }
@@ -135,10 +146,16 @@ public class TestContext {
     }
 
     void configureTestContext(Class<?> klass, Method method) throws DatabaseException {
+        GlobalContext.getIt().getClassFixtureLifecycle().startTest(klass);
         GlobalContext.getIt().getAnnotationProcessor().configureTest(klass, method, this);
     }
 
     void beforeTest() throws Exception {
+        ClassFixtureLifecycle classFixtureLifecycle = GlobalContext.getIt().getClassFixtureLifecycle();
+        for (Entry<String, List<String>> entry : classDataSets.entrySet()) {
+            String connectionName = determineConnectionName(entry.getKey());
+            classFixtureLifecycle.beginTest(connectionName, getConnectionInternal(connectionName), entry.getValue());
+        }
         runTasksBefore();
     }
 
@@ -147,8 +164,11 @@ public class TestContext {
     }
 
     void rollbackConnections() {
-        for (AbstractDatabaseConnection connection : connections.values()) {
-            connection.rollback();
+        ClassFixtureLifecycle classFixtureLifecycle = GlobalContext.getIt().getClassFixtureLifecycle();
+        for (Entry<String, AbstractDatabaseConnection> entry : connections.entrySet()) {
+            if (!classFixtureLifecycle.endTest(entry.getKey(), entry.getValue())) {
+                entry.getValue().rollback();
+            }
         }
     }
 }
@@ -18,6 +18,7 @@ public class AnnotationProcessor {
     private SchemaAnnotationProcessor schemaAnnotationProcessor = new SchemaAnnotationProcessor();
     private DataSourceAnnotationProcessor dataSourceAnnotationProcessor = new DataSourceAnnotationProcessor();
     private SqlAnnotationProcessor sqlAnnotationProcessor = new SqlAnnotationProcessor();
+    private ClassDataSetAnnotationProcessor classDataSetAnnotationProcessor = new ClassDataSetAnnotationProcessor();
 
     /**
      * @param klass
@@ -30,5 +31,6 @@ public class AnnotationProcessor {
         schemaAnnotationProcessor.process(klass, testContext);
         dataSourceAnnotationProcessor.process(klass, testContext);
         sqlAnnotationProcessor.process(klass, method, testContext);
+        classDataSetAnnotationProcessor.process(klass, testContext);
     }
 }
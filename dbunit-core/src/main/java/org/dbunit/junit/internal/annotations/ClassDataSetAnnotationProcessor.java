@@ -0,0 +1,19 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.junit.internal.annotations;
+
+import org.dbunit.junit.ClassDataSet;
+import org.dbunit.junit.internal.TestContext;
+
+/**
+ *
+ */
+class ClassDataSetAnnotationProcessor {
+
+    public void process(Class<? extends Object> klass, TestContext testContext) {
+        for (ClassDataSet annotation : klass.getAnnotationsByType(ClassDataSet.class)) {
+            testContext.addClassDataSet(annotation.dataSourceName(), annotation.value());
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.dbunit.junit.DatabaseException;
 import org.dbunit.junit.internal.GlobalContext;
 import org.dbunit.junit.internal.TestContext;
 import org.dbunit.junit.internal.connections.DataSourceConnectionSource;
+import org.dbunit.junit.internal.connections.TrackingDataSource;
 
 /**
  *
@@ -29,6 +30,9 @@ public class DataSourceAnnotationProcessor {
             String dataSourceName = annotation.name();
             Class<? extends javax.sql.DataSource> dataSourceClass = annotation.dataSource();
             javax.sql.DataSource dataSource = buildDataSource(dataSourceClass);
+            if (annotation.trackDirtyTables()) {
+                dataSource = new TrackingDataSource(dataSource, context.getDirtyTableTracker(dataSourceClass));
+            }
             ConnectionSource connectionSource = new DataSourceConnectionSource(dataSource);
             testContext.addConnecionSource(dataSourceName, connectionSource);
         }
@@ -16,6 +16,7 @@ import org.dbunit.junit.DriverManagerConnection;
 import org.dbunit.junit.internal.GlobalContext;
 import org.dbunit.junit.internal.TestContext;
 import org.dbunit.junit.internal.connections.DataSourceConnectionSource;
+import org.dbunit.junit.internal.connections.TrackingDataSource;
 
 /**
  *
@@ -38,6 +39,10 @@ class DriverManagerConnectionAnnotationProcessor {
                     annotation.url(), annotation.user(), annotation.password());
             UncloseableConnection uncloseableConnection = new UncloseableConnection(jdbcConnection);
             DataSource dataSource = new SingleConnectionDataSource(uncloseableConnection);
+            if (annotation.trackDirtyTables()) {
+                Object key = annotation.url() + '|' + annotation.user();
+                dataSource = new TrackingDataSource(dataSource, context.getDirtyTableTracker(key));
+            }
             ConnectionSource connectionSource = new DataSourceConnectionSource(dataSource);
             testContext.addConnecionSource(annotation.name(), connectionSource);
         }
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.junit.internal.connections;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dbunit.database.DirtyTableTracker;
+
+/**
+ * Dynamic proxy of a {@link Connection} and its statements, which reports
+ * executed SQL to a {@link DirtyTableTracker}. Statements are reported when
+ * they are executed, batches when the batch is executed. Rollbacks make all
+ * tables dirty, since they may undo emptying of tables. So does closing a
+ * connection which is not in auto commit mode after statements were executed
+ * since the last commit, as pools and drivers may roll the transaction back.
+ */
+class TrackingConnectionHandler implements InvocationHandler {
+
+    private final Connection connection;
+    private final DirtyTableTracker tracker;
+
+    /**
+     * Whether statements were executed since the last commit or rollback.
+     */
+    private boolean uncommitted;
+
+    private TrackingConnectionHandler(Connection connection, DirtyTableTracker tracker) {
+        this.connection = connection;
+        this.tracker = tracker;
+    }
+
+    static Connection wrap(Connection connection, DirtyTableTracker tracker) {
+        return (Connection) Proxy.newProxyInstance(TrackingConnectionHandler.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new TrackingConnectionHandler(connection, tracker));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+        case "equals":
+            return proxy == args[0];
+        case "hashCode":
+            return System.identityHashCode(proxy);
+        case "unwrap":
+            if (args[0] == DirtyTableTracker.class) {
+                return tracker;
+            }
+            break;
+        case "isWrapperFor":
+            if (args[0] == DirtyTableTracker.class) {
+                return true;
+            }
+            break;
+        case "commit":
+            uncommitted = false;
+            break;
+        case "rollback":
+            tracker.allTablesWritten();
+            if (args == null) {
+                uncommitted = false;
+            }
+            break;
+        case "setAutoCommit":
+            // switching auto commit on commits
+            if (Boolean.TRUE.equals(args[0])) {
+                uncommitted = false;
+            }
+            break;
+        case "close":
+            if (uncommitted && isInTransaction()) {
+                tracker.allTablesWritten();
+            }
+            uncommitted = false;
+            break;
+        case "createStatement":
+            return wrapStatement(Statement.class, delegate(connection, method, args), null, (Connection) proxy);
+        case "prepareStatement":
+            return wrapStatement(PreparedStatement.class, delegate(connection, method, args), (String) args[0],
+                    (Connection) proxy);
+        case "prepareCall":
+            return wrapStatement(CallableStatement.class, delegate(connection, method, args), (String) args[0],
+                    (Connection) proxy);
+        default:
+        }
+        return delegate(connection, method, args);
+    }
+
+    private boolean isInTransaction() {
+        try {
+            return !connection.isClosed() && !connection.getAutoCommit();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private Object wrapStatement(Class<? extends Statement> type, Object statement, String sql,
+            Connection connectionProxy) {
+        return Proxy.newProxyInstance(TrackingConnectionHandler.class.getClassLoader(), new Class<?>[] { type },
+                new StatementHandler((Statement) statement, sql, connectionProxy));
+    }
+
+    static Object delegate(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException exc) {
+            throw exc.getCause();
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        /**
+         * SQL of prepared and callable statements, <code>null</code> for plain
+         * ones.
+         */
+        private final String preparedSql;
+        private final Connection connectionProxy;
+        private final List<String> batch = new ArrayList<>();
+
+        StatementHandler(Statement statement, String preparedSql, Connection connectionProxy) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+            this.connectionProxy = connectionProxy;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "getConnection":
+                return connectionProxy;
+            case "addBatch":
+                batch.add(args == null ? preparedSql : (String) args[0]);
+                break;
+            case "clearBatch":
+                batch.clear();
+                break;
+            case "executeBatch":
+            case "executeLargeBatch":
+                for (String sql : batch) {
+                    tracker.statementExecuted(sql);
+                }
+                batch.clear();
+                uncommitted = true;
+                break;
+            case "execute":
+            case "executeUpdate":
+            case "executeLargeUpdate":
+            case "executeQuery":
+                tracker.statementExecuted(args == null ? preparedSql : (String) args[0]);
+                uncommitted = true;
+                break;
+            default:
+            }
+            return delegate(statement, method, args);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.junit.internal.connections;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.dbunit.database.DirtyTableTracker;
+
+/**
+ * {@link DataSource}, which records tables written through its connections in
+ * a {@link DirtyTableTracker}. Connections unwrap to the tracker, so that
+ * operations emptying tables skip the clean ones.
+ */
+public class TrackingDataSource extends DataSourceProxy {
+
+    private final DirtyTableTracker tracker;
+
+    public TrackingDataSource(DataSource delegate) {
+        this(delegate, new DirtyTableTracker());
+    }
+
+    public TrackingDataSource(DataSource delegate, DirtyTableTracker tracker) {
+        super(delegate);
+        this.tracker = tracker;
+    }
+
+    public DirtyTableTracker getTracker() {
+        return tracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return TrackingConnectionHandler.wrap(super.getConnection(), tracker);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return TrackingConnectionHandler.wrap(super.getConnection(username, password), tracker);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface == DirtyTableTracker.class) {
+            return iface.cast(tracker);
+        }
+        return super.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface == DirtyTableTracker.class || super.isWrapperFor(iface);
+    }
+}
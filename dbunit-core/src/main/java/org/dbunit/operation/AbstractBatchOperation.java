@@ -23,19 +23,24 @@ package org.dbunit.operation;
 
 import java.sql.SQLException;
 import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.dbunit.DatabaseUnitException;
 import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.database.DatabaseTableMetaData;
 import org.dbunit.database.IDatabaseConnection;
 import org.dbunit.database.statement.IPreparedBatchStatement;
 import org.dbunit.database.statement.IStatementFactory;
 import org.dbunit.dataset.Column;
+import org.dbunit.dataset.Columns;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableCursor;
 import org.dbunit.dataset.ITableIterator;
 import org.dbunit.dataset.ITableMetaData;
-import org.dbunit.dataset.RowOutOfBoundsException;
 import org.dbunit.dataset.datatype.DataType;
 import org.dbunit.dataset.datatype.TypeCastException;
 import org.slf4j.Logger;
@@ -58,24 +63,12 @@ public abstract class AbstractBatchOperation extends AbstractOperation {
     private static final BitSet EMPTY_BITSET = new BitSet();
     protected boolean _reverseRowOrder = false;
 
-    static boolean isEmpty(ITable table) throws DataSetException {
-        logger.debug("isEmpty(table={}) - start", table);
-
-        Column[] columns = table.getTableMetaData().getColumns();
-
-        // No columns = empty
-        if (columns.length == 0) {
-            return true;
-        }
-
-        // Try to fetch first table value
-        try {
-            table.getValue(0, columns[0].getColumnName());
-            return false;
-        } catch (RowOutOfBoundsException e) {
-            // Not able to access first row thus empty
-            return true;
-        }
+    /**
+     * Returns cursor iterating table rows in the order this operation processes
+     * them.
+     */
+    ITableCursor cursor(ITable table) throws DataSetException {
+        return _reverseRowOrder ? new ReverseTableCursor(table) : table.cursor();
     }
 
     /**
@@ -90,21 +83,29 @@ public abstract class AbstractBatchOperation extends AbstractOperation {
      * Returns mapping of columns to ignore by this operation. Each bit set
      * represent a column to ignore.
      */
-    BitSet getIgnoreMapping(ITable table, int row) throws DataSetException {
+    BitSet getIgnoreMapping(ITableCursor cursor) throws DataSetException {
         return EMPTY_BITSET;
     }
 
     /**
-     * Returns false if the specified table row have a different ignore mapping than
+     * Returns false if the current cursor row have a different ignore mapping than
      * the specified mapping.
      */
-    boolean equalsIgnoreMapping(BitSet ignoreMapping, ITable table, int row) throws DataSetException {
+    boolean equalsIgnoreMapping(BitSet ignoreMapping, ITableCursor cursor) throws DataSetException {
         return true;
     }
 
     abstract OperationData getOperationData(ITableMetaData metaData, BitSet ignoreMapping,
             IDatabaseConnection connection) throws DataSetException;
 
+    /**
+     * Creates statement executing rows of the given operation data.
+     */
+    IPreparedBatchStatement createPreparedBatchStatement(OperationData operationData, BitSet ignoreMapping,
+            IStatementFactory factory, AbstractDatabaseConnection connection) throws SQLException {
+        return factory.createPreparedBatchStatement(operationData.getSql(), connection);
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // DatabaseOperation class
 
@@ -115,6 +116,7 @@ public abstract class AbstractBatchOperation extends AbstractOperation {
 
         IStatementFactory factory = connection.getDatabaseConfig().getStatementFactory();
         boolean allowEmptyFields = connection.getDatabaseConfig().isAllowEmptyFields();
+        boolean groupByIgnoreMapping = connection.getDatabaseConfig().isGroupRowsByIgnoreMapping();
 
         // for each table
         ITableIterator iterator = iterator(dataSet);
@@ -125,83 +127,109 @@ public abstract class AbstractBatchOperation extends AbstractOperation {
             logger.trace("execute: processing table='{}'", tableName);
 
             // Do not process empty table
-            if (isEmpty(table)) {
+            ITableCursor cursor = cursor(table);
+            if (table.getTableMetaData().getColumns().length == 0 || !cursor.next()) {
                 continue;
             }
 
             ITableMetaData metaData = getOperationMetaData(connection, table.getTableMetaData());
-            BitSet ignoreMapping = null;
-            OperationData operationData = null;
-            IPreparedBatchStatement statement = null;
+            // grouped rows no longer execute in dataset order, which a row
+            // referencing a previous row of the same table relies on
+            boolean groupRows = groupByIgnoreMapping && !isSelfReferencing(connection, metaData.getTableName());
+            // statements of the table, keyed by ignore mapping; holds only the
+            // current statement unless rows are grouped by ignore mapping
+            Map<BitSet, TableStatement> statements = new LinkedHashMap<>();
+            TableStatement statement = null;
 
             try {
                 // For each row
-                int start = _reverseRowOrder ? table.getRowCount() - 1 : 0;
-                int increment = _reverseRowOrder ? -1 : 1;
-
-                try {
-                    for (int i = start;; i = i + increment) {
-                        int row = i;
-
-                        // If current row have a different ignore value mapping
-                        // than
-                        // previous one, we generate a new statement
-                        if (ignoreMapping == null || !equalsIgnoreMapping(ignoreMapping, table, row)) {
-                            // Execute and close previous statement
-                            if (statement != null) {
-                                statement.executeBatch();
-                                statement.clearBatch();
-                                statement.close();
+                do {
+                    // If current row have a different ignore value mapping
+                    // than
+                    // previous one, we generate a new statement or reuse the one
+                    // prepared for this mapping
+                    if (statement == null || !equalsIgnoreMapping(statement.ignoreMapping, cursor)) {
+                        BitSet ignoreMapping = getIgnoreMapping(cursor);
+                        statement = statements.get(ignoreMapping);
+                        if (statement == null) {
+                            if (!groupRows) {
+                                // Execute and close previous statement
+                                closeStatements(statements.values(), true);
+                                statements.clear();
                             }
 
-                            ignoreMapping = getIgnoreMapping(table, row);
-                            operationData = getOperationData(metaData, ignoreMapping, connection);
-                            statement = factory.createPreparedBatchStatement(operationData.getSql(), connection);
+                            OperationData operationData = getOperationData(metaData, ignoreMapping, connection);
+                            statement = new TableStatement(ignoreMapping, operationData,
+                                    createPreparedBatchStatement(operationData, ignoreMapping, factory, connection),
+                                    Columns.getColumnIndexes(cursor.getTableMetaData(), operationData.getColumns()));
+                            statements.put(ignoreMapping, statement);
                         }
+                    }
 
-                        // for each column
-                        Column[] columns = operationData.getColumns();
-                        for (int j = 0; j < columns.length; j++) {
-                            // Bind value only if not in ignore mapping
-                            if (!ignoreMapping.get(j)) {
-                                Column column = columns[j];
-                                String columnName = column.getColumnName();
-                                try {
-                                    DataType dataType = column.getDataType();
-                                    Object value = table.getValue(row, columnName);
-
-                                    if ("".equals(value) && !allowEmptyFields) {
-                                        handleColumnHasNoValue(tableName, columnName);
-                                    }
-
-                                    statement.addValue(value, dataType);
-                                } catch (TypeCastException e) {
-                                    final String msg = "Error casting value for table '" + tableName + "' and column '"
-                                            + columnName + "'";
-                                    logger.error("execute: {}", msg);
-                                    throw new TypeCastException(msg, e);
+                    // for each column
+                    BitSet ignoreMapping = statement.ignoreMapping;
+                    Column[] columns = statement.operationData.getColumns();
+                    for (int j = 0; j < columns.length; j++) {
+                        // Bind value only if not in ignore mapping
+                        if (!ignoreMapping.get(j)) {
+                            Column column = columns[j];
+                            String columnName = column.getColumnName();
+                            try {
+                                DataType dataType = column.getDataType();
+                                int columnIndex = statement.columnIndexes[j];
+                                Object value = columnIndex < 0 ? cursor.getValue(columnName)
+                                        : cursor.getValue(columnIndex);
+
+                                if ("".equals(value) && !allowEmptyFields) {
+                                    handleColumnHasNoValue(tableName, columnName);
                                 }
+
+                                statement.statement.addValue(value, dataType);
+                            } catch (TypeCastException e) {
+                                final String msg = "Error casting value for table '" + tableName + "' and column '"
+                                        + columnName + "'";
+                                logger.error("execute: {}", msg);
+                                throw new TypeCastException(msg, e);
                             }
                         }
-                        statement.addBatch();
                     }
-                } catch (RowOutOfBoundsException e) {
-                    // This exception occurs when records are exhausted
-                    // and we reach the end of the table. Ignore this error
+                    statement.statement.addBatch();
+                } while (cursor.next());
 
-                    // end of table
+                for (TableStatement tableStatement : statements.values()) {
+                    tableStatement.statement.executeBatch();
+                    tableStatement.statement.clearBatch();
                 }
-
-                statement.executeBatch();
-                statement.clearBatch();
             } catch (SQLException e) {
                 final String msg = "Exception processing table name='" + tableName + "'";
                 throw new DatabaseUnitException(msg, e);
             } finally {
-                if (statement != null) {
-                    statement.close();
-                }
+                closeStatements(statements.values(), false);
+            }
+        }
+    }
+
+    /**
+     * Self referencing rows may depend on rows of the same table inserted
+     * before, grouping would reorder them.
+     */
+    private boolean isSelfReferencing(AbstractDatabaseConnection connection, String tableName)
+            throws SQLException, DataSetException {
+        ITableMetaData metaData = connection.createDataSet().getTableMetaData(tableName);
+        if (metaData instanceof DatabaseTableMetaData && ((DatabaseTableMetaData) metaData).isSelfReferencing()) {
+            logger.debug("Table {} references itself, rows are not grouped by ignore mapping", tableName);
+            return true;
+        }
+        return false;
+    }
+
+    private void closeStatements(Collection<TableStatement> statements, boolean execute) throws SQLException {
+        for (TableStatement statement : statements) {
+            if (execute) {
+                statement.statement.executeBatch();
+                statement.statement.clearBatch();
             }
+            statement.statement.close();
         }
     }
 
@@ -223,4 +251,68 @@ public abstract class AbstractBatchOperation extends AbstractOperation {
         sb.append("]");
         return sb.toString();
     }
+
+    /**
+     * Prepared statement of a table for one ignore mapping.
+     */
+    private static class TableStatement {
+
+        final BitSet ignoreMapping;
+        final OperationData operationData;
+        final IPreparedBatchStatement statement;
+        final int[] columnIndexes;
+
+        TableStatement(BitSet ignoreMapping, OperationData operationData, IPreparedBatchStatement statement,
+                int[] columnIndexes) {
+            this.ignoreMapping = ignoreMapping;
+            this.operationData = operationData;
+            this.statement = statement;
+            this.columnIndexes = columnIndexes;
+        }
+    }
+
+    /**
+     * Iterates a random access table from the last row to the first one.
+     */
+    private static class ReverseTableCursor implements ITableCursor {
+
+        private final ITable table;
+
+        private int row;
+
+        ReverseTableCursor(ITable table) {
+            this.table = table;
+            this.row = table.getRowCount();
+        }
+
+        @Override
+        public ITableMetaData getTableMetaData() {
+            return table.getTableMetaData();
+        }
+
+        @Override
+        public boolean next() {
+            if (row <= 0) {
+                row = -1;
+                return false;
+            }
+            row--;
+            return true;
+        }
+
+        @Override
+        public int getRow() {
+            return row;
+        }
+
+        @Override
+        public Object getValue(int column) throws DataSetException {
+            return table.getValue(row, column);
+        }
+
+        @Override
+        public Object getValue(String column) throws DataSetException {
+            return table.getValue(row, column);
+        }
+    }
 }
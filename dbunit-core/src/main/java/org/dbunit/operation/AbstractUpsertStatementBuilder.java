@@ -0,0 +1,120 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.Columns;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.NoPrimaryKeyException;
+import org.dbunit.util.QualifiedTableName;
+
+/**
+ * Base for {@link IUpsertStatementBuilder} implementations. Takes care of
+ * primary key validation and name escaping, so subclasses only assemble
+ * dialect specific SQL.
+ */
+public abstract class AbstractUpsertStatementBuilder implements IUpsertStatementBuilder {
+
+    @Override
+    public OperationData getUpsertData(ITableMetaData metaData, BitSet ignoreMapping, IDatabaseConnection connection)
+            throws DataSetException {
+        Column[] columns = metaData.getColumns();
+        Column[] primaryKeys = metaData.getPrimaryKeys();
+
+        // cannot match existing rows if no primary key
+        if (primaryKeys.length == 0) {
+            throw new NoPrimaryKeyException(metaData.getTableName());
+        }
+
+        List<String> columnNames = new ArrayList<>(columns.length);
+        List<String> updateNames = new ArrayList<>(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            if (ignoreMapping == null || !ignoreMapping.get(i)) {
+                String columnName = columns[i].getColumnName();
+                String escapedName = getQualifiedName(null, columnName, connection);
+                columnNames.add(escapedName);
+                if (Columns.getColumn(columnName, primaryKeys) == null) {
+                    updateNames.add(escapedName);
+                }
+            }
+        }
+
+        List<String> keyNames = new ArrayList<>(primaryKeys.length);
+        for (Column primaryKey : primaryKeys) {
+            keyNames.add(getQualifiedName(null, primaryKey.getColumnName(), connection));
+        }
+
+        String tableName = getQualifiedName(connection.getSchema(), metaData.getTableName(), connection);
+        String sql = buildSql(tableName, columnNames, keyNames, updateNames);
+        return new OperationData(sql, columns);
+    }
+
+    /**
+     * Assembles upsert statement. All names are already escaped.
+     *
+     * @param tableName   qualified table name
+     * @param columnNames columns bound by the statement, in parameter order
+     * @param keyNames    primary key columns
+     * @param updateNames non primary key columns bound by the statement, could be
+     *                    empty
+     */
+    protected abstract String buildSql(String tableName, List<String> columnNames, List<String> keyNames,
+            List<String> updateNames);
+
+    protected String getQualifiedName(String prefix, String name, IDatabaseConnection connection) {
+        String escapePattern = connection.getDatabaseConfig().getEscapePattern();
+        return new QualifiedTableName(name, prefix, escapePattern).getQualifiedName();
+    }
+
+    protected static void appendList(StringBuilder sql, List<String> names, String prefix) {
+        String separator = "";
+        for (String name : names) {
+            sql.append(separator).append(prefix).append(name);
+            separator = ", ";
+        }
+    }
+
+    protected static void appendParameters(StringBuilder sql, int count) {
+        for (int i = 0; i < count; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+    }
+
+    /**
+     * Builds standard SQL:2003 <code>MERGE</code> statement which uses supplied
+     * <code>source</code> as single row source named <code>source</code>.
+     */
+    protected static String buildMergeSql(String tableName, String source, List<String> columnNames,
+            List<String> keyNames, List<String> updateNames) {
+        StringBuilder sql = new StringBuilder(256);
+        sql.append("merge into ").append(tableName).append(" target using ").append(source);
+        sql.append(" on (");
+        String separator = "";
+        for (String keyName : keyNames) {
+            sql.append(separator).append("target.").append(keyName).append(" = source.").append(keyName);
+            separator = " and ";
+        }
+        sql.append(")");
+        if (!updateNames.isEmpty()) {
+            sql.append(" when matched then update set ");
+            separator = "";
+            for (String updateName : updateNames) {
+                sql.append(separator).append("target.").append(updateName).append(" = source.").append(updateName);
+                separator = ", ";
+            }
+        }
+        sql.append(" when not matched then insert (");
+        appendList(sql, columnNames, "");
+        sql.append(") values (");
+        appendList(sql, columnNames, "source.");
+        sql.append(")");
+        return sql.toString();
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+import java.sql.SQLException;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.dataset.CachedDataSet;
+import org.dbunit.dataset.FilteredDataSet;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.filter.SequenceTableFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Portable snapshot, reading tables into memory and restoring them with
+ * {@link DatabaseOperation#CLEAN_INSERT}.
+ */
+public class CleanInsertSnapshotStrategy implements ISnapshotStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(CleanInsertSnapshotStrategy.class);
+
+    @Override
+    public Snapshot takeSnapshot(AbstractDatabaseConnection connection, String[] tableNames)
+            throws DatabaseUnitException, SQLException {
+        logger.debug("takeSnapshot(connection={}, tableNames={}) - start", connection, tableNames);
+
+        IDataSet contents = new CachedDataSet(new FilteredDataSet(new SequenceTableFilter(tableNames),
+                connection.createDataSet()));
+        return new Snapshot() {
+
+            @Override
+            public void restore(AbstractDatabaseConnection connection) throws DatabaseUnitException, SQLException {
+                DatabaseOperation.CLEAN_INSERT.execute(connection, contents);
+            }
+
+            @Override
+            public void release(AbstractDatabaseConnection connection) {
+            }
+        };
+    }
+}
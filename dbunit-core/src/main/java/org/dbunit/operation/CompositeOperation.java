@@ -61,6 +61,10 @@ public class CompositeOperation extends DatabaseOperation {
         _actions = actions;
     }
 
+    DatabaseOperation[] getActions() {
+        return _actions;
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // DatabaseOperation class
 
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.AbstractDatabaseConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Snapshot kept by the database, in copies of the tables. Restoring empties
+ * tables in reverse order and fills them from their copies in order, with one
+ * <code>INSERT ... SELECT</code> per table, so rows never leave the database.
+ * <p>
+ * Statements are standard SQL and work as is with Derby. Database
+ * specific variants live in the <code>ext</code> packages. When copies cannot
+ * be created, the snapshot falls back to {@link CleanInsertSnapshotStrategy}.
+ * <p>
+ * Copies are created in the schema of the connection, named with
+ * {@link #COPY_PREFIX}, and are left out of the tables seen by dbUnit. Copies
+ * left behind by runs which did not release their snapshots are dropped before
+ * the first snapshot of a schema. Only one test run should use a schema at a
+ * time. Sequences and identity counters are not restored.
+ * <p>
+ * Creating and dropping tables commits the transaction in progress on many
+ * databases, and is rolled back with it on others. Inside a transaction, the
+ * snapshot falls back to {@link CleanInsertSnapshotStrategy} and copies are not
+ * dropped until the next snapshot outside of a transaction.
+ */
+public class CopyTableSnapshotStrategy implements ISnapshotStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(CopyTableSnapshotStrategy.class);
+
+    /**
+     * Prefix of the names of table copies.
+     */
+    public static final String COPY_PREFIX = "DBUNIT_SNAPSHOT_";
+
+    private static final AtomicInteger copyCount = new AtomicInteger();
+
+    /**
+     * Upper case names of the copies of snapshots not released yet, never
+     * dropped as left behind.
+     */
+    private static final Set<String> liveCopies = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * Schemas without copies left behind.
+     */
+    private final Set<String> cleanedSchemas = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    @Override
+    public Snapshot takeSnapshot(AbstractDatabaseConnection connection, String[] tableNames)
+            throws DatabaseUnitException, SQLException {
+        logger.debug("takeSnapshot(connection={}, tableNames={}) - start", connection, tableNames);
+
+        if (isInTransaction(connection.getConnection())) {
+            logger.info("Connection is in a transaction, which creating tables would end,"
+                    + " falling back to CLEAN_INSERT snapshot");
+            return new CleanInsertSnapshotStrategy().takeSnapshot(connection, tableNames);
+        }
+
+        String schema = connection.getSchema();
+        dropLeftCopies(connection.getConnection(), schema);
+        String[] tables = new String[tableNames.length];
+        String[] copies = new String[tableNames.length];
+        int created = 0;
+        try (Statement statement = connection.getConnection().createStatement()) {
+            for (int i = 0; i < tableNames.length; i++) {
+                tables[i] = connection.correctTableName(tableNames[i]);
+                String copyName = COPY_PREFIX + copyCount.incrementAndGet();
+                copies[i] = schema == null ? copyName : schema + "." + copyName;
+                try {
+                    statement.execute(buildCreateCopySql(copies[i], tables[i]));
+                    liveCopies.add(copyName);
+                    created++;
+                    statement.execute(buildCopyRowsSql(copies[i], tables[i]));
+                } catch (SQLException e) {
+                    logger.info("Cannot copy table " + tables[i] + ", falling back to CLEAN_INSERT snapshot", e);
+                    dropCopies(statement, copies, created);
+                    return new CleanInsertSnapshotStrategy().takeSnapshot(connection, tableNames);
+                }
+            }
+        }
+        return new CopySnapshot(tables, copies);
+    }
+
+    private static boolean isInTransaction(Connection jdbcConnection) throws SQLException {
+        return !jdbcConnection.getAutoCommit();
+    }
+
+    /**
+     * Drops copies of the schema not made by snapshots still in use, once per
+     * schema.
+     */
+    private void dropLeftCopies(Connection jdbcConnection, String schema) throws SQLException {
+        if (!cleanedSchemas.add(String.valueOf(schema))) {
+            return;
+        }
+        List<String> leftCopies = new ArrayList<>();
+        DatabaseMetaData metaData = jdbcConnection.getMetaData();
+        try (ResultSet resultSet = metaData.getTables(null, schema, "%", null)) {
+            while (resultSet.next()) {
+                String tableName = resultSet.getString("TABLE_NAME");
+                String upperName = tableName.toUpperCase(Locale.ENGLISH);
+                if (upperName.startsWith(COPY_PREFIX) && !liveCopies.contains(upperName)) {
+                    String tableSchema = resultSet.getString("TABLE_SCHEM");
+                    leftCopies.add(tableSchema == null ? tableName : tableSchema + "." + tableName);
+                }
+            }
+        }
+        try (Statement statement = jdbcConnection.createStatement()) {
+            for (String leftCopy : leftCopies) {
+                logger.info("Dropping snapshot table {} left behind", leftCopy);
+                dropCopy(statement, leftCopy);
+            }
+        }
+    }
+
+    private void dropCopies(Statement statement, String[] copies, int count) {
+        for (int i = 0; i < count; i++) {
+            dropCopy(statement, copies[i]);
+            liveCopies.remove(copies[i].substring(copies[i].lastIndexOf('.') + 1));
+        }
+    }
+
+    private void dropCopy(Statement statement, String copyName) {
+        try {
+            statement.execute(buildDropCopySql(copyName));
+        } catch (SQLException e) {
+            logger.warn("Cannot drop snapshot table " + copyName, e);
+        }
+    }
+
+    /**
+     * Returns statement creating an empty copy of the table.
+     */
+    protected String buildCreateCopySql(String copyName, String tableName) {
+        return "create table " + copyName + " as select * from " + tableName + " with no data";
+    }
+
+    /**
+     * Returns statement copying all rows of a table into another one with the
+     * same columns.
+     */
+    protected String buildCopyRowsSql(String targetName, String sourceName) {
+        return "insert into " + targetName + " select * from " + sourceName;
+    }
+
+    protected String buildDeleteSql(String tableName) {
+        return "delete from " + tableName;
+    }
+
+    protected String buildDropCopySql(String copyName) {
+        return "drop table " + copyName;
+    }
+
+    private class CopySnapshot implements Snapshot {
+
+        private final String[] tables;
+        private final String[] copies;
+
+        CopySnapshot(String[] tables, String[] copies) {
+            this.tables = tables;
+            this.copies = copies;
+        }
+
+        @Override
+        public void restore(AbstractDatabaseConnection connection) throws SQLException {
+            logger.debug("restore(connection={}) - start", connection);
+
+            try (Statement statement = connection.getConnection().createStatement()) {
+                for (int i = tables.length - 1; i >= 0; i--) {
+                    statement.execute(buildDeleteSql(tables[i]));
+                }
+                for (int i = 0; i < tables.length; i++) {
+                    statement.execute(buildCopyRowsSql(tables[i], copies[i]));
+                }
+            }
+        }
+
+        @Override
+        public void release(AbstractDatabaseConnection connection) throws SQLException {
+            if (isInTransaction(connection.getConnection())) {
+                logger.warn("Connection is in a transaction, snapshot tables are dropped by the next snapshot");
+                for (String copy : copies) {
+                    liveCopies.remove(copy.substring(copy.lastIndexOf('.') + 1));
+                }
+                cleanedSchemas.clear();
+                return;
+            }
+            try (Statement statement = connection.getConnection().createStatement()) {
+                dropCopies(statement, copies, copies.length);
+            }
+        }
+    }
+}
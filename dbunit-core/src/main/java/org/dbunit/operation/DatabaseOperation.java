@@ -56,6 +56,8 @@ public abstract class DatabaseOperation {
      * @see CompositeOperation
      */
     public static final DatabaseOperation CLEAN_INSERT = new CompositeOperation(DELETE_ALL, INSERT);
+    /** @see DeltaOperation */
+    public static final DatabaseOperation DELTA = new DeltaOperation();
 
     /** @see TransactionOperation */
     public static final DatabaseOperation TRANSACTION(DatabaseOperation operation) {
@@ -67,6 +69,11 @@ public abstract class DatabaseOperation {
         return new CloseConnectionOperation(operation);
     }
 
+    /** @see SkipUnchangedOperation */
+    public static final DatabaseOperation SKIP_UNCHANGED(DatabaseOperation operation) {
+        return new SkipUnchangedOperation(operation);
+    }
+
     /**
      * Executes this operation on the specified database using the specified dataset
      * contents.
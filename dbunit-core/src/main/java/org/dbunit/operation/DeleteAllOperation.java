@@ -21,16 +21,20 @@
 package org.dbunit.operation;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.dbunit.DatabaseUnitException;
 import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.database.DirtyTableTracker;
 import org.dbunit.database.statement.IBatchStatement;
 import org.dbunit.database.statement.IStatementFactory;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITableIterator;
+import org.dbunit.util.QualifiedTableName;
 
 /**
  * Deletes all rows of tables present in the specified dataset. If the dataset
@@ -41,6 +45,9 @@ import org.dbunit.dataset.ITableIterator;
  * TruncateTableOperation is faster, and it is non-logged, meaning it cannot be
  * rollback. DeleteAllOperation is more portable because not all database vendor
  * support TRUNCATE_TABLE TABLE statement.
+ * <p/>
+ * When the connection has a {@link DirtyTableTracker}, tables known to be
+ * empty are skipped, and deleted tables are recorded as empty.
  *
  * @author Manuel Laflamme
  * @version $Revision$
@@ -56,18 +63,25 @@ public class DeleteAllOperation extends AbstractOperation {
     public void execute(AbstractDatabaseConnection connection, IDataSet dataSet)
             throws DatabaseUnitException, SQLException {
         IStatementFactory statementFactory = connection.getDatabaseConfig().getStatementFactory();
+        DirtyTableTracker tracker = DirtyTableTracker.find(connection);
         IBatchStatement statement = statementFactory.createBatchStatement(connection);
         try {
             int count = 0;
+            List<String> deletedTableNames = new ArrayList<>();
 
             Set<String> allTableNames = getAllTableNames(dataSet);
             for (String tableName : allTableNames) {
+                String trackedTableName = new QualifiedTableName(tableName, connection.getSchema()).getQualifiedName();
+                if (tracker != null && !tracker.isDirty(trackedTableName)) {
+                    continue;
+                }
 
                 // Use database table name. Required to support case sensitive database.
                 String databaseTableName = connection.correctTableName(tableName);
 
                 String sql = buildDeleteSql(databaseTableName);
                 statement.addBatch(sql);
+                deletedTableNames.add(trackedTableName);
 
                 count++;
             }
@@ -76,6 +90,11 @@ public class DeleteAllOperation extends AbstractOperation {
                 statement.executeBatch();
                 statement.clearBatch();
             }
+            if (tracker != null) {
+                for (String tableName : deletedTableNames) {
+                    tracker.tableCleaned(tableName);
+                }
+            }
         } finally {
             statement.close();
         }
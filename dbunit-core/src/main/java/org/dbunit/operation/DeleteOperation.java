@@ -21,16 +21,22 @@
 
 package org.dbunit.operation;
 
+import java.sql.SQLException;
 import java.util.BitSet;
 
 import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.database.DirtyTableTracker;
 import org.dbunit.database.IDatabaseConnection;
 import org.dbunit.dataset.Column;
 import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.FilteredDataSet;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITableIterator;
 import org.dbunit.dataset.ITableMetaData;
 import org.dbunit.dataset.NoPrimaryKeyException;
+import org.dbunit.dataset.filter.AbstractTableFilter;
+import org.dbunit.util.QualifiedTableName;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,6 +60,30 @@ public class DeleteOperation extends AbstractBatchOperation {
         _reverseRowOrder = true;
     }
 
+    ////////////////////////////////////////////////////////////////////////////
+    // DatabaseOperation class
+
+    /**
+     * Skips tables a {@link DirtyTableTracker} of the connection knows to be
+     * empty.
+     */
+    @Override
+    public void execute(AbstractDatabaseConnection connection, IDataSet dataSet)
+            throws DatabaseUnitException, SQLException {
+        DirtyTableTracker tracker = DirtyTableTracker.find(connection);
+        if (tracker != null) {
+            String schema = connection.getSchema();
+            dataSet = new FilteredDataSet(new AbstractTableFilter() {
+
+                @Override
+                public boolean accept(String tableName) {
+                    return tracker.isDirty(new QualifiedTableName(tableName, schema).getQualifiedName());
+                }
+            }, dataSet);
+        }
+        super.execute(connection, dataSet);
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // AbstractBatchOperation class
 
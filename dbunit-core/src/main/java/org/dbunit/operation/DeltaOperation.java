@@ -0,0 +1,328 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.Columns;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.OrderedTableNameMap;
+import org.dbunit.dataset.datatype.DataType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Brings contents of dataset tables to the dataset with as few writes as
+ * possible, instead of rewriting them like {@link DatabaseOperation#CLEAN_INSERT}.
+ * <p>
+ * Current rows of every table are streamed with a single query and matched by
+ * primary key against dataset rows held in a hash map. Rows missing from the
+ * dataset are deleted, changed rows are updated and missing rows are inserted,
+ * with batched {@link DeleteOperation}, {@link UpdateOperation} and
+ * {@link InsertOperation}. Updates and inserts are done first, in table order,
+ * then deletes in reverse table order, so that rows moved to another parent no
+ * longer reference the parent rows deleted. Rows replaced by others having the
+ * same value of a unique column, other than the primary key, cannot be
+ * written in this order.
+ * <p>
+ * Only columns of the dataset are compared. Columns {@link InsertOperation}
+ * would leave to their default value are neither compared nor updated, so
+ * changed rows are always updated in place and rows referencing them are not
+ * affected. Tables without primary key and tables without rows in the dataset
+ * are emptied, right before being inserted again.
+ * <p>
+ * Tables appearing several times in the dataset are merged first, columns
+ * missing from some of them being {@link ITable#NO_VALUE}.
+ */
+public class DeltaOperation extends AbstractOperation {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeltaOperation.class);
+
+    ////////////////////////////////////////////////////////////////////////////
+    // DatabaseOperation class
+
+    @Override
+    public void execute(AbstractDatabaseConnection connection, IDataSet dataSet)
+            throws DatabaseUnitException, SQLException {
+        logger.debug("execute(connection={}, dataSet) - start", connection);
+
+        List<TableDelta> deltas = new ArrayList<>();
+        for (ITable table : mergeTables(dataSet)) {
+            logger.trace("execute: processing table='{}'", table.getTableMetaData().getTableName());
+
+            ITableMetaData metaData = getOperationMetaData(connection, table.getTableMetaData());
+            deltas.add(diff(connection, table, metaData));
+        }
+
+        for (TableDelta delta : deltas) {
+            logger.debug("Table {}: {} deleted, {} updated, {} inserted", delta.deletes.getTableMetaData()
+                    .getTableName(), delta.deletes.getRowCount(), delta.updateCount, delta.inserts.getRowCount());
+            if (delta.deleteAll && delta.inserts.getRowCount() > 0) {
+                DatabaseOperation.DELETE_ALL.execute(connection, new DefaultDataSet(delta.deletes));
+            }
+            for (DefaultTable updates : delta.updates.values()) {
+                DatabaseOperation.UPDATE.execute(connection, new DefaultDataSet(updates));
+            }
+            if (delta.inserts.getRowCount() > 0) {
+                DatabaseOperation.INSERT.execute(connection, new DefaultDataSet(delta.inserts));
+            }
+        }
+        // rows referencing deleted ones are deleted or updated by now
+        for (int i = deltas.size() - 1; i >= 0; i--) {
+            TableDelta delta = deltas.get(i);
+            if (delta.deleteAll) {
+                if (delta.inserts.getRowCount() == 0) {
+                    DatabaseOperation.DELETE_ALL.execute(connection, new DefaultDataSet(delta.deletes));
+                }
+            } else if (delta.deletes.getRowCount() > 0) {
+                DatabaseOperation.DELETE.execute(connection, new DefaultDataSet(delta.deletes));
+            }
+        }
+    }
+
+    private TableDelta diff(AbstractDatabaseConnection connection, ITable table, ITableMetaData metaData)
+            throws DataSetException, SQLException {
+        ITableMetaData tableMetaData = table.getTableMetaData();
+        Column[] columns = metaData.getColumns();
+        Column[] primaryKeys = metaData.getPrimaryKeys();
+        int[] keyIndexes = new int[primaryKeys.length];
+        for (int k = 0; k < primaryKeys.length; k++) {
+            keyIndexes[k] = indexOf(columns, primaryKeys[k].getColumnName());
+            if (keyIndexes[k] < 0) {
+                // dataset without primary key values cannot be matched
+                primaryKeys = new Column[0];
+                break;
+            }
+        }
+
+        int rowCount = table.getRowCount();
+        if (primaryKeys.length == 0 || rowCount == 0) {
+            TableDelta delta = new TableDelta(tableMetaData, metaData, primaryKeys);
+            delta.deleteAll = true;
+            for (int row = 0; row < rowCount; row++) {
+                delta.inserts.addRow(getRow(table, row, columns.length));
+            }
+            return delta;
+        }
+
+        Map<List<Object>, Integer> targetRows = new HashMap<>(rowCount * 4 / 3 + 1);
+        for (int row = 0; row < rowCount; row++) {
+            List<Object> key = new ArrayList<>(primaryKeys.length);
+            for (int k = 0; k < primaryKeys.length; k++) {
+                key.add(primaryKeys[k].getDataType().typeCastKey(table.getValue(row, keyIndexes[k])));
+            }
+            targetRows.put(key, row);
+        }
+
+        TableDelta delta = new TableDelta(tableMetaData, metaData, primaryKeys);
+        BitSet matched = new BitSet(rowCount);
+        String sql = buildSelectSql(connection, metaData);
+        try (Statement statement = connection.getConnection().createStatement()) {
+            statement.setFetchSize(connection.getDatabaseConfig().getFetchSize());
+            try (ResultSet resultSet = statement.executeQuery(sql)) {
+                Object[] values = new Object[columns.length];
+                while (resultSet.next()) {
+                    for (int j = 0; j < columns.length; j++) {
+                        values[j] = columns[j].getDataType().getSqlValue(j + 1, resultSet);
+                    }
+                    List<Object> key = new ArrayList<>(primaryKeys.length);
+                    Object[] keyValues = new Object[primaryKeys.length];
+                    for (int k = 0; k < primaryKeys.length; k++) {
+                        keyValues[k] = values[keyIndexes[k]];
+                        key.add(primaryKeys[k].getDataType().typeCastKey(keyValues[k]));
+                    }
+
+                    Integer row = targetRows.get(key);
+                    if (row == null) {
+                        delta.deletes.addRow(keyValues);
+                    } else if (rowEquals(columns, table, row, values)) {
+                        matched.set(row);
+                    } else {
+                        matched.set(row);
+                        delta.addUpdate(table, row);
+                    }
+                }
+            }
+        }
+
+        for (int row = matched.nextClearBit(0); row < rowCount; row = matched.nextClearBit(row + 1)) {
+            delta.inserts.addRow(getRow(table, row, columns.length));
+        }
+        return delta;
+    }
+
+    private String buildSelectSql(AbstractDatabaseConnection connection, ITableMetaData metaData)
+            throws DataSetException {
+        Column[] columns = metaData.getColumns();
+        StringBuilder sql = new StringBuilder(32 + columns.length * 16);
+        sql.append("select ");
+        for (int j = 0; j < columns.length; j++) {
+            if (j > 0) {
+                sql.append(", ");
+            }
+            sql.append(getQualifiedName(null, columns[j].getColumnName(), connection));
+        }
+        sql.append(" from ");
+        sql.append(getQualifiedName(connection.getSchema(), metaData.getTableName(), connection));
+        return sql.toString();
+    }
+
+    private static boolean rowEquals(Column[] columns, ITable table, int row, Object[] values) throws DataSetException {
+        for (int j = 0; j < columns.length; j++) {
+            Object value = table.getValue(row, j);
+            if (InsertOperation.isIgnored(columns[j], value)) {
+                continue;
+            }
+            DataType dataType = columns[j].getDataType();
+            Object expected = dataType.typeCastKey(value);
+            Object actual = dataType.typeCastKey(values[j]);
+            if (expected == null ? actual != null : !expected.equals(actual)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Merges tables having the same name, so that every table has a single delta.
+     */
+    private static List<ITable> mergeTables(IDataSet dataSet) throws DataSetException {
+        OrderedTableNameMap<List<ITable>> tableMap = new OrderedTableNameMap<>(dataSet.isCaseSensitiveTableNames());
+        ITableIterator iterator = dataSet.iterator();
+        while (iterator.next()) {
+            ITable table = iterator.getTable();
+            String tableName = table.getTableMetaData().getTableName();
+            List<ITable> tables = tableMap.get(tableName);
+            if (tables == null) {
+                tables = new ArrayList<>();
+                tableMap.add(tableName, tables);
+            }
+            tables.add(table);
+        }
+
+        List<ITable> mergedTables = new ArrayList<>();
+        for (List<ITable> tables : tableMap.orderedValues()) {
+            mergedTables.add(tables.size() == 1 ? tables.get(0) : mergeTables(tables));
+        }
+        return mergedTables;
+    }
+
+    private static ITable mergeTables(List<ITable> tables) throws DataSetException {
+        ITableMetaData firstMetaData = tables.get(0).getTableMetaData();
+        Column[] columns = firstMetaData.getColumns();
+        for (ITable table : tables) {
+            columns = Columns.mergeColumnsByName(columns, table.getTableMetaData().getColumns());
+        }
+
+        DefaultTable mergedTable = new DefaultTable(
+                new DefaultTableMetaData(firstMetaData.getTableName(), columns, firstMetaData.getPrimaryKeys()));
+        for (ITable table : tables) {
+            Column[] tableColumns = table.getTableMetaData().getColumns();
+            int rowCount = table.getRowCount();
+            for (int row = 0; row < rowCount; row++) {
+                Object[] values = new Object[columns.length];
+                for (int j = 0; j < columns.length; j++) {
+                    String columnName = columns[j].getColumnName();
+                    values[j] = Columns.getColumn(columnName, tableColumns) == null ? ITable.NO_VALUE
+                            : table.getValue(row, columnName);
+                }
+                mergedTable.addRow(values);
+            }
+        }
+        return mergedTable;
+    }
+
+    private static Object[] getRow(ITable table, int row, int columnCount) throws DataSetException {
+        Object[] values = new Object[columnCount];
+        for (int j = 0; j < columnCount; j++) {
+            values[j] = table.getValue(row, j);
+        }
+        return values;
+    }
+
+    private static int indexOf(Column[] columns, String columnName) {
+        for (int j = 0; j < columns.length; j++) {
+            if (columns[j].getColumnName().equalsIgnoreCase(columnName)) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Rows to delete, update and insert into a single table.
+     */
+    private static class TableDelta {
+
+        private final ITableMetaData operationMetaData;
+        /**
+         * Primary keys of rows to delete.
+         */
+        private final DefaultTable deletes;
+        /**
+         * Rows to update by ignored columns, those columns are not updated.
+         */
+        private final Map<BitSet, DefaultTable> updates = new LinkedHashMap<>();
+        private int updateCount;
+        private final DefaultTable inserts;
+        /**
+         * Whether all rows are deleted, because they cannot be matched.
+         */
+        private boolean deleteAll;
+
+        TableDelta(ITableMetaData metaData, ITableMetaData operationMetaData, Column[] primaryKeys) {
+            this.operationMetaData = operationMetaData;
+            deletes = new DefaultTable(
+                    new DefaultTableMetaData(operationMetaData.getTableName(), primaryKeys, primaryKeys));
+            inserts = new DefaultTable(metaData);
+        }
+
+        void addUpdate(ITable table, int row) throws DataSetException {
+            Column[] columns = operationMetaData.getColumns();
+            BitSet ignored = new BitSet(columns.length);
+            for (int j = 0; j < columns.length; j++) {
+                if (InsertOperation.isIgnored(columns[j], table.getValue(row, j))) {
+                    ignored.set(j);
+                }
+            }
+
+            DefaultTable updateTable = updates.get(ignored);
+            if (updateTable == null) {
+                List<Column> updatedColumns = new ArrayList<>(columns.length);
+                for (int j = ignored.nextClearBit(0); j < columns.length; j = ignored.nextClearBit(j + 1)) {
+                    updatedColumns.add(columns[j]);
+                }
+                updateTable = new DefaultTable(new DefaultTableMetaData(operationMetaData.getTableName(),
+                        updatedColumns.toArray(new Column[0]), operationMetaData.getPrimaryKeys()));
+                updates.put(ignored, updateTable);
+            }
+
+            Object[] values = new Object[columns.length - ignored.cardinality()];
+            int index = 0;
+            for (int j = ignored.nextClearBit(0); j < columns.length; j = ignored.nextClearBit(j + 1)) {
+                values[index++] = table.getValue(row, j);
+            }
+            updateTable.addRow(values);
+            updateCount++;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+import java.sql.SQLException;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.AbstractDatabaseConnection;
+
+/**
+ * Saves contents of tables once a fixture is set up, and restores them between
+ * tests, instead of setting the fixture up again for every test.
+ * <p>
+ * {@link CleanInsertSnapshotStrategy} is portable, it keeps contents in memory
+ * and restores them with {@link DatabaseOperation#CLEAN_INSERT}.
+ * {@link CopyTableSnapshotStrategy} keeps contents in copies of the tables and
+ * restores them without moving rows through JDBC. Database specific variants
+ * live in the <code>ext</code> packages. Register one with
+ * {@link io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig#setSnapshotStrategy(ISnapshotStrategy)}.
+ */
+public interface ISnapshotStrategy {
+
+    /**
+     * Saves current contents of given tables.
+     *
+     * @param tableNames tables in dependency order, parents first, like for
+     *                   {@link DatabaseOperation#CLEAN_INSERT}
+     */
+    Snapshot takeSnapshot(AbstractDatabaseConnection connection, String[] tableNames)
+            throws DatabaseUnitException, SQLException;
+
+    /**
+     * Saved contents of tables.
+     */
+    interface Snapshot {
+
+        /**
+         * Brings tables back to saved contents. Can be called many times.
+         */
+        void restore(AbstractDatabaseConnection connection) throws DatabaseUnitException, SQLException;
+
+        /**
+         * Frees anything kept by the snapshot.
+         */
+        void release(AbstractDatabaseConnection connection) throws DatabaseUnitException, SQLException;
+    }
+}
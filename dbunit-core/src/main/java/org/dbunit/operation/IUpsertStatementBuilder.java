@@ -0,0 +1,37 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+import java.util.BitSet;
+
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITableMetaData;
+
+/**
+ * Builds a single statement that inserts a row or updates it if a row with the
+ * same primary key already exists. Used by {@link RefreshOperation} to refresh
+ * a whole table with one batched statement instead of an UPDATE and an
+ * optional INSERT per row.
+ * <p>
+ * Implementations are database specific and live in the <code>ext</code>
+ * packages. Register one with
+ * {@link io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig#setUpsertStatementBuilder(IUpsertStatementBuilder)}.
+ */
+public interface IUpsertStatementBuilder {
+
+    /**
+     * Returns upsert statement for the table. Statement parameters must follow the
+     * order of <code>metaData</code> columns, skipping columns set in
+     * <code>ignoreMapping</code>.
+     *
+     * @param metaData      the table metadata
+     * @param ignoreMapping columns that must not be part of the statement
+     * @param connection    the database connection
+     * @throws org.dbunit.dataset.NoPrimaryKeyException when table has no primary
+     *                                                  key
+     */
+    OperationData getUpsertData(ITableMetaData metaData, BitSet ignoreMapping, IDatabaseConnection connection)
+            throws DataSetException;
+}
@@ -24,14 +24,21 @@ package org.dbunit.operation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.dbunit.database.AbstractDatabaseConnection;
 import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.database.statement.IPreparedBatchStatement;
+import org.dbunit.database.statement.IStatementFactory;
 import org.dbunit.dataset.Column;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableCursor;
 import org.dbunit.dataset.ITableMetaData;
 
+import java.sql.SQLException;
 import java.util.BitSet;
 
+import io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig;
+
 /**
  * Inserts the dataset contents into the database. This operation assumes that
  * table data does not exist in the database and fails if this is not the case.
@@ -97,39 +104,74 @@ public class InsertOperation extends AbstractBatchOperation {
         return new OperationData(sqlBuffer.toString(), columns);
     }
 
-    protected BitSet getIgnoreMapping(ITable table, int row) throws DataSetException {
+    /**
+     * Uses multi-row statements when
+     * {@link io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig#getInsertRowsPerStatement()}
+     * is greater than one, as far as the bind parameter limit allows.
+     */
+    @Override
+    IPreparedBatchStatement createPreparedBatchStatement(OperationData operationData, BitSet ignoreMapping,
+            IStatementFactory factory, AbstractDatabaseConnection connection) throws SQLException {
+        DatabaseConfig config = connection.getDatabaseConfig();
+        int parameterCount = operationData.getColumns().length - ignoreMapping.cardinality();
+        int rowsPerStatement = getRowsPerStatement(config.getInsertRowsPerStatement(),
+                config.getMaxBindParameters(), parameterCount);
+        if (rowsPerStatement <= 1) {
+            return super.createPreparedBatchStatement(operationData, ignoreMapping, factory, connection);
+        }
+        return new MultiRowInsertStatement(operationData.getSql(), parameterCount, rowsPerStatement, factory,
+                connection);
+    }
+
+    static int getRowsPerStatement(int insertRowsPerStatement, int maxBindParameters, int parameterCount) {
+        if (parameterCount == 0) {
+            return 1;
+        }
+        int rowsPerStatement = insertRowsPerStatement;
+        if (maxBindParameters > 0) {
+            rowsPerStatement = Math.min(rowsPerStatement, maxBindParameters / parameterCount);
+        }
+        return Math.max(1, rowsPerStatement);
+    }
+
+    protected BitSet getIgnoreMapping(ITableCursor cursor) throws DataSetException {
         if (logger.isDebugEnabled())
-            logger.debug("getIgnoreMapping(table={}, row={}) - start", table, String.valueOf(row));
+            logger.debug("getIgnoreMapping(cursor={}, row={}) - start", cursor, String.valueOf(cursor.getRow()));
 
-        Column[] columns = table.getTableMetaData().getColumns();
+        Column[] columns = cursor.getTableMetaData().getColumns();
 
         BitSet ignoreMapping = new BitSet();
         for (int i = 0; i < columns.length; i++) {
             Column column = columns[i];
-            Object value = table.getValue(row, column.getColumnName());
-            if (value == ITable.NO_VALUE || (value == null && column.isNotNullable() && column.hasDefaultValue())) {
+            if (isIgnored(column, cursor.getValue(i))) {
                 ignoreMapping.set(i);
             }
         }
         return ignoreMapping;
     }
 
-    protected boolean equalsIgnoreMapping(BitSet ignoreMapping, ITable table, int row) throws DataSetException {
+    protected boolean equalsIgnoreMapping(BitSet ignoreMapping, ITableCursor cursor) throws DataSetException {
         if (logger.isDebugEnabled()) {
-            logger.debug("equalsIgnoreMapping(ignoreMapping={}, table={}, row={}) - start",
-                    new Object[] { ignoreMapping, table, String.valueOf(row) });
+            logger.debug("equalsIgnoreMapping(ignoreMapping={}, cursor={}, row={}) - start",
+                    new Object[] { ignoreMapping, cursor, String.valueOf(cursor.getRow()) });
         }
 
-        Column[] columns = table.getTableMetaData().getColumns();
+        Column[] columns = cursor.getTableMetaData().getColumns();
 
         for (int i = 0; i < columns.length; i++) {
-            boolean bit = ignoreMapping.get(i);
-            Object value = table.getValue(row, columns[i].getColumnName());
-            if ((bit && value != ITable.NO_VALUE) || (!bit && value == ITable.NO_VALUE)) {
+            if (ignoreMapping.get(i) != isIgnored(columns[i], cursor.getValue(i))) {
                 return false;
             }
         }
 
         return true;
     }
+
+    /**
+     * Missing values are not inserted, as well as nulls for not nullable columns
+     * having a default value.
+     */
+    static boolean isIgnored(Column column, Object value) {
+        return value == ITable.NO_VALUE || (value == null && column.isNotNullable() && column.hasDefaultValue());
+    }
 }
@@ -0,0 +1,330 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.database.statement.IPreparedBatchStatement;
+import org.dbunit.database.statement.IStatementFactory;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.Columns;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableCursor;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.NoPrimaryKeyException;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.datatype.TypeCastException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Refresh for databases without upsert support. Rows are processed in chunks of
+ * {@link io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig#getBatchSize()}.
+ * For every chunk existing primary keys are fetched with a single
+ * <code>select ... where pk in (...)</code> query, then every row is routed
+ * either to a batched INSERT or to a batched UPDATE statement.
+ */
+class KeyPrefetchRefreshOperation extends AbstractOperation {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeyPrefetchRefreshOperation.class);
+
+    private final InsertOperation insertOperation = (InsertOperation) DatabaseOperation.INSERT;
+    private final UpdateOperation updateOperation = (UpdateOperation) DatabaseOperation.UPDATE;
+
+    @Override
+    public void execute(AbstractDatabaseConnection connection, IDataSet dataSet)
+            throws DatabaseUnitException, SQLException {
+        logger.debug("execute(connection={}, dataSet) - start", connection);
+
+        ITableIterator iterator = dataSet.iterator();
+        while (iterator.next()) {
+            ITable table = iterator.getTable();
+
+            String tableName = table.getTableMetaData().getTableName();
+            logger.trace("execute: processing table='{}'", tableName);
+
+            // Do not process empty table
+            ITableCursor cursor = table.cursor();
+            if (table.getTableMetaData().getColumns().length == 0 || !cursor.next()) {
+                continue;
+            }
+
+            ITableMetaData metaData = getOperationMetaData(connection, table.getTableMetaData());
+            TableRefresher refresher = new TableRefresher(connection, metaData);
+            try {
+                refresher.refresh(cursor);
+            } catch (SQLException e) {
+                final String msg = "Exception processing table name='" + tableName + "'";
+                throw new DatabaseUnitException(msg, e);
+            } finally {
+                refresher.close();
+            }
+        }
+    }
+
+    /**
+     * Refreshes content of a single table.
+     */
+    private class TableRefresher {
+
+        private final IDatabaseConnection connection;
+        private final ITableMetaData metaData;
+        private final IStatementFactory factory;
+        private final int chunkSize;
+        private final Column[] columns;
+        private final Column[] primaryKeys;
+        private final int[] keyIndexes;
+
+        private final OperationData updateData;
+        private IPreparedBatchStatement updateStatement;
+        private IPreparedBatchStatement insertStatement;
+        private OperationData insertData;
+        private BitSet insertIgnoreMapping;
+
+        TableRefresher(IDatabaseConnection connection, ITableMetaData metaData) throws DataSetException {
+            this.connection = connection;
+            this.metaData = metaData;
+            this.factory = connection.getDatabaseConfig().getStatementFactory();
+            this.chunkSize = Math.max(1, connection.getDatabaseConfig().getBatchSize());
+            this.columns = metaData.getColumns();
+            this.primaryKeys = metaData.getPrimaryKeys();
+
+            // cannot match existing rows if no primary key
+            if (primaryKeys.length == 0) {
+                throw new NoPrimaryKeyException(metaData.getTableName());
+            }
+            keyIndexes = new int[primaryKeys.length];
+            for (int i = 0; i < primaryKeys.length; i++) {
+                keyIndexes[i] = metaData.getColumnIndex(primaryKeys[i].getColumnName());
+            }
+
+            // update only if columns are not all primary keys
+            if (columns.length > primaryKeys.length) {
+                updateData = updateOperation.getOperationData(metaData, null, connection);
+            } else {
+                updateData = null;
+            }
+        }
+
+        /**
+         * @param cursor cursor positioned on the first table row
+         */
+        void refresh(ITableCursor cursor) throws DataSetException, SQLException {
+            int[] columnIndexes = Columns.getColumnIndexes(cursor.getTableMetaData(), columns);
+            DefaultTable chunk = new DefaultTable(metaData);
+            do {
+                Object[] values = new Object[columns.length];
+                for (int j = 0; j < columns.length; j++) {
+                    values[j] = columnIndexes[j] < 0 ? cursor.getValue(columns[j].getColumnName())
+                            : cursor.getValue(columnIndexes[j]);
+                }
+                chunk.addRow(values);
+                if (chunk.getRowCount() == chunkSize) {
+                    refreshChunk(chunk);
+                    chunk = new DefaultTable(metaData);
+                }
+            } while (cursor.next());
+            if (chunk.getRowCount() > 0) {
+                refreshChunk(chunk);
+            }
+        }
+
+        private void refreshChunk(DefaultTable chunk) throws DataSetException, SQLException {
+            int rowCount = chunk.getRowCount();
+            List<List<Object>> keys = new ArrayList<>(rowCount);
+            for (int row = 0; row < rowCount; row++) {
+                keys.add(buildKey(chunk, row));
+            }
+
+            Set<List<Object>> existingKeys = fetchExistingKeys(chunk);
+            // the database matches keys with its collation, like case insensitive
+            // strings, a fetched key missing from the chunk means Java matching
+            // cannot be trusted for this chunk
+            boolean exactMatch = new HashSet<>(keys).containsAll(existingKeys);
+            if (!exactMatch) {
+                logger.debug("Keys of {} differ from fetched keys, checking missing keys row by row",
+                        metaData.getTableName());
+            }
+            ITableCursor cursor = chunk.cursor();
+            while (cursor.next()) {
+                List<Object> key = keys.get(cursor.getRow());
+                // key is present either in database or inserted by one of the previous rows
+                boolean exists = existingKeys.contains(key) || !exactMatch && rowExists(chunk, cursor.getRow());
+                existingKeys.add(key);
+                if (!exists) {
+                    addInsert(cursor);
+                } else if (updateData != null) {
+                    addUpdate(cursor);
+                }
+            }
+
+            // inserts first, rows inserted by this chunk may be updated by it as well
+            if (insertStatement != null) {
+                insertStatement.executeBatch();
+                insertStatement.clearBatch();
+            }
+            if (updateStatement != null) {
+                updateStatement.executeBatch();
+                updateStatement.clearBatch();
+            }
+        }
+
+        private Set<List<Object>> fetchExistingKeys(ITable chunk) throws DataSetException, SQLException {
+            int rowCount = chunk.getRowCount();
+            String sql = buildSelectKeysSql(rowCount);
+            Set<List<Object>> existingKeys = new HashSet<>();
+            try (PreparedStatement statement = connection.getConnection().prepareStatement(sql)) {
+                int index = 0;
+                for (int row = 0; row < rowCount; row++) {
+                    for (int k = 0; k < primaryKeys.length; k++) {
+                        Object value = chunk.getValue(row, primaryKeys[k].getColumnName());
+                        primaryKeys[k].getDataType().setSqlValue(value, ++index, statement);
+                    }
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        List<Object> key = new ArrayList<>(primaryKeys.length);
+                        for (int k = 0; k < primaryKeys.length; k++) {
+                            DataType dataType = primaryKeys[k].getDataType();
+                            key.add(dataType.typeCastKey(dataType.getSqlValue(k + 1, resultSet)));
+                        }
+                        existingKeys.add(key);
+                    }
+                }
+            }
+            return existingKeys;
+        }
+
+        /**
+         * Looks for the key of a row with a select of its own, so the database
+         * compares it.
+         */
+        private boolean rowExists(ITable chunk, int row) throws DataSetException, SQLException {
+            try (PreparedStatement statement = connection.getConnection().prepareStatement(buildSelectKeysSql(1))) {
+                for (int k = 0; k < primaryKeys.length; k++) {
+                    Object value = chunk.getValue(row, primaryKeys[k].getColumnName());
+                    primaryKeys[k].getDataType().setSqlValue(value, k + 1, statement);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next();
+                }
+            }
+        }
+
+        String buildSelectKeysSql(int rowCount) {
+            StringBuilder sql = new StringBuilder(64 + rowCount * 8 * primaryKeys.length);
+            sql.append("select ");
+            for (int k = 0; k < primaryKeys.length; k++) {
+                if (k > 0) {
+                    sql.append(", ");
+                }
+                sql.append(getQualifiedName(null, primaryKeys[k].getColumnName(), connection));
+            }
+            sql.append(" from ");
+            sql.append(getQualifiedName(connection.getSchema(), metaData.getTableName(), connection));
+            sql.append(" where ");
+            if (primaryKeys.length == 1) {
+                sql.append(getQualifiedName(null, primaryKeys[0].getColumnName(), connection));
+                sql.append(" in (");
+                for (int row = 0; row < rowCount; row++) {
+                    sql.append(row == 0 ? "?" : ", ?");
+                }
+                sql.append(")");
+            } else {
+                // row value constructors are not portable, fall back to disjunction
+                for (int row = 0; row < rowCount; row++) {
+                    sql.append(row == 0 ? "(" : " or (");
+                    for (int k = 0; k < primaryKeys.length; k++) {
+                        if (k > 0) {
+                            sql.append(" and ");
+                        }
+                        sql.append(getQualifiedName(null, primaryKeys[k].getColumnName(), connection));
+                        sql.append(" = ?");
+                    }
+                    sql.append(")");
+                }
+            }
+            return sql.toString();
+        }
+
+        private List<Object> buildKey(ITable chunk, int row) throws DataSetException {
+            List<Object> key = new ArrayList<>(primaryKeys.length);
+            for (int k = 0; k < primaryKeys.length; k++) {
+                Object value = chunk.getValue(row, columns[keyIndexes[k]].getColumnName());
+                key.add(primaryKeys[k].getDataType().typeCastKey(value));
+            }
+            return key;
+        }
+
+        private void addInsert(ITableCursor chunk) throws DataSetException, SQLException {
+            // If current row have a different ignore value mapping than
+            // previous one, we generate a new statement
+            if (insertIgnoreMapping == null || !insertOperation.equalsIgnoreMapping(insertIgnoreMapping, chunk)) {
+                if (insertStatement != null) {
+                    insertStatement.executeBatch();
+                    insertStatement.clearBatch();
+                    insertStatement.close();
+                }
+                insertIgnoreMapping = insertOperation.getIgnoreMapping(chunk);
+                insertData = insertOperation.getOperationData(metaData, insertIgnoreMapping, connection);
+                insertStatement = factory.createPreparedBatchStatement(insertData.getSql(), connection);
+            }
+
+            Column[] insertColumns = insertData.getColumns();
+            for (int j = 0; j < insertColumns.length; j++) {
+                if (!insertIgnoreMapping.get(j)) {
+                    addValue(insertStatement, chunk, insertColumns[j]);
+                }
+            }
+            insertStatement.addBatch();
+        }
+
+        private void addUpdate(ITableCursor chunk) throws DataSetException, SQLException {
+            if (updateStatement == null) {
+                updateStatement = factory.createPreparedBatchStatement(updateData.getSql(), connection);
+            }
+
+            for (Column column : updateData.getColumns()) {
+                addValue(updateStatement, chunk, column);
+            }
+            updateStatement.addBatch();
+        }
+
+        private void addValue(IPreparedBatchStatement statement, ITableCursor chunk, Column column)
+                throws DataSetException, SQLException {
+            String columnName = column.getColumnName();
+            try {
+                statement.addValue(chunk.getValue(columnName), column.getDataType());
+            } catch (TypeCastException e) {
+                final String msg = "Error casting value for table '" + metaData.getTableName() + "' and column '"
+                        + columnName + "'";
+                logger.error("execute: {}", msg);
+                throw new TypeCastException(msg, e);
+            }
+        }
+
+        void close() throws SQLException {
+            if (insertStatement != null) {
+                insertStatement.close();
+            }
+            if (updateStatement != null) {
+                updateStatement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.database.statement.IPreparedBatchStatement;
+import org.dbunit.database.statement.IStatementFactory;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.datatype.TypeCastException;
+
+/**
+ * Collects rows of a single row INSERT and executes them as
+ * <code>insert into t (...) values (...), (...), ...</code> statements of a
+ * fixed number of rows. Rows left over when the batch is executed are sent with
+ * a statement sized for them.
+ */
+class MultiRowInsertStatement implements IPreparedBatchStatement {
+
+    private final String sql;
+    private final int parameterCount;
+    private final String rowValues;
+    private final int rowsPerStatement;
+    private final IStatementFactory factory;
+    private final IDatabaseConnection connection;
+
+    private final List<Object> values = new ArrayList<>();
+    private final List<DataType> dataTypes = new ArrayList<>();
+    private int rowCount;
+    private IPreparedBatchStatement statement;
+
+    /**
+     * @param sql              single row insert statement, ending with its
+     *                         values list
+     * @param parameterCount   number of parameters in the values list
+     * @param rowsPerStatement number of rows per executed statement
+     */
+    MultiRowInsertStatement(String sql, int parameterCount, int rowsPerStatement, IStatementFactory factory,
+            IDatabaseConnection connection) {
+        this.sql = sql;
+        this.parameterCount = parameterCount;
+        this.rowValues = buildRowValues(parameterCount);
+        this.rowsPerStatement = rowsPerStatement;
+        this.factory = factory;
+        this.connection = connection;
+    }
+
+    private static String buildRowValues(int parameterCount) {
+        StringBuilder sb = new StringBuilder(2 + parameterCount * 3);
+        sb.append(", (");
+        for (int i = 0; i < parameterCount; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+
+    String getSql(int rows) {
+        StringBuilder sb = new StringBuilder(sql.length() + rowValues.length() * (rows - 1));
+        sb.append(sql);
+        for (int i = 1; i < rows; i++) {
+            sb.append(rowValues);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Casts the value right away, so that a cast error is reported with the
+     * table and column of the value, not when the statement is executed.
+     */
+    @Override
+    public void addValue(Object value, DataType dataType) throws TypeCastException, SQLException {
+        values.add(dataType.typeCast(value));
+        dataTypes.add(dataType);
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        rowCount++;
+        if (rowCount == rowsPerStatement) {
+            if (statement == null) {
+                statement = factory.createPreparedBatchStatement(getSql(rowsPerStatement), connection);
+            }
+            flush(statement);
+        }
+    }
+
+    private void flush(IPreparedBatchStatement target) throws SQLException {
+        for (int i = 0; i < values.size(); i++) {
+            try {
+                target.addValue(values.get(i), dataTypes.get(i));
+            } catch (TypeCastException e) {
+                throw new SQLException("Error casting value of parameter " + (i % parameterCount + 1) + " of row "
+                        + (i / parameterCount + 1) + " for statement '" + sql + "'", e);
+            }
+        }
+        target.addBatch();
+        values.clear();
+        dataTypes.clear();
+        rowCount = 0;
+    }
+
+    @Override
+    public int executeBatch() throws SQLException {
+        int result = 0;
+        if (statement != null) {
+            result += statement.executeBatch();
+        }
+        if (rowCount > 0) {
+            IPreparedBatchStatement remainder = factory.createPreparedBatchStatement(getSql(rowCount), connection);
+            try {
+                flush(remainder);
+                result += remainder.executeBatch();
+            } finally {
+                remainder.close();
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        values.clear();
+        dataTypes.clear();
+        rowCount = 0;
+        if (statement != null) {
+            statement.clearBatch();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (statement != null) {
+            statement.close();
+        }
+    }
+}
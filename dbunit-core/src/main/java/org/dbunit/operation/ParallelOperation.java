@@ -0,0 +1,298 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.DatabaseUnitRuntimeException;
+import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.database.DatabaseSequenceFilter;
+import org.dbunit.database.metadata.MetadataManager;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig;
+
+/**
+ * Decorates an operation and executes it on independent tables concurrently.
+ * Dataset tables are partitioned into dependency levels using foreign keys, see
+ * {@link DatabaseSequenceFilter#getDependencyLevels}. Levels are processed one
+ * after another, in reverse order for deletes. Tables of a level are processed
+ * concurrently, each on a connection taken from a bounded pool of connections
+ * obtained from the {@link DataSource}.
+ * <p>
+ * The connection passed to {@link #execute} is used only to read metadata and
+ * configuration. Data is written by pooled connections, that is in separate
+ * transactions, hence the {@link CommitStrategy} must make rows of a level
+ * visible before the next level is processed. The dataset must support random
+ * access to its tables.
+ * <p>
+ * When the calling thread is interrupted, pending tables are cancelled and the
+ * operation waits for running ones before rolling back and closing pooled
+ * connections. The interrupt status is kept.
+ */
+public class ParallelOperation extends DatabaseOperation {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelOperation.class);
+
+    /**
+     * When changes made by pooled connections are committed.
+     */
+    public enum CommitStrategy {
+        /**
+         * Pooled connections work in auto commit mode.
+         */
+        AUTO_COMMIT,
+        /**
+         * Every table is committed once written.
+         */
+        PER_TABLE,
+        /**
+         * Tables of a level are committed once all of them are written. Tables of
+         * a failed level are rolled back. This is not atomic: pooled connections
+         * commit one after another, so a failing commit leaves tables committed
+         * by the previous connections, and tables of previous levels stay
+         * committed whatever happens to the next ones.
+         */
+        PER_LEVEL
+    }
+
+    private final DatabaseOperation _operation;
+    private final DataSource _dataSource;
+    private final int _poolSize;
+    private final CommitStrategy _commitStrategy;
+
+    /**
+     * @param operation      operation executed for each table
+     * @param dataSource     source of pooled connections
+     * @param poolSize       number of pooled connections, i.e. maximum number of
+     *                       tables processed concurrently
+     * @param commitStrategy when pooled connections commit
+     */
+    public ParallelOperation(DatabaseOperation operation, DataSource dataSource, int poolSize,
+            CommitStrategy commitStrategy) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("poolSize must be positive, but was " + poolSize);
+        }
+        _operation = operation;
+        _dataSource = dataSource;
+        _poolSize = poolSize;
+        _commitStrategy = commitStrategy;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // DatabaseOperation class
+
+    @Override
+    public void execute(AbstractDatabaseConnection connection, IDataSet dataSet)
+            throws DatabaseUnitException, SQLException {
+        logger.debug("execute(connection={}, dataSet={}) - start", connection, dataSet);
+
+        List<String[]> levels = DatabaseSequenceFilter.getDependencyLevels(connection, dataSet.getTableNames());
+        List<DatabaseOperation> operations = new ArrayList<>();
+        flatten(_operation, operations);
+
+        ExecutorService executor = Executors.newFixedThreadPool(_poolSize);
+        List<AbstractDatabaseConnection> connections = new ArrayList<>(_poolSize);
+        BlockingQueue<AbstractDatabaseConnection> pool = new ArrayBlockingQueue<>(_poolSize);
+        try {
+            openConnections(connection, connections, pool);
+            for (DatabaseOperation operation : operations) {
+                List<String[]> orderedLevels = levels;
+                if (isDelete(operation)) {
+                    orderedLevels = new ArrayList<>(levels);
+                    Collections.reverse(orderedLevels);
+                }
+                for (String[] level : orderedLevels) {
+                    executeLevel(operation, dataSet, level, executor, connections, pool);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            // workers may still hold connections
+            boolean interrupted = awaitTermination(executor);
+            try {
+                closeConnections(connections);
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for workers ignoring interrupts.
+     *
+     * @return <code>true</code> if the current thread was interrupted
+     */
+    private static boolean awaitTermination(ExecutorService executor) {
+        boolean interrupted = Thread.interrupted();
+        while (true) {
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                return interrupted;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+    }
+
+    private static void flatten(DatabaseOperation operation, List<DatabaseOperation> operations) {
+        if (operation instanceof CompositeOperation) {
+            for (DatabaseOperation action : ((CompositeOperation) operation).getActions()) {
+                flatten(action, operations);
+            }
+        } else {
+            operations.add(operation);
+        }
+    }
+
+    private static boolean isDelete(DatabaseOperation operation) {
+        return operation instanceof DeleteAllOperation || operation instanceof DeleteOperation;
+    }
+
+    private void openConnections(AbstractDatabaseConnection connection, List<AbstractDatabaseConnection> connections,
+            BlockingQueue<AbstractDatabaseConnection> pool) throws DatabaseUnitException, SQLException {
+        DatabaseConfig config = new DatabaseConfig();
+        config.apply(connection.getDatabaseConfig());
+        String schema = connection.getSchema();
+        for (int i = 0; i < _poolSize; i++) {
+            Connection jdbcConnection = _dataSource.getConnection();
+            try {
+                jdbcConnection.setAutoCommit(_commitStrategy == CommitStrategy.AUTO_COMMIT);
+                MetadataManager metadataManager = new MetadataManager(jdbcConnection, config, null, schema);
+                DatabaseConnection pooled = new DatabaseConnection(jdbcConnection, config, schema, metadataManager);
+                connections.add(pooled);
+                pool.add(pooled);
+            } catch (DatabaseUnitException | SQLException | RuntimeException e) {
+                jdbcConnection.close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Closes pooled connections, rolling back changes left uncommitted by a
+     * failure or an interrupt.
+     */
+    private void closeConnections(List<AbstractDatabaseConnection> connections) throws SQLException {
+        SQLException failure = null;
+        for (AbstractDatabaseConnection pooled : connections) {
+            try {
+                if (_commitStrategy != CommitStrategy.AUTO_COMMIT) {
+                    pooled.getConnection().rollback();
+                }
+                pooled.close();
+                pooled.getConnection().close();
+            } catch (SQLException e) {
+                logger.warn("Failed to close pooled connection", e);
+                failure = e;
+            }
+        }
+        connections.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void executeLevel(DatabaseOperation operation, IDataSet dataSet, String[] level,
+            ExecutorService executor, List<AbstractDatabaseConnection> connections,
+            BlockingQueue<AbstractDatabaseConnection> pool) throws DatabaseUnitException, SQLException {
+        logger.debug("executeLevel(operation={}, level={}) - start", operation, level);
+
+        List<Future<?>> futures = new ArrayList<>(level.length);
+        for (String tableName : level) {
+            ITable table = dataSet.getTable(tableName);
+            futures.add(executor.submit(() -> {
+                AbstractDatabaseConnection pooled = pool.take();
+                try {
+                    operation.execute(pooled, new DefaultDataSet(table));
+                    if (_commitStrategy == CommitStrategy.PER_TABLE) {
+                        pooled.getConnection().commit();
+                    }
+                } finally {
+                    // the pool has room for every connection, unlike put() add() works once interrupted
+                    pool.add(pooled);
+                }
+                return null;
+            }));
+        }
+
+        Throwable failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            } catch (InterruptedException e) {
+                // execute() waits for running tables and rolls back
+                for (Future<?> pending : futures) {
+                    pending.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                throw new DatabaseUnitRuntimeException("Interrupted while executing " + operation, e);
+            }
+        }
+
+        // all tables are done, every connection is back in the pool
+        if (_commitStrategy != CommitStrategy.AUTO_COMMIT) {
+            for (AbstractDatabaseConnection pooled : connections) {
+                try {
+                    if (failure == null) {
+                        pooled.getConnection().commit();
+                    } else {
+                        pooled.getConnection().rollback();
+                    }
+                } catch (SQLException e) {
+                    // roll back the remaining connections
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        logger.warn("Failed to roll back pooled connection", e);
+                    }
+                }
+            }
+        }
+
+        if (failure instanceof DatabaseUnitException) {
+            throw (DatabaseUnitException) failure;
+        }
+        if (failure instanceof SQLException) {
+            throw (SQLException) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure != null) {
+            throw new DatabaseUnitRuntimeException(failure);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + "[_operation=" + _operation + ", _poolSize=" + _poolSize
+                + ", _commitStrategy=" + _commitStrategy + "]";
+    }
+}
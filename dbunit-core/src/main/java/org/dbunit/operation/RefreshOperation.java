@@ -35,10 +35,10 @@ import org.dbunit.dataset.Column;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableCursor;
 import org.dbunit.dataset.ITableIterator;
 import org.dbunit.dataset.ITableMetaData;
 import org.dbunit.dataset.NoPrimaryKeyException;
-import org.dbunit.dataset.RowOutOfBoundsException;
 import org.dbunit.dataset.datatype.DataType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +48,12 @@ import org.slf4j.LoggerFactory;
  * means that data of existing rows is updated and non-existing row get
  * inserted. Any rows which exist in the database but not in dataset stay
  * unaffected.
+ * <p>
+ * When {@link IUpsertStatementBuilder} is configured, each table is refreshed
+ * with one batched upsert statement. When prefetching of refresh keys is
+ * enabled, existing primary keys are fetched in chunks and rows are split
+ * between a batched INSERT and a batched UPDATE. Otherwise every row is updated
+ * and then inserted if update did not find it.
  *
  * @author Manuel Laflamme
  * @version $Revision$
@@ -68,10 +74,6 @@ public class RefreshOperation extends AbstractOperation {
         _updateOperation = (UpdateOperation) DatabaseOperation.UPDATE;
     }
 
-    private boolean isEmpty(ITable table) throws DataSetException {
-        return AbstractBatchOperation.isEmpty(table);
-    }
-
     ////////////////////////////////////////////////////////////////////////////
     // DatabaseOperation class
 
@@ -80,6 +82,16 @@ public class RefreshOperation extends AbstractOperation {
             throws DatabaseUnitException, SQLException {
         logger.debug("execute(connection={}, dataSet) - start", connection);
 
+        IUpsertStatementBuilder upsertStatementBuilder = connection.getDatabaseConfig().getUpsertStatementBuilder();
+        if (upsertStatementBuilder != null) {
+            new UpsertOperation(upsertStatementBuilder).execute(connection, dataSet);
+            return;
+        }
+        if (connection.getDatabaseConfig().isPrefetchRefreshKeys()) {
+            new KeyPrefetchRefreshOperation().execute(connection, dataSet);
+            return;
+        }
+
         // for each table
         ITableIterator iterator = dataSet.iterator();
         while (iterator.next()) {
@@ -89,7 +101,8 @@ public class RefreshOperation extends AbstractOperation {
             logger.trace("execute: processing table='{}'", tableName);
 
             // Do not process empty table
-            if (isEmpty(table)) {
+            ITableCursor cursor = table.cursor();
+            if (table.getTableMetaData().getColumns().length == 0 || !cursor.next()) {
                 continue;
             }
 
@@ -99,16 +112,11 @@ public class RefreshOperation extends AbstractOperation {
 
             try {
                 // refresh all rows
-                for (int i = 0;; i++) {
-                    if (!updateRowOperation.execute(table, i)) {
-                        insertRowOperation.execute(table, i);
+                do {
+                    if (!updateRowOperation.execute(cursor)) {
+                        insertRowOperation.execute(cursor);
                     }
-                }
-            } catch (RowOutOfBoundsException e) {
-                // This exception occurs when records are exhausted
-                // and we reach the end of the table. Ignore this error.
-
-                // end of table
+                } while (cursor.next());
             } catch (SQLException e) {
                 final String msg = "Exception processing table name='" + tableName + "'";
                 throw new DatabaseUnitException(msg, e);
@@ -149,18 +157,18 @@ public class RefreshOperation extends AbstractOperation {
         protected BitSet _ignoreMapping;
 
         /**
-         * Execute this operation on the sepcified table row.
+         * Execute this operation on the current cursor row.
          *
          * @return <code>true</code> if operation have been executed on the row.
          */
-        public boolean execute(ITable table, int row) throws DataSetException, SQLException {
-            logger.debug("execute(table={}, row={}) - start", table, String.valueOf(row));
+        public boolean execute(ITableCursor cursor) throws DataSetException, SQLException {
+            logger.debug("execute(cursor={}, row={}) - start", cursor, String.valueOf(cursor.getRow()));
 
             Column[] columns = _operationData.getColumns();
             for (int i = 0; i < columns.length; i++) {
                 // Bind value only if not in ignore mapping
                 if (_ignoreMapping == null || !_ignoreMapping.get(i)) {
-                    Object value = table.getValue(row, columns[i].getColumnName());
+                    Object value = cursor.getValue(columns[i].getColumnName());
                     _statement.addValue(value, columns[i].getDataType());
                 }
             }
@@ -203,23 +211,23 @@ public class RefreshOperation extends AbstractOperation {
         }
 
         @Override
-        public boolean execute(ITable table, int row) throws DataSetException, SQLException {
-            logger.debug("execute(table={}, row={}) - start", table, String.valueOf(row));
+        public boolean execute(ITableCursor cursor) throws DataSetException, SQLException {
+            logger.debug("execute(cursor={}, row={}) - start", cursor, String.valueOf(cursor.getRow()));
 
             // If current row has a different ignore value mapping than
             // previous one, we generate a new statement
-            if (_ignoreMapping == null || !_insertOperation.equalsIgnoreMapping(_ignoreMapping, table, row)) {
+            if (_ignoreMapping == null || !_insertOperation.equalsIgnoreMapping(_ignoreMapping, cursor)) {
                 // Execute and close previous statement
                 if (_statement != null) {
                     _statement.close();
                 }
 
-                _ignoreMapping = _insertOperation.getIgnoreMapping(table, row);
+                _ignoreMapping = _insertOperation.getIgnoreMapping(cursor);
                 _operationData = _insertOperation.getOperationData(_metaData, _ignoreMapping, _connection);
                 _statement = new SimplePreparedStatement(_operationData.getSql(), _connection.getConnection());
             }
 
-            return super.execute(table, row);
+            return super.execute(cursor);
         }
 
     }
@@ -293,17 +301,17 @@ public class RefreshOperation extends AbstractOperation {
         // RowOperation class
 
         /**
-         * Verify if the specified table row exists in the database.
+         * Verify if the current cursor row exists in the database.
          *
          * @return <code>true</code> if row exists.
          */
         @Override
-        public boolean execute(ITable table, int row) throws DataSetException, SQLException {
-            logger.debug("execute(table={}, row={}) - start", table, String.valueOf(row));
+        public boolean execute(ITableCursor cursor) throws DataSetException, SQLException {
+            logger.debug("execute(cursor={}, row={}) - start", cursor, String.valueOf(cursor.getRow()));
 
             Column[] columns = _operationData.getColumns();
             for (int i = 0; i < columns.length; i++) {
-                Object value = table.getValue(row, columns[i].getColumnName());
+                Object value = cursor.getValue(columns[i].getColumnName());
                 DataType dataType = columns[i].getDataType();
                 dataType.setSqlValue(value, i + 1, _countStatement);
             }
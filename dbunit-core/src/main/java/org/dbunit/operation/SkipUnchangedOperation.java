@@ -0,0 +1,99 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.database.DirtyTableTracker;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.binary.BinaryDataSetWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorates a setup operation, and skips it when the connection's
+ * {@link DirtyTableTracker} knows the same operation applied the same dataset
+ * last, and nothing was written since. Datasets are compared by a fingerprint
+ * of their contents.
+ * <p>
+ * The decorated operation must be idempotent, applying it twice must leave the
+ * same data as applying it once. This holds for all standard operations but
+ * {@link DatabaseOperation#INSERT}. Without a tracker, the operation is always
+ * executed.
+ */
+public class SkipUnchangedOperation extends DatabaseOperation {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkipUnchangedOperation.class);
+
+    private final DatabaseOperation operation;
+
+    public SkipUnchangedOperation(DatabaseOperation operation) {
+        this.operation = operation;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // DatabaseOperation class
+
+    @Override
+    public void execute(AbstractDatabaseConnection connection, IDataSet dataSet)
+            throws DatabaseUnitException, SQLException {
+        DirtyTableTracker tracker = DirtyTableTracker.find(connection);
+        if (tracker == null) {
+            operation.execute(connection, dataSet);
+            return;
+        }
+
+        String fingerprint;
+        try {
+            fingerprint = computeFingerprint(dataSet);
+        } catch (DataSetException e) {
+            logger.debug("Cannot compute dataset fingerprint, executing " + operation, e);
+            operation.execute(connection, dataSet);
+            return;
+        }
+        if (tracker.isApplied(operation, fingerprint)) {
+            logger.debug("Skipping {}, dataset {} is already applied", operation, fingerprint);
+            return;
+        }
+        operation.execute(connection, dataSet);
+        tracker.dataSetApplied(operation, fingerprint);
+    }
+
+    /**
+     * Hashes the dataset in binary dataset format, which encodes table names,
+     * columns and typed values.
+     */
+    static String computeFingerprint(IDataSet dataSet) throws DataSetException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new DataSetException("SHA-256 is not available", e);
+        }
+        OutputStream discarding = new OutputStream() {
+
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+        new BinaryDataSetWriter(new DigestOutputStream(discarding, digest)).write(dataSet);
+
+        StringBuilder fingerprint = new StringBuilder();
+        for (byte b : digest.digest()) {
+            fingerprint.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return fingerprint.toString();
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+import java.util.BitSet;
+
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITableCursor;
+import org.dbunit.dataset.ITableMetaData;
+
+/**
+ * Batched refresh which relies on database specific upsert statement supplied
+ * by {@link IUpsertStatementBuilder}. Rows are bound the same way
+ * {@link InsertOperation} binds them, so columns without value are skipped.
+ */
+class UpsertOperation extends AbstractBatchOperation {
+
+    private final IUpsertStatementBuilder upsertStatementBuilder;
+    private final InsertOperation insertOperation = (InsertOperation) DatabaseOperation.INSERT;
+
+    UpsertOperation(IUpsertStatementBuilder upsertStatementBuilder) {
+        this.upsertStatementBuilder = upsertStatementBuilder;
+    }
+
+    @Override
+    BitSet getIgnoreMapping(ITableCursor cursor) throws DataSetException {
+        return insertOperation.getIgnoreMapping(cursor);
+    }
+
+    @Override
+    boolean equalsIgnoreMapping(BitSet ignoreMapping, ITableCursor cursor) throws DataSetException {
+        return insertOperation.equalsIgnoreMapping(ignoreMapping, cursor);
+    }
+
+    @Override
+    OperationData getOperationData(ITableMetaData metaData, BitSet ignoreMapping, IDatabaseConnection connection)
+            throws DataSetException {
+        return upsertStatementBuilder.getUpsertData(metaData, ignoreMapping, connection);
+    }
+}
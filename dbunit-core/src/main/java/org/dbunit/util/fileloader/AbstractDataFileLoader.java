@@ -26,6 +26,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.dbunit.DatabaseUnitRuntimeException;
+import org.dbunit.dataset.DataSetCache;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.DefaultDataSet;
 import org.dbunit.dataset.IDataSet;
@@ -47,6 +48,7 @@ public abstract class AbstractDataFileLoader implements DataFileLoader {
     private Map replacementObjects;
     private Map replacementSubstrings;
     private Map functionMap;
+    private DataSetCache dataSetCache;
 
     /** Create new instance. */
     public AbstractDataFileLoader() {
@@ -109,7 +111,7 @@ public abstract class AbstractDataFileLoader implements DataFileLoader {
             }
 
             try {
-                ds = loadDataSet(url);
+                ds = dataSetCache == null ? loadDataSet(url) : loadCachedDataSet(url);
                 ds = processReplacementTokens(ds);
             } catch (DataSetException e) {
                 final String msg = "DataSetException occurred loading data set file name='" + filename + "', msg='"
@@ -125,6 +127,34 @@ public abstract class AbstractDataFileLoader implements DataFileLoader {
         return ds;
     }
 
+    private IDataSet loadCachedDataSet(final URL url) throws DataSetException {
+        long lastModified = DataSetCache.getLastModified(url);
+        return dataSetCache.get(getDataSetCacheKind(), url, lastModified, () -> loadDataSet(url));
+    }
+
+    /**
+     * Distinguishes datasets cached by this loader from the ones of loaders
+     * parsing the same file differently.
+     *
+     * @return the loader class name by default
+     */
+    protected String getDataSetCacheKind() {
+        return getClass().getName();
+    }
+
+    public DataSetCache getDataSetCache() {
+        return dataSetCache;
+    }
+
+    /**
+     * Cache of parsed datasets to share with other loaders, for instance
+     * {@link DataSetCache#getSharedInstance()}. Loaded datasets are then read
+     * only. <code>null</code>, the default, parses the file on every load.
+     */
+    public void setDataSetCache(DataSetCache dataSetCache) {
+        this.dataSetCache = dataSetCache;
+    }
+
     /**
      * Add the replacements in the maps (objects and substrings) to the specified
      * dataset.
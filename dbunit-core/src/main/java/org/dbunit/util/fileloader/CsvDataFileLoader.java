@@ -23,11 +23,16 @@ package org.dbunit.util.fileloader;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.List;
 import java.util.Map;
 
+import org.dbunit.dataset.CachedDataSet;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.binary.CompiledDataSetCache;
+import org.dbunit.dataset.csv.CsvDataSet;
 import org.dbunit.dataset.csv.CsvURLDataSet;
+import org.dbunit.dataset.csv.CsvURLProducer;
 
 /**
  * @author Jeff Jensen jeffjensen AT users.sourceforge.net
@@ -37,6 +42,8 @@ import org.dbunit.dataset.csv.CsvURLDataSet;
  * 
  */
 public class CsvDataFileLoader extends AbstractDataFileLoader {
+    private CompiledDataSetCache compiledDataSetCache;
+
     /** Create new instance. */
     public CsvDataFileLoader() {
     }
@@ -67,8 +74,26 @@ public class CsvDataFileLoader extends AbstractDataFileLoader {
      * {@inheritDoc}
      */
     public IDataSet loadDataSet(URL url) throws DataSetException, IOException {
+        if (compiledDataSetCache != null) {
+            List<URL> sources = CompiledDataSetCache.getCsvSources(url, CsvDataSet.TABLE_ORDERING_FILE);
+            CsvURLProducer parser = new CsvURLProducer(url, CsvDataSet.TABLE_ORDERING_FILE);
+            return new CachedDataSet(compiledDataSetCache.getProducer(sources, "Csv", parser));
+        }
+
         IDataSet ds = new CsvURLDataSet(url);
 
         return ds;
     }
+
+    public CompiledDataSetCache getCompiledDataSetCache() {
+        return compiledDataSetCache;
+    }
+
+    /**
+     * Cache where loaded CSV datasets are compiled to, so that they are parsed
+     * once. <code>null</code>, the default, always parses them.
+     */
+    public void setCompiledDataSetCache(CompiledDataSetCache compiledDataSetCache) {
+        this.compiledDataSetCache = compiledDataSetCache;
+    }
 }
@@ -99,6 +99,14 @@ public class FlatXmlDataFileLoader extends AbstractDataFileLoader {
         return ds;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected String getDataSetCacheKind() {
+        return super.getDataSetCacheKind() + builder;
+    }
+
     /**
      * Get the builder.
      * 
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.assertion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.ext.hsqldb.HsqldbChecksumStrategy;
+import org.dbunit.ext.oracle.OracleChecksumStrategy;
+import org.dbunit.ext.postgresql.PostgresqlChecksumStrategy;
+import org.junit.Test;
+
+public class Md5ChecksumStrategyTest {
+
+    private static final Column[] COLUMNS = { new Column("ID", DataType.INTEGER),
+            new Column("NAME", DataType.VARCHAR) };
+
+    private final IChecksumStrategy strategy = new PostgresqlChecksumStrategy();
+
+    private DefaultTable createTable(Column[] columns, Object[]... rows) throws Exception {
+        DefaultTable table = new DefaultTable("TEST_TABLE", columns);
+        for (Object[] row : rows) {
+            table.addRow(row);
+        }
+        return table;
+    }
+
+    @Test
+    public void testHashOfRows() throws Exception {
+        ITable table = createTable(COLUMNS, new Object[] { 1, "a" }, new Object[] { "2", null });
+
+        TableChecksum checksum = strategy.checksum(table, COLUMNS);
+
+        // first 15 hexadecimal digits of MD5 of "V1:1V1:a" and "V1:2N"
+        assertEquals(new TableChecksum(2, BigInteger.valueOf(953118314588896812L + 84584599557953511L)),
+                checksum);
+    }
+
+    @Test
+    public void testLengthInCodePoints() throws Exception {
+        ITable table = createTable(COLUMNS, new Object[] { 1, "\uD83D\uDE00" });
+
+        // first 15 hexadecimal digits of MD5 of "V1:1V1:" and U+1F600
+        assertEquals(new TableChecksum(1, BigInteger.valueOf(253240224856705051L)),
+                strategy.checksum(table, COLUMNS));
+        // "V1:1V2:" and U+1F600, CHAR_LENGTH of HSQLDB and H2 counts UTF-16 code units
+        assertEquals(new TableChecksum(1, BigInteger.valueOf(221227900369133154L)),
+                new HsqldbChecksumStrategy().checksum(table, COLUMNS));
+    }
+
+    @Test
+    public void testRowOrderAndCasting() throws Exception {
+        ITable expected = createTable(COLUMNS, new Object[] { "1", "a" }, new Object[] { "2", "b" });
+        ITable actual = createTable(COLUMNS, new Object[] { 2L, "b" }, new Object[] { new BigDecimal("1"), "a" });
+
+        assertEquals(strategy.checksum(expected, COLUMNS), strategy.checksum(actual, COLUMNS));
+    }
+
+    @Test
+    public void testDifferentRows() throws Exception {
+        ITable table = createTable(COLUMNS, new Object[] { 1, "a" }, new Object[] { 2, "b" });
+
+        assertNotEquals(strategy.checksum(table, COLUMNS),
+                strategy.checksum(createTable(COLUMNS, new Object[] { 1, "b" }, new Object[] { 2, "a" }), COLUMNS));
+        assertNotEquals(strategy.checksum(table, COLUMNS),
+                strategy.checksum(createTable(COLUMNS, new Object[] { 1, "a" }), COLUMNS));
+        assertNotEquals(strategy.checksum(createTable(COLUMNS, new Object[] { 1, null }), COLUMNS),
+                strategy.checksum(createTable(COLUMNS, new Object[] { 1, "N" }), COLUMNS));
+    }
+
+    @Test
+    public void testSumOfManyRows() throws Exception {
+        DefaultTable table = new DefaultTable("TEST_TABLE", COLUMNS);
+        for (int i = 0; i < 1000; i++) {
+            table.addRow(new Object[] { i, "name" });
+        }
+        BigInteger sum = BigInteger.ZERO;
+        for (int i = 0; i < 1000; i++) {
+            sum = sum.add(strategy.checksum(createTable(COLUMNS, new Object[] { i, "name" }), COLUMNS).getHash());
+        }
+
+        assertEquals(new TableChecksum(1000, sum), strategy.checksum(table, COLUMNS));
+    }
+
+    @Test
+    public void testValueNotCast() throws Exception {
+        ITable table = createTable(COLUMNS, new Object[] { "one", "a" });
+
+        assertNull(strategy.checksum(table, COLUMNS));
+    }
+
+    @Test
+    public void testSupportedColumns() throws Exception {
+        assertTrue(strategy.isSupported(new Column("ID", DataType.BIGINT)));
+        assertFalse(strategy.isSupported(new Column("AMOUNT", DataType.DECIMAL)));
+        assertFalse(strategy.isSupported(new Column("CODE", DataType.CHAR)));
+        assertTrue(new OracleChecksumStrategy().isSupported(new Column("AMOUNT", DataType.DECIMAL)));
+    }
+
+    @Test
+    public void testOracleNumbers() throws Exception {
+        // written like TO_CHAR
+        assertOracleNumber(".5", "0.50");
+        assertOracleNumber("-.5", "-0.5");
+        assertOracleNumber("10", "1.0E+1");
+        assertOracleNumber("0", "0.00");
+    }
+
+    private void assertOracleNumber(String expected, String number) throws Exception {
+        Column[] numberColumns = { new Column("VALUE", DataType.DECIMAL) };
+        Column[] stringColumns = { new Column("VALUE", DataType.VARCHAR) };
+
+        assertEquals(strategy.checksum(createTable(stringColumns, new Object[] { expected }), stringColumns),
+                new OracleChecksumStrategy().checksum(createTable(numberColumns, new Object[] { number }),
+                        numberColumns));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.assertion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.assertion.comparer.value.ValueComparers;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableCursor;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.NoPrimaryKeyException;
+import org.dbunit.dataset.datatype.DataType;
+import org.junit.Test;
+
+public class MergeJoinTableComparisonTest {
+
+    private static final Column[] COLUMNS = { new Column("ID", DataType.INTEGER),
+            new Column("NAME", DataType.VARCHAR) };
+
+    private final DbUnitAssert assertion = new DbUnitAssert();
+
+    private DefaultTable createTable(String[] primaryKeys, Object[]... rows) throws Exception {
+        DefaultTable table = new DefaultTable(new DefaultTableMetaData("TEST_TABLE", COLUMNS, primaryKeys));
+        for (Object[] row : rows) {
+            table.addRow(row);
+        }
+        return table;
+    }
+
+    private List<DbComparisonFailure> compare(ITable expected, ITable actual) throws Exception {
+        return compare(expected, actual, new MessageBuilder(null));
+    }
+
+    private List<DbComparisonFailure> compare(ITable expected, ITable actual, MessageBuilder messageBuilder)
+            throws Exception {
+        DiffCollectingFailureHandler failureHandler = new DiffCollectingFailureHandler();
+        ColumnValueComparerSource source = new ColumnValueComparerSource(ValueComparers.isActualEqualToExpected,
+                Collections.emptyMap());
+        assertion.assertOrderedByPrimaryKeyWithValueComparer(expected, new ForwardOnlyTable(actual),
+                failureHandler, c -> false, messageBuilder, source);
+        return failureHandler.getErrors();
+    }
+
+    @Test
+    public void testShuffledExpectedRows() throws Exception {
+        ITable expected = createTable(null, new Object[] { 3, "c" }, new Object[] { 1, "a" },
+                new Object[] { 10, "j" }, new Object[] { 2, "b" });
+        ITable actual = createTable(new String[] { "ID" }, new Object[] { 1, "a" }, new Object[] { 2, "b" },
+                new Object[] { 3, "c" }, new Object[] { 10, "j" });
+
+        assertEquals(Collections.emptyList(), compare(expected, actual));
+    }
+
+    @Test
+    public void testMissingUnexpectedAndDifferentRows() throws Exception {
+        ITable expected = createTable(null, new Object[] { 1, "a" }, new Object[] { 2, "b" },
+                new Object[] { 4, "d" });
+        ITable actual = createTable(new String[] { "ID" }, new Object[] { 1, "a" }, new Object[] { 3, "c" },
+                new Object[] { 4, "x" }, new Object[] { 5, "e" });
+
+        List<DbComparisonFailure> errors = compare(expected, actual);
+
+        assertEquals(4, errors.size());
+        assertTrue(errors.get(0).getReason(), errors.get(0).getReason().startsWith("missing row"));
+        assertEquals("[2, b]", errors.get(0).getExpected());
+        assertTrue(errors.get(1).getReason(), errors.get(1).getReason().startsWith("unexpected row"));
+        assertEquals("[3, c]", errors.get(1).getActual());
+        assertEquals("d", errors.get(2).getExpected());
+        assertEquals("x", errors.get(2).getActual());
+        assertTrue(errors.get(3).getReason(), errors.get(3).getReason().startsWith("unexpected row"));
+        assertEquals("[5, e]", errors.get(3).getActual());
+    }
+
+    @Test
+    public void testAdditionalColumnInfo() throws Exception {
+        ITable expected = createTable(null, new Object[] { 2, "b" }, new Object[] { 1, "a" });
+        ITable actual = createTable(new String[] { "ID" }, new Object[] { 0, "z" }, new Object[] { 1, "a" },
+                new Object[] { 2, "x" });
+
+        List<DbComparisonFailure> errors = compare(expected, actual, new MessageBuilder(new String[] { "ID", "NAME" }));
+
+        assertEquals(2, errors.size());
+        assertTrue(errors.get(0).getReason(), errors.get(0).getReason().startsWith("unexpected row"));
+        assertTrue(errors.get(1).getReason(), errors.get(1).getReason()
+                .endsWith("value (table=TEST_TABLE, row=2, col=NAME, Additional row info:"
+                        + " ('ID': expected=<2>, actual=<2>) ('NAME': expected=<b>, actual=<x>))"));
+    }
+
+    @Test
+    public void testActualRowsOutOfOrder() throws Exception {
+        ITable expected = createTable(null, new Object[] { 1, "a" }, new Object[] { 2, "b" });
+        ITable actual = createTable(new String[] { "ID" }, new Object[] { 2, "b" }, new Object[] { 1, "a" });
+
+        try {
+            compare(expected, actual);
+            fail("Should have thrown");
+        } catch (DatabaseUnitException expectedException) {
+            assertTrue(expectedException.getMessage(), expectedException.getMessage().contains("[1] follows [2]"));
+        }
+    }
+
+    @Test(expected = NoPrimaryKeyException.class)
+    public void testNoPrimaryKey() throws Exception {
+        ITable expected = createTable(null, new Object[] { 1, "a" });
+        ITable actual = createTable(null, new Object[] { 1, "a" });
+
+        compare(expected, actual);
+    }
+
+    /**
+     * Exposes a table through its cursor only.
+     */
+    private static class ForwardOnlyTable implements ITable {
+
+        private final ITable table;
+
+        ForwardOnlyTable(ITable table) {
+            this.table = table;
+        }
+
+        @Override
+        public ITableMetaData getTableMetaData() {
+            return table.getTableMetaData();
+        }
+
+        @Override
+        public int getRowCount() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Object getValue(int row, String column) throws DataSetException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ITableCursor cursor() throws DataSetException {
+            return table.cursor();
+        }
+    }
+}
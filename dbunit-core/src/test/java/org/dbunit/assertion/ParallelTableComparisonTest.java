@@ -0,0 +1,108 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.assertion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.datatype.DataType;
+import org.junit.After;
+import org.junit.Test;
+
+public class ParallelTableComparisonTest {
+
+    private static final Column[] COLUMNS = { new Column("ID", DataType.INTEGER),
+            new Column("NAME", DataType.VARCHAR) };
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private DefaultTable createTable(String tableName, int rowCount, int... wrongRows) throws Exception {
+        DefaultTable table = new DefaultTable(tableName, COLUMNS);
+        for (int row = 0; row < rowCount; row++) {
+            table.addRow(new Object[] { row, "name " + row });
+        }
+        for (int row : wrongRows) {
+            table.setValue(row, "NAME", "wrong " + row);
+        }
+        return table;
+    }
+
+    private IDataSet createExpectedDataSet() throws Exception {
+        return new DefaultDataSet(
+                new ITable[] { createTable("A", 10), createTable("B", 20000), createTable("C", 5) });
+    }
+
+    private List<String> collectFailures(DbUnitAssert assertion, IDataSet expected, IDataSet actual)
+            throws Exception {
+        DiffCollectingFailureHandler failureHandler = new DiffCollectingFailureHandler();
+        assertion.assertEquals(expected, actual, failureHandler);
+        List<String> failures = new ArrayList<>();
+        for (DbComparisonFailure failure : failureHandler.getErrors()) {
+            failures.add(failure.getReason() + ": " + failure.getExpected() + " / " + failure.getActual());
+        }
+        return failures;
+    }
+
+    @Test
+    public void testFailuresCollectedInSequentialOrder() throws Exception {
+        IDataSet expected = createExpectedDataSet();
+        IDataSet actual = new DefaultDataSet(new ITable[] { createTable("A", 10, 3), createTable("B", 20000, 1, 9000,
+                19999), createTable("C", 6) });
+        DbUnitAssert parallelAssertion = new DbUnitAssert();
+        parallelAssertion.setExecutor(pool);
+
+        List<String> failures = collectFailures(parallelAssertion, expected, actual);
+
+        assertEquals(collectFailures(new DbUnitAssert(), expected, actual), failures);
+        assertEquals(5, failures.size());
+    }
+
+    @Test
+    public void testLargeTable() throws Exception {
+        ITable expected = createTable("B", 30000);
+        ITable actual = createTable("B", 30000, 29000, 100, 15000);
+        DbUnitAssert assertion = new DbUnitAssert();
+        assertion.setExecutor(pool);
+        DiffCollectingFailureHandler failureHandler = new DiffCollectingFailureHandler();
+
+        assertion.assertEquals(expected, actual, failureHandler, c -> false);
+
+        List<DbComparisonFailure> errors = failureHandler.getErrors();
+        assertEquals(3, errors.size());
+        assertEquals("wrong 100", errors.get(0).getActual());
+        assertEquals("wrong 15000", errors.get(1).getActual());
+        assertEquals("wrong 29000", errors.get(2).getActual());
+    }
+
+    @Test
+    public void testFailFast() throws Exception {
+        IDataSet expected = createExpectedDataSet();
+        IDataSet actual = new DefaultDataSet(new ITable[] { createTable("A", 10), createTable("B", 20000, 12000, 50),
+                createTable("C", 5, 1) });
+        DbUnitAssert assertion = new DbUnitAssert();
+        assertion.setExecutor(pool);
+
+        try {
+            assertion.assertEquals(expected, actual);
+            fail("Should have failed");
+        } catch (AssertionError expectedFailure) {
+            assertTrue(expectedFailure.getMessage(), expectedFailure.getMessage().contains("table=B, row=50,"));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.assertion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+import org.dbunit.assertion.DbUnitAssert.ComparisonColumn;
+import org.dbunit.assertion.comparer.value.ValueComparer;
+import org.dbunit.assertion.comparer.value.ValueComparers;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.datatype.DataType;
+import org.junit.Test;
+
+public class UnorderedRowMatcherTest {
+
+    private static final Column[] COLUMNS = { new Column("ID", DataType.INTEGER),
+            new Column("NAME", DataType.VARCHAR), new Column("AMOUNT", DataType.DECIMAL) };
+
+    private final DbUnitAssert assertion = new DbUnitAssert();
+
+    private DefaultTable createTable(Column[] columns, Object[]... rows) throws Exception {
+        DefaultTable table = new DefaultTable("TEST_TABLE", columns);
+        for (Object[] row : rows) {
+            table.addRow(row);
+        }
+        return table;
+    }
+
+    private UnorderedRowMatcher match(ITable expected, ITable actual, ValueComparer amountComparer)
+            throws Exception {
+        ComparisonColumn[] comparisonCols = new ComparisonColumn[COLUMNS.length];
+        ValueComparer[] valueComparers = new ValueComparer[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            comparisonCols[i] = new ComparisonColumn("TEST_TABLE", COLUMNS[i], COLUMNS[i], null);
+            valueComparers[i] = ValueComparers.isActualEqualToExpected;
+        }
+        valueComparers[2] = amountComparer;
+        UnorderedRowMatcher matcher = new UnorderedRowMatcher(comparisonCols, valueComparers);
+        matcher.match(expected, actual);
+        return matcher;
+    }
+
+    @Test
+    public void testShuffledRowsWithDuplicates() throws Exception {
+        ITable expected = createTable(COLUMNS, new Object[] { 1, "a", "1.0" }, new Object[] { 2, "b", "2" },
+                new Object[] { 1, "a", "1.0" }, new Object[] { 3, null, null });
+        ITable actual = createTable(COLUMNS, new Object[] { 3, null, null },
+                new Object[] { 1, "a", new BigDecimal("1.00") }, new Object[] { "2", "b", 2 },
+                new Object[] { 1, "a", 1 });
+
+        assertTrue(match(expected, actual, ValueComparers.isActualEqualToExpected).isMatched());
+        assertion.assertEqualsIgnoreColsAndRowOrder(expected, actual, null);
+    }
+
+    @Test
+    public void testMissingAndUnexpectedRows() throws Exception {
+        ITable expected = createTable(COLUMNS, new Object[] { 1, "a", 1 }, new Object[] { 2, "b", 2 },
+                new Object[] { 1, "a", 1 });
+        ITable actual = createTable(COLUMNS, new Object[] { 1, "a", 1 }, new Object[] { 2, "c", 2 },
+                new Object[] { 1, "a", 1 });
+
+        UnorderedRowMatcher matcher = match(expected, actual, ValueComparers.isActualEqualToExpected);
+
+        assertFalse(matcher.isMatched());
+        assertEquals(1, matcher.getMissingRows().getRowCount());
+        assertEquals("b", matcher.getMissingRows().getValue(0, "NAME"));
+        assertEquals(1, matcher.getUnexpectedRows().getRowCount());
+        assertEquals("c", matcher.getUnexpectedRows().getValue(0, "NAME"));
+    }
+
+    @Test
+    public void testFailuresReportedForUnpairedRowsOnly() throws Exception {
+        ITable expected = createTable(COLUMNS, new Object[] { 1, "a", 1 }, new Object[] { 2, "b", 2 },
+                new Object[] { 3, "c", 3 });
+        ITable actual = createTable(COLUMNS, new Object[] { 3, "c", 3 }, new Object[] { 2, "x", 2 },
+                new Object[] { 1, "a", 1 });
+        DiffCollectingFailureHandler failureHandler = new DiffCollectingFailureHandler();
+        ColumnValueComparerSource source = new ColumnValueComparerSource(ValueComparers.isActualEqualToExpected,
+                Collections.emptyMap());
+
+        assertion.assertUnorderedWithValueComparer(expected, actual, failureHandler, c -> false,
+                new MessageBuilder(null), source);
+
+        List<DbComparisonFailure> errors = failureHandler.getErrors();
+        assertEquals(1, errors.size());
+        assertEquals("b", errors.get(0).getExpected());
+        assertEquals("x", errors.get(0).getActual());
+    }
+
+    @Test
+    public void testValueComparerOfNonKeyColumn() throws Exception {
+        ITable expected = createTable(COLUMNS, new Object[] { 1, "a", 10 }, new Object[] { 1, "a", 20 });
+        ITable actual = createTable(COLUMNS, new Object[] { 1, "a", 15 }, new Object[] { 1, "a", 25 });
+
+        UnorderedRowMatcher matcher = match(expected, actual, ValueComparers.isActualGreaterThanExpected);
+
+        assertTrue(matcher.isMatched());
+    }
+
+    @Test
+    public void testPairingNotFoundByFirstFreeRow() throws Exception {
+        ITable expected = createTable(COLUMNS, new Object[] { 1, "a", 10 }, new Object[] { 1, "a", 20 });
+        ITable actual = createTable(COLUMNS, new Object[] { 1, "a", 25 }, new Object[] { 1, "a", 15 });
+
+        // 25 takes 10 first, 15 is paired once 25 moves to 20
+        UnorderedRowMatcher matcher = match(expected, actual, ValueComparers.isActualGreaterThanExpected);
+
+        assertTrue(matcher.isMatched());
+    }
+
+    @Test
+    public void testNoKeyColumn() throws Exception {
+        Column[] unknownColumns = { new Column("ID", DataType.UNKNOWN) };
+        ITable expected = createTable(unknownColumns, new Object[] { "2" }, new Object[] { "1" });
+        ITable actual = createTable(unknownColumns, new Object[] { "1" }, new Object[] { "2" });
+
+        assertion.assertEqualsIgnoreColsAndRowOrder(expected, actual, new String[0]);
+    }
+}
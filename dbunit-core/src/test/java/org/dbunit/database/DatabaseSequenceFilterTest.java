@@ -28,6 +28,7 @@ import static org.junit.Assume.assumeTrue;
 import java.io.File;
 import java.sql.Connection;
 import java.util.Arrays;
+import java.util.List;
 
 import org.dbunit.AbstractDatabaseTest;
 import org.dbunit.CaseSensitive;
@@ -81,6 +82,21 @@ public class DatabaseSequenceFilterTest extends AbstractDatabaseTest {
         assertEquals("filtered", Arrays.asList(expectedFiltered), Arrays.asList(actualFiltered));
     }
 
+    @Test
+    public void testGetDependencyLevels() throws Exception {
+        dbUnit.executeSqlScript("src/test/resources/sql/hypersonic_fk.sql");
+
+        DatabaseConnection connection = database.getConnection();
+        final List<String[]> levels = DatabaseSequenceFilter.getDependencyLevels(connection,
+                connection.createDataSet().getTableNames());
+
+        assertEquals(4, levels.size());
+        assertEquals(Arrays.asList("D", "G", "H"), Arrays.asList(levels.get(0)));
+        assertEquals(Arrays.asList("A", "F"), Arrays.asList(levels.get(1)));
+        assertEquals(Arrays.asList("C", "E"), Arrays.asList(levels.get(2)));
+        assertEquals(Arrays.asList("B"), Arrays.asList(levels.get(3)));
+    }
+
     @Test
     public void testGetTableNamesCyclic() throws Exception {
         final String[] expectedNoFilter = { "A", "B", "C", "D", "E", };
@@ -22,6 +22,7 @@
 package org.dbunit.database;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -285,6 +286,20 @@ public class DatabaseTableMetaDataIT extends AbstractDatabaseIT {
         environment.closeDatabase(database);
     }
 
+    @Test
+    public void testIsSelfReferencing() throws Exception {
+        assumeTrue(environment instanceof HsqldbEnvironment);
+        Database database = environment.openDatabase("tempdb");
+        DdlExecutor.executeDdlFile(environment, database.getJdbcConnection(),
+                TestUtils.getFile("sql/hypersonic_dataset.sql"));
+        DatabaseConnection connection = database.getConnection();
+
+        // D references itself, C references A and F
+        assertTrue(new DatabaseTableMetaData("d", connection, false).isSelfReferencing());
+        assertFalse(new DatabaseTableMetaData("c", connection, false).isSelfReferencing());
+        environment.closeDatabase(database);
+    }
+
     @Test
     @CaseSensitive
     public void testCaseSensitive() throws Exception {
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.dbunit.junit.internal.connections.TrackingDataSource;
+import org.junit.Test;
+
+public class DirtyTableTrackerTest {
+
+    @Test
+    public void testParseTarget() {
+        assertEquals("T", DirtyTableTracker.parseTarget("insert into T (A) values (?)"));
+        assertEquals("S.T", DirtyTableTracker.parseTarget("  /* comment */ INSERT INTO s.t VALUES (1)"));
+        assertEquals("S.My Table", DirtyTableTracker.parseTarget("insert into \"S\".\"My Table\" values (1)"));
+        assertEquals("S.T", DirtyTableTracker.parseTarget("insert into C.S.T(A) select A from U"));
+        assertEquals("T", DirtyTableTracker.parseTarget("-- comment\nupdate only T set A = 1"));
+        assertEquals("T", DirtyTableTracker.parseTarget("delete from T where A = 1"));
+        assertEquals("T", DirtyTableTracker.parseTarget("delete T"));
+        assertEquals("T", DirtyTableTracker.parseTarget("delete from T;"));
+        assertEquals("T", DirtyTableTracker.parseTarget("truncate table [T]"));
+        assertEquals("T", DirtyTableTracker.parseTarget("merge into `T` using ..."));
+        assertEquals("", DirtyTableTracker.parseTarget("select * from T"));
+        assertEquals("", DirtyTableTracker.parseTarget("(select 1)"));
+        assertEquals("", DirtyTableTracker.parseTarget("commit"));
+        assertEquals("", DirtyTableTracker.parseTarget(" "));
+        assertNull(DirtyTableTracker.parseTarget("with X as (select 1) delete from T"));
+        assertNull(DirtyTableTracker.parseTarget("{call P()}"));
+        assertNull(DirtyTableTracker.parseTarget("drop table T"));
+        assertNull(DirtyTableTracker.parseTarget("update (select * from T) set A = 1"));
+    }
+
+    @Test
+    public void testParseTargetUnknownForms() {
+        assertNull(DirtyTableTracker.parseTarget("insert ignore into T values (1)"));
+        assertNull(DirtyTableTracker.parseTarget("insert T values (1)"));
+        assertNull(DirtyTableTracker.parseTarget("insert all into T values (1) into U values (2) select * from dual"));
+        assertNull(DirtyTableTracker.parseTarget("insert first when A > 1 then into T values (A) select A from U"));
+        assertNull(DirtyTableTracker.parseTarget("insert into T default values"));
+        assertNull(DirtyTableTracker.parseTarget("delete ignore from T"));
+        assertNull(DirtyTableTracker.parseTarget("delete low_priority from T"));
+        assertNull(DirtyTableTracker.parseTarget("delete T from T join U on T.A = U.A"));
+        assertNull(DirtyTableTracker.parseTarget("delete from T using U where T.A = U.A"));
+        assertNull(DirtyTableTracker.parseTarget("delete T, U from T join U on T.A = U.A"));
+        assertNull(DirtyTableTracker.parseTarget("update T join U on T.A = U.A set T.B = U.B"));
+        assertNull(DirtyTableTracker.parseTarget("update T, U set T.B = U.B where T.A = U.A"));
+        assertNull(DirtyTableTracker.parseTarget("update low_priority T set A = 1"));
+        assertNull(DirtyTableTracker.parseTarget("update T X set A = 1"));
+        assertNull(DirtyTableTracker.parseTarget("merge into T X using U on (X.A = U.A)"));
+        assertNull(DirtyTableTracker.parseTarget("truncate table T cascade"));
+        assertNull(DirtyTableTracker.parseTarget("insert into T values (1); delete from U"));
+        assertNull(DirtyTableTracker.parseTarget("select 1; delete from U"));
+    }
+
+    @Test
+    public void testTracking() {
+        DirtyTableTracker tracker = new DirtyTableTracker();
+        assertTrue(tracker.isDirty("T"));
+
+        tracker.tableCleaned("T");
+        tracker.tableCleaned("U");
+        assertFalse(tracker.isDirty("t"));
+
+        tracker.statementExecuted("insert into T values (1)");
+        assertTrue(tracker.isDirty("T"));
+        assertFalse(tracker.isDirty("U"));
+
+        tracker.statementExecuted("call P()");
+        assertTrue(tracker.isDirty("U"));
+    }
+
+    @Test
+    public void testTrackingWithSchemas() {
+        DirtyTableTracker tracker = new DirtyTableTracker();
+        tracker.tableCleaned("S1.T");
+        tracker.tableCleaned("S2.T");
+        tracker.tableCleaned("U");
+        assertFalse(tracker.isDirty("s1.t"));
+        assertTrue(tracker.isDirty("T"));
+        assertTrue(tracker.isDirty("S1.U"));
+
+        tracker.statementExecuted("insert into S1.T values (1)");
+        assertTrue(tracker.isDirty("S1.T"));
+        assertFalse(tracker.isDirty("S2.T"));
+
+        // without schema, the table may be in any schema
+        tracker.statementExecuted("delete from T where A = 1");
+        assertTrue(tracker.isDirty("S2.T"));
+
+        tracker.statementExecuted("update S1.U set A = 1");
+        assertTrue(tracker.isDirty("U"));
+    }
+
+    @Test
+    public void testTriggeredTables() {
+        DirtyTableTracker tracker = new DirtyTableTracker();
+        tracker.addTriggeredTables("T", "AUDIT");
+        tracker.addTriggeredTables("AUDIT", "AUDIT_LOG");
+        tracker.tableCleaned("T");
+        tracker.tableCleaned("AUDIT");
+        tracker.tableCleaned("AUDIT_LOG");
+        tracker.tableCleaned("U");
+
+        tracker.statementExecuted("insert into T values (1)");
+
+        assertTrue(tracker.isDirty("AUDIT"));
+        assertTrue(tracker.isDirty("AUDIT_LOG"));
+        assertFalse(tracker.isDirty("U"));
+    }
+
+    @Test
+    public void testTrackingDataSource() throws Exception {
+        Connection connection = mock(Connection.class);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+
+        TrackingDataSource trackingDataSource = new TrackingDataSource(dataSource);
+        DirtyTableTracker tracker = trackingDataSource.getTracker();
+        tracker.tableCleaned("T");
+        tracker.tableCleaned("U");
+        tracker.tableCleaned("V");
+
+        Connection trackingConnection = trackingDataSource.getConnection();
+        assertSame(tracker, trackingConnection.unwrap(DirtyTableTracker.class));
+
+        PreparedStatement preparedStatement = trackingConnection.prepareStatement("insert into T values (?)");
+        assertFalse(tracker.isDirty("T"));
+        preparedStatement.executeUpdate();
+        assertTrue(tracker.isDirty("T"));
+
+        Statement statement = trackingConnection.createStatement();
+        statement.addBatch("delete from U");
+        assertFalse(tracker.isDirty("U"));
+        statement.executeBatch();
+        assertTrue(tracker.isDirty("U"));
+        assertSame(trackingConnection, statement.getConnection());
+
+        assertFalse(tracker.isDirty("V"));
+        trackingConnection.rollback();
+        assertTrue(tracker.isDirty("V"));
+    }
+
+    @Test
+    public void testCloseWithUncommittedWrites() throws Exception {
+        Connection connection = mock(Connection.class);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        when(connection.getAutoCommit()).thenReturn(false);
+
+        TrackingDataSource trackingDataSource = new TrackingDataSource(dataSource);
+        DirtyTableTracker tracker = trackingDataSource.getTracker();
+
+        // committed writes
+        Connection trackingConnection = trackingDataSource.getConnection();
+        trackingConnection.createStatement().executeUpdate("delete from T");
+        tracker.tableCleaned("T");
+        trackingConnection.commit();
+        trackingConnection.close();
+        assertFalse(tracker.isDirty("T"));
+
+        // pending writes may be rolled back by close
+        trackingConnection = trackingDataSource.getConnection();
+        trackingConnection.createStatement().executeUpdate("delete from U");
+        tracker.tableCleaned("U");
+        trackingConnection.close();
+        assertTrue(tracker.isDirty("T"));
+        assertTrue(tracker.isDirty("U"));
+    }
+}
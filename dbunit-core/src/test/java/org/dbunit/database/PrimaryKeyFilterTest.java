@@ -0,0 +1,37 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+public class PrimaryKeyFilterTest {
+
+    @Test
+    public void testBuildKeyConditionSingleColumn() {
+        assertEquals("ID IN (?)", PrimaryKeyFilter.buildKeyCondition(new String[] { "ID" }, 1));
+        assertEquals("ID IN (?, ?, ?)", PrimaryKeyFilter.buildKeyCondition(new String[] { "ID" }, 3));
+    }
+
+    @Test
+    public void testBuildKeyConditionMultiColumn() {
+        assertEquals("(A = ? AND B = ?) OR (A = ? AND B = ?)",
+                PrimaryKeyFilter.buildKeyCondition(new String[] { "A", "B" }, 2));
+    }
+
+    @Test
+    public void testCompositePrimaryKeyOrder() {
+        TreeSet<Object> keys = new TreeSet<>(Arrays.asList(new CompositePrimaryKey(2, "a"),
+                new CompositePrimaryKey(1, "b"), new CompositePrimaryKey(1, "a"), new CompositePrimaryKey(1, "a")));
+
+        assertEquals(Arrays.asList(new CompositePrimaryKey(1, "a"), new CompositePrimaryKey(1, "b"),
+                new CompositePrimaryKey(2, "a")), Arrays.asList(keys.toArray()));
+        assertTrue(keys.contains(new CompositePrimaryKey(1, "b")));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.database;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.dbunit.dataset.ITable;
+import org.dbunit.operation.DatabaseOperation;
+import org.junit.Test;
+
+/**
+ * Runs table tests against a table keeping two rows in memory and spilling the
+ * rest.
+ */
+public class SpillingResultSetTableIT extends CachedResultSetTableIT {
+
+    public SpillingResultSetTableIT() throws Exception {
+    }
+
+    @Override
+    protected ITable createTable() throws Exception {
+        AbstractDatabaseConnection connection = database.getConnection();
+        DatabaseOperation.CLEAN_INSERT.execute(connection, environment.getInitDataSet());
+
+        String selectStatement = "select * from TEST_TABLE order by COLUMN0";
+        ForwardOnlyResultSetTable table = new ForwardOnlyResultSetTable("TEST_TABLE", selectStatement, connection);
+        return new SpillingResultSetTable(table, rowSize(table) * 5 / 2);
+    }
+
+    private long rowSize(ForwardOnlyResultSetTable table) throws Exception {
+        Object[] values = new Object[table.getTableMetaData().getColumns().length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = table.getValue(0, i);
+        }
+        return SpillingResultSetTable.estimateSize(values);
+    }
+
+    @Test
+    public void testRowsSpilled() throws Exception {
+        SpillingResultSetTable table = (SpillingResultSetTable) createTable();
+
+        assertEquals(2, table.getMemoryRowCount());
+        assertEquals(ROW_COUNT, table.getRowCount());
+    }
+
+    @Test
+    public void testConcurrentReads() throws Exception {
+        ITable table = createTable();
+        int columnCount = table.getTableMetaData().getColumns().length;
+        Object[][] expected = new Object[ROW_COUNT][columnCount];
+        for (int row = 0; row < ROW_COUNT; row++) {
+            for (int column = 0; column < columnCount; column++) {
+                expected[row][column] = table.getValue(row, column);
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                int firstRow = thread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        int row = (firstRow + i) % ROW_COUNT;
+                        for (int column = 0; column < columnCount; column++) {
+                            assertEquals(expected[row][column], table.getValue(row, column));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
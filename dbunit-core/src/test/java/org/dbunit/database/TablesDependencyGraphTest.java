@@ -0,0 +1,92 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TablesDependencyGraphTest {
+
+    private static final String[] TABLE_NAMES = { "A", "B", "C", "D", "E", "F", "G", "H" };
+
+    /**
+     * Same dependencies as in hypersonic_fk.sql
+     */
+    private TablesDependencyGraph createGraph(String... tableNames) {
+        TablesDependencyGraph graph = new TablesDependencyGraph(tableNames);
+        addDependency(graph, tableNames, "A", "D");
+        addDependency(graph, tableNames, "B", "C");
+        addDependency(graph, tableNames, "B", "E");
+        addDependency(graph, tableNames, "B", "H");
+        addDependency(graph, tableNames, "C", "A");
+        addDependency(graph, tableNames, "C", "F");
+        addDependency(graph, tableNames, "E", "A");
+        addDependency(graph, tableNames, "E", "G");
+        addDependency(graph, tableNames, "F", "D");
+        return graph;
+    }
+
+    private void addDependency(TablesDependencyGraph graph, String[] tableNames, String child, String parent) {
+        List<String> names = Arrays.asList(tableNames);
+        graph.addDependency(names.indexOf(child), names.indexOf(parent));
+    }
+
+    @Test
+    public void testSort() throws Exception {
+        String[] actual = createGraph(TABLE_NAMES).sort();
+        assertEquals(Arrays.asList("D", "A", "F", "C", "G", "E", "H", "B"), Arrays.asList(actual));
+    }
+
+    @Test
+    public void testSortKeepsOrderOfIndependentTables() throws Exception {
+        String[] actual = createGraph("H", "G", "F", "E", "D", "C", "B", "A").sort();
+        assertEquals(Arrays.asList("H", "G", "D", "F", "A", "E", "C", "B"), Arrays.asList(actual));
+    }
+
+    @Test
+    public void testSortIgnoresSelfReferenceAndUnknownTables() throws Exception {
+        TablesDependencyGraph graph = new TablesDependencyGraph(new String[] { "A", "B" });
+        graph.addDependency(0, 0);
+        graph.addDependency(0, 1);
+        graph.addDependency(1, -1);
+
+        assertEquals(Arrays.asList("B", "A"), Arrays.asList(graph.sort()));
+        assertEquals(new HashSet<>(Arrays.asList("B")), graph.getParents("A"));
+    }
+
+    @Test
+    public void testGetLevels() throws Exception {
+        List<String[]> levels = createGraph(TABLE_NAMES).getLevels();
+
+        assertEquals(4, levels.size());
+        assertEquals(Arrays.asList("D", "G", "H"), Arrays.asList(levels.get(0)));
+        assertEquals(Arrays.asList("A", "F"), Arrays.asList(levels.get(1)));
+        assertEquals(Arrays.asList("C", "E"), Arrays.asList(levels.get(2)));
+        assertEquals(Arrays.asList("B"), Arrays.asList(levels.get(3)));
+    }
+
+    @Test
+    public void testSortCycleReportsOnlyCyclicTables() throws Exception {
+        String[] tableNames = { "A", "B", "C", "D" };
+        TablesDependencyGraph graph = new TablesDependencyGraph(tableNames);
+        // A <- B <- C <- B, D <- C
+        addDependency(graph, tableNames, "B", "A");
+        addDependency(graph, tableNames, "C", "B");
+        addDependency(graph, tableNames, "B", "C");
+        addDependency(graph, tableNames, "D", "C");
+
+        try {
+            graph.sort();
+            fail("Should not be here!");
+        } catch (CyclicTablesDependencyException expected) {
+            assertEquals("Table: B ([B, C])", expected.getMessage());
+        }
+    }
+}
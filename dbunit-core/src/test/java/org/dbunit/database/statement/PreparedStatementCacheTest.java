@@ -0,0 +1,95 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.database.statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PreparedStatementCacheTest {
+
+    private Connection connection;
+    private PreparedStatementCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        connection = mock(Connection.class);
+        when(connection.prepareStatement("sql1")).thenAnswer(i -> mock(PreparedStatement.class));
+        when(connection.prepareStatement("sql2")).thenAnswer(i -> mock(PreparedStatement.class));
+        when(connection.prepareStatement("sql3")).thenAnswer(i -> mock(PreparedStatement.class));
+        cache = new PreparedStatementCache(connection, 2);
+    }
+
+    @Test
+    public void testBorrowReturnedStatement() throws Exception {
+        PreparedStatement statement = cache.borrow("sql1");
+        cache.release("sql1", statement);
+
+        assertSame(statement, cache.borrow("sql1"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testBorrowedStatementIsNotShared() throws Exception {
+        PreparedStatement statement1 = cache.borrow("sql1");
+        PreparedStatement statement2 = cache.borrow("sql1");
+
+        assertNotSame(statement1, statement2);
+        assertEquals(2, cache.getMissCount());
+
+        cache.release("sql1", statement1);
+        cache.release("sql1", statement2);
+        assertEquals(1, cache.size());
+        verify(statement2).close();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws Exception {
+        PreparedStatement statement1 = cache.borrow("sql1");
+        PreparedStatement statement2 = cache.borrow("sql2");
+        PreparedStatement statement3 = cache.borrow("sql3");
+        cache.release("sql1", statement1);
+        cache.release("sql2", statement2);
+        cache.release("sql3", statement3);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        verify(statement1).close();
+        verify(statement2, never()).close();
+        verify(statement3, never()).close();
+    }
+
+    @Test
+    public void testClosedStatementIsPreparedAgain() throws Exception {
+        PreparedStatement statement = cache.borrow("sql1");
+        cache.release("sql1", statement);
+        when(statement.isClosed()).thenReturn(true);
+
+        assertNotSame(statement, cache.borrow("sql1"));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testClearClosesIdleStatements() throws Exception {
+        PreparedStatement statement = cache.borrow("sql1");
+        cache.release("sql1", statement);
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        verify(statement).close();
+    }
+}
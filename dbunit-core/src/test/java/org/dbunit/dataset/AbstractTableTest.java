@@ -22,6 +22,8 @@
 package org.dbunit.dataset;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import org.dbunit.AbstractDatabaseTest;
@@ -92,6 +94,36 @@ public abstract class AbstractTableTest extends AbstractDatabaseTest {
         }
     }
 
+    @Test
+    public void testGetValueByColumnIndex() throws Exception {
+        ITable table = createTable();
+        ITableMetaData metaData = table.getTableMetaData();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            for (int j = 0; j < COLUMN_COUNT; j++) {
+                int columnIndex = metaData.getColumnIndex("COLUMN" + j);
+                String expected = "row " + i + " col " + j;
+                Object value = table.getValue(i, columnIndex);
+                assertEquals("value", expected, value);
+            }
+        }
+    }
+
+    @Test
+    public void testCursor() throws Exception {
+        ITableCursor cursor = createTable().cursor();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            assertTrue("next", cursor.next());
+            assertEquals("row", i, cursor.getRow());
+            for (int j = 0; j < COLUMN_COUNT; j++) {
+                String columnName = "COLUMN" + j;
+                String expected = "row " + i + " col " + j;
+                assertEquals("value", expected, cursor.getValue(columnName));
+            }
+        }
+        assertFalse("end of table", cursor.next());
+        assertFalse("end of table", cursor.next());
+    }
+
     @Test
     public void testGetValueCaseInsensitive() throws Exception {
         ITable table = createTable();
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.dataset;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+
+import org.dbunit.dataset.datatype.DataType;
+import org.junit.Test;
+
+public class ColumnarTableTest extends DefaultTableTest {
+
+    public ColumnarTableTest() throws Exception {
+    }
+
+    @Override
+    protected ITable createTable(int columnCount, int rowCount, int startRow) throws Exception {
+        ColumnarTable table = new ColumnarTable(createTableMetaData(columnCount));
+        for (int i = 0; i < rowCount; i++) {
+            Object[] rowValues = new Object[columnCount];
+            for (int j = 0; j < rowValues.length; j++) {
+                rowValues[j] = "row " + (i + startRow) + " col " + j;
+            }
+            table.addRow(rowValues);
+        }
+        return table;
+    }
+
+    @Override
+    public void testGetMissingValue() throws Exception {
+        ColumnarTable table = new ColumnarTable(createTableMetaData(COLUMN_COUNT));
+        table.addRow(new Object[] { "value", ITable.NO_VALUE, null, null });
+
+        assertEquals("value", table.getValue(0, "COLUMN0"));
+        assertSame("no value", ITable.NO_VALUE, table.getValue(0, "COLUMN1"));
+        assertNull(table.getValue(0, "COLUMN2"));
+    }
+
+    @Test
+    public void testTypedColumns() throws Exception {
+        Timestamp timestamp = Timestamp.valueOf("2024-01-02 03:04:05.123456789");
+        Object[] values = { 1, 2L, new BigDecimal("12.50"), 1.5d, Boolean.TRUE, timestamp, new byte[] { 1, 2 },
+                BigInteger.TEN };
+        DataType[] dataTypes = { DataType.INTEGER, DataType.BIGINT_AUX_LONG, DataType.DECIMAL, DataType.DOUBLE,
+                DataType.BOOLEAN, DataType.TIMESTAMP, DataType.VARBINARY, DataType.BIGINT };
+        Column[] columns = new Column[dataTypes.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new Column("C" + i, dataTypes[i]);
+        }
+        ColumnarTable table = new ColumnarTable(new DefaultTableMetaData("T", columns));
+        table.addRow(values);
+        table.addRow(new Object[values.length]);
+
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof byte[]) {
+                assertArrayEquals((byte[]) values[i], (byte[]) table.getValue(0, i));
+            } else {
+                assertEquals(values[i], table.getValue(0, i));
+            }
+            assertNull(table.getValue(1, i));
+        }
+    }
+
+    @Test
+    public void testValueOfAnotherTypeKeptAsIs() throws Exception {
+        Column[] columns = { new Column("ID", DataType.INTEGER) };
+        ColumnarTable table = new ColumnarTable(new DefaultTableMetaData("T", columns));
+        table.addRow(new Object[] { 1 });
+        table.addRow(new Object[] { "[NULL]" });
+        table.addRow(new Object[] { 3L });
+
+        assertEquals(1, table.getValue(0, 0));
+        assertEquals("[NULL]", table.getValue(1, 0));
+        assertEquals(3L, table.getValue(2, 0));
+    }
+
+    @Test
+    public void testSetValue() throws Exception {
+        Column[] columns = { new Column("ID", DataType.INTEGER) };
+        ColumnarTable table = new ColumnarTable(new DefaultTableMetaData("T", columns));
+        table.addRow();
+
+        assertNull(table.setValue(0, "ID", 5));
+        assertEquals(5, table.setValue(0, "ID", "five"));
+        assertEquals("five", table.getValue(0, "ID"));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.dataset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.net.URL;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.util.fileloader.FlatXmlDataFileLoader;
+import org.junit.Test;
+
+public class DataSetCacheTest {
+
+    private static IDataSet createDataSet(int rowCount) throws DataSetException {
+        DefaultTable table = new DefaultTable("T", new Column[] { new Column("C", DataType.INTEGER) });
+        for (int i = 0; i < rowCount; i++) {
+            table.addRow(new Object[] { i });
+        }
+        return new DefaultDataSet(table);
+    }
+
+    @Test
+    public void testHitAndMiss() throws Exception {
+        DataSetCache cache = new DataSetCache(1000);
+        URL url = new URL("file:/a.xml");
+        AtomicInteger loads = new AtomicInteger();
+
+        IDataSet first = cache.get("kind", url, 1, () -> {
+            loads.incrementAndGet();
+            return createDataSet(10);
+        });
+        IDataSet second = cache.get("kind", url, 1, () -> {
+            loads.incrementAndGet();
+            return createDataSet(10);
+        });
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(10, second.getTable("T").getRowCount());
+        assertFalse(second.getTable("T") instanceof DefaultTable);
+        DataSetCache.Statistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(1, statistics.getSize());
+        assertEquals(11, statistics.getWeight());
+    }
+
+    @Test
+    public void testLastModifiedAndKindArePartOfKey() throws Exception {
+        DataSetCache cache = new DataSetCache(1000);
+        URL url = new URL("file:/a.xml");
+
+        IDataSet dataSet = cache.get("kind", url, 1, () -> createDataSet(1));
+
+        assertNotSame(dataSet, cache.get("kind", url, 2, () -> createDataSet(1)));
+        assertNotSame(dataSet, cache.get("other", url, 1, () -> createDataSet(1)));
+        assertEquals(3, cache.getStatistics().getMissCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws Exception {
+        DataSetCache cache = new DataSetCache(25);
+        URL a = new URL("file:/a.xml");
+        URL b = new URL("file:/b.xml");
+        URL c = new URL("file:/c.xml");
+
+        IDataSet dataSetA = cache.get("kind", a, 0, () -> createDataSet(10));
+        cache.get("kind", b, 0, () -> createDataSet(10));
+        // a becomes most recently used
+        cache.get("kind", a, 0, () -> createDataSet(10));
+        cache.get("kind", c, 0, () -> createDataSet(10));
+
+        DataSetCache.Statistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getEvictionCount());
+        assertEquals(2, statistics.getSize());
+        assertSame(dataSetA, cache.get("kind", a, 0, () -> createDataSet(10)));
+    }
+
+    @Test
+    public void testTooHeavyIsNotCached() throws Exception {
+        DataSetCache cache = new DataSetCache(5);
+
+        IDataSet dataSet = cache.get("kind", new URL("file:/a.xml"), 0, () -> createDataSet(10));
+
+        assertEquals(10, dataSet.getTable("T").getRowCount());
+        assertEquals(0, cache.getStatistics().getSize());
+    }
+
+    @Test
+    public void testConcurrentRequestsLoadOnce() throws Exception {
+        DataSetCache cache = new DataSetCache(1000);
+        URL url = new URL("file:/a.xml");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<IDataSet> first = executor.submit(() -> cache.get("kind", url, 0, () -> {
+                loads.incrementAndGet();
+                started.countDown();
+                release.await();
+                return createDataSet(1);
+            }));
+            started.await();
+            Future<IDataSet> second = executor.submit(() -> cache.get("kind", url, 0, () -> {
+                loads.incrementAndGet();
+                return createDataSet(1);
+            }));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertSame(first.get(), second.get());
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testLoadFailure() throws Exception {
+        DataSetCache cache = new DataSetCache(1000);
+        try {
+            cache.get("kind", new URL("file:/a.xml"), 0, () -> {
+                throw new DataSetException("broken");
+            });
+            fail("Should have failed");
+        } catch (DataSetException expected) {
+            assertEquals("broken", expected.getMessage());
+        }
+        assertEquals(0, cache.getStatistics().getSize());
+    }
+
+    @Test
+    public void testFileLoader() throws Exception {
+        DataSetCache cache = new DataSetCache(1000);
+        FlatXmlDataFileLoader loader = new FlatXmlDataFileLoader();
+        loader.setDataSetCache(cache);
+
+        IDataSet first = loader.load("/xml/flatXmlDataSetTest.xml");
+        IDataSet second = loader.load("/xml/flatXmlDataSetTest.xml");
+
+        assertEquals(1, cache.getStatistics().getHitCount());
+        assertEquals(first.getTable("TEST_TABLE").getValue(0, "COLUMN0"),
+                second.getTable("TEST_TABLE").getValue(0, "COLUMN0"));
+    }
+}
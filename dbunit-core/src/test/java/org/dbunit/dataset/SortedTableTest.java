@@ -28,8 +28,11 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Comparator;
+import java.util.Random;
 
 import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.datatype.TypeCastException;
 import org.dbunit.dataset.xml.FlatXmlDataSetBuilder;
 import org.dbunit.testutil.TestUtils;
 import org.junit.Test;
@@ -189,4 +192,77 @@ public class SortedTableTest extends AbstractTableTest {
         assertEquals(Column.NULLABLE, actualSortColumn.getNullable());
     }
 
+    private ITable createLargeTable(int rowCount) throws Exception {
+        Column[] columns = { new Column("COLUMN0", DataType.INTEGER), new Column("COLUMN1", DataType.INTEGER) };
+        DefaultTable table = new DefaultTable("TEST_TABLE", columns);
+        Random random = new Random(42);
+        for (int i = 0; i < rowCount; i++) {
+            Integer key = i % 100 == 0 ? null : Integer.valueOf(random.nextInt(1000));
+            table.addRow(new Object[] { key, Integer.valueOf(i) });
+        }
+        return table;
+    }
+
+    /**
+     * Tables above the parallel threshold must be sorted exactly like small ones,
+     * keeping the order of rows with equal keys.
+     */
+    @Test
+    public void testSortLargeTableByComparable() throws Exception {
+        SortedTable sortedTable = new SortedTable(createLargeTable(50000), new String[] { "COLUMN0" });
+        sortedTable.setUseComparable(true);
+
+        assertSortedAndStable(sortedTable, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()));
+    }
+
+    @Test
+    public void testSortLargeTableByString() throws Exception {
+        SortedTable sortedTable = new SortedTable(createLargeTable(50000), new String[] { "COLUMN0" });
+
+        assertSortedAndStable(sortedTable, Comparator.nullsFirst(Comparator.comparing(String::valueOf)));
+    }
+
+    private void assertSortedAndStable(SortedTable sortedTable, Comparator<Integer> order) throws Exception {
+        for (int i = 1; i < sortedTable.getRowCount(); i++) {
+            int result = order.compare((Integer) sortedTable.getValue(i - 1, "COLUMN0"),
+                    (Integer) sortedTable.getValue(i, "COLUMN0"));
+            assertTrue("row " + i + " out of order", result <= 0);
+            if (result == 0) {
+                assertTrue("row " + i + " not stable", ((Integer) sortedTable.getValue(i - 1, "COLUMN1"))
+                        .compareTo((Integer) sortedTable.getValue(i, "COLUMN1")) < 0);
+            }
+        }
+    }
+
+    @Test
+    public void testCustomRowComparator() throws Exception {
+        ITable table = createNumericTable();
+        SortedTable sortedTable = new SortedTable(table, new String[] { "COLUMN0" });
+        sortedTable.setRowComparator((Comparator<Integer>) (row1, row2) -> row2.compareTo(row1));
+
+        Object[] expected = { new Integer(11), new Integer(10), new Integer(9) };
+        for (int i = 0; i < sortedTable.getRowCount(); i++) {
+            assertEquals("value row " + i, expected[i], sortedTable.getValue(i, "COLUMN0"));
+        }
+    }
+
+    @Test
+    public void testRowComparatorSubclass() throws Exception {
+        ITable table = createNumericTable();
+        Column[] sortColumns = { table.getTableMetaData().getColumns()[0] };
+        SortedTable sortedTable = new SortedTable(table, sortColumns);
+        sortedTable.setRowComparator(new SortedTable.RowComparator(table, sortColumns) {
+
+            @Override
+            protected int compare(Column column, Object value1, Object value2) throws TypeCastException {
+                return -super.compare(column, value1, value2);
+            }
+        });
+
+        Object[] expected = { new Integer(11), new Integer(10), new Integer(9) };
+        for (int i = 0; i < sortedTable.getRowCount(); i++) {
+            assertEquals("value row " + i, expected[i], sortedTable.getValue(i, "COLUMN0"));
+        }
+    }
+
 }
@@ -0,0 +1,308 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.dataset.binary;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.ObjectOutputStream;
+import java.io.Reader;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.UUID;
+
+import org.dbunit.Assertion;
+import org.dbunit.dataset.AbstractDataSetTest;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.xml.FlatXmlDataSetBuilder;
+import org.dbunit.dataset.xml.FlatXmlDataSetTest;
+import org.dbunit.dataset.xml.FlatXmlProducer;
+import org.junit.Test;
+import org.xml.sax.InputSource;
+
+public class BinaryDataSetTest extends AbstractDataSetTest {
+
+    public BinaryDataSetTest() throws Exception {
+    }
+
+    @Override
+    protected IDataSet createDataSet() throws Exception {
+        return convert(new FlatXmlDataSetBuilder().build(FlatXmlDataSetTest.DATASET_FILE), false);
+    }
+
+    @Override
+    protected IDataSet createDuplicateDataSet() throws Exception {
+        return convert(FlatXmlDataSetTest.DUPLICATE_DATASET_FILE);
+    }
+
+    @Override
+    protected IDataSet createMultipleCaseDuplicateDataSet() throws Exception {
+        return convert(FlatXmlDataSetTest.DUPLICATE_DATASET_MULTIPLE_CASE_FILE);
+    }
+
+    /**
+     * Streams flat XML file to binary one, so that repeated tables are kept.
+     */
+    private static IDataSet convert(File flatXmlFile) throws Exception {
+        File file = createTempFile();
+        try (Reader reader = new FileReader(flatXmlFile); OutputStream out = new FileOutputStream(file)) {
+            FlatXmlProducer producer = new FlatXmlProducer(new InputSource(reader));
+            producer.setConsumer(new BinaryDataSetWriter(out));
+            producer.produce();
+        }
+        return new BinaryDataSet(file);
+    }
+
+    private static IDataSet convert(IDataSet dataSet, boolean compress) throws Exception {
+        File file = createTempFile();
+        BinaryDataSet.write(dataSet, file, compress);
+        return new BinaryDataSet(file);
+    }
+
+    private static File createTempFile() throws IOException {
+        File file = File.createTempFile("dbunit", ".bin");
+        file.deleteOnExit();
+        return file;
+    }
+
+    /**
+     * Overridden from parent because repeated tables are merged, like in flat XML.
+     */
+    @Override
+    public void testCreateDuplicateDataSet() throws Exception {
+        IDataSet dataSet = createDuplicateDataSet();
+        ITable[] tables = dataSet.getTables();
+        assertEquals(2, tables.length);
+        assertEquals("DUPLICATE_TABLE", tables[0].getTableMetaData().getTableName());
+        assertEquals(3, tables[0].getRowCount());
+        assertEquals("EMPTY_TABLE", tables[1].getTableMetaData().getTableName());
+        assertEquals(0, tables[1].getRowCount());
+    }
+
+    @Override
+    public void testCreateMultipleCaseDuplicateDataSet() throws Exception {
+        IDataSet dataSet = createMultipleCaseDuplicateDataSet();
+        ITable[] tables = dataSet.getTables();
+        assertEquals(2, tables.length);
+        assertEquals("DUPLICATE_TABLE", tables[0].getTableMetaData().getTableName());
+        assertEquals(3, tables[0].getRowCount());
+        assertEquals("EMPTY_TABLE", tables[1].getTableMetaData().getTableName());
+        assertEquals(0, tables[1].getRowCount());
+    }
+
+    @Test
+    public void testFlatXmlRoundTrip() throws Exception {
+        IDataSet flatXmlDataSet = new FlatXmlDataSetBuilder().build(FlatXmlDataSetTest.DATASET_FILE);
+
+        Assertion.assertEquals(flatXmlDataSet, convert(flatXmlDataSet, false));
+        Assertion.assertEquals(flatXmlDataSet, convert(flatXmlDataSet, true));
+    }
+
+    @Test
+    public void testTypedValues() throws Exception {
+        Timestamp timestamp = Timestamp.valueOf("2024-01-02 03:04:05.123456789");
+        Column[] columns = { new Column("ID", DataType.INTEGER, Column.NO_NULLS), //
+                new Column("AMOUNT", DataType.DECIMAL, Column.NULLABLE), //
+                new Column("CREATED", DataType.TIMESTAMP), //
+                new Column("DATA", DataType.VARBINARY) };
+        ITableMetaData metaData = new DefaultTableMetaData("T", columns, new String[] { "ID" });
+        DefaultTable table = new DefaultTable(metaData);
+        for (int i = 0; i < 1000; i++) {
+            table.addRow(new Object[] { i, new BigDecimal("12.50"), timestamp, new byte[] { 1, 2, (byte) i } });
+        }
+        table.addRow(new Object[] { 1000, null, ITable.NO_VALUE, null });
+
+        ITable actual = convert(new DefaultDataSet(table), true).getTable("T");
+
+        ITableMetaData actualMetaData = actual.getTableMetaData();
+        assertEquals(DataType.INTEGER, actualMetaData.getColumns()[0].getDataType());
+        assertEquals(Column.NO_NULLS, actualMetaData.getColumns()[0].getNullable());
+        assertEquals(Column.NULLABLE, actualMetaData.getColumns()[1].getNullable());
+        assertEquals(DataType.TIMESTAMP, actualMetaData.getColumns()[2].getDataType());
+        assertEquals("ID", actualMetaData.getPrimaryKeys()[0].getColumnName());
+
+        assertEquals(1001, actual.getRowCount());
+        assertEquals(999, actual.getValue(999, "ID"));
+        assertEquals(new BigDecimal("12.50"), actual.getValue(999, "AMOUNT"));
+        assertEquals(timestamp, actual.getValue(999, "CREATED"));
+        assertArrayEquals(new byte[] { 1, 2, (byte) 999 }, (byte[]) actual.getValue(999, "DATA"));
+        assertEquals(null, actual.getValue(1000, "AMOUNT"));
+        assertSame(ITable.NO_VALUE, actual.getValue(1000, "CREATED"));
+    }
+
+    @Test
+    public void testManyRowBlocks() throws Exception {
+        Column[] columns = { new Column("ID", DataType.INTEGER), new Column("NAME", DataType.VARCHAR) };
+        DefaultTable table = new DefaultTable(new DefaultTableMetaData("T", columns));
+        String name = new String(new char[1000]).replace('\0', 'x');
+        int rowCount = 3 * BinaryDataSetWriter.BLOCK_SIZE / name.length();
+        for (int i = 0; i < rowCount; i++) {
+            table.addRow(new Object[] { i, name });
+        }
+        DefaultTable emptyTable = new DefaultTable(new DefaultTableMetaData("EMPTY", columns));
+
+        for (boolean compress : new boolean[] { false, true }) {
+            IDataSet actual = convert(new DefaultDataSet(new ITable[] { table, emptyTable }), compress);
+
+            ITable actualTable = actual.getTable("T");
+            assertEquals(rowCount, actualTable.getRowCount());
+            assertEquals(0, actualTable.getValue(0, "ID"));
+            assertEquals(rowCount - 1, actualTable.getValue(rowCount - 1, "ID"));
+            assertEquals(name, actualTable.getValue(rowCount - 1, "NAME"));
+            assertEquals(0, actual.getTable("EMPTY").getRowCount());
+        }
+    }
+
+    @Test
+    public void testSerializedValues() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        LocalDate date = LocalDate.of(2024, 1, 2);
+        Column[] columns = { new Column("ID", DataType.UNKNOWN), new Column("CREATED", DataType.UNKNOWN) };
+        DefaultTable table = new DefaultTable(new DefaultTableMetaData("T", columns));
+        table.addRow(new Object[] { uuid, date });
+
+        ITable actual = convert(new DefaultDataSet(table), false).getTable("T");
+
+        assertEquals(uuid, actual.getValue(0, "ID"));
+        assertEquals(date, actual.getValue(0, "CREATED"));
+    }
+
+    @Test
+    public void testSerializedValueNotAllowedWritten() throws Exception {
+        try {
+            BinaryValues.writeValue(new DataOutputStream(new ByteArrayOutputStream()), new NotAllowedValue());
+            fail("Should not serialize class outside of allowed packages");
+        } catch (DataSetException expected) {
+        }
+    }
+
+    @Test
+    public void testSerializedValueNotAllowedRead() throws Exception {
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOut = new ObjectOutputStream(serialized)) {
+            objectOut.writeObject(new NotAllowedValue());
+        }
+        // value written by another writer, with the serialized tag
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(15);
+        out.writeInt(serialized.size());
+        serialized.writeTo(out);
+        out.flush();
+
+        try {
+            BinaryValues.readValue(ByteBuffer.wrap(bytes.toByteArray()));
+            fail("Should not deserialize class outside of allowed packages");
+        } catch (DataSetException expected) {
+        }
+        assertEquals(0, NotAllowedValue.instances);
+    }
+
+    @Test
+    public void testSerializedCollectionNotAllowedWritten() throws Exception {
+        try {
+            BinaryValues.writeValue(new DataOutputStream(new ByteArrayOutputStream()),
+                    new HashSet<>(Arrays.asList("a")));
+            fail("Should not serialize collections");
+        } catch (DataSetException expected) {
+        }
+    }
+
+    @Test
+    public void testInvalidLength() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(1);
+        out.writeInt(Integer.MAX_VALUE);
+        out.writeByte('a');
+        out.flush();
+
+        try {
+            BinaryValues.readValue(ByteBuffer.wrap(bytes.toByteArray()));
+            fail("Should not read string longer than the buffer");
+        } catch (DataSetException expected) {
+            assertEquals("Invalid length 2147483647 at position 1, 1 bytes remaining", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void testSerializableClassNames() throws Exception {
+        assertEquals(true, BinaryValues.isSerializable("java.util.UUID"));
+        assertEquals(true, BinaryValues.isSerializable("java.time.Ser"));
+        assertEquals(true, BinaryValues.isSerializable("java.time.DayOfWeek"));
+        assertEquals(false, BinaryValues.isSerializable("java.time.zone.Ser"));
+        assertEquals(false, BinaryValues.isSerializable("java.util.HashMap"));
+        assertEquals(false, BinaryValues.isSerializable("java.util.concurrent.ConcurrentHashMap"));
+        assertEquals(false, BinaryValues.isSerializable("[Ljava.lang.String;"));
+        assertEquals(false, BinaryValues.isSerializable("[[I"));
+        assertEquals(false, BinaryValues.isSerializable("[Lorg.dbunit.dataset.Column;"));
+        assertEquals(false, BinaryValues.isSerializable("Unnamed"));
+    }
+
+    private static class NotAllowedValue implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        static int instances;
+
+        private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
+            instances++;
+            in.defaultReadObject();
+        }
+    }
+
+    @Test
+    public void testNotBinaryDataSet() throws Exception {
+        File file = createTempFile();
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write("<dataset/>".getBytes("UTF-8"));
+        }
+
+        try {
+            new BinaryDataSet(file);
+            fail("Should not read flat XML file");
+        } catch (DataSetException expected) {
+        }
+    }
+
+    @Test
+    public void testTruncatedDataSet() throws Exception {
+        File file = createTempFile();
+        try (OutputStream out = new FileOutputStream(file)) {
+            new BinaryDataSetWriter(out).write(createDataSet());
+        }
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.setLength(randomAccessFile.length() / 2);
+        }
+
+        try {
+            new BinaryDataSet(file);
+            fail("Should not read truncated file");
+        } catch (DataSetException expected) {
+        }
+    }
+}
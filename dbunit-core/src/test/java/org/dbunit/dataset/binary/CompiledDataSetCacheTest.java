@@ -0,0 +1,93 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.dataset.binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import org.dbunit.Assertion;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.xml.FlatXmlDataSetBuilder;
+import org.dbunit.dataset.xml.FlatXmlDataSetTest;
+import org.dbunit.util.fileloader.CsvDataFileLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompiledDataSetCacheTest {
+
+    private File directory;
+    private CompiledDataSetCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("dbunit").toFile();
+        cache = new CompiledDataSetCache(directory);
+    }
+
+    @After
+    public void tearDown() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testFlatXmlIsCompiledOnce() throws Exception {
+        IDataSet parsed = new FlatXmlDataSetBuilder().build(FlatXmlDataSetTest.DATASET_FILE);
+        FlatXmlDataSetBuilder builder = new FlatXmlDataSetBuilder().setCompiledDataSetCache(cache);
+
+        IDataSet compiling = builder.build(FlatXmlDataSetTest.DATASET_FILE);
+        assertEquals(1, directory.listFiles().length);
+        File compiled = directory.listFiles()[0];
+        long lastModified = compiled.lastModified();
+
+        IDataSet loaded = builder.build(FlatXmlDataSetTest.DATASET_FILE);
+        assertEquals(1, directory.listFiles().length);
+        assertEquals(lastModified, compiled.lastModified());
+
+        Assertion.assertEquals(parsed, compiling);
+        Assertion.assertEquals(parsed, loaded);
+    }
+
+    @Test
+    public void testParserOptionsArePartOfKey() throws Exception {
+        FlatXmlDataSetBuilder builder = new FlatXmlDataSetBuilder().setCompiledDataSetCache(cache);
+        builder.build(FlatXmlDataSetTest.DATASET_FILE);
+        builder.setColumnSensing(true);
+        builder.build(FlatXmlDataSetTest.DATASET_FILE);
+
+        assertEquals(2, directory.listFiles().length);
+    }
+
+    @Test
+    public void testKeyDependsOnContent() throws Exception {
+        String key = CompiledDataSetCache.computeKey(
+                Collections.singletonList(FlatXmlDataSetTest.DATASET_FILE.toURI().toURL()), "");
+        String otherKey = CompiledDataSetCache.computeKey(
+                Collections.singletonList(FlatXmlDataSetTest.DUPLICATE_DATASET_FILE.toURI().toURL()), "");
+
+        assertNotEquals(key, otherKey);
+    }
+
+    @Test
+    public void testCsvIsCompiledOnce() throws Exception {
+        CsvDataFileLoader parsingLoader = new CsvDataFileLoader();
+        CsvDataFileLoader loader = new CsvDataFileLoader();
+        loader.setCompiledDataSetCache(cache);
+
+        IDataSet parsed = parsingLoader.load("/csv/orders/orders_row.csv");
+        IDataSet compiling = loader.load("/csv/orders/orders_row.csv");
+        IDataSet loaded = loader.load("/csv/orders/orders_row.csv");
+
+        assertEquals(1, directory.listFiles().length);
+        Assertion.assertEquals(parsed, compiling);
+        Assertion.assertEquals(parsed, loaded);
+    }
+}
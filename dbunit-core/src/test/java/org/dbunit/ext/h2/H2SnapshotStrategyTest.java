@@ -0,0 +1,107 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.h2;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.matches;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.operation.ISnapshotStrategy.Snapshot;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig;
+
+/**
+ * Checks statements of the H2 snapshot, H2 is not part of the integration
+ * test databases.
+ */
+public class H2SnapshotStrategyTest {
+
+    private static final String COPY = "PUBLIC\\.DBUNIT_SNAPSHOT_\\d+";
+
+    private final H2SnapshotStrategy strategy = new H2SnapshotStrategy();
+    private Connection jdbcConnection;
+    private DatabaseMetaData metaData;
+    private ResultSet tables;
+    private Statement statement;
+    private AbstractDatabaseConnection connection;
+
+    @Before
+    public void setUp() throws Exception {
+        jdbcConnection = mock(Connection.class);
+        metaData = mock(DatabaseMetaData.class);
+        tables = mock(ResultSet.class);
+        statement = mock(Statement.class);
+        when(jdbcConnection.getAutoCommit()).thenReturn(true);
+        when(jdbcConnection.getMetaData()).thenReturn(metaData);
+        when(jdbcConnection.createStatement()).thenReturn(statement);
+        when(metaData.getTables(isNull(), eq("PUBLIC"), eq("%"), isNull())).thenReturn(tables);
+
+        connection = mock(AbstractDatabaseConnection.class,
+                withSettings().useConstructor(jdbcConnection, new DatabaseConfig(), null));
+        when(connection.getSchema()).thenReturn("PUBLIC");
+        when(connection.correctTableName(anyString())).then(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    public void testMemoryCopies() throws Exception {
+        Snapshot snapshot = strategy.takeSnapshot(connection, new String[] { "A", "B" });
+
+        verify(statement).execute(matches("create memory table " + COPY + " as select \\* from A with no data"));
+        verify(statement).execute(matches("insert into " + COPY + " select \\* from A"));
+        verify(statement).execute(matches("create memory table " + COPY + " as select \\* from B with no data"));
+
+        snapshot.restore(connection);
+
+        InOrder inOrder = inOrder(statement);
+        inOrder.verify(statement).execute("delete from B");
+        inOrder.verify(statement).execute("delete from A");
+        inOrder.verify(statement).execute(matches("insert into A select \\* from " + COPY));
+        inOrder.verify(statement).execute(matches("insert into B select \\* from " + COPY));
+
+        snapshot.release(connection);
+
+        verify(statement, times(2)).execute(matches("drop table " + COPY));
+    }
+
+    @Test
+    public void testLeftCopiesDropped() throws Exception {
+        when(tables.next()).thenReturn(true, false);
+        when(tables.getString("TABLE_NAME")).thenReturn("DBUNIT_SNAPSHOT_LEFT");
+        when(tables.getString("TABLE_SCHEM")).thenReturn("PUBLIC");
+
+        strategy.takeSnapshot(connection, new String[] { "A" });
+        strategy.takeSnapshot(connection, new String[] { "A" });
+
+        verify(statement).execute("drop table PUBLIC.DBUNIT_SNAPSHOT_LEFT");
+        verify(metaData, times(1)).getTables(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testReleaseInTransaction() throws Exception {
+        Snapshot snapshot = strategy.takeSnapshot(connection, new String[] { "A" });
+        when(jdbcConnection.getAutoCommit()).thenReturn(false);
+
+        snapshot.release(connection);
+
+        verify(statement, never()).execute(matches("drop table .*"));
+    }
+}
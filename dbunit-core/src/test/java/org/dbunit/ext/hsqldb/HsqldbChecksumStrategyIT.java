@@ -0,0 +1,158 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.hsqldb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeTrue;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+import org.dbunit.AbstractDatabaseIT;
+import org.dbunit.HsqldbEnvironment;
+import org.dbunit.assertion.DbUnitAssert;
+import org.dbunit.assertion.TableChecksum;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.database.metadata.MetadataManager;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.ext.h2.H2ChecksumStrategy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig;
+
+/**
+ * Verifies the database computes the checksum Java computes.
+ */
+public class HsqldbChecksumStrategyIT extends AbstractDatabaseIT {
+
+    private static final Object[][] ROWS = { { 1, "a" }, { 2, null }, { 3, "été" },
+            { 4, "smile 😀" }, { 5, "😀😀" }, { -6, "" } };
+
+    private final HsqldbChecksumStrategy strategy = new HsqldbChecksumStrategy();
+
+    public HsqldbChecksumStrategyIT() throws Exception {
+    }
+
+    @Before
+    public final void createTable() throws Exception {
+        assumeTrue(environment instanceof HsqldbEnvironment);
+        executeSql("create table CHECKSUM_TABLE (ID integer primary key, NAME varchar(20))");
+        for (Object[] row : ROWS) {
+            executeSql("insert into CHECKSUM_TABLE values (" + row[0] + ", "
+                    + (row[1] == null ? "null" : "'" + row[1] + "'") + ")");
+        }
+    }
+
+    @After
+    public final void dropTable() throws Exception {
+        if (environment instanceof HsqldbEnvironment) {
+            executeSql("drop table CHECKSUM_TABLE if exists");
+            executeSql("drop function " + HsqldbChecksumStrategy.FUNCTION_NAME + " if exists");
+        }
+    }
+
+    private void executeSql(String sql) throws Exception {
+        try (Statement statement = database.getConnection().getConnection().createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private Column[] getColumns() throws Exception {
+        return database.getConnection().createDataSet().getTableMetaData("CHECKSUM_TABLE").getColumns();
+    }
+
+    private DefaultTable createExpectedTable(Column[] columns) throws Exception {
+        DefaultTable table = new DefaultTable("CHECKSUM_TABLE", columns);
+        for (Object[] row : ROWS) {
+            table.addRow(row);
+        }
+        return table;
+    }
+
+    private TableChecksum javaChecksum(Column[] columns) throws Exception {
+        return strategy.checksum(createExpectedTable(columns), columns);
+    }
+
+    @Test
+    public void testSameChecksum() throws Exception {
+        DatabaseConnection connection = database.getConnection();
+        HsqldbChecksumStrategy.createFunction(connection.getConnection());
+        Column[] columns = getColumns();
+
+        TableChecksum checksum = strategy.checksum(connection, "CHECKSUM_TABLE", columns);
+
+        assertNotNull(checksum);
+        assertEquals(javaChecksum(columns), checksum);
+    }
+
+    @Test
+    public void testFunctionNotCreatedByDefault() throws Exception {
+        DatabaseConnection connection = database.getConnection();
+        Connection jdbcConnection = connection.getConnection();
+        Column[] columns = getColumns();
+
+        jdbcConnection.setAutoCommit(true);
+        try {
+            assertNull(strategy.checksum(connection, "CHECKSUM_TABLE", columns));
+        } finally {
+            jdbcConnection.setAutoCommit(false);
+        }
+    }
+
+    @Test
+    public void testFunctionCreated() throws Exception {
+        HsqldbChecksumStrategy creatingStrategy = new HsqldbChecksumStrategy(true);
+        DatabaseConnection connection = database.getConnection();
+        Connection jdbcConnection = connection.getConnection();
+        Column[] columns = getColumns();
+
+        // creating the function would commit the transaction
+        assertNull(creatingStrategy.checksum(connection, "CHECKSUM_TABLE", columns));
+
+        jdbcConnection.setAutoCommit(true);
+        try {
+            assertEquals(javaChecksum(columns), creatingStrategy.checksum(connection, "CHECKSUM_TABLE", columns));
+        } finally {
+            jdbcConnection.setAutoCommit(false);
+        }
+    }
+
+    @Test
+    public void testFunctionCreationFailed() throws Exception {
+        HsqldbChecksumStrategy creatingStrategy = new HsqldbChecksumStrategy(true);
+        DatabaseConnection connection = database.getConnection();
+        Connection jdbcConnection = connection.getConnection();
+        Column[] columns = getColumns();
+
+        jdbcConnection.setAutoCommit(true);
+        jdbcConnection.setReadOnly(true);
+        try {
+            assertNull(creatingStrategy.checksum(connection, "CHECKSUM_TABLE", columns));
+        } finally {
+            jdbcConnection.setReadOnly(false);
+            jdbcConnection.setAutoCommit(false);
+        }
+    }
+
+    @Test
+    public void testAssertionFallsBackToRows() throws Exception {
+        DatabaseConnection environmentConnection = database.getConnection();
+        Connection jdbcConnection = environmentConnection.getConnection();
+        String schema = environmentConnection.getSchema();
+        DatabaseConfig config = new DatabaseConfig();
+        config.apply(environmentConnection.getDatabaseConfig());
+        // HSQLDB has no HASH function, the checksum query fails
+        config.setChecksumStrategy(new H2ChecksumStrategy());
+        DatabaseConnection connection = new DatabaseConnection(jdbcConnection, config, schema,
+                new MetadataManager(jdbcConnection, config, null, schema));
+
+        new DbUnitAssert().assertEqualsOrderedByPrimaryKey(createExpectedTable(getColumns()), connection,
+                "CHECKSUM_TABLE", null);
+    }
+}
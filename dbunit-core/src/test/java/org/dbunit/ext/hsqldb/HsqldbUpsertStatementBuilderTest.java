@@ -0,0 +1,55 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.hsqldb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.BitSet;
+
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.NoPrimaryKeyException;
+import org.dbunit.dataset.datatype.DataType;
+import org.junit.Test;
+
+import io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig;
+
+public class HsqldbUpsertStatementBuilderTest {
+
+    private final Column[] columns = { new Column("ID", DataType.INTEGER), new Column("NAME", DataType.VARCHAR), };
+
+    private IDatabaseConnection mockConnection() {
+        IDatabaseConnection connection = mock(IDatabaseConnection.class);
+        when(connection.getDatabaseConfig()).thenReturn(new DatabaseConfig());
+        return connection;
+    }
+
+    @Test
+    public void testMerge() throws Exception {
+        ITableMetaData metaData = new DefaultTableMetaData("ITEM", columns, new Column[] { columns[0] });
+
+        String sql = new HsqldbUpsertStatementBuilder().getUpsertData(metaData, new BitSet(), mockConnection())
+                .getSql();
+
+        assertEquals("merge into ITEM target using (values (?, ?)) as source (ID, NAME)"
+                + " on (target.ID = source.ID) when matched then update set target.NAME = source.NAME"
+                + " when not matched then insert (ID, NAME) values (source.ID, source.NAME)", sql);
+    }
+
+    @Test
+    public void testNoPrimaryKey() throws Exception {
+        ITableMetaData metaData = new DefaultTableMetaData("ITEM", columns);
+
+        try {
+            new HsqldbUpsertStatementBuilder().getUpsertData(metaData, new BitSet(), mockConnection());
+            fail("Should not be here!");
+        } catch (NoPrimaryKeyException e) {
+        }
+    }
+}
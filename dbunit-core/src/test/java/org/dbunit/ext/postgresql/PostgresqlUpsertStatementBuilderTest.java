@@ -0,0 +1,67 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.ext.postgresql;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.BitSet;
+
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.datatype.DataType;
+import org.junit.Test;
+
+import io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig;
+
+public class PostgresqlUpsertStatementBuilderTest {
+
+    private final Column[] columns = { new Column("id", DataType.INTEGER), new Column("name", DataType.VARCHAR),
+            new Column("price", DataType.NUMERIC), };
+
+    private IDatabaseConnection mockConnection() {
+        IDatabaseConnection connection = mock(IDatabaseConnection.class);
+        when(connection.getDatabaseConfig()).thenReturn(new DatabaseConfig());
+        when(connection.getSchema()).thenReturn("public");
+        return connection;
+    }
+
+    @Test
+    public void testUpdateNonKeyColumns() throws Exception {
+        ITableMetaData metaData = new DefaultTableMetaData("item", columns, new Column[] { columns[0] });
+
+        String sql = new PostgresqlUpsertStatementBuilder().getUpsertData(metaData, new BitSet(), mockConnection())
+                .getSql();
+
+        assertEquals("insert into public.item (id, name, price) values (?, ?, ?) on conflict (id)"
+                + " do update set name = excluded.name, price = excluded.price", sql);
+    }
+
+    @Test
+    public void testIgnoredColumnIsNotUpdated() throws Exception {
+        ITableMetaData metaData = new DefaultTableMetaData("item", columns, new Column[] { columns[0] });
+        BitSet ignoreMapping = new BitSet();
+        ignoreMapping.set(1);
+
+        String sql = new PostgresqlUpsertStatementBuilder().getUpsertData(metaData, ignoreMapping, mockConnection())
+                .getSql();
+
+        assertEquals("insert into public.item (id, price) values (?, ?) on conflict (id)"
+                + " do update set price = excluded.price", sql);
+    }
+
+    @Test
+    public void testOnlyKeyColumns() throws Exception {
+        ITableMetaData metaData = new DefaultTableMetaData("item", new Column[] { columns[0] },
+                new Column[] { columns[0] });
+
+        String sql = new PostgresqlUpsertStatementBuilder().getUpsertData(metaData, new BitSet(), mockConnection())
+                .getSql();
+
+        assertEquals("insert into public.item (id) values (?) on conflict (id) do nothing", sql);
+    }
+}
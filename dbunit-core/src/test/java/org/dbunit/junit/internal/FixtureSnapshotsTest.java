@@ -0,0 +1,121 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.junit.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.database.DatabaseConfig;
+import org.dbunit.operation.ISnapshotStrategy;
+import org.dbunit.operation.ISnapshotStrategy.Snapshot;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FixtureSnapshotsTest {
+
+    private static final String[] TABLE_NAMES = { "A", "B" };
+
+    private final FixtureSnapshots fixtureSnapshots = new FixtureSnapshots();
+    private final AtomicInteger setupCount = new AtomicInteger();
+    private final DatabaseConfig config = new DatabaseConfig();
+    private Connection jdbcConnection;
+    private AbstractDatabaseConnection connection;
+    private ISnapshotStrategy strategy;
+    private Snapshot snapshot;
+
+    @Before
+    public void setUp() throws Exception {
+        jdbcConnection = mock(Connection.class);
+        when(jdbcConnection.getAutoCommit()).thenReturn(true);
+        connection = mock(AbstractDatabaseConnection.class,
+                withSettings().useConstructor(jdbcConnection, config, null));
+        when(connection.getDatabaseConfig()).thenReturn(config);
+        strategy = mock(ISnapshotStrategy.class);
+        snapshot = mock(Snapshot.class);
+        when(strategy.takeSnapshot(connection, TABLE_NAMES)).thenReturn(snapshot);
+    }
+
+    private boolean restoreOrSetUp() throws Exception {
+        return fixtureSnapshots.restoreOrSetUp("ds", connection, () -> {
+            setupCount.incrementAndGet();
+            return TABLE_NAMES;
+        });
+    }
+
+    @Test
+    public void testWithoutStrategy() throws Exception {
+        assertFalse(restoreOrSetUp());
+        assertFalse(restoreOrSetUp());
+
+        assertEquals(2, setupCount.get());
+        assertTrue(fixtureSnapshots.isEmpty());
+    }
+
+    @Test
+    public void testRestore() throws Exception {
+        config.setSnapshotStrategy(strategy);
+
+        assertFalse(restoreOrSetUp());
+        assertTrue(restoreOrSetUp());
+        assertTrue(restoreOrSetUp());
+
+        assertEquals(1, setupCount.get());
+        verify(strategy, times(1)).takeSnapshot(connection, TABLE_NAMES);
+        verify(snapshot, times(2)).restore(connection);
+    }
+
+    @Test
+    public void testNoSnapshotInTransaction() throws Exception {
+        config.setSnapshotStrategy(strategy);
+        when(jdbcConnection.getAutoCommit()).thenReturn(false);
+
+        assertFalse(restoreOrSetUp());
+        assertFalse(restoreOrSetUp());
+
+        assertEquals(2, setupCount.get());
+        verifyNoInteractions(strategy);
+        assertTrue(fixtureSnapshots.isEmpty());
+    }
+
+    @Test
+    public void testFailedRestoreSetsUpAgain() throws Exception {
+        config.setSnapshotStrategy(strategy);
+        doThrow(new SQLException("gone")).when(snapshot).restore(any());
+
+        restoreOrSetUp();
+        assertFalse(restoreOrSetUp());
+
+        assertEquals(2, setupCount.get());
+        verify(snapshot).release(connection);
+        verify(strategy, times(2)).takeSnapshot(connection, TABLE_NAMES);
+    }
+
+    @Test
+    public void testRelease() throws Exception {
+        config.setSnapshotStrategy(strategy);
+        restoreOrSetUp();
+        TestContext testContext = mock(TestContext.class);
+        when(testContext.getConnection("ds")).thenReturn(connection);
+
+        fixtureSnapshots.release(testContext);
+
+        verify(snapshot).release(connection);
+        assertTrue(fixtureSnapshots.isEmpty());
+        assertFalse(restoreOrSetUp());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.junit4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbunit.junit.ClassDataSet;
+import org.dbunit.junit.ClassDataSetRule;
+import org.dbunit.junit.DbUnitFacade;
+import org.dbunit.junit.DriverManagerConnection;
+import org.dbunit.junit.internal.GlobalContext;
+import org.hsqldb.Trigger;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestRule;
+import org.junit.rules.Verifier;
+import org.junit.runners.MethodSorters;
+
+/**
+ * Every test changes the class dataset, and every test must see it unchanged.
+ * The dataset is loaded once, and again after the commit only.
+ */
+@DriverManagerConnection(driver = "org.hsqldb.jdbcDriver", url = ClassDataSetIT.URL, user = "sa", password = "")
+@ClassDataSet("/xml/classDataSetTest.xml")
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ClassDataSetIT {
+
+    static final String URL = "jdbc:hsqldb:mem:classDataSet";
+
+    private static final AtomicInteger loadCount = new AtomicInteger();
+
+    /**
+     * Once the class is done, only rows committed by {@link #test3Commit()}
+     * remain.
+     */
+    @ClassRule
+    public static final TestRule classRules = RuleChain.outerRule(new Verifier() {
+
+        @Override
+        protected void verify() throws Throwable {
+            Connection connection = GlobalContext.getIt().getDriverManagerConnectionSource()
+                    .fetchConnection("org.hsqldb.jdbcDriver", URL, "sa", "");
+            try (Statement statement = connection.createStatement();
+                    ResultSet resultSet = statement.executeQuery("select count(*) from CLASS_DATA")) {
+                resultSet.next();
+                assertEquals(1, resultSet.getInt(1));
+            }
+        }
+    }).around(new ClassDataSetRule());
+
+    @Rule
+    public final DbUnitFacade dbUnit = new DbUnitFacade();
+
+    @BeforeClass
+    public static void createTable() throws Exception {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+                Statement statement = connection.createStatement()) {
+            statement.execute("create table CLASS_DATA (ID integer primary key, NAME varchar(20))");
+            statement.execute("create trigger CLASS_DATA_LOADED after insert on CLASS_DATA for each row call \""
+                    + LoadCounter.class.getName() + "\"");
+        }
+    }
+
+    /**
+     * Counts inserts of the first row of the dataset, not rolled back with them.
+     */
+    public static class LoadCounter implements Trigger {
+
+        @Override
+        public void fire(int type, String trigName, String tabName, Object[] oldRow, Object[] newRow) {
+            if (Integer.valueOf(1).equals(newRow[0])) {
+                loadCount.incrementAndGet();
+            }
+        }
+    }
+
+    @Test
+    public void test1Delete() throws Exception {
+        assertFalse(dbUnit.getJdbcConnection().getAutoCommit());
+        assertEquals(2, dbUnit.getConnection().getRowCount("CLASS_DATA"));
+        assertEquals(1, loadCount.get());
+
+        execute("delete from CLASS_DATA");
+    }
+
+    @Test
+    public void test2Insert() throws Exception {
+        assertEquals(2, dbUnit.getConnection().getRowCount("CLASS_DATA"));
+        assertEquals(1, loadCount.get());
+
+        execute("insert into CLASS_DATA values (3, 'three')");
+    }
+
+    @Test
+    public void test3Commit() throws Exception {
+        assertEquals(2, dbUnit.getConnection().getRowCount("CLASS_DATA"));
+        assertEquals(1, loadCount.get());
+
+        execute("delete from CLASS_DATA where ID = 1");
+        dbUnit.getJdbcConnection().commit();
+    }
+
+    @Test
+    public void test4AfterCommit() throws Exception {
+        assertEquals(2, dbUnit.getConnection().getRowCount("CLASS_DATA"));
+        assertEquals(2, loadCount.get());
+    }
+
+    private void execute(String sql) throws Exception {
+        try (Statement statement = dbUnit.getJdbcConnection().createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
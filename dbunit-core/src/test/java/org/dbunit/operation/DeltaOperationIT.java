@@ -0,0 +1,197 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.sql.Statement;
+
+import org.dbunit.AbstractDatabaseIT;
+import org.dbunit.Assertion;
+import org.dbunit.HsqldbEnvironment;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.dataset.AbstractDataSet;
+import org.dbunit.dataset.CachedDataSet;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.DefaultTableIterator;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.LowerCaseDataSet;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.xml.FlatXmlDataSetBuilder;
+import org.dbunit.testutil.TestUtils;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Verifies {@link DeltaOperation} leaves the same contents as
+ * {@link DatabaseOperation#CLEAN_INSERT}.
+ */
+public class DeltaOperationIT extends AbstractDatabaseIT {
+
+    private static final String[] TABLE_NAMES = { "PK_TABLE", "ONLY_PK_TABLE" };
+
+    public DeltaOperationIT() throws Exception {
+    }
+
+    @Test
+    public void testExecute() throws Exception {
+        IDataSet dataSet = new FlatXmlDataSetBuilder().build(TestUtils.getFileReader("xml/refreshOperationTest.xml"));
+
+        testExecute(dataSet);
+    }
+
+    @Test
+    public void testExecuteCaseInsensitive() throws Exception {
+        IDataSet dataSet = new FlatXmlDataSetBuilder().build(TestUtils.getFileReader("xml/refreshOperationTest.xml"));
+
+        testExecute(new LowerCaseDataSet(dataSet));
+    }
+
+    @Test
+    public void testExecuteTwice() throws Exception {
+        IDataSet dataSet = new FlatXmlDataSetBuilder().build(TestUtils.getFileReader("xml/refreshOperationTest.xml"));
+        DatabaseOperation.DELTA.execute(database.getConnection(), dataSet);
+
+        testExecute(dataSet);
+    }
+
+    private void testExecute(IDataSet dataSet) throws Exception {
+        DatabaseConnection connection = database.getConnection();
+        DatabaseOperation.DELTA.execute(connection, dataSet);
+        IDataSet afterDelta = snapshot();
+
+        DatabaseOperation.CLEAN_INSERT.execute(connection, dataSet);
+        IDataSet afterCleanInsert = snapshot();
+
+        assertEquals(5, afterDelta.getTable("PK_TABLE").getRowCount());
+        Assertion.assertEquals(afterCleanInsert, afterDelta);
+    }
+
+    @Test
+    public void testExecuteAndNoPrimaryKeys() throws Exception {
+        DatabaseConnection connection = database.getConnection();
+        IDataSet dataSet = new FlatXmlDataSetBuilder()
+                .build(TestUtils.getFileReader("xml/refreshOperationNoPKTest.xml"));
+
+        DatabaseOperation.DELTA.execute(connection, dataSet);
+
+        assertEquals(2, connection.getRowCount("TEST_TABLE"));
+    }
+
+    @Test
+    public void testExecuteRepeatedTable() throws Exception {
+        createReferencedTables();
+        Column[] columns = { new Column("ID", DataType.INTEGER), new Column("NAME", DataType.VARCHAR) };
+        DefaultTable first = new DefaultTable("DELTA_PARENT", columns);
+        first.addRow(new Object[] { 1, "one" });
+        DefaultTable second = new DefaultTable("DELTA_PARENT", columns);
+        second.addRow(new Object[] { 2, "two" });
+
+        // rows of the second table are not deleted by the delta of the first one
+        DatabaseOperation.DELTA.execute(database.getConnection(), new RepeatedTableDataSet(first, second));
+
+        ITable parents = createOrderedTable("DELTA_PARENT", "ID");
+        assertEquals(2, parents.getRowCount());
+        assertEquals("two", parents.getValue(1, "NAME"));
+        assertEquals(2, database.getConnection().getRowCount("DELTA_CHILD"));
+    }
+
+    @Test
+    public void testExecuteChangedRowUpdatedInPlace() throws Exception {
+        createReferencedTables();
+        Column[] columns = { new Column("ID", DataType.INTEGER), new Column("NAME", DataType.VARCHAR),
+                new Column("CODE", DataType.VARCHAR) };
+        DefaultTable parents = new DefaultTable("DELTA_PARENT", columns);
+        parents.addRow(new Object[] { 1, "changed", ITable.NO_VALUE });
+        parents.addRow(new Object[] { 2, "two", "B" });
+
+        // deleting and inserting again the first row would violate the child foreign key
+        DatabaseOperation.DELTA.execute(database.getConnection(), new DefaultDataSet(parents));
+
+        ITable actual = createOrderedTable("DELTA_PARENT", "ID");
+        assertEquals("changed", actual.getValue(0, "NAME"));
+        assertEquals("A", actual.getValue(0, "CODE"));
+        assertEquals(2, database.getConnection().getRowCount("DELTA_CHILD"));
+    }
+
+    @Test
+    public void testExecuteChildMovedToNewParent() throws Exception {
+        createReferencedTables();
+        Column[] parentColumns = { new Column("ID", DataType.INTEGER), new Column("NAME", DataType.VARCHAR) };
+        DefaultTable parents = new DefaultTable("DELTA_PARENT", parentColumns);
+        parents.addRow(new Object[] { 2, "two" });
+        parents.addRow(new Object[] { 3, "three" });
+        Column[] childColumns = { new Column("ID", DataType.INTEGER), new Column("PARENT_ID", DataType.INTEGER) };
+        DefaultTable children = new DefaultTable("DELTA_CHILD", childColumns);
+        children.addRow(new Object[] { 10, 3 });
+        children.addRow(new Object[] { 20, 2 });
+
+        // the first child leaves the deleted parent for the inserted one
+        DatabaseOperation.DELTA.execute(database.getConnection(),
+                new DefaultDataSet(new ITable[] { parents, children }));
+
+        ITable actualParents = createOrderedTable("DELTA_PARENT", "ID");
+        assertEquals(2, actualParents.getRowCount());
+        assertEquals(3, ((Number) actualParents.getValue(1, "ID")).intValue());
+        ITable actualChildren = createOrderedTable("DELTA_CHILD", "ID");
+        assertEquals(3, ((Number) actualChildren.getValue(0, "PARENT_ID")).intValue());
+    }
+
+    private void createReferencedTables() throws Exception {
+        assumeTrue(environment instanceof HsqldbEnvironment);
+        executeSql("create table DELTA_PARENT (ID integer primary key, NAME varchar(10),"
+                + " CODE varchar(10) default 'X' not null)");
+        executeSql("create table DELTA_CHILD (ID integer primary key, PARENT_ID integer"
+                + " references DELTA_PARENT (ID))");
+        executeSql("insert into DELTA_PARENT values (1, 'one', 'A')");
+        executeSql("insert into DELTA_PARENT values (2, 'two', 'B')");
+        executeSql("insert into DELTA_CHILD values (10, 1)");
+        executeSql("insert into DELTA_CHILD values (20, 2)");
+    }
+
+    @After
+    public final void dropReferencedTables() throws Exception {
+        if (environment instanceof HsqldbEnvironment) {
+            executeSql("drop table DELTA_CHILD if exists");
+            executeSql("drop table DELTA_PARENT if exists");
+        }
+    }
+
+    private void executeSql(String sql) throws Exception {
+        try (Statement statement = database.getConnection().getConnection().createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * Dataset listing the same table several times, like a streamed one.
+     */
+    private static class RepeatedTableDataSet extends AbstractDataSet {
+
+        private final ITable[] tables;
+
+        RepeatedTableDataSet(ITable... tables) {
+            this.tables = tables;
+        }
+
+        @Override
+        protected ITableIterator createIterator(boolean reversed) throws DataSetException {
+            return new DefaultTableIterator(tables, reversed);
+        }
+    }
+
+    private IDataSet snapshot() throws Exception {
+        ITable[] tables = new ITable[TABLE_NAMES.length];
+        for (int i = 0; i < TABLE_NAMES.length; i++) {
+            tables[i] = createOrderedTable(TABLE_NAMES[i], "PK0");
+        }
+        return new CachedDataSet(new DefaultDataSet(tables));
+    }
+}
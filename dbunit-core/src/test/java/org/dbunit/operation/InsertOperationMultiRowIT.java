@@ -0,0 +1,14 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+/**
+ * Runs {@link InsertOperationIT} with multi-row VALUES statements.
+ */
+public class InsertOperationMultiRowIT extends InsertOperationIT {
+
+    public InsertOperationMultiRowIT() throws Exception {
+        addCustomizer(config -> config.setInsertRowsPerStatement(10));
+    }
+}
@@ -1,11 +1,16 @@
 package org.dbunit.operation;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 import org.dbunit.database.AbstractDatabaseConnection;
 import org.dbunit.database.DatabaseDataSet;
+import org.dbunit.database.DatabaseTableMetaData;
 import org.dbunit.database.statement.MockBatchStatement;
 import org.dbunit.database.statement.MockStatementFactory;
 import org.dbunit.dataset.Column;
@@ -17,6 +22,7 @@ import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITable;
 import org.dbunit.dataset.NoSuchColumnException;
 import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.datatype.TypeCastException;
 import org.junit.Test;
 
 import io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig;
@@ -291,6 +297,192 @@ public class InsertOperationTest {
         factory.verify();
     }
 
+    @Test
+    public void testExecuteIgnoreNoneGroupedByIgnoreMapping() throws Exception {
+        String schemaName = "schema";
+        String tableName = "table";
+        String[] expected = { "insert into schema.table (c1, c2, c3) values ('toto', 1234, 'false')",
+                "insert into schema.table (c2, c3) values (123.45, 'true')",
+                "insert into schema.table (c1, c2, c3) values ('qwerty1', 1, 'true')",
+                "insert into schema.table (c1, c2, c3) values ('qwerty2', 2, 'false')",
+                "insert into schema.table (c3) values ('false')", };
+
+        // setup table
+        Column[] columns = { new Column("c1", DataType.VARCHAR), new Column("c2", DataType.NUMERIC),
+                new Column("c3", DataType.BOOLEAN), };
+        DefaultTable table = new DefaultTable(tableName, columns);
+        table.addRow(new Object[] { "toto", "1234", Boolean.FALSE });
+        table.addRow(new Object[] { ITable.NO_VALUE, new Double("123.45"), "true" });
+        table.addRow(new Object[] { "qwerty1", "1", Boolean.TRUE });
+        table.addRow(new Object[] { "qwerty2", "2", Boolean.FALSE });
+        table.addRow(new Object[] { ITable.NO_VALUE, ITable.NO_VALUE, Boolean.FALSE });
+        DatabaseDataSet dataSet = mock(DatabaseDataSet.class);
+        when(dataSet.iterator()).thenReturn(new DefaultTableIterator(new ITable[] { table }));
+        when(dataSet.getTableMetaData(tableName)).thenReturn(table.getTableMetaData());
+
+        // setup mock objects, one statement per distinct column shape
+        MockBatchStatement statement = new MockBatchStatement();
+        statement.addExpectedBatchStrings(expected);
+        statement.setExpectedExecuteBatchCalls(3);
+        statement.setExpectedClearBatchCalls(3);
+        statement.setExpectedCloseCalls(3);
+
+        MockStatementFactory factory = new MockStatementFactory();
+        factory.setExpectedCreatePreparedStatementCalls(3);
+        factory.setupStatement(statement);
+
+        DatabaseConfig databaseConfig = new DatabaseConfig();
+        databaseConfig.setStatementFactory(factory);
+        databaseConfig.setGroupRowsByIgnoreMapping(true);
+        AbstractDatabaseConnection connection = mock(AbstractDatabaseConnection.class);
+        when(connection.getDatabaseConfig()).thenReturn(databaseConfig);
+        when(connection.createDataSet()).thenReturn(dataSet);
+        when(connection.getSchema()).thenReturn(schemaName);
+
+        // execute operation
+        new InsertOperation().execute(connection, dataSet);
+
+        statement.verify();
+        factory.verify();
+    }
+
+    @Test
+    public void testExecuteSelfReferencingNotGroupedByIgnoreMapping() throws Exception {
+        String schemaName = "schema";
+        String tableName = "table";
+        String[] expected = { "insert into schema.table (c1, c2) values (1, 1)",
+                "insert into schema.table (c1) values (2)", "insert into schema.table (c1, c2) values (3, 2)", };
+
+        // setup table, third row references the second one
+        Column[] columns = { new Column("c1", DataType.NUMERIC), new Column("c2", DataType.NUMERIC), };
+        DefaultTable table = new DefaultTable(tableName, columns);
+        table.addRow(new Object[] { "1", "1" });
+        table.addRow(new Object[] { "2", ITable.NO_VALUE });
+        table.addRow(new Object[] { "3", "2" });
+        DatabaseDataSet dataSet = mock(DatabaseDataSet.class);
+        when(dataSet.iterator()).thenReturn(new DefaultTableIterator(new ITable[] { table }));
+        DatabaseTableMetaData metaData = mock(DatabaseTableMetaData.class,
+                withSettings().defaultAnswer(delegatesTo(table.getTableMetaData())));
+        doReturn(true).when(metaData).isSelfReferencing();
+        when(dataSet.getTableMetaData(tableName)).thenReturn(metaData);
+
+        // setup mock objects, statements replaced on change to keep dataset order
+        MockBatchStatement statement = new MockBatchStatement();
+        statement.addExpectedBatchStrings(expected);
+        statement.setExpectedExecuteBatchCalls(3);
+        statement.setExpectedClearBatchCalls(3);
+        statement.setExpectedCloseCalls(3);
+
+        MockStatementFactory factory = new MockStatementFactory();
+        factory.setExpectedCreatePreparedStatementCalls(3);
+        factory.setupStatement(statement);
+
+        DatabaseConfig databaseConfig = new DatabaseConfig();
+        databaseConfig.setStatementFactory(factory);
+        databaseConfig.setGroupRowsByIgnoreMapping(true);
+        AbstractDatabaseConnection connection = mock(AbstractDatabaseConnection.class);
+        when(connection.getDatabaseConfig()).thenReturn(databaseConfig);
+        when(connection.createDataSet()).thenReturn(dataSet);
+        when(connection.getSchema()).thenReturn(schemaName);
+
+        // execute operation
+        new InsertOperation().execute(connection, dataSet);
+
+        statement.verify();
+        factory.verify();
+    }
+
+    @Test
+    public void testExecuteMultiRowValues() throws Exception {
+        String schemaName = "schema";
+        String tableName = "table";
+        String[] expected = {
+                "insert into schema.table (c1, c2, c3) values ('toto', 1234, 'false'), ('qwerty1', 1, 'true')",
+                "insert into schema.table (c1, c2, c3) values ('qwerty2', 2, 'false'), ('qwerty3', 3, 'true')",
+                "insert into schema.table (c1, c2, c3) values ('qwerty4', 4, 'false')", };
+
+        // setup table
+        Column[] columns = { new Column("c1", DataType.VARCHAR), new Column("c2", DataType.NUMERIC),
+                new Column("c3", DataType.BOOLEAN), };
+        DefaultTable table = new DefaultTable(tableName, columns);
+        table.addRow(new Object[] { "toto", "1234", Boolean.FALSE });
+        table.addRow(new Object[] { "qwerty1", "1", Boolean.TRUE });
+        table.addRow(new Object[] { "qwerty2", "2", Boolean.FALSE });
+        table.addRow(new Object[] { "qwerty3", "3", Boolean.TRUE });
+        table.addRow(new Object[] { "qwerty4", "4", Boolean.FALSE });
+        DatabaseDataSet dataSet = mock(DatabaseDataSet.class);
+        when(dataSet.iterator()).thenReturn(new DefaultTableIterator(new ITable[] { table }));
+        when(dataSet.getTableMetaData(tableName)).thenReturn(table.getTableMetaData());
+
+        // setup mock objects, full statement plus one for the remaining row
+        MockBatchStatement statement = new MockBatchStatement();
+        statement.addExpectedBatchStrings(expected);
+        statement.setExpectedExecuteBatchCalls(2);
+        statement.setExpectedClearBatchCalls(1);
+        statement.setExpectedCloseCalls(2);
+
+        MockStatementFactory factory = new MockStatementFactory();
+        factory.setExpectedCreatePreparedStatementCalls(2);
+        factory.setupStatement(statement);
+
+        DatabaseConfig databaseConfig = new DatabaseConfig();
+        databaseConfig.setStatementFactory(factory);
+        databaseConfig.setInsertRowsPerStatement(3);
+        databaseConfig.setMaxBindParameters(7);
+        AbstractDatabaseConnection connection = mock(AbstractDatabaseConnection.class);
+        when(connection.getDatabaseConfig()).thenReturn(databaseConfig);
+        when(connection.createDataSet()).thenReturn(dataSet);
+        when(connection.getSchema()).thenReturn(schemaName);
+
+        // execute operation
+        new InsertOperation().execute(connection, dataSet);
+
+        statement.verify();
+        factory.verify();
+    }
+
+    @Test
+    public void testExecuteMultiRowValuesCastError() throws Exception {
+        String schemaName = "schema";
+        String tableName = "table";
+
+        // setup table
+        Column[] columns = { new Column("c1", DataType.VARCHAR), new Column("c2", DataType.NUMERIC), };
+        DefaultTable table = new DefaultTable(tableName, columns);
+        table.addRow(new Object[] { "toto", "1234" });
+        table.addRow(new Object[] { "qwerty", "not a number" });
+        DatabaseDataSet dataSet = mock(DatabaseDataSet.class);
+        when(dataSet.iterator()).thenReturn(new DefaultTableIterator(new ITable[] { table }));
+        when(dataSet.getTableMetaData(tableName)).thenReturn(table.getTableMetaData());
+
+        MockStatementFactory factory = new MockStatementFactory();
+        factory.setupStatement(new MockBatchStatement());
+
+        DatabaseConfig databaseConfig = new DatabaseConfig();
+        databaseConfig.setStatementFactory(factory);
+        databaseConfig.setInsertRowsPerStatement(2);
+        AbstractDatabaseConnection connection = mock(AbstractDatabaseConnection.class);
+        when(connection.getDatabaseConfig()).thenReturn(databaseConfig);
+        when(connection.createDataSet()).thenReturn(dataSet);
+        when(connection.getSchema()).thenReturn(schemaName);
+
+        // execute operation
+        try {
+            new InsertOperation().execute(connection, dataSet);
+            fail("Should not be here!");
+        } catch (TypeCastException e) {
+            assertEquals("Error casting value for table 'table' and column 'c2'", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testGetRowsPerStatement() throws Exception {
+        assertEquals(10, InsertOperation.getRowsPerStatement(10, 0, 3));
+        assertEquals(3, InsertOperation.getRowsPerStatement(10, 9, 3));
+        assertEquals(1, InsertOperation.getRowsPerStatement(10, 2, 3));
+        assertEquals(1, InsertOperation.getRowsPerStatement(10, 0, 0));
+    }
+
 //    public void testExecuteNullAsNone() throws Exception
 //    {
 //        String schemaName = "schema";
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbunit.AbstractDatabaseIT;
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.DatabaseUnitRuntimeException;
+import org.dbunit.HsqldbEnvironment;
+import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.operation.ParallelOperation.CommitStrategy;
+import org.hsqldb.jdbc.JDBCDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelOperationIT extends AbstractDatabaseIT {
+
+    private static final Column[] COLUMNS = { new Column("ID", DataType.INTEGER),
+            new Column("PARENT_ID", DataType.INTEGER) };
+
+    private final JDBCDataSource dataSource = new JDBCDataSource();
+
+    public ParallelOperationIT() throws Exception {
+    }
+
+    @Before
+    public final void createTables() throws Exception {
+        assumeTrue(environment instanceof HsqldbEnvironment);
+        dataSource.setUrl("jdbc:hsqldb:mem:.");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+
+        executeSql("create table PARALLEL_PARENT (ID integer primary key, PARENT_ID integer)");
+        executeSql("create table PARALLEL_OTHER (ID integer primary key, PARENT_ID integer)");
+        executeSql("create table PARALLEL_CHILD (ID integer primary key, PARENT_ID integer"
+                + " references PARALLEL_PARENT (ID))");
+    }
+
+    @After
+    public final void dropTables() throws Exception {
+        if (environment instanceof HsqldbEnvironment) {
+            executeSql("drop table PARALLEL_CHILD if exists");
+            executeSql("drop table PARALLEL_OTHER if exists");
+            executeSql("drop table PARALLEL_PARENT if exists");
+        }
+    }
+
+    private void executeSql(String sql) throws Exception {
+        try (Statement statement = database.getConnection().getConnection().createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private DefaultTable createTable(String tableName, Object[]... rows) throws Exception {
+        DefaultTable table = new DefaultTable(tableName, COLUMNS);
+        for (Object[] row : rows) {
+            table.addRow(row);
+        }
+        return table;
+    }
+
+    private IDataSet createDataSet(Object[] otherRow) throws Exception {
+        // child listed first, levels order tables by foreign keys
+        return new DefaultDataSet(new ITable[] {
+                createTable("PARALLEL_CHILD", new Object[] { 10, 1 }, new Object[] { 20, 2 }),
+                createTable("PARALLEL_PARENT", new Object[] { 1, null }, new Object[] { 2, null }),
+                createTable("PARALLEL_OTHER", new Object[] { 1, null }, otherRow) });
+    }
+
+    private void assertRowCounts(int parentRows, int childRows, int otherRows) throws Exception {
+        DatabaseConnection connection = database.getConnection();
+        assertEquals("PARALLEL_PARENT", parentRows, connection.getRowCount("PARALLEL_PARENT"));
+        assertEquals("PARALLEL_CHILD", childRows, connection.getRowCount("PARALLEL_CHILD"));
+        assertEquals("PARALLEL_OTHER", otherRows, connection.getRowCount("PARALLEL_OTHER"));
+    }
+
+    @Test
+    public void testExecutePerLevel() throws Exception {
+        DatabaseOperation operation = new ParallelOperation(DatabaseOperation.INSERT, dataSource, 2,
+                CommitStrategy.PER_LEVEL);
+
+        operation.execute(database.getConnection(), createDataSet(new Object[] { 2, null }));
+
+        assertRowCounts(2, 2, 2);
+    }
+
+    @Test
+    public void testExecuteCompositePerTable() throws Exception {
+        DatabaseOperation operation = new ParallelOperation(DatabaseOperation.CLEAN_INSERT, dataSource, 2,
+                CommitStrategy.PER_TABLE);
+        operation.execute(database.getConnection(), createDataSet(new Object[] { 2, null }));
+
+        // deletes run from children to parents before inserting again
+        operation.execute(database.getConnection(), createDataSet(new Object[] { 3, null }));
+
+        assertRowCounts(2, 2, 2);
+    }
+
+    @Test
+    public void testFailedLevelRolledBack() throws Exception {
+        DatabaseOperation operation = new ParallelOperation(DatabaseOperation.INSERT, dataSource, 2,
+                CommitStrategy.PER_LEVEL);
+
+        try {
+            // duplicate key in a table of the first level
+            operation.execute(database.getConnection(), createDataSet(new Object[] { 1, null }));
+            fail("Should not be here!");
+        } catch (DatabaseUnitException e) {
+        }
+
+        // the whole level is rolled back and the next one never runs
+        assertRowCounts(0, 0, 0);
+    }
+
+    @Test
+    public void testFailureAutoCommit() throws Exception {
+        DatabaseOperation operation = new ParallelOperation(DatabaseOperation.INSERT, dataSource, 1,
+                CommitStrategy.AUTO_COMMIT);
+
+        try {
+            operation.execute(database.getConnection(), createDataSet(new Object[] { 1, null }));
+            fail("Should not be here!");
+        } catch (DatabaseUnitException e) {
+        }
+
+        // rows written before the failure stay, the next level never runs
+        assertRowCounts(2, 0, 1);
+    }
+
+    @Test
+    public void testInterruptWaitsForRunningTables() throws Exception {
+        List<Connection> opened = new CopyOnWriteArrayList<>();
+        JDBCDataSource trackingDataSource = new JDBCDataSource() {
+
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                opened.add(connection);
+                return connection;
+            }
+        };
+        trackingDataSource.setUrl("jdbc:hsqldb:mem:.");
+        trackingDataSource.setUser("sa");
+        trackingDataSource.setPassword("");
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean closedWhileRunning = new AtomicBoolean();
+        DatabaseOperation slow = new DatabaseOperation() {
+
+            @Override
+            public void execute(AbstractDatabaseConnection connection, IDataSet dataSet) throws SQLException {
+                running.incrementAndGet();
+                // ignores interrupts, like a driver blocked on a statement
+                long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+                while (System.nanoTime() < end) {
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                    }
+                }
+                closedWhileRunning.compareAndSet(false, connection.getConnection().isClosed());
+                running.decrementAndGet();
+            }
+        };
+        DatabaseOperation operation = new ParallelOperation(slow, trackingDataSource, 2,
+                CommitStrategy.PER_LEVEL);
+        IDataSet dataSet = createDataSet(new Object[] { 2, null });
+
+        Thread.currentThread().interrupt();
+        try {
+            operation.execute(database.getConnection(), dataSet);
+            fail("Should not be here!");
+        } catch (DatabaseUnitRuntimeException e) {
+        }
+
+        assertTrue("interrupt status kept", Thread.interrupted());
+        assertEquals("running tables", 0, running.get());
+        assertFalse("connection closed under a running table", closedWhileRunning.get());
+        assertEquals("opened connections", 2, opened.size());
+        for (Connection connection : opened) {
+            assertTrue("connection closed", connection.isClosed());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.dbunit.HsqldbEnvironment;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.datatype.DataType;
+import org.junit.Test;
+
+/**
+ * Runs {@link RefreshOperationIT} with prefetching of existing primary keys.
+ */
+public class RefreshOperationPrefetchKeysIT extends RefreshOperationIT {
+
+    public RefreshOperationPrefetchKeysIT() throws Exception {
+        addCustomizer(config -> config.setPrefetchRefreshKeys(true));
+    }
+
+    @Test
+    public void testKeyDifferingInCaseOnly() throws Exception {
+        assumeTrue(environment instanceof HsqldbEnvironment);
+        DatabaseConnection connection = database.getConnection();
+        try (Statement statement = connection.getConnection().createStatement()) {
+            statement.execute("create table CI_TABLE (ID varchar_ignorecase(10) primary key, NAME varchar(10))");
+            statement.execute("insert into CI_TABLE values ('abc', 'old')");
+        }
+        try {
+            DefaultTable table = new DefaultTable("CI_TABLE",
+                    new Column[] { new Column("ID", DataType.VARCHAR), new Column("NAME", DataType.VARCHAR) });
+            table.addRow(new Object[] { "ABC", "new" });
+            table.addRow(new Object[] { "def", "added" });
+
+            DatabaseOperation.REFRESH.execute(connection, new DefaultDataSet(table));
+
+            assertEquals(2, connection.getRowCount("CI_TABLE"));
+            try (Statement statement = connection.getConnection().createStatement();
+                    ResultSet resultSet = statement.executeQuery("select NAME from CI_TABLE where ID = 'abc'")) {
+                assertTrue(resultSet.next());
+                assertEquals("new", resultSet.getString(1));
+            }
+        } finally {
+            try (Statement statement = connection.getConnection().createStatement()) {
+                statement.execute("drop table CI_TABLE");
+            }
+        }
+    }
+}
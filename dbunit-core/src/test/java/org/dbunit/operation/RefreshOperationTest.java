@@ -17,6 +17,7 @@ import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITable;
 import org.dbunit.dataset.NoSuchColumnException;
 import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.ext.h2.H2UpsertStatementBuilder;
 import org.junit.Test;
 
 import io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig;
@@ -90,4 +91,46 @@ public class RefreshOperationTest {
         statement.verify();
         factory.verify();
     }
+
+    @Test
+    public void testExecuteWithUpsertStatementBuilder() throws Exception {
+        String schemaName = "schema";
+        String tableName = "table";
+        String[] expected = { "merge into schema.table (c1, c2) key (c1) values ('toto', 1234)",
+                "merge into schema.table (c1, c2) key (c1) values ('qwerty', 123.45)", };
+
+        // setup table
+        Column[] columns = { new Column("c1", DataType.VARCHAR), new Column("c2", DataType.NUMERIC), };
+        DefaultTable table = new DefaultTable(new DefaultTableMetaData(tableName, columns, new Column[] { columns[0] }));
+        table.addRow(new Object[] { "toto", "1234" });
+        table.addRow(new Object[] { "qwerty", new Double("123.45") });
+        DatabaseDataSet dataSet = mock(DatabaseDataSet.class);
+        when(dataSet.iterator()).thenReturn(new DefaultTableIterator(new ITable[] { table }));
+        when(dataSet.getTableMetaData(tableName)).thenReturn(table.getTableMetaData());
+
+        // setup mock objects
+        MockBatchStatement statement = new MockBatchStatement();
+        statement.addExpectedBatchStrings(expected);
+        statement.setExpectedExecuteBatchCalls(1);
+        statement.setExpectedClearBatchCalls(1);
+        statement.setExpectedCloseCalls(1);
+
+        MockStatementFactory factory = new MockStatementFactory();
+        factory.setExpectedCreatePreparedStatementCalls(1);
+        factory.setupStatement(statement);
+
+        DatabaseConfig databaseConfig = new DatabaseConfig();
+        databaseConfig.setStatementFactory(factory);
+        databaseConfig.setUpsertStatementBuilder(new H2UpsertStatementBuilder());
+        AbstractDatabaseConnection connection = mock(AbstractDatabaseConnection.class);
+        when(connection.getDatabaseConfig()).thenReturn(databaseConfig);
+        when(connection.createDataSet()).thenReturn(dataSet);
+        when(connection.getSchema()).thenReturn(schemaName);
+
+        // execute operation
+        new RefreshOperation().execute(connection, dataSet);
+
+        statement.verify();
+        factory.verify();
+    }
 }
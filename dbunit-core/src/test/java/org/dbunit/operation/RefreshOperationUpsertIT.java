@@ -0,0 +1,58 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+import org.dbunit.DatabaseTestingEnvironment;
+import org.dbunit.H2Environment;
+import org.dbunit.HsqldbEnvironment;
+import org.dbunit.MsSqlEnvironment;
+import org.dbunit.MySqlEnvironment;
+import org.dbunit.OracleEnvironment;
+import org.dbunit.PostgresqlEnvironment;
+import org.dbunit.ext.h2.H2UpsertStatementBuilder;
+import org.dbunit.ext.hsqldb.HsqldbUpsertStatementBuilder;
+import org.dbunit.ext.mssql.MsSqlUpsertStatementBuilder;
+import org.dbunit.ext.mysql.MySqlUpsertStatementBuilder;
+import org.dbunit.ext.oracle.OracleUpsertStatementBuilder;
+import org.dbunit.ext.postgresql.PostgresqlUpsertStatementBuilder;
+
+/**
+ * Runs {@link RefreshOperationIT} with the upsert statement builder of the
+ * database, so generated statements both update existing rows and insert
+ * missing ones.
+ */
+public class RefreshOperationUpsertIT extends RefreshOperationIT {
+
+    public RefreshOperationUpsertIT() throws Exception {
+        IUpsertStatementBuilder upsertStatementBuilder = getNativeBuilder(environment);
+        addCustomizer(config -> config.setUpsertStatementBuilder(upsertStatementBuilder));
+    }
+
+    private static IUpsertStatementBuilder getNativeBuilder(DatabaseTestingEnvironment environment) {
+        if (environment instanceof HsqldbEnvironment) {
+            return new HsqldbUpsertStatementBuilder();
+        }
+        if (environment instanceof H2Environment) {
+            return new H2UpsertStatementBuilder();
+        }
+        if (environment instanceof PostgresqlEnvironment) {
+            return new PostgresqlUpsertStatementBuilder();
+        }
+        if (environment instanceof MySqlEnvironment) {
+            return new MySqlUpsertStatementBuilder();
+        }
+        if (environment instanceof OracleEnvironment) {
+            return new OracleUpsertStatementBuilder();
+        }
+        if (environment instanceof MsSqlEnvironment) {
+            return new MsSqlUpsertStatementBuilder();
+        }
+        return null;
+    }
+
+    @Override
+    protected boolean checkEnvironment() {
+        return getNativeBuilder(environment) != null;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.dbunit.database.AbstractDatabaseConnection;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.junit.internal.connections.TrackingDataSource;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig;
+
+public class SkipUnchangedOperationTest {
+
+    private Connection jdbcConnection;
+    private CountingOperation counting;
+
+    @Before
+    public void setUp() throws Exception {
+        jdbcConnection = mock(Connection.class);
+        when(jdbcConnection.createStatement()).thenReturn(mock(Statement.class));
+        counting = new CountingOperation();
+    }
+
+    private static IDataSet createDataSet(Object value) throws DataSetException {
+        DefaultTable table = new DefaultTable("T", new Column[] { new Column("C", DataType.INTEGER) });
+        table.addRow(new Object[] { value });
+        return new DefaultDataSet(table);
+    }
+
+    private AbstractDatabaseConnection createTrackingConnection() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(jdbcConnection);
+        return new DatabaseConnection(new TrackingDataSource(dataSource).getConnection(), new DatabaseConfig(), null);
+    }
+
+    @Test
+    public void testSkipsUnchangedDataSet() throws Exception {
+        AbstractDatabaseConnection connection = createTrackingConnection();
+        DatabaseOperation operation = DatabaseOperation.SKIP_UNCHANGED(counting);
+
+        operation.execute(connection, createDataSet(1));
+        operation.execute(connection, createDataSet(1));
+        assertEquals(1, counting.count);
+
+        operation.execute(connection, createDataSet(2));
+        assertEquals(2, counting.count);
+
+        try (Statement statement = connection.getConnection().createStatement()) {
+            statement.executeUpdate("update T set C = 3");
+        }
+        operation.execute(connection, createDataSet(2));
+        assertEquals(3, counting.count);
+
+        // nothing was written by a test reading the data
+        try (Statement statement = connection.getConnection().createStatement()) {
+            statement.executeQuery("select * from T");
+        }
+        operation.execute(connection, createDataSet(2));
+        assertEquals(3, counting.count);
+    }
+
+    @Test
+    public void testExecutesWithoutTracker() throws Exception {
+        AbstractDatabaseConnection connection = new DatabaseConnection(jdbcConnection, new DatabaseConfig(), null);
+        DatabaseOperation operation = DatabaseOperation.SKIP_UNCHANGED(counting);
+
+        operation.execute(connection, createDataSet(1));
+        operation.execute(connection, createDataSet(1));
+        assertEquals(2, counting.count);
+    }
+
+    @Test
+    public void testFingerprint() throws Exception {
+        assertEquals(SkipUnchangedOperation.computeFingerprint(createDataSet(1)),
+                SkipUnchangedOperation.computeFingerprint(createDataSet(1)));
+        assertNotEquals(SkipUnchangedOperation.computeFingerprint(createDataSet(1)),
+                SkipUnchangedOperation.computeFingerprint(createDataSet(2)));
+        assertNotEquals(SkipUnchangedOperation.computeFingerprint(createDataSet(1)),
+                SkipUnchangedOperation.computeFingerprint(createDataSet("1")));
+    }
+
+    /**
+     * Counts executions, and writes through the connection like real operations.
+     */
+    private static class CountingOperation extends DatabaseOperation {
+
+        private int count;
+
+        @Override
+        public void execute(AbstractDatabaseConnection connection, IDataSet dataSet) throws SQLException {
+            count++;
+            try (Statement statement = connection.getConnection().createStatement()) {
+                statement.executeUpdate("insert into T values (1)");
+            }
+        }
+    }
+}
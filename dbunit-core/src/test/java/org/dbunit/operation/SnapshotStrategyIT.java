@@ -0,0 +1,202 @@
+/*
+ * Copyright (C)2024, Vasiliy Gagin. All rights reserved.
+ */
+package org.dbunit.operation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.dbunit.AbstractDatabaseIT;
+import org.dbunit.Assertion;
+import org.dbunit.H2Environment;
+import org.dbunit.HsqldbEnvironment;
+import org.dbunit.PostgresqlEnvironment;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.database.metadata.MetadataManager;
+import org.dbunit.dataset.CachedDataSet;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.xml.FlatXmlDataSetBuilder;
+import org.dbunit.ext.h2.H2SnapshotStrategy;
+import org.dbunit.ext.hsqldb.HsqldbSnapshotStrategy;
+import org.dbunit.ext.postgresql.PostgresqlSnapshotStrategy;
+import org.dbunit.operation.ISnapshotStrategy.Snapshot;
+import org.dbunit.testutil.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies snapshot strategies bring tables back to their contents when the
+ * snapshot was taken.
+ */
+public class SnapshotStrategyIT extends AbstractDatabaseIT {
+
+    private static final String[] TABLE_NAMES = { "PK_TABLE", "ONLY_PK_TABLE" };
+
+    private static final String LEFT_COPY = CopyTableSnapshotStrategy.COPY_PREFIX + "LEFT";
+
+    public SnapshotStrategyIT() throws Exception {
+    }
+
+    /**
+     * Copies are only made outside of transactions. Tables of other databases
+     * are created in the transaction of the test, and dropped by its rollback.
+     */
+    @Before
+    public final void setAutoCommit() throws Exception {
+        if (environment instanceof HsqldbEnvironment) {
+            database.getConnection().getConnection().setAutoCommit(true);
+        }
+    }
+
+    @After
+    public final void dropLeftCopy() throws Exception {
+        if (environment instanceof HsqldbEnvironment) {
+            executeSql("drop table " + LEFT_COPY + " if exists");
+            database.getConnection().getConnection().setAutoCommit(false);
+        }
+    }
+
+    private void executeSql(String sql) throws Exception {
+        try (Statement statement = database.getConnection().getConnection().createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private Set<String> copyNames() throws Exception {
+        Set<String> copyNames = new TreeSet<>();
+        Connection jdbcConnection = database.getConnection().getConnection();
+        try (ResultSet resultSet = jdbcConnection.getMetaData().getTables(null, null, "%", null)) {
+            while (resultSet.next()) {
+                String tableName = resultSet.getString("TABLE_NAME");
+                if (tableName.startsWith(CopyTableSnapshotStrategy.COPY_PREFIX)) {
+                    copyNames.add(tableName);
+                }
+            }
+        }
+        return copyNames;
+    }
+
+    private ISnapshotStrategy getNativeStrategy() {
+        if (environment instanceof HsqldbEnvironment) {
+            return new HsqldbSnapshotStrategy();
+        }
+        if (environment instanceof H2Environment) {
+            return new H2SnapshotStrategy();
+        }
+        if (environment instanceof PostgresqlEnvironment) {
+            return new PostgresqlSnapshotStrategy();
+        }
+        return new CopyTableSnapshotStrategy();
+    }
+
+    @Test
+    public void testNativeStrategy() throws Exception {
+        testRestore(getNativeStrategy());
+    }
+
+    @Test
+    public void testCleanInsertStrategy() throws Exception {
+        testRestore(new CleanInsertSnapshotStrategy());
+    }
+
+    @Test
+    public void testCopyTableStrategyFallsBack() throws Exception {
+        testRestore(new CopyTableSnapshotStrategy() {
+
+            @Override
+            protected String buildCreateCopySql(String copyName, String tableName) {
+                return "not a statement";
+            }
+        });
+    }
+
+    @Test
+    public void testCopyTableStrategyInTransaction() throws Exception {
+        assumeTrue(environment instanceof HsqldbEnvironment);
+        Connection jdbcConnection = database.getConnection().getConnection();
+        Set<String> copyNames = copyNames();
+
+        jdbcConnection.setAutoCommit(false);
+        try {
+            // creating copies would commit the transaction
+            testRestore(new HsqldbSnapshotStrategy());
+
+            assertEquals(copyNames, copyNames());
+        } finally {
+            jdbcConnection.rollback();
+        }
+    }
+
+    @Test
+    public void testLeftCopiesDropped() throws Exception {
+        assumeTrue(environment instanceof HsqldbEnvironment);
+        executeSql("create table " + LEFT_COPY + " (ID integer)");
+        DatabaseConnection connection = database.getConnection();
+        Snapshot live = new HsqldbSnapshotStrategy().takeSnapshot(connection, TABLE_NAMES);
+        try {
+            testRestore(new HsqldbSnapshotStrategy());
+
+            assertFalse(copyNames().contains(LEFT_COPY));
+            // copies of snapshots in use are kept
+            live.restore(connection);
+        } finally {
+            live.release(connection);
+        }
+    }
+
+    @Test
+    public void testCopiesNotInMetadata() throws Exception {
+        assumeTrue(environment instanceof HsqldbEnvironment);
+        executeSql("create table " + LEFT_COPY + " (ID integer)");
+        DatabaseConnection connection = database.getConnection();
+        MetadataManager metadataManager = new MetadataManager(connection.getConnection(),
+                connection.getDatabaseConfig(), null, connection.getSchema());
+
+        String[] tableNames = new DatabaseConnection(connection.getConnection(), connection.getDatabaseConfig(),
+                connection.getSchema(), metadataManager).createDataSet().getTableNames();
+
+        assertTrue(Arrays.asList(tableNames).contains("PK_TABLE"));
+        assertFalse(Arrays.asList(tableNames).contains(LEFT_COPY));
+    }
+
+    private void testRestore(ISnapshotStrategy strategy) throws Exception {
+        DatabaseConnection connection = database.getConnection();
+        IDataSet dataSet = new FlatXmlDataSetBuilder().build(TestUtils.getFileReader("xml/refreshOperationTest.xml"));
+        DatabaseOperation.CLEAN_INSERT.execute(connection, dataSet);
+        IDataSet fixture = contents();
+
+        Snapshot snapshot = strategy.takeSnapshot(connection, TABLE_NAMES);
+        try {
+            for (int i = 0; i < 2; i++) {
+                DatabaseOperation.DELETE_ALL.execute(connection, new DefaultDataSet(contents().getTable("PK_TABLE")));
+                assertEquals(0, connection.getRowCount("PK_TABLE"));
+
+                snapshot.restore(connection);
+
+                Assertion.assertEquals(fixture, contents());
+            }
+        } finally {
+            snapshot.release(connection);
+        }
+    }
+
+    private IDataSet contents() throws Exception {
+        ITable[] tables = new ITable[TABLE_NAMES.length];
+        for (int i = 0; i < TABLE_NAMES.length; i++) {
+            tables[i] = createOrderedTable(TABLE_NAMES[i], "PK0");
+        }
+        return new CachedDataSet(new DefaultDataSet(tables));
+    }
+}
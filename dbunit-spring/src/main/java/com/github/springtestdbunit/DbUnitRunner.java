@@ -31,7 +31,9 @@ import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITable;
 import org.dbunit.dataset.filter.IColumnFilter;
+import org.dbunit.junit.internal.FixtureSnapshots;
 import org.dbunit.junit.internal.TestContext;
+import org.dbunit.operation.SkipUnchangedOperation;
 import org.junit.runners.model.MultipleFailureException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,10 +56,48 @@ public class DbUnitRunner {
     private static final Logger logger = LoggerFactory.getLogger(DbUnitRunner.class);
 
     public void beforeTestMethod(Class<?> testClass, Method testMethod, TestContext dbunitTestContext,
-            DataSetLoader dataSetLoader, DatabaseOperationLookup databaseOperationLookup)
-            throws Exception {
-        setupOrTeardown(testClass, testMethod, DatabaseSetup.class, dbunitTestContext, dataSetLoader,
-                databaseOperationLookup);
+            FixtureSnapshots fixtureSnapshots, DataSetLoader dataSetLoader,
+            DatabaseOperationLookup databaseOperationLookup) throws Exception {
+        Annotations<DatabaseSetup> annotations = new Annotations<>(testClass, testMethod, DatabaseSetup.class);
+        setupClassFixtures(testClass, annotations.getClassAnnotations(), dbunitTestContext, fixtureSnapshots,
+                dataSetLoader, databaseOperationLookup);
+        for (DatabaseSetup annotation : annotations.getMethodAnnotations()) {
+            setupOrTeardown(testClass, annotation, DatabaseSetup.class, dbunitTestContext, dataSetLoader,
+                    databaseOperationLookup);
+        }
+    }
+
+    /**
+     * Class level setups of every connection are done for the first test, and
+     * restored from a snapshot for the following ones when the connection has a
+     * snapshot strategy.
+     */
+    private void setupClassFixtures(Class<?> testClass, List<DatabaseSetup> classAnnotations,
+            TestContext dbunitTestContext, FixtureSnapshots fixtureSnapshots, DataSetLoader dataSetLoader,
+            DatabaseOperationLookup databaseOperationLookup) throws Exception {
+        Map<String, List<DatabaseSetup>> annotationsByConnection = new LinkedHashMap<>();
+        for (DatabaseSetup annotation : classAnnotations) {
+            annotationsByConnection.computeIfAbsent(annotation.connection(), k -> new ArrayList<>()).add(annotation);
+        }
+        for (Map.Entry<String, List<DatabaseSetup>> entry : annotationsByConnection.entrySet()) {
+            AbstractDatabaseConnection connection = dbunitTestContext.getConnection(entry.getKey());
+            boolean restored = fixtureSnapshots.restoreOrSetUp(entry.getKey(), connection, () -> {
+                List<String> tableNames = new ArrayList<>();
+                Set<String> seen = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+                for (DatabaseSetup annotation : entry.getValue()) {
+                    IDataSet dataSet = setupOrTeardown(testClass, annotation, DatabaseSetup.class, dbunitTestContext,
+                            dataSetLoader, databaseOperationLookup);
+                    for (String tableName : dataSet.getTableNames()) {
+                        if (seen.add(tableName)) {
+                            tableNames.add(tableName);
+                        }
+                    }
+                }
+                return tableNames.toArray(new String[tableNames.size()]);
+            });
+            logger.debug("Class level setup of connection '{}' {}", entry.getKey(),
+                    restored ? "restored from snapshot" : "executed");
+        }
     }
 
     public Throwable afterTestMethod(Class<?> testClass, Object testInstance, Method testMethod,
@@ -153,27 +193,41 @@ public class DbUnitRunner {
             throws Exception, SQLException, DatabaseUnitException {
         Annotations<T> annotations = new Annotations<>(testClass, testMethod, annotationClass);
         for (T annotation : annotations) {
-            Map<String, Object> attributes = AnnotationUtils.getAnnotationAttributes(annotation);
-            String[] dataSetLocations = (String[]) attributes.get("value");
-            String connectionName = (String) attributes.get("connection");
-            DatabaseOperation operation = (DatabaseOperation) attributes.get("type");
-            logger.debug("Executing annotation {} using {} and locations {}", annotationClass, operation,
-                    dataSetLocations);
-
-            executeOperation(testClass, dbunitTestContext, dataSetLoader, databaseOperationLookup, dataSetLocations,
-                    connectionName, operation);
+            setupOrTeardown(testClass, annotation, annotationClass, dbunitTestContext, dataSetLoader,
+                    databaseOperationLookup);
         }
     }
 
-    private void executeOperation(Class<?> testClass, TestContext dbunitTestContext, DataSetLoader dataSetLoader,
+    private <T extends Annotation> IDataSet setupOrTeardown(Class<?> testClass, T annotation,
+            Class<T> annotationClass, TestContext dbunitTestContext, DataSetLoader dataSetLoader,
+            DatabaseOperationLookup databaseOperationLookup) throws Exception, SQLException, DatabaseUnitException {
+        Map<String, Object> attributes = AnnotationUtils.getAnnotationAttributes(annotation);
+        String[] dataSetLocations = (String[]) attributes.get("value");
+        String connectionName = (String) attributes.get("connection");
+        DatabaseOperation operation = (DatabaseOperation) attributes.get("type");
+        logger.debug("Executing annotation {} using {} and locations {}", annotationClass, operation,
+                dataSetLocations);
+
+        boolean skipUnchanged = Boolean.TRUE.equals(attributes.get("skipUnchanged"))
+                && operation != DatabaseOperation.INSERT;
+
+        return executeOperation(testClass, dbunitTestContext, dataSetLoader, databaseOperationLookup,
+                dataSetLocations, connectionName, operation, skipUnchanged);
+    }
+
+    private IDataSet executeOperation(Class<?> testClass, TestContext dbunitTestContext, DataSetLoader dataSetLoader,
             DatabaseOperationLookup databaseOperationLookup, String[] dataSetLocations, String connectionName,
-            DatabaseOperation operation) throws Exception, SQLException, DatabaseUnitException {
+            DatabaseOperation operation, boolean skipUnchanged) throws Exception, SQLException, DatabaseUnitException {
 
         AbstractDatabaseConnection databaseConnection = dbunitTestContext.getConnection(connectionName);
         org.dbunit.operation.DatabaseOperation dbUnitOperation = getDbUnitDatabaseOperation(databaseOperationLookup,
                 operation);
+        if (skipUnchanged) {
+            dbUnitOperation = new SkipUnchangedOperation(dbUnitOperation);
+        }
         IDataSet dataSet = loadDataSet(testClass, dataSetLoader, dataSetLocations, databaseConnection);
         dbUnitOperation.execute(databaseConnection, dataSet);
+        return dataSet;
     }
 
     private IDataSet loadDataSet(Class<?> testClass, DataSetLoader dataSetLoader, String[] dataSetLocations,
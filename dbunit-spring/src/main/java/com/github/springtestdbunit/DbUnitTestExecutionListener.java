@@ -29,6 +29,7 @@ import javax.sql.DataSource;
 import org.dbunit.database.AbstractDatabaseConnection;
 import org.dbunit.database.DatabaseDataSourceConnection;
 import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.junit.internal.FixtureSnapshots;
 import org.dbunit.junit.internal.TestContextAccessor;
 import org.dbunit.junit.internal.TestContextDriver;
 import org.dbunit.junit.internal.connections.SingleConnectionSource;
@@ -67,6 +68,13 @@ import com.github.springtestdbunit.operation.DefaultDatabaseOperationLookup;
  * {@link DefaultDatabaseOperationLookup} unless otherwise
  * {@link DbUnitConfiguration#dataSetLoader() configured}.
  * <p>
+ * Class level {@link DatabaseSetup &#064;DatabaseSetup} of a connection whose
+ * config has a {@link org.dbunit.operation.ISnapshotStrategy snapshot strategy}
+ * is done for the first test only, and restored from a snapshot for the
+ * following tests of the class. Snapshots are only taken outside of
+ * transactions: with {@link TransactionalTestExecutionListener}, the fixture is
+ * rolled back with the test and set up again for every test.
+ * <p>
  * If you are running this listener in combination with the
  * {@link TransactionalTestExecutionListener} then pay attention to the order of
  * listeners. Specify {@link TransactionalTestExecutionListener} 1st so rollback
@@ -86,6 +94,7 @@ public class DbUnitTestExecutionListener extends AbstractTestExecutionListener {
     DataSetLoader dataSetLoader;
     DatabaseOperationLookup databaseOperationLookup;
     private DbUnitRunner runner = new DbUnitRunner();
+    private final FixtureSnapshots fixtureSnapshots = new FixtureSnapshots();
 
     @Override
     public void prepareTestInstance(TestContext testContext) throws Exception {
@@ -239,7 +248,8 @@ public class DbUnitTestExecutionListener extends AbstractTestExecutionListener {
         testContextDriver.configureTestContext(testClass, testMethod);
         testContextDriver.beforeTest();
         org.dbunit.junit.internal.TestContext dbunitTestContext = testContextDriver.getTestContext();
-        runner.beforeTestMethod(testClass, testMethod, dbunitTestContext, dataSetLoader, databaseOperationLookup);
+        runner.beforeTestMethod(testClass, testMethod, dbunitTestContext, fixtureSnapshots, dataSetLoader,
+                databaseOperationLookup);
     }
 
     @Override
@@ -256,4 +266,21 @@ public class DbUnitTestExecutionListener extends AbstractTestExecutionListener {
         testContext.updateState(testInstance, testMethod, testException);
         testContextDriver.afterTest();
     }
+
+    /**
+     * Releases snapshots of class level setups.
+     */
+    @Override
+    public void afterTestClass(TestContext testContext) throws Exception {
+        if (fixtureSnapshots.isEmpty()) {
+            return;
+        }
+        testContextDriver = TestContextAccessor.buildTestContext();
+        try {
+            loadStuff(testContext.getTestClass(), testContext.getApplicationContext());
+            fixtureSnapshots.release(testContextDriver.getTestContext());
+        } finally {
+            testContextDriver.releaseTestContext();
+        }
+    }
 }
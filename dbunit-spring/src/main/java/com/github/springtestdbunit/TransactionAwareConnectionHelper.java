@@ -22,7 +22,9 @@ import java.sql.SQLException;
 import javax.sql.DataSource;
 
 import org.dbunit.database.DatabaseDataSourceConnection;
+import org.dbunit.database.DirtyTableTracker;
 import org.dbunit.database.metadata.MetadataManager;
+import org.dbunit.junit.internal.connections.TrackingDataSource;
 import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
 
 import io.github.vasiliygagin.dbunit.jdbc.DatabaseConfig;
@@ -36,6 +38,24 @@ public class TransactionAwareConnectionHelper {
         return new TransactionAwareDataSourceProxy(dataSource);
     }
 
+    /**
+     * Wraps a {@link DataSource} so that tables written through its connections
+     * are recorded in a {@link DirtyTableTracker}, and emptying operations skip
+     * tables known to be empty. The wrapper should be the data source used by
+     * the application under test too, otherwise its writes are not seen. The
+     * tracker is available through
+     * {@link DataSource#unwrap(Class) unwrap(DirtyTableTracker.class)}.
+     *
+     * @param dataSource The data source
+     * @return A tracking data source
+     */
+    public static DataSource trackDirtyTables(DataSource dataSource) {
+        if (dataSource instanceof TrackingDataSource) {
+            return dataSource;
+        }
+        return new TrackingDataSource(dataSource);
+    }
+
     /**
      * Convenience method that can be used to construct a transaction aware
      * {@link DatabaseDataSourceConnection} from a {@link DataSource}.
@@ -71,6 +71,14 @@ public enum DatabaseOperation {
      * dataset and subsequently insert new contents. Equivalent to calling
      * {@link #DELETE_ALL} followed by {@link #INSERT}.
      */
-    CLEAN_INSERT
+    CLEAN_INSERT,
+
+    /**
+     * Brings database tables specified in the dataset to the dataset contents,
+     * deleting, updating and inserting only rows which differ. Has the same effect
+     * as {@link #CLEAN_INSERT} for the compared columns, with fewer writes when
+     * little changed.
+     */
+    DELTA
 
 }
@@ -76,4 +76,18 @@ public @interface DatabaseSetup {
      */
     String[] value() default {};
 
+    /**
+     * Whether setup should be skipped when the same operation applied the same
+     * dataset last, and nothing was written since. Writes are only seen through
+     * connections of a data source wrapped by
+     * {@link com.github.springtestdbunit.TransactionAwareConnectionHelper#trackDirtyTables(javax.sql.DataSource)
+     * TransactionAwareConnectionHelper.trackDirtyTables}, so the setup is never
+     * skipped otherwise. Ignored for {@link DatabaseOperation#INSERT}, which is
+     * not idempotent.
+     *
+     * @return if unchanged setup should be skipped
+     * @see org.dbunit.operation.SkipUnchangedOperation
+     */
+    boolean skipUnchanged() default false;
+
 }
@@ -56,8 +56,12 @@ class NonStrictDatabaseAssertion implements DatabaseAssertion {
             throws DatabaseUnitException {
         Set<String> ignoredColumns = getColumnsToIgnore(expectedTable.getTableMetaData(),
                 actualTable.getTableMetaData(), columnFilters, ignoreCols);
-        Assertion.assertEqualsIgnoreCols(expectedTable, actualTable,
-                ignoredColumns.toArray(new String[0]));
+        assertEqualsIgnoreCols(expectedTable, actualTable, ignoredColumns.toArray(new String[0]));
+    }
+
+    protected void assertEqualsIgnoreCols(ITable expectedTable, ITable actualTable, String[] ignoredColumns)
+            throws DatabaseUnitException {
+        Assertion.assertEqualsIgnoreCols(expectedTable, actualTable, ignoredColumns);
     }
 
     private Set<String> getColumnsToIgnore(ITableMetaData expectedMetaData, ITableMetaData actualMetaData,
@@ -16,20 +16,15 @@
 
 package com.github.springtestdbunit.assertion;
 
-import java.util.List;
-
+import org.dbunit.Assertion;
 import org.dbunit.DatabaseUnitException;
-import org.dbunit.dataset.Column;
 import org.dbunit.dataset.ITable;
-import org.dbunit.dataset.SortedTable;
-import org.dbunit.dataset.filter.IColumnFilter;
 
 /**
  * Implements non-strict unordered database assertion strategy : compares data
  * sets ignoring all tables and columns which are not specified in expected data
- * set but possibly exist in actual data set and sorting rows in expected and
- * actual data sets with column order in expected data set to ignore row orders
- * in expected and actual data sets.
+ * set but possibly exist in actual data set and ignoring row orders in expected
+ * and actual data sets.
  *
  * @author Mario Zagar
  * @author Sunitha Rajarathnam
@@ -38,12 +33,9 @@ import org.dbunit.dataset.filter.IColumnFilter;
 class NonStrictUnorderedDatabaseAssertion extends NonStrictDatabaseAssertion {
 
     @Override
-    public void assertEquals(ITable expectedSortedTable, ITable actualSortedTable, List<IColumnFilter> columnFilters, List<String> ignoreCols)
-	    throws DatabaseUnitException {
-	Column[] expectedColumns = expectedSortedTable.getTableMetaData().getColumns();
-	expectedSortedTable = new SortedTable(expectedSortedTable, expectedColumns);
-	actualSortedTable = new SortedTable(actualSortedTable, expectedColumns);
-	super.assertEquals(expectedSortedTable, actualSortedTable, columnFilters, ignoreCols);
+    protected void assertEqualsIgnoreCols(ITable expectedTable, ITable actualTable, String[] ignoredColumns)
+            throws DatabaseUnitException {
+        Assertion.assertEqualsIgnoreColsAndRowOrder(expectedTable, actualTable, ignoredColumns);
     }
 
 }
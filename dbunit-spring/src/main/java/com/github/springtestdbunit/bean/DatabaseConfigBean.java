@@ -16,12 +16,14 @@
 
 package com.github.springtestdbunit.bean;
 
+import org.dbunit.assertion.IChecksumStrategy;
 import org.dbunit.database.DatabaseConfig;
 import org.dbunit.database.IMetadataHandler;
 import org.dbunit.database.IResultSetTableFactory;
 import org.dbunit.database.statement.IStatementFactory;
 import org.dbunit.dataset.datatype.IDataTypeFactory;
 import org.dbunit.dataset.filter.IColumnFilter;
+import org.dbunit.operation.ISnapshotStrategy;
 import org.springframework.util.Assert;
 
 /**
@@ -344,6 +346,49 @@ public class DatabaseConfigBean {
         this.databaseConfig.setAllowEmptyFields(allowEmptyFields);
     }
 
+    /**
+     * Gets the snapshot strategy database config property.
+     *
+     * @return the snapshot strategy
+     * @see DatabaseConfig#PROPERTY_SNAPSHOT_STRATEGY
+     */
+    public ISnapshotStrategy getSnapshotStrategy() {
+        return this.databaseConfig.getSnapshotStrategy();
+    }
+
+    /**
+     * Sets the snapshot strategy database config property, used to restore class
+     * level {@link com.github.springtestdbunit.annotation.DatabaseSetup
+     * &#064;DatabaseSetup} fixtures between tests.
+     *
+     * @param snapshotStrategy the snapshot strategy
+     * @see DatabaseConfig#PROPERTY_SNAPSHOT_STRATEGY
+     */
+    public void setSnapshotStrategy(ISnapshotStrategy snapshotStrategy) {
+        this.databaseConfig.setSnapshotStrategy(snapshotStrategy);
+    }
+
+    /**
+     * Gets the checksum strategy database config property.
+     *
+     * @return the checksum strategy
+     * @see DatabaseConfig#PROPERTY_CHECKSUM_STRATEGY
+     */
+    public IChecksumStrategy getChecksumStrategy() {
+        return this.databaseConfig.getChecksumStrategy();
+    }
+
+    /**
+     * Sets the checksum strategy database config property, used to skip fetching
+     * rows of database tables equal to expected tables.
+     *
+     * @param checksumStrategy the checksum strategy
+     * @see DatabaseConfig#PROPERTY_CHECKSUM_STRATEGY
+     */
+    public void setChecksumStrategy(IChecksumStrategy checksumStrategy) {
+        this.databaseConfig.setChecksumStrategy(checksumStrategy);
+    }
+
     /**
      * Apply the configuration represented by this bean to the specified
      * databaseConfig.
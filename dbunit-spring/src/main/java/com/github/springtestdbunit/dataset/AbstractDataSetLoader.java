@@ -16,6 +16,10 @@
 
 package com.github.springtestdbunit.dataset;
 
+import java.io.IOException;
+import java.net.URL;
+
+import org.dbunit.dataset.DataSetCache;
 import org.dbunit.dataset.IDataSet;
 import org.springframework.core.io.ClassRelativeResourceLoader;
 import org.springframework.core.io.DefaultResourceLoader;
@@ -36,6 +40,8 @@ import org.springframework.core.io.ResourceLoader;
  */
 public abstract class AbstractDataSetLoader implements DataSetLoader {
 
+    private DataSetCache dataSetCache;
+
     /**
      * Loads a {@link IDataSet dataset} from {@link Resource}s obtained from the
      * specified <tt>location</tt>. Each <tt>location</tt> can be mapped to a number
@@ -52,15 +58,63 @@ public abstract class AbstractDataSetLoader implements DataSetLoader {
     public IDataSet loadDataSet(Class<?> testClass, String location) throws Exception {
         Resource resource = getClassRelativeResource(testClass, location);
         if (resource.exists()) {
-            return createDataSet(resource);
+            return loadResource(resource);
         }
         resource = getClasspathResource(location);
         if (resource.exists()) {
-            return createDataSet(resource);
+            return loadResource(resource);
         }
         return null;
     }
 
+    private IDataSet loadResource(Resource resource) throws Exception {
+        if (this.dataSetCache == null) {
+            return createDataSet(resource);
+        }
+        URL url;
+        try {
+            url = resource.getURL();
+        } catch (IOException ex) {
+            return createDataSet(resource);
+        }
+        long lastModified;
+        try {
+            lastModified = resource.lastModified();
+        } catch (IOException ex) {
+            lastModified = 0;
+        }
+        return this.dataSetCache.get(getDataSetCacheKind(), url, lastModified, () -> createDataSet(resource));
+    }
+
+    /**
+     * Distinguishes datasets cached by this loader from the ones of loaders
+     * creating datasets from the same resource differently. Subclasses with
+     * settings which change the created datasets must include them.
+     *
+     * @return the loader class name by default
+     */
+    protected String getDataSetCacheKind() {
+        return getClass().getName();
+    }
+
+    public DataSetCache getDataSetCache() {
+        return this.dataSetCache;
+    }
+
+    /**
+     * Sets the cache of parsed datasets to share with other loaders, for instance
+     * {@link DataSetCache#getSharedInstance()}. Loaded datasets are then read only.
+     * The cache is set on a loader bean, see
+     * {@link com.github.springtestdbunit.annotation.DbUnitConfiguration#dataSetLoaderBean()},
+     * or by the constructor of a loader subclass. <tt>null</tt>, the default,
+     * parses the resource on every load.
+     *
+     * @param dataSetCache the cache or <tt>null</tt>
+     */
+    public void setDataSetCache(DataSetCache dataSetCache) {
+        this.dataSetCache = dataSetCache;
+    }
+
     private Resource getClassRelativeResource(Class<?> testClass, String location) {
         ResourceLoader resourceLoader = getResourceLoader(testClass);
         return resourceLoader.getResource(location);
@@ -34,9 +34,18 @@ public class FlatXmlDataSetLoader extends AbstractDataSetLoader {
 
     @Override
     protected IDataSet createDataSet(Resource resource) throws Exception {
-	FlatXmlDataSetBuilder builder = new FlatXmlDataSetBuilder();
-	builder.setColumnSensing(true);
-	return buildDataSet(builder, resource);
+	return buildDataSet(createBuilder(), resource);
+    }
+
+    @Override
+    protected String getDataSetCacheKind() {
+        return super.getDataSetCacheKind() + createBuilder();
+    }
+
+    private FlatXmlDataSetBuilder createBuilder() {
+        FlatXmlDataSetBuilder builder = new FlatXmlDataSetBuilder();
+        builder.setColumnSensing(true);
+        return builder;
     }
 
     private IDataSet buildDataSet(FlatXmlDataSetBuilder builder, Resource resource) throws Exception {
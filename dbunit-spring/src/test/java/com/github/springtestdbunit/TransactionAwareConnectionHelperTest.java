@@ -17,6 +17,8 @@
 package com.github.springtestdbunit;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -27,7 +29,9 @@ import java.sql.Connection;
 import javax.sql.DataSource;
 
 import org.dbunit.database.DatabaseDataSourceConnection;
+import org.dbunit.database.DirtyTableTracker;
 import org.junit.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
 public class TransactionAwareConnectionHelperTest {
 
@@ -43,4 +47,13 @@ public class TransactionAwareConnectionHelperTest {
         databaseConnection.getConnection().createStatement();
         verify(dataSource, times(2)).getConnection();
     }
+
+    @Test
+    public void shouldTrackDirtyTablesOnce() throws Exception {
+        DataSource dataSource = TransactionAwareConnectionHelper.trackDirtyTables(new DriverManagerDataSource());
+
+        assertTrue(dataSource.isWrapperFor(DirtyTableTracker.class));
+        assertNotNull(dataSource.unwrap(DirtyTableTracker.class));
+        assertSame(dataSource, TransactionAwareConnectionHelper.trackDirtyTables(dataSource));
+    }
 }
@@ -25,12 +25,14 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Function;
 
+import org.dbunit.assertion.IChecksumStrategy;
 import org.dbunit.database.DefaultMetadataHandler;
 import org.dbunit.database.IMetadataHandler;
 import org.dbunit.database.IResultSetTableFactory;
 import org.dbunit.database.statement.IStatementFactory;
 import org.dbunit.dataset.datatype.IDataTypeFactory;
 import org.dbunit.dataset.filter.IColumnFilter;
+import org.dbunit.operation.ISnapshotStrategy;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.BeanWrapper;
@@ -149,6 +151,16 @@ public class DatabaseConfigBeanTest {
         doTest("skipOracleRecyclebinTables", DatabaseConfig::isSkipOracleRecycleBinTables, Boolean.TRUE);
     }
 
+    @Test
+    public void testSnapshotStrategy() {
+        doTest("snapshotStrategy", DatabaseConfig::getSnapshotStrategy, mock(ISnapshotStrategy.class));
+    }
+
+    @Test
+    public void testChecksumStrategy() {
+        doTest("checksumStrategy", DatabaseConfig::getChecksumStrategy, mock(IChecksumStrategy.class));
+    }
+
     private <T> void doTest(String propertyName, Function<DatabaseConfig, T> getter, T newValue) {
         T initialValue = (T) this.configBeanWrapper.getPropertyValue(propertyName);
 
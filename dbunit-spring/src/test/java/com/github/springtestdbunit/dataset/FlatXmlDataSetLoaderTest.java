@@ -18,6 +18,7 @@ package com.github.springtestdbunit.dataset;
 
 import static org.junit.Assert.*;
 
+import org.dbunit.dataset.DataSetCache;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
 import org.junit.Before;
@@ -67,6 +68,24 @@ public class FlatXmlDataSetLoaderTest {
         assertEquals("Sample", dataset.getTableNames()[0]);
     }
 
+    @Test
+    public void shouldShareDataSetThroughCache() throws Exception {
+        DataSetCache cache = new DataSetCache(DataSetCache.DEFAULT_MAX_WEIGHT);
+        this.loader.setDataSetCache(cache);
+        IDataSet first = this.loader.loadDataSet(this.testContext.getTestClass(), "test.xml");
+        IDataSet second = this.loader.loadDataSet(this.testContext.getTestClass(), "test.xml");
+        assertSame(first, second);
+        assertEquals(1, cache.getStatistics().getMissCount());
+        assertEquals(1, cache.getStatistics().getHitCount());
+    }
+
+    @Test
+    public void shouldIncludeBuilderSettingsInCacheKind() throws Exception {
+        String kind = this.loader.getDataSetCacheKind();
+        assertTrue(kind.startsWith(FlatXmlDataSetLoader.class.getName()));
+        assertTrue(kind.contains("columnSensing=true"));
+    }
+
     @Test
     public void shouldReturnNullOnMissingFile() throws Exception {
         IDataSet dataset = this.loader.loadDataSet(this.testContext.getTestClass(), "doesnotexist.xml");